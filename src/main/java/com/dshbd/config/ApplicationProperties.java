@@ -13,6 +13,9 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
     private final Security security = new Security();
+    private final DataImport dataImport = new DataImport();
+    private final BoardEvents boardEvents = new BoardEvents();
+    private final Search search = new Search();
 
     // jhipster-needle-application-properties-property
 
@@ -24,6 +27,18 @@ public class ApplicationProperties {
         return security;
     }
 
+    public DataImport getDataImport() {
+        return dataImport;
+    }
+
+    public BoardEvents getBoardEvents() {
+        return boardEvents;
+    }
+
+    public Search getSearch() {
+        return search;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -39,6 +54,117 @@ public class ApplicationProperties {
         }
     }
 
+    public static class DataImport {
+
+        private int chunkSize = 500;
+        private int maxConcurrentJobs = 2;
+        private int maxConcurrentJobsPerUser = 1;
+        private int queueCapacity = 10;
+        private int jobRetentionMinutes = 60;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public int getMaxConcurrentJobs() {
+            return maxConcurrentJobs;
+        }
+
+        public void setMaxConcurrentJobs(int maxConcurrentJobs) {
+            this.maxConcurrentJobs = maxConcurrentJobs;
+        }
+
+        public int getMaxConcurrentJobsPerUser() {
+            return maxConcurrentJobsPerUser;
+        }
+
+        public void setMaxConcurrentJobsPerUser(int maxConcurrentJobsPerUser) {
+            this.maxConcurrentJobsPerUser = maxConcurrentJobsPerUser;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getJobRetentionMinutes() {
+            return jobRetentionMinutes;
+        }
+
+        public void setJobRetentionMinutes(int jobRetentionMinutes) {
+            this.jobRetentionMinutes = jobRetentionMinutes;
+        }
+    }
+
+    public static class BoardEvents {
+
+        private int bufferSize = 100;
+        private int heartbeatSeconds = 20;
+        private int timeoutMinutes = 30;
+        private int senderThreads = 4;
+        private int senderQueueCapacity = 1000;
+
+        public int getBufferSize() {
+            return bufferSize;
+        }
+
+        public void setBufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+        }
+
+        public int getHeartbeatSeconds() {
+            return heartbeatSeconds;
+        }
+
+        public void setHeartbeatSeconds(int heartbeatSeconds) {
+            this.heartbeatSeconds = heartbeatSeconds;
+        }
+
+        public int getTimeoutMinutes() {
+            return timeoutMinutes;
+        }
+
+        public void setTimeoutMinutes(int timeoutMinutes) {
+            this.timeoutMinutes = timeoutMinutes;
+        }
+
+        public int getSenderThreads() {
+            return senderThreads;
+        }
+
+        public void setSenderThreads(int senderThreads) {
+            this.senderThreads = senderThreads;
+        }
+
+        public int getSenderQueueCapacity() {
+            return senderQueueCapacity;
+        }
+
+        public void setSenderQueueCapacity(int senderQueueCapacity) {
+            this.senderQueueCapacity = senderQueueCapacity;
+        }
+    }
+
+    public static class Search {
+
+        private long maxPostings = 2_000_000;
+
+        public long getMaxPostings() {
+            return maxPostings;
+        }
+
+        public void setMaxPostings(long maxPostings) {
+            this.maxPostings = maxPostings;
+        }
+    }
+
     public static class Security {
 
         private final AccountLockout accountLockout = new AccountLockout();
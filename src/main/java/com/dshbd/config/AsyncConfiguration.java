@@ -41,6 +41,30 @@ public class AsyncConfiguration implements AsyncConfigurer {
         return new ExceptionHandlingAsyncTaskExecutor(executor);
     }
 
+    @Bean(name = "importExecutor")
+    public Executor importExecutor(ApplicationProperties applicationProperties) {
+        LOG.debug("Creating Import Task Executor");
+        ApplicationProperties.DataImport dataImport = applicationProperties.getDataImport();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(dataImport.getMaxConcurrentJobs());
+        executor.setMaxPoolSize(dataImport.getMaxConcurrentJobs());
+        executor.setQueueCapacity(dataImport.getQueueCapacity());
+        executor.setThreadNamePrefix("my-dashboard-import-");
+        return executor;
+    }
+
+    @Bean(name = "boardEventExecutor")
+    public Executor boardEventExecutor(ApplicationProperties applicationProperties) {
+        LOG.debug("Creating Board Event Task Executor");
+        ApplicationProperties.BoardEvents boardEvents = applicationProperties.getBoardEvents();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(boardEvents.getSenderThreads());
+        executor.setMaxPoolSize(boardEvents.getSenderThreads());
+        executor.setQueueCapacity(boardEvents.getSenderQueueCapacity());
+        executor.setThreadNamePrefix("my-dashboard-board-events-");
+        return executor;
+    }
+
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new SimpleAsyncUncaughtExceptionHandler();
@@ -44,6 +44,11 @@ public class CacheConfiguration {
             createCache(cm, com.dshbd.repository.UserRepository.USERS_BY_LOGIN_CACHE);
             createCache(cm, com.dshbd.repository.UserRepository.USERS_BY_EMAIL_CACHE);
             createCache(cm, com.dshbd.domain.Authority.class.getName());
+            createCache(cm, com.dshbd.repository.DiaryTagRepository.ACTIVE_TAGS_BY_USER_CACHE);
+            createCache(cm, com.dshbd.service.HabitService.ACTIVE_HABITS_CACHE);
+            createCache(cm, com.dshbd.service.HabitRecordService.CHECK_INS_BY_IDEMPOTENCY_KEY_CACHE);
+            // Hit and miss counts of the busiest cache, published as the cache.gets metric
+            cm.enableStatistics(com.dshbd.service.HabitService.ACTIVE_HABITS_CACHE, true);
             // jhipster-needle-ehcache-add-entry
         };
     }
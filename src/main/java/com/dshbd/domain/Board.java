@@ -12,7 +12,7 @@ public class Board implements Serializable {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "board_seq")
-    @SequenceGenerator(name = "board_seq", sequenceName = "board_seq", allocationSize = 1)
+    @SequenceGenerator(name = "board_seq", sequenceName = "board_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -43,6 +43,10 @@ public class Board implements Serializable {
     @Column(name = "auto_pull", nullable = false)
     private boolean autoPull = false;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -84,6 +88,17 @@ public class Board implements Serializable {
         this.toDoLimit = toDoLimit;
     }
 
+    /**
+     * @return the work-in-progress limit of a column, or {@code null} if the column has none.
+     */
+    public Integer getWipLimit(String status) {
+        return switch (status) {
+            case Task.STATUS_TO_DO -> toDoLimit;
+            case Task.STATUS_IN_PROGRESS -> progressLimit;
+            default -> null;
+        };
+    }
+
     public Integer getProgressLimit() {
         return progressLimit;
     }
@@ -123,4 +138,12 @@ public class Board implements Serializable {
     public void setAutoPull(boolean autoPull) {
         this.autoPull = autoPull;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
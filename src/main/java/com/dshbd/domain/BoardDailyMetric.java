@@ -0,0 +1,149 @@
+package com.dshbd.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Flow figures of a board for one day (UTC), updated with every status transition on that day.
+ * The column counts are the numbers of tasks per status at the end of the day, for the cumulative flow diagram.
+ */
+@Entity
+@Table(name = "board_daily_metric")
+public class BoardDailyMetric implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "board_daily_metric_seq")
+    @SequenceGenerator(name = "board_daily_metric_seq", sequenceName = "board_daily_metric_seq", allocationSize = 50)
+    private Long id;
+
+    @NotNull
+    @Column(name = "board_id", nullable = false, updatable = false)
+    private Long boardId;
+
+    @NotNull
+    @Column(name = "metric_day", nullable = false, updatable = false)
+    private LocalDate day;
+
+    @Column(name = "backlog_count", nullable = false)
+    private int backlogCount;
+
+    @Column(name = "to_do_count", nullable = false)
+    private int toDoCount;
+
+    @Column(name = "in_progress_count", nullable = false)
+    private int inProgressCount;
+
+    @Column(name = "done_count", nullable = false)
+    private int doneCount;
+
+    /**
+     * Tasks moved to done on this day.
+     */
+    @Column(name = "completed", nullable = false)
+    private int completed;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getBoardId() {
+        return boardId;
+    }
+
+    public void setBoardId(Long boardId) {
+        this.boardId = boardId;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    public int getBacklogCount() {
+        return backlogCount;
+    }
+
+    public void setBacklogCount(int backlogCount) {
+        this.backlogCount = backlogCount;
+    }
+
+    public int getToDoCount() {
+        return toDoCount;
+    }
+
+    public void setToDoCount(int toDoCount) {
+        this.toDoCount = toDoCount;
+    }
+
+    public int getInProgressCount() {
+        return inProgressCount;
+    }
+
+    public void setInProgressCount(int inProgressCount) {
+        this.inProgressCount = inProgressCount;
+    }
+
+    public int getDoneCount() {
+        return doneCount;
+    }
+
+    public void setDoneCount(int doneCount) {
+        this.doneCount = doneCount;
+    }
+
+    public int getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(int completed) {
+        this.completed = completed;
+    }
+
+    /**
+     * Change the count of a column by {@code delta}; statuses outside the board columns are ignored.
+     */
+    public void addToColumn(String status, int delta) {
+        if (status == null) {
+            return;
+        }
+        switch (status) {
+            case Task.STATUS_BACKLOG -> backlogCount += delta;
+            case Task.STATUS_TO_DO -> toDoCount += delta;
+            case Task.STATUS_IN_PROGRESS -> inProgressCount += delta;
+            case Task.STATUS_DONE -> doneCount += delta;
+            default -> {}
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BoardDailyMetric)) {
+            return false;
+        }
+        return id != null && id.equals(((BoardDailyMetric) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "BoardDailyMetric{" + "id=" + id + ", boardId=" + boardId + ", day='" + day + "'" + ", completed=" + completed + "}";
+    }
+}
@@ -17,7 +17,7 @@ public class DiaryEntry implements Serializable {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "diary_entry_sequence")
-    @SequenceGenerator(name = "diary_entry_sequence", sequenceName = "diary_entry_sequence", allocationSize = 1)
+    @SequenceGenerator(name = "diary_entry_sequence", sequenceName = "diary_entry_sequence", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -40,6 +40,12 @@ public class DiaryEntry implements Serializable {
     )
     private Set<DiaryTag> tags = new HashSet<>();
 
+    /**
+     * The slots of {@link #tags}, see {@link DiaryTag#maskOf(java.util.Collection)}. Lets tag filters run on this table alone.
+     */
+    @Column(name = "tag_mask", nullable = false)
+    private long tagMask;
+
     @NotNull
     @Column(name = "created_date", nullable = false)
     @CreationTimestamp
@@ -99,6 +105,14 @@ public class DiaryEntry implements Serializable {
         this.createdDate = createdDate;
     }
 
+    public long getTagMask() {
+        return tagMask;
+    }
+
+    public void setTagMask(long tagMask) {
+        this.tagMask = tagMask;
+    }
+
     public Instant getLastModifiedDate() {
         return lastModifiedDate;
     }
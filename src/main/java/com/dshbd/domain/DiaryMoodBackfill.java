@@ -0,0 +1,48 @@
+package com.dshbd.domain;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+
+/**
+ * A user whose diary entries predate the {@link DiaryMoodDaily} counts and have yet to be counted. The rows are
+ * written by the migration that introduced the marker and removed once the user's counts are built.
+ */
+@Entity
+@Table(name = "diary_mood_backfill")
+public class DiaryMoodBackfill implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DiaryMoodBackfill)) {
+            return false;
+        }
+        return userId != null && userId.equals(((DiaryMoodBackfill) o).userId);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "DiaryMoodBackfill{userId=" + userId + "}";
+    }
+}
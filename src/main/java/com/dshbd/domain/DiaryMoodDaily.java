@@ -0,0 +1,132 @@
+package com.dshbd.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Number of diary entries of a user with an emoticon on one day (UTC), either in total or carrying the tag of a slot.
+ * Kept up to date with every saved and deleted entry, so mood statistics never scan the entries.
+ */
+@Entity
+@Table(name = "diary_mood_daily")
+public class DiaryMoodDaily implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Tag slot of the rows counting all entries of a day and emoticon, whatever their tags.
+     */
+    public static final int ALL_TAGS = -1;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "diary_mood_daily_seq")
+    @SequenceGenerator(name = "diary_mood_daily_seq", sequenceName = "diary_mood_daily_seq", allocationSize = 50)
+    private Long id;
+
+    @NotNull
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private Long userId;
+
+    @NotNull
+    @Column(name = "metric_day", nullable = false, updatable = false)
+    private LocalDate day;
+
+    @NotNull
+    @Column(name = "emoticon", nullable = false, updatable = false)
+    private String emoticon;
+
+    /**
+     * The {@link DiaryTag#getSlot() slot} of the counted tag, or {@link #ALL_TAGS}.
+     */
+    @Column(name = "tag_slot", nullable = false, updatable = false)
+    private int tagSlot;
+
+    @Column(name = "entry_count", nullable = false)
+    private int entryCount;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    public String getEmoticon() {
+        return emoticon;
+    }
+
+    public void setEmoticon(String emoticon) {
+        this.emoticon = emoticon;
+    }
+
+    public int getTagSlot() {
+        return tagSlot;
+    }
+
+    public void setTagSlot(int tagSlot) {
+        this.tagSlot = tagSlot;
+    }
+
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    public void setEntryCount(int entryCount) {
+        this.entryCount = entryCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DiaryMoodDaily)) {
+            return false;
+        }
+        return id != null && id.equals(((DiaryMoodDaily) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return (
+            "DiaryMoodDaily{" +
+            "id=" +
+            id +
+            ", day='" +
+            day +
+            "'" +
+            ", emoticon='" +
+            emoticon +
+            "'" +
+            ", tagSlot=" +
+            tagSlot +
+            ", entryCount=" +
+            entryCount +
+            "}"
+        );
+    }
+}
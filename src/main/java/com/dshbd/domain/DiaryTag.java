@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import java.io.Serializable;
 import java.time.Instant;
+import java.util.Collection;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -13,9 +14,14 @@ public class DiaryTag implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Number of bit slots per user, kept below 64 so that masks stay positive.
+     */
+    public static final int SLOT_COUNT = 63;
+
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "diary_tag_sequence")
-    @SequenceGenerator(name = "diary_tag_sequence", sequenceName = "diary_tag_sequence", allocationSize = 1)
+    @SequenceGenerator(name = "diary_tag_sequence", sequenceName = "diary_tag_sequence", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -29,6 +35,13 @@ public class DiaryTag implements Serializable {
     @Column(name = "archived")
     private boolean archived = false;
 
+    /**
+     * The bit this tag sets in {@link DiaryEntry#getTagMask()}, fixed when the tag is created. {@code null} once the
+     * user has used up all slots; entries are then filtered by such tags through the join table.
+     */
+    @Column(name = "slot", updatable = false)
+    private Integer slot;
+
     @NotNull
     @Column(name = "created_date", nullable = false)
     @CreationTimestamp
@@ -71,6 +84,27 @@ public class DiaryTag implements Serializable {
         this.archived = archived;
     }
 
+    public Integer getSlot() {
+        return slot;
+    }
+
+    public void setSlot(Integer slot) {
+        this.slot = slot;
+    }
+
+    /**
+     * The bits of the given tags' slots; tags without a slot are left out.
+     */
+    public static long maskOf(Collection<DiaryTag> tags) {
+        long mask = 0;
+        for (DiaryTag tag : tags) {
+            if (tag.getSlot() != null) {
+                mask |= 1L << tag.getSlot();
+            }
+        }
+        return mask;
+    }
+
     public Instant getCreatedDate() {
         return createdDate;
     }
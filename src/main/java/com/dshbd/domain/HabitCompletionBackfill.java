@@ -0,0 +1,48 @@
+package com.dshbd.domain;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+
+/**
+ * A user whose habit records predate the {@link HabitMonthCompletion} bitmaps and have yet to be counted. The rows are
+ * written by the migration that introduced the marker and removed once the user's completions are built.
+ */
+@Entity
+@Table(name = "habit_completion_backfill")
+public class HabitCompletionBackfill implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof HabitCompletionBackfill)) {
+            return false;
+        }
+        return userId != null && userId.equals(((HabitCompletionBackfill) o).userId);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "HabitCompletionBackfill{userId=" + userId + "}";
+    }
+}
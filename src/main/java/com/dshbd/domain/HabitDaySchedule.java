@@ -15,7 +15,7 @@ public class HabitDaySchedule implements Serializable {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "habit_day_schedule_seq")
-    @SequenceGenerator(name = "habit_day_schedule_seq", sequenceName = "habit_day_schedule_seq", allocationSize = 1)
+    @SequenceGenerator(name = "habit_day_schedule_seq", sequenceName = "habit_day_schedule_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
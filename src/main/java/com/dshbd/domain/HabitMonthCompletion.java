@@ -0,0 +1,119 @@
+package com.dshbd.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * The completions of a habit in one month, as a bitmap of the days with at least one {@link HabitRecord}. Kept up to
+ * date with every saved record, so heatmaps never read the records.
+ */
+@Entity
+@Table(name = "habit_month_completion")
+public class HabitMonthCompletion implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "habit_month_completion_seq")
+    @SequenceGenerator(name = "habit_month_completion_seq", sequenceName = "habit_month_completion_seq", allocationSize = 50)
+    private Long id;
+
+    @NotNull
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private Long userId;
+
+    @NotNull
+    @Column(name = "habit_id", nullable = false, updatable = false)
+    private Long habitId;
+
+    /**
+     * The first day of the month.
+     */
+    @NotNull
+    @Column(name = "month_start", nullable = false, updatable = false)
+    private LocalDate monthStart;
+
+    /**
+     * Bit {@code day - 1} is set when the habit was completed on that day of the month.
+     */
+    @Column(name = "days", nullable = false)
+    private int days;
+
+    /**
+     * The number of completions per day of the month, unsigned and capped at 255, or {@code null} while no day has
+     * more than one.
+     */
+    @Column(name = "repeat_counts")
+    private byte[] repeatCounts;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getHabitId() {
+        return habitId;
+    }
+
+    public void setHabitId(Long habitId) {
+        this.habitId = habitId;
+    }
+
+    public LocalDate getMonthStart() {
+        return monthStart;
+    }
+
+    public void setMonthStart(LocalDate monthStart) {
+        this.monthStart = monthStart;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public void setDays(int days) {
+        this.days = days;
+    }
+
+    public byte[] getRepeatCounts() {
+        return repeatCounts;
+    }
+
+    public void setRepeatCounts(byte[] repeatCounts) {
+        this.repeatCounts = repeatCounts;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof HabitMonthCompletion)) {
+            return false;
+        }
+        return id != null && id.equals(((HabitMonthCompletion) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "HabitMonthCompletion{" + "id=" + id + ", habitId=" + habitId + ", monthStart='" + monthStart + "'" + ", days=" + days + "}";
+    }
+}
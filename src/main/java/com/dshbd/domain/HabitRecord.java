@@ -13,7 +13,7 @@ public class HabitRecord implements Serializable {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "habit_record_seq")
-    @SequenceGenerator(name = "habit_record_seq", sequenceName = "habit_record_seq", allocationSize = 1)
+    @SequenceGenerator(name = "habit_record_seq", sequenceName = "habit_record_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -30,6 +30,13 @@ public class HabitRecord implements Serializable {
     @Column(name = "user_id", nullable = false)
     private Long userId;
 
+    /**
+     * The number of the completion within its day, from 0. Unique per user, habit and day, so a check-in that is
+     * sent twice cannot record the same completion twice.
+     */
+    @Column(name = "slot", nullable = false)
+    private int slot;
+
     // Getters and Setters
 
     public Long getId() {
@@ -72,6 +79,14 @@ public class HabitRecord implements Serializable {
         this.userId = userId;
     }
 
+    public int getSlot() {
+        return slot;
+    }
+
+    public void setSlot(int slot) {
+        this.slot = slot;
+    }
+
     // equals, hashCode and toString
 
     @Override
@@ -13,7 +13,7 @@ public class HabitSpecificTime implements Serializable {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "habit_specific_time_seq")
-    @SequenceGenerator(name = "habit_specific_time_seq", sequenceName = "habit_specific_time_seq", allocationSize = 1)
+    @SequenceGenerator(name = "habit_specific_time_seq", sequenceName = "habit_specific_time_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
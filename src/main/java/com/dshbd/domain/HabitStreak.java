@@ -0,0 +1,155 @@
+package com.dshbd.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * The streaks of a habit and its scheduled and completed days over the last year, evaluated day by day up to
+ * {@link #getEvaluatedThrough()}. Kept up to date with every saved record and a nightly catch-up, so reading the
+ * metrics of a habit never reads its records.
+ */
+@Entity
+@Table(name = "habit_streak")
+public class HabitStreak implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "habit_streak_seq")
+    @SequenceGenerator(name = "habit_streak_seq", sequenceName = "habit_streak_seq", allocationSize = 50)
+    private Long id;
+
+    @NotNull
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private Long userId;
+
+    @NotNull
+    @Column(name = "habit_id", nullable = false, updatable = false, unique = true)
+    private Long habitId;
+
+    @Column(name = "current_streak", nullable = false)
+    private int currentStreak;
+
+    @Column(name = "longest_streak", nullable = false)
+    private int longestStreak;
+
+    /**
+     * The last day that has been evaluated. Today is only evaluated once it is completed.
+     */
+    @NotNull
+    @Column(name = "evaluated_through", nullable = false)
+    private LocalDate evaluatedThrough;
+
+    /**
+     * Bit {@code n} is set when the habit was scheduled {@code n} days before {@link #evaluatedThrough}.
+     */
+    @Column(name = "scheduled_days")
+    private byte[] scheduledDays;
+
+    /**
+     * Bit {@code n} is set when the habit was completed {@code n} days before {@link #evaluatedThrough}.
+     */
+    @Column(name = "completed_days")
+    private byte[] completedDays;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getHabitId() {
+        return habitId;
+    }
+
+    public void setHabitId(Long habitId) {
+        this.habitId = habitId;
+    }
+
+    public int getCurrentStreak() {
+        return currentStreak;
+    }
+
+    public void setCurrentStreak(int currentStreak) {
+        this.currentStreak = currentStreak;
+    }
+
+    public int getLongestStreak() {
+        return longestStreak;
+    }
+
+    public void setLongestStreak(int longestStreak) {
+        this.longestStreak = longestStreak;
+    }
+
+    public LocalDate getEvaluatedThrough() {
+        return evaluatedThrough;
+    }
+
+    public void setEvaluatedThrough(LocalDate evaluatedThrough) {
+        this.evaluatedThrough = evaluatedThrough;
+    }
+
+    public byte[] getScheduledDays() {
+        return scheduledDays;
+    }
+
+    public void setScheduledDays(byte[] scheduledDays) {
+        this.scheduledDays = scheduledDays;
+    }
+
+    public byte[] getCompletedDays() {
+        return completedDays;
+    }
+
+    public void setCompletedDays(byte[] completedDays) {
+        this.completedDays = completedDays;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof HabitStreak)) {
+            return false;
+        }
+        return id != null && id.equals(((HabitStreak) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return (
+            "HabitStreak{" +
+            "id=" +
+            id +
+            ", habitId=" +
+            habitId +
+            ", currentStreak=" +
+            currentStreak +
+            ", longestStreak=" +
+            longestStreak +
+            ", evaluatedThrough='" +
+            evaluatedThrough +
+            "'" +
+            "}"
+        );
+    }
+}
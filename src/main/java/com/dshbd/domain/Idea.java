@@ -24,7 +24,7 @@ public class Idea implements Serializable {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "idea_seq")
-    @SequenceGenerator(name = "idea_seq", sequenceName = "idea_seq", allocationSize = 1)
+    @SequenceGenerator(name = "idea_seq", sequenceName = "idea_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
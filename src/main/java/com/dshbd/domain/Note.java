@@ -6,17 +6,19 @@ import jakarta.validation.constraints.Size;
 import java.io.Serializable;
 import java.time.Instant;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 @Entity
 @Table(name = "note")
+@DynamicUpdate
 public class Note implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "note_seq")
-    @SequenceGenerator(name = "note_seq", sequenceName = "note_seq", allocationSize = 1)
+    @SequenceGenerator(name = "note_seq", sequenceName = "note_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -38,6 +40,10 @@ public class Note implements Serializable {
     @Column(name = "user_id", nullable = false)
     private Long userId;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     public Long getId() {
         return id;
     }
@@ -86,6 +92,14 @@ public class Note implements Serializable {
         this.userId = userId;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
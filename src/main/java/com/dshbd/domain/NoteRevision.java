@@ -0,0 +1,155 @@
+package com.dshbd.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * One entry of a note's content history. A snapshot holds the full content; any other revision holds the edits
+ * that turn the previous revision's content into its own, so a revision is rebuilt from the closest snapshot
+ * at or before it. Data is deflated when that makes it smaller.
+ */
+@Entity
+@Table(name = "note_revision")
+public class NoteRevision implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "note_revision_seq")
+    @SequenceGenerator(name = "note_revision_seq", sequenceName = "note_revision_seq", allocationSize = 50)
+    private Long id;
+
+    @NotNull
+    @Column(name = "note_id", nullable = false, updatable = false)
+    private Long noteId;
+
+    /**
+     * Numbered from 1 per note.
+     */
+    @NotNull
+    @Column(name = "revision", nullable = false, updatable = false)
+    private Integer revision;
+
+    @NotNull
+    @Column(name = "snapshot", nullable = false, updatable = false)
+    private Boolean snapshot;
+
+    @NotNull
+    @Column(name = "compressed", nullable = false, updatable = false)
+    private Boolean compressed;
+
+    @NotNull
+    @Column(name = "data", nullable = false, updatable = false)
+    private byte[] data;
+
+    /**
+     * Length of the content at this revision, in characters.
+     */
+    @NotNull
+    @Column(name = "content_length", nullable = false, updatable = false)
+    private Integer contentLength;
+
+    @NotNull
+    @Column(name = "created_date", nullable = false, updatable = false)
+    private Instant createdDate;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getNoteId() {
+        return noteId;
+    }
+
+    public void setNoteId(Long noteId) {
+        this.noteId = noteId;
+    }
+
+    public Integer getRevision() {
+        return revision;
+    }
+
+    public void setRevision(Integer revision) {
+        this.revision = revision;
+    }
+
+    public Boolean getSnapshot() {
+        return snapshot;
+    }
+
+    public void setSnapshot(Boolean snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public Boolean getCompressed() {
+        return compressed;
+    }
+
+    public void setCompressed(Boolean compressed) {
+        this.compressed = compressed;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public void setData(byte[] data) {
+        this.data = data;
+    }
+
+    public Integer getContentLength() {
+        return contentLength;
+    }
+
+    public void setContentLength(Integer contentLength) {
+        this.contentLength = contentLength;
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof NoteRevision)) return false;
+        return id != null && id.equals(((NoteRevision) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return (
+            "NoteRevision{" +
+            "id=" +
+            id +
+            ", noteId=" +
+            noteId +
+            ", revision=" +
+            revision +
+            ", snapshot=" +
+            snapshot +
+            ", compressed=" +
+            compressed +
+            ", contentLength=" +
+            contentLength +
+            ", createdDate=" +
+            createdDate +
+            '}'
+        );
+    }
+}
@@ -11,9 +11,14 @@ import org.hibernate.annotations.UpdateTimestamp;
 @Table(name = "task")
 public class Task implements Serializable {
 
+    public static final String STATUS_BACKLOG = "backlog";
+    public static final String STATUS_TO_DO = "to-do";
+    public static final String STATUS_IN_PROGRESS = "in-progress";
+    public static final String STATUS_DONE = "done";
+
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
-    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 1)
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -31,7 +36,7 @@ public class Task implements Serializable {
 
     @NotNull
     @Column(name = "status", nullable = false)
-    private String status = "to-do";
+    private String status = STATUS_TO_DO;
 
     @Column(name = "assignee")
     private String assignee;
@@ -51,6 +56,10 @@ public class Task implements Serializable {
     @Column(name = "position")
     private Integer position;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -140,6 +149,14 @@ public class Task implements Serializable {
         this.position = position;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return "Task{" + "id=" + id + ", boardId=" + boardId + '}';
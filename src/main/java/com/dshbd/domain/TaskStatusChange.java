@@ -0,0 +1,153 @@
+package com.dshbd.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * An entry of the append-only log of task status transitions. Creating a task is logged as a transition
+ * without a previous status, deleting it as one without a new status.
+ */
+@Entity
+@Table(name = "task_status_change")
+public class TaskStatusChange implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_status_change_seq")
+    @SequenceGenerator(name = "task_status_change_seq", sequenceName = "task_status_change_seq", allocationSize = 50)
+    private Long id;
+
+    @NotNull
+    @Column(name = "task_id", nullable = false, updatable = false)
+    private Long taskId;
+
+    @NotNull
+    @Column(name = "board_id", nullable = false, updatable = false)
+    private Long boardId;
+
+    @Column(name = "from_status", updatable = false)
+    private String fromStatus;
+
+    @Column(name = "to_status", updatable = false)
+    private String toStatus;
+
+    @NotNull
+    @Column(name = "changed_at", nullable = false, updatable = false)
+    private Instant changedAt;
+
+    /**
+     * Seconds from first entering in-progress to done, set on transitions to done.
+     */
+    @Column(name = "cycle_time", updatable = false)
+    private Long cycleTime;
+
+    /**
+     * Seconds from creation to done, set on transitions to done.
+     */
+    @Column(name = "lead_time", updatable = false)
+    private Long leadTime;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public Long getBoardId() {
+        return boardId;
+    }
+
+    public void setBoardId(Long boardId) {
+        this.boardId = boardId;
+    }
+
+    public String getFromStatus() {
+        return fromStatus;
+    }
+
+    public void setFromStatus(String fromStatus) {
+        this.fromStatus = fromStatus;
+    }
+
+    public String getToStatus() {
+        return toStatus;
+    }
+
+    public void setToStatus(String toStatus) {
+        this.toStatus = toStatus;
+    }
+
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(Instant changedAt) {
+        this.changedAt = changedAt;
+    }
+
+    public Long getCycleTime() {
+        return cycleTime;
+    }
+
+    public void setCycleTime(Long cycleTime) {
+        this.cycleTime = cycleTime;
+    }
+
+    public Long getLeadTime() {
+        return leadTime;
+    }
+
+    public void setLeadTime(Long leadTime) {
+        this.leadTime = leadTime;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TaskStatusChange)) {
+            return false;
+        }
+        return id != null && id.equals(((TaskStatusChange) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return (
+            "TaskStatusChange{" +
+            "id=" +
+            id +
+            ", taskId=" +
+            taskId +
+            ", fromStatus='" +
+            fromStatus +
+            "'" +
+            ", toStatus='" +
+            toStatus +
+            "'" +
+            ", changedAt='" +
+            changedAt +
+            "'" +
+            "}"
+        );
+    }
+}
@@ -0,0 +1,20 @@
+package com.dshbd.domain.vm;
+
+public class DiaryEntryTagLink {
+
+    private Long entryId;
+    private Long tagId;
+
+    public DiaryEntryTagLink(Long entryId, Long tagId) {
+        this.entryId = entryId;
+        this.tagId = tagId;
+    }
+
+    public Long getEntryId() {
+        return entryId;
+    }
+
+    public Long getTagId() {
+        return tagId;
+    }
+}
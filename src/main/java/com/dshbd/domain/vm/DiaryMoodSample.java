@@ -0,0 +1,36 @@
+package com.dshbd.domain.vm;
+
+import com.dshbd.domain.DiaryEntry;
+import java.time.Instant;
+
+/**
+ * The fields of a diary entry that the mood statistics count.
+ */
+public class DiaryMoodSample {
+
+    private Instant createdDate;
+    private String emoticon;
+    private long tagMask;
+
+    public DiaryMoodSample(Instant createdDate, String emoticon, long tagMask) {
+        this.createdDate = createdDate;
+        this.emoticon = emoticon;
+        this.tagMask = tagMask;
+    }
+
+    public static DiaryMoodSample of(DiaryEntry entry) {
+        return new DiaryMoodSample(entry.getCreatedDate(), entry.getEmoticon(), entry.getTagMask());
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+
+    public String getEmoticon() {
+        return emoticon;
+    }
+
+    public long getTagMask() {
+        return tagMask;
+    }
+}
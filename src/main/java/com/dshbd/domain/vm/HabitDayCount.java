@@ -0,0 +1,37 @@
+package com.dshbd.domain.vm;
+
+import java.time.LocalDate;
+
+/**
+ * The records of a habit on one day: how many there are and the highest slot taken.
+ */
+public class HabitDayCount {
+
+    private Long habitId;
+    private LocalDate recordDate;
+    private long count;
+    private int maxSlot;
+
+    public HabitDayCount(Long habitId, LocalDate recordDate, long count, int maxSlot) {
+        this.habitId = habitId;
+        this.recordDate = recordDate;
+        this.count = count;
+        this.maxSlot = maxSlot;
+    }
+
+    public Long getHabitId() {
+        return habitId;
+    }
+
+    public LocalDate getRecordDate() {
+        return recordDate;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public int getMaxSlot() {
+        return maxSlot;
+    }
+}
@@ -0,0 +1,28 @@
+package com.dshbd.domain.vm;
+
+import java.time.Instant;
+
+public class NoteRevisionSummary {
+
+    private Integer revision;
+    private Integer contentLength;
+    private Instant createdDate;
+
+    public NoteRevisionSummary(Integer revision, Integer contentLength, Instant createdDate) {
+        this.revision = revision;
+        this.contentLength = contentLength;
+        this.createdDate = createdDate;
+    }
+
+    public Integer getRevision() {
+        return revision;
+    }
+
+    public Integer getContentLength() {
+        return contentLength;
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+}
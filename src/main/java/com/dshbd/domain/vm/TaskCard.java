@@ -0,0 +1,100 @@
+package com.dshbd.domain.vm;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.time.Instant;
+
+/**
+ * A task as shown on a board column; the description is only loaded when requested.
+ */
+public class TaskCard {
+
+    private Long id;
+    private String title;
+    private String description;
+    private Instant dueDate;
+    private int priority;
+    private String status;
+    private String assignee;
+    private Instant createdDate;
+    private Instant lastModifiedDate;
+    private Integer position;
+
+    public TaskCard(
+        Long id,
+        String title,
+        Instant dueDate,
+        int priority,
+        String status,
+        String assignee,
+        Instant createdDate,
+        Instant lastModifiedDate,
+        Integer position
+    ) {
+        this.id = id;
+        this.title = title;
+        this.dueDate = dueDate;
+        this.priority = priority;
+        this.status = status;
+        this.assignee = assignee;
+        this.createdDate = createdDate;
+        this.lastModifiedDate = lastModifiedDate;
+        this.position = position;
+    }
+
+    public TaskCard(
+        Long id,
+        String title,
+        String description,
+        Instant dueDate,
+        int priority,
+        String status,
+        String assignee,
+        Instant createdDate,
+        Instant lastModifiedDate,
+        Integer position
+    ) {
+        this(id, title, dueDate, priority, status, assignee, createdDate, lastModifiedDate, position);
+        this.description = description;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public String getDescription() {
+        return description;
+    }
+
+    public Instant getDueDate() {
+        return dueDate;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getAssignee() {
+        return assignee;
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+
+    public Instant getLastModifiedDate() {
+        return lastModifiedDate;
+    }
+
+    public Integer getPosition() {
+        return position;
+    }
+}
@@ -0,0 +1,17 @@
+package com.dshbd.repository;
+
+import com.dshbd.domain.BoardDailyMetric;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BoardDailyMetricRepository extends JpaRepository<BoardDailyMetric, Long> {
+    Optional<BoardDailyMetric> findByBoardIdAndDay(Long boardId, LocalDate day);
+
+    Optional<BoardDailyMetric> findFirstByBoardIdAndDayLessThanOrderByDayDesc(Long boardId, LocalDate day);
+
+    List<BoardDailyMetric> findByBoardIdAndDayBetweenOrderByDayAsc(Long boardId, LocalDate from, LocalDate to);
+}
@@ -1,9 +1,15 @@
 package com.dshbd.repository;
 
 import com.dshbd.domain.Board;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -13,4 +19,13 @@ public interface BoardRepository extends JpaRepository<Board, Long> {
     Optional<Board> findByIdAndOwnerId(Long id, Long ownerId);
 
     List<Board> findByOwnerIdAndArchived(Long ownerId, boolean archived);
+
+    /**
+     * Load a board with a row lock, serializing the status transitions of its tasks until the transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Board> findWithLockByIdAndOwnerId(Long id, Long ownerId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Board> streamByOwnerIdOrderById(Long ownerId);
 }
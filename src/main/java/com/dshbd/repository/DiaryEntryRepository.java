@@ -1,27 +1,74 @@
 package com.dshbd.repository;
 
 import com.dshbd.domain.DiaryEntry;
+import com.dshbd.domain.vm.DiaryEntryTagLink;
+import com.dshbd.domain.vm.DiaryMoodSample;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface DiaryEntryRepository extends JpaRepository<DiaryEntry, Long> {
-    Page<DiaryEntry> findByUserIdOrderByCreatedDateDesc(Long userId, Pageable pageable);
+    /**
+     * Keyset condition and order of the slice queries: entries after {@code (:createdDate, :id)}, newest first.
+     */
+    String AFTER_CURSOR =
+        " AND (d.createdDate < :createdDate OR (d.createdDate = :createdDate AND d.id < :id)) ORDER BY d.createdDate DESC, d.id DESC";
+
+    String HAS_ANY_TAG = " AND EXISTS (SELECT 1 FROM d.tags t WHERE t.name IN :tagNames)";
 
-    void deleteByUserIdAndId(Long userId, Long id);
+    Page<DiaryEntry> findByUserIdOrderByCreatedDateDesc(Long userId, Pageable pageable);
 
     @Query("SELECT CASE WHEN COUNT(d) > 0 THEN true ELSE false END FROM DiaryEntry d JOIN d.tags t WHERE t = :tagName")
     boolean existsByTags(@Param("tagName") String tagName);
 
-    void deleteAllByUserId(Long userId);
+    @Query("SELECT d.id FROM DiaryEntry d WHERE d.userId = :userId AND d.id > :afterId ORDER BY d.id")
+    List<Long> findIdsByUserIdAfter(@Param("userId") Long userId, @Param("afterId") Long afterId, Limit limit);
+
+    @Modifying
+    @Query(
+        value = "DELETE FROM diary_entry_tags WHERE diary_entry_id IN" +
+        " (SELECT id FROM diary_entry WHERE user_id = :userId AND id > :fromId AND id <= :toId)",
+        nativeQuery = true
+    )
+    int deleteTagLinksByUserIdAndIdRange(@Param("userId") Long userId, @Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Modifying
+    @Query("DELETE FROM DiaryEntry d WHERE d.userId = :userId AND d.id > :fromId AND d.id <= :toId")
+    int deleteByUserIdAndIdRange(@Param("userId") Long userId, @Param("fromId") Long fromId, @Param("toId") Long toId);
 
     Page<DiaryEntry> findByUserIdAndEmoticonOrderByCreatedDateDesc(Long userId, String emoticon, Pageable pageable);
 
+    @Query("SELECT d FROM DiaryEntry d WHERE d.userId = :userId AND bitand(d.tagMask, :tagMask) <> 0 ORDER BY d.createdDate DESC")
+    Page<DiaryEntry> findByUserIdAndTagMaskOrderByCreatedDateDesc(
+        @Param("userId") Long userId,
+        @Param("tagMask") long tagMask,
+        Pageable pageable
+    );
+
+    @Query(
+        "SELECT d FROM DiaryEntry d WHERE d.userId = :userId AND d.emoticon = :emoticon AND bitand(d.tagMask, :tagMask) <> 0" +
+        " ORDER BY d.createdDate DESC"
+    )
+    Page<DiaryEntry> findByUserIdAndEmoticonAndTagMaskOrderByCreatedDateDesc(
+        @Param("userId") Long userId,
+        @Param("emoticon") String emoticon,
+        @Param("tagMask") long tagMask,
+        Pageable pageable
+    );
+
     @Query("SELECT DISTINCT d FROM DiaryEntry d JOIN d.tags t WHERE d.userId = :userId AND t.name IN :tagNames ORDER BY d.createdDate DESC")
     Page<DiaryEntry> findByUserIdAndTagsNameInOrderByCreatedDateDesc(
         @Param("userId") Long userId,
@@ -38,4 +85,76 @@ public interface DiaryEntryRepository extends JpaRepository<DiaryEntry, Long> {
         @Param("tagNames") Set<String> tagNames,
         Pageable pageable
     );
+
+    @Query("SELECT d FROM DiaryEntry d WHERE d.userId = :userId" + AFTER_CURSOR)
+    List<DiaryEntry> findSliceByUserId(
+        @Param("userId") Long userId,
+        @Param("createdDate") Instant createdDate,
+        @Param("id") Long id,
+        Limit limit
+    );
+
+    @Query("SELECT d FROM DiaryEntry d WHERE d.userId = :userId AND d.emoticon = :emoticon" + AFTER_CURSOR)
+    List<DiaryEntry> findSliceByUserIdAndEmoticon(
+        @Param("userId") Long userId,
+        @Param("emoticon") String emoticon,
+        @Param("createdDate") Instant createdDate,
+        @Param("id") Long id,
+        Limit limit
+    );
+
+    @Query("SELECT d FROM DiaryEntry d WHERE d.userId = :userId AND bitand(d.tagMask, :tagMask) <> 0" + AFTER_CURSOR)
+    List<DiaryEntry> findSliceByUserIdAndTagMask(
+        @Param("userId") Long userId,
+        @Param("tagMask") long tagMask,
+        @Param("createdDate") Instant createdDate,
+        @Param("id") Long id,
+        Limit limit
+    );
+
+    @Query(
+        "SELECT d FROM DiaryEntry d WHERE d.userId = :userId AND d.emoticon = :emoticon AND bitand(d.tagMask, :tagMask) <> 0" + AFTER_CURSOR
+    )
+    List<DiaryEntry> findSliceByUserIdAndEmoticonAndTagMask(
+        @Param("userId") Long userId,
+        @Param("emoticon") String emoticon,
+        @Param("tagMask") long tagMask,
+        @Param("createdDate") Instant createdDate,
+        @Param("id") Long id,
+        Limit limit
+    );
+
+    @Query("SELECT d FROM DiaryEntry d WHERE d.userId = :userId" + HAS_ANY_TAG + AFTER_CURSOR)
+    List<DiaryEntry> findSliceByUserIdAndTagsNameIn(
+        @Param("userId") Long userId,
+        @Param("tagNames") Set<String> tagNames,
+        @Param("createdDate") Instant createdDate,
+        @Param("id") Long id,
+        Limit limit
+    );
+
+    @Query("SELECT d FROM DiaryEntry d WHERE d.userId = :userId AND d.emoticon = :emoticon" + HAS_ANY_TAG + AFTER_CURSOR)
+    List<DiaryEntry> findSliceByUserIdAndEmoticonAndTagsNameIn(
+        @Param("userId") Long userId,
+        @Param("emoticon") String emoticon,
+        @Param("tagNames") Set<String> tagNames,
+        @Param("createdDate") Instant createdDate,
+        @Param("id") Long id,
+        Limit limit
+    );
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<DiaryEntry> streamByUserIdOrderById(Long userId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(
+        "SELECT new com.dshbd.domain.vm.DiaryEntryTagLink(d.id, t.id) FROM DiaryEntry d JOIN d.tags t WHERE d.userId = :userId ORDER BY d.id"
+    )
+    Stream<DiaryEntryTagLink> streamTagLinksByUserId(@Param("userId") Long userId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(
+        "SELECT new com.dshbd.domain.vm.DiaryMoodSample(d.createdDate, d.emoticon, d.tagMask) FROM DiaryEntry d WHERE d.userId = :userId"
+    )
+    Stream<DiaryMoodSample> streamMoodSamplesByUserId(@Param("userId") Long userId);
 }
@@ -0,0 +1,22 @@
+package com.dshbd.repository;
+
+import com.dshbd.domain.DiaryMoodBackfill;
+import jakarta.persistence.LockModeType;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DiaryMoodBackfillRepository extends JpaRepository<DiaryMoodBackfill, Long> {
+    /**
+     * Load the marker of a user with a row lock, serializing the backfill of the user with changes to the user's entries.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<DiaryMoodBackfill> findWithLockByUserId(Long userId);
+
+    @Query("SELECT b.userId FROM DiaryMoodBackfill b ORDER BY b.userId")
+    List<Long> findAllUserIds();
+}
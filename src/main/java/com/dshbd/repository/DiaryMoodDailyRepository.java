@@ -0,0 +1,52 @@
+package com.dshbd.repository;
+
+import com.dshbd.domain.DiaryMoodDaily;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DiaryMoodDailyRepository extends JpaRepository<DiaryMoodDaily, Long> {
+    /**
+     * Add to a count in place, so concurrent changes to the same row are not lost.
+     *
+     * @return the number of rows changed, 0 if the row does not exist yet.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(
+        "UPDATE DiaryMoodDaily m SET m.entryCount = m.entryCount + :delta" +
+        " WHERE m.userId = :userId AND m.day = :day AND m.emoticon = :emoticon AND m.tagSlot = :tagSlot"
+    )
+    int addToCount(
+        @Param("userId") Long userId,
+        @Param("day") LocalDate day,
+        @Param("emoticon") String emoticon,
+        @Param("tagSlot") int tagSlot,
+        @Param("delta") int delta
+    );
+
+    /**
+     * Delete a count that dropped to zero.
+     */
+    @Modifying
+    @Query(
+        "DELETE FROM DiaryMoodDaily m" +
+        " WHERE m.userId = :userId AND m.day = :day AND m.emoticon = :emoticon AND m.tagSlot = :tagSlot AND m.entryCount <= 0"
+    )
+    void deleteEmptyCount(
+        @Param("userId") Long userId,
+        @Param("day") LocalDate day,
+        @Param("emoticon") String emoticon,
+        @Param("tagSlot") int tagSlot
+    );
+
+    @Modifying
+    @Query("DELETE FROM DiaryMoodDaily m WHERE m.userId = :userId")
+    void deleteAllByUserId(@Param("userId") Long userId);
+
+    List<DiaryMoodDaily> findByUserIdAndDayBetween(Long userId, LocalDate from, LocalDate to);
+}
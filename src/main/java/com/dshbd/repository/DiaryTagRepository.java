@@ -1,16 +1,37 @@
 package com.dshbd.repository;
 
 import com.dshbd.domain.DiaryTag;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface DiaryTagRepository extends JpaRepository<DiaryTag, Long> {
+    String ACTIVE_TAGS_BY_USER_CACHE = "diaryActiveTagsByUser";
+
     List<DiaryTag> findByUserIdOrderByCreatedDateDesc(Long userId);
+
+    /**
+     * The active tags of a user, at most 18. Cached per user; evicted by {@code DiaryTagService} on every tag change.
+     */
+    @Cacheable(cacheNames = ACTIVE_TAGS_BY_USER_CACHE)
     List<DiaryTag> findByUserIdAndArchivedFalseOrderByCreatedDateAsc(Long userId);
+
     long countByUserIdAndArchivedFalse(Long userId);
     boolean existsByUserIdAndNameAndArchivedFalse(Long userId, String name);
     Optional<DiaryTag> findByUserIdAndName(Long userId, String name);
+    List<DiaryTag> findByUserIdAndNameIn(Long userId, Collection<String> names);
+
+    @Query("SELECT t.slot FROM DiaryTag t WHERE t.userId = :userId AND t.slot IS NOT NULL")
+    List<Integer> findSlotsByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM DiaryTag t WHERE t.userId = :userId")
+    void deleteAllByUserId(@Param("userId") Long userId);
 }
@@ -0,0 +1,22 @@
+package com.dshbd.repository;
+
+import com.dshbd.domain.HabitCompletionBackfill;
+import jakarta.persistence.LockModeType;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface HabitCompletionBackfillRepository extends JpaRepository<HabitCompletionBackfill, Long> {
+    /**
+     * Load the marker of a user with a row lock, serializing the backfill of the user with changes to the user's records.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<HabitCompletionBackfill> findWithLockByUserId(Long userId);
+
+    @Query("SELECT b.userId FROM HabitCompletionBackfill b ORDER BY b.userId")
+    List<Long> findAllUserIds();
+}
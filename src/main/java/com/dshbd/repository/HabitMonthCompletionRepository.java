@@ -0,0 +1,30 @@
+package com.dshbd.repository;
+
+import com.dshbd.domain.HabitMonthCompletion;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface HabitMonthCompletionRepository extends JpaRepository<HabitMonthCompletion, Long> {
+    /**
+     * Lock the months of habits, so concurrent completions of the same habit do not overwrite each other's bits.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<HabitMonthCompletion> findWithLockByHabitIdInAndMonthStartBetween(Collection<Long> habitIds, LocalDate from, LocalDate to);
+
+    List<HabitMonthCompletion> findByHabitIdAndMonthStartBetween(Long habitId, LocalDate from, LocalDate to);
+
+    List<HabitMonthCompletion> findByUserIdAndMonthStartBetweenOrderByHabitIdAscMonthStartAsc(Long userId, LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM HabitMonthCompletion c WHERE c.userId = :userId")
+    void deleteAllByUserId(@Param("userId") Long userId);
+}
@@ -1,9 +1,14 @@
 package com.dshbd.repository;
 
 import com.dshbd.domain.HabitRecord;
+import com.dshbd.domain.vm.HabitDayCount;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -25,4 +30,25 @@ public interface HabitRecordRepository extends JpaRepository<HabitRecord, Long>
         @Param("habitId") Long habitId,
         @Param("date") LocalDate date
     );
+
+    @Query("SELECT hr FROM HabitRecord hr WHERE hr.userId = :userId")
+    Stream<HabitRecord> streamAllByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT MAX(hr.slot) FROM HabitRecord hr WHERE hr.userId = :userId AND hr.habitId = :habitId AND hr.recordDate = :date")
+    Optional<Integer> findMaxSlot(@Param("userId") Long userId, @Param("habitId") Long habitId, @Param("date") LocalDate date);
+
+    /**
+     * The records per habit and day in a range of days, for the habits of a check-in.
+     */
+    @Query(
+        "SELECT new com.dshbd.domain.vm.HabitDayCount(hr.habitId, hr.recordDate, COUNT(hr), MAX(hr.slot)) FROM HabitRecord hr" +
+        " WHERE hr.userId = :userId AND hr.habitId IN :habitIds AND hr.recordDate BETWEEN :from AND :to" +
+        " GROUP BY hr.habitId, hr.recordDate"
+    )
+    List<HabitDayCount> countByDay(
+        @Param("userId") Long userId,
+        @Param("habitIds") Collection<Long> habitIds,
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to
+    );
 }
@@ -1,8 +1,14 @@
 package com.dshbd.repository;
 
 import com.dshbd.domain.Habit;
+import com.dshbd.domain.HabitDaySchedule.DayOfWeek;
+import jakarta.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,11 +19,50 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface HabitRepository extends JpaRepository<Habit, Long> {
+    @EntityGraph(attributePaths = { "daySchedules", "daySchedules.specificTimes" })
     List<Habit> findByUserIdOrderByCreatedDateDesc(Long userId);
-    List<Habit> findByUserIdAndActiveIsTrueOrderByCreatedDateDesc(Long userId);
+
+    /**
+     * The active habits of a user scheduled on a day, with all their schedules and times fetched in the same query.
+     */
+    @EntityGraph(attributePaths = { "daySchedules", "daySchedules.specificTimes" })
+    @Query(
+        "SELECT h FROM Habit h WHERE h.userId = :userId AND h.active = true" +
+        " AND EXISTS (SELECT 1 FROM HabitDaySchedule s WHERE s.habit = h AND s.dayOfWeek = :dayOfWeek)" +
+        " ORDER BY h.createdDate DESC"
+    )
+    List<Habit> findActiveScheduledOn(@Param("userId") Long userId, @Param("dayOfWeek") DayOfWeek dayOfWeek);
+
     void deleteByIdAndUserId(Long id, Long userId);
 
     @Modifying
     @Query("update Habit h set h.active = :active where h.id = :id and h.userId = :userId")
     int setActiveForHabit(@Param("active") boolean active, @Param("id") long id, @Param("userId") long userId);
+
+    @EntityGraph(attributePaths = { "daySchedules", "daySchedules.specificTimes" })
+    List<Habit> findWithSchedulesByUserIdOrderById(Long userId);
+
+    @EntityGraph(attributePaths = { "daySchedules", "daySchedules.specificTimes" })
+    Optional<Habit> findWithSchedulesById(Long id);
+
+    @EntityGraph(attributePaths = { "daySchedules", "daySchedules.specificTimes" })
+    Optional<Habit> findWithSchedulesByIdAndUserId(Long id, Long userId);
+
+    /**
+     * The habits of a user among the given ids, with their schedules; ids of other users are left out.
+     */
+    @EntityGraph(attributePaths = { "daySchedules", "daySchedules.specificTimes" })
+    List<Habit> findWithSchedulesByUserIdAndIdIn(Long userId, Collection<Long> ids);
+
+    /**
+     * Load a habit of a user with a row lock, serializing the numbering of its records until the transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Habit> findWithLockByIdAndUserId(Long id, Long userId);
+
+    /**
+     * Lock the habits of a user among the given ids, in id order so that concurrent batches cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Habit> findWithLockByUserIdAndIdInOrderById(Long userId, Collection<Long> ids);
 }
@@ -0,0 +1,32 @@
+package com.dshbd.repository;
+
+import com.dshbd.domain.HabitStreak;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface HabitStreakRepository extends JpaRepository<HabitStreak, Long> {
+    /**
+     * Lock the streak of a habit, so a completion and the nightly catch-up do not evaluate the same days twice.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<HabitStreak> findWithLockByHabitId(Long habitId);
+
+    List<HabitStreak> findByUserId(Long userId);
+
+    /**
+     * Active habits whose streak has not been evaluated through a day yet, or has no streak at all.
+     */
+    @Query(
+        "SELECT h.id FROM Habit h WHERE h.active = true" +
+        " AND NOT EXISTS (SELECT 1 FROM HabitStreak s WHERE s.habitId = h.id AND s.evaluatedThrough >= :day)"
+    )
+    List<Long> findActiveHabitIdsNotEvaluatedThrough(@Param("day") LocalDate day);
+}
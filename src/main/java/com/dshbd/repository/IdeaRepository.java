@@ -1,9 +1,13 @@
 package com.dshbd.repository;
 
 import com.dshbd.domain.Idea;
+import jakarta.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -11,4 +15,7 @@ public interface IdeaRepository extends JpaRepository<Idea, Long> {
     List<Idea> findByOwnerId(Long ownerId);
     Optional<Idea> findByIdAndOwnerId(Long id, Long ownerId);
     int deleteByIdAndOwnerId(Long id, Long ownerId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Idea> streamByOwnerIdOrderById(Long ownerId);
 }
@@ -1,11 +1,35 @@
 package com.dshbd.repository;
 
 import com.dshbd.domain.Note;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
 import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface NoteRepository extends JpaRepository<Note, Long> {
-    List<Note> findByUserIdOrderByLastModifiedDateDesc(Long userId);
+    @Query("SELECT n FROM Note n WHERE n.userId = :userId ORDER BY n.lastModifiedDate DESC, n.id DESC")
+    List<Note> findPageByUserId(@Param("userId") Long userId, Limit limit);
+
+    @Query(
+        "SELECT n FROM Note n WHERE n.userId = :userId" +
+        " AND (n.lastModifiedDate < :lastModifiedDate OR (n.lastModifiedDate = :lastModifiedDate AND n.id < :id))" +
+        " ORDER BY n.lastModifiedDate DESC, n.id DESC"
+    )
+    List<Note> findPageByUserIdAfter(
+        @Param("userId") Long userId,
+        @Param("lastModifiedDate") Instant lastModifiedDate,
+        @Param("id") Long id,
+        Limit limit
+    );
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Note> streamByUserIdOrderById(Long userId);
 }
@@ -0,0 +1,31 @@
+package com.dshbd.repository;
+
+import com.dshbd.domain.NoteRevision;
+import com.dshbd.domain.vm.NoteRevisionSummary;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface NoteRevisionRepository extends JpaRepository<NoteRevision, Long> {
+    @Query("SELECT MAX(r.revision) FROM NoteRevision r WHERE r.noteId = :noteId")
+    Optional<Integer> findLatestRevision(@Param("noteId") Long noteId);
+
+    @Query(
+        "SELECT new com.dshbd.domain.vm.NoteRevisionSummary(r.revision, r.contentLength, r.createdDate) FROM NoteRevision r" +
+        " WHERE r.noteId = :noteId ORDER BY r.revision DESC"
+    )
+    List<NoteRevisionSummary> findSummariesByNoteId(@Param("noteId") Long noteId);
+
+    Optional<NoteRevision> findFirstByNoteIdAndSnapshotTrueAndRevisionLessThanEqualOrderByRevisionDesc(Long noteId, Integer revision);
+
+    List<NoteRevision> findByNoteIdAndRevisionBetweenOrderByRevisionAsc(Long noteId, Integer from, Integer to);
+
+    @Modifying
+    @Query("DELETE FROM NoteRevision r WHERE r.noteId = :noteId")
+    void deleteByNoteId(@Param("noteId") Long noteId);
+}
@@ -2,11 +2,34 @@ package com.dshbd.repository;
 
 import com.dshbd.domain.Note;
 import com.dshbd.domain.vm.NoteSummary;
+import java.time.Instant;
 import java.util.List;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+/**
+ * Note listings that select the summary columns only, so the {@code content} column is never read.
+ */
 @Repository
 public interface NoteSummaryRepository extends JpaRepository<Note, Long> {
-    List<NoteSummary> findByUserIdOrderByLastModifiedDateDesc(Long userId);
+    @Query(
+        "SELECT new com.dshbd.domain.vm.NoteSummary(n.id, n.title, n.lastModifiedDate) FROM Note n" +
+        " WHERE n.userId = :userId ORDER BY n.lastModifiedDate DESC, n.id DESC"
+    )
+    List<NoteSummary> findPageByUserId(@Param("userId") Long userId, Limit limit);
+
+    @Query(
+        "SELECT new com.dshbd.domain.vm.NoteSummary(n.id, n.title, n.lastModifiedDate) FROM Note n WHERE n.userId = :userId" +
+        " AND (n.lastModifiedDate < :lastModifiedDate OR (n.lastModifiedDate = :lastModifiedDate AND n.id < :id))" +
+        " ORDER BY n.lastModifiedDate DESC, n.id DESC"
+    )
+    List<NoteSummary> findPageByUserIdAfter(
+        @Param("userId") Long userId,
+        @Param("lastModifiedDate") Instant lastModifiedDate,
+        @Param("id") Long id,
+        Limit limit
+    );
 }
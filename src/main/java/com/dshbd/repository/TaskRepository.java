@@ -1,8 +1,17 @@
 package com.dshbd.repository;
 
 import com.dshbd.domain.Task;
+import com.dshbd.domain.vm.TaskCard;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -14,4 +23,47 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     List<Task> findByStatus(String status);
 
     List<Task> findByBoardIdInAndStatus(List<Long> boardIds, String status);
+
+    List<Task> findByBoardIdAndIdIn(Long boardId, Collection<Long> ids);
+
+    long countByBoardIdAndStatus(Long boardId, String status);
+
+    Optional<Task> findFirstByBoardIdAndStatusAndIdNotOrderByPriorityDescPositionAscIdAsc(Long boardId, String status, Long id);
+
+    List<Task> findByBoardIdAndStatusOrderByPositionAscIdAsc(Long boardId, String status);
+
+    Optional<Task> findFirstByBoardIdAndStatusAndPositionNotNullOrderByPositionAscIdAsc(Long boardId, String status);
+
+    Optional<Task> findFirstByBoardIdAndStatusAndPositionGreaterThanOrderByPositionAscIdAsc(Long boardId, String status, Integer position);
+
+    @Query("SELECT MAX(t.position) FROM Task t WHERE t.boardId = :boardId AND t.status = :status")
+    Optional<Integer> findMaxPosition(@Param("boardId") Long boardId, @Param("status") String status);
+
+    @Query(
+        "SELECT t FROM Task t WHERE t.id = :id AND EXISTS (SELECT b.id FROM Board b WHERE b.id = t.boardId AND b.ownerId = :ownerId AND b.archived = false)"
+    )
+    Optional<Task> findByIdAndBoardOwnerId(@Param("id") Long id, @Param("ownerId") Long ownerId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT t FROM Task t WHERE t.boardId IN (SELECT b.id FROM Board b WHERE b.ownerId = :ownerId) ORDER BY t.boardId, t.position, t.id")
+    Stream<Task> streamByBoardOwnerId(@Param("ownerId") Long ownerId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(
+        "SELECT t FROM Task t WHERE t.boardId IN (SELECT b.id FROM Board b WHERE b.ownerId = :ownerId AND b.archived = false) " +
+        "ORDER BY t.boardId, t.position, t.id"
+    )
+    Stream<Task> streamByUnarchivedBoardOwnerId(@Param("ownerId") Long ownerId);
+
+    @Query(
+        "SELECT new com.dshbd.domain.vm.TaskCard(t.id, t.title, t.dueDate, t.priority, t.status, t.assignee, t.createdDate, t.lastModifiedDate, t.position) " +
+        "FROM Task t WHERE t.boardId = :boardId ORDER BY t.status, t.position, t.id"
+    )
+    List<TaskCard> findCardsByBoardId(@Param("boardId") Long boardId);
+
+    @Query(
+        "SELECT new com.dshbd.domain.vm.TaskCard(t.id, t.title, t.description, t.dueDate, t.priority, t.status, t.assignee, t.createdDate, t.lastModifiedDate, t.position) " +
+        "FROM Task t WHERE t.boardId = :boardId ORDER BY t.status, t.position, t.id"
+    )
+    List<TaskCard> findCardsWithDescriptionByBoardId(@Param("boardId") Long boardId);
 }
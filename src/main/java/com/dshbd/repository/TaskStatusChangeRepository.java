@@ -0,0 +1,15 @@
+package com.dshbd.repository;
+
+import com.dshbd.domain.TaskStatusChange;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TaskStatusChangeRepository extends JpaRepository<TaskStatusChange, Long> {
+    Optional<TaskStatusChange> findFirstByTaskIdAndToStatusOrderByChangedAtAsc(Long taskId, String toStatus);
+
+    List<TaskStatusChange> findByBoardIdAndToStatusAndChangedAtGreaterThanEqual(Long boardId, String toStatus, Instant since);
+}
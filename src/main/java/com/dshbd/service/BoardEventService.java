@@ -0,0 +1,178 @@
+package com.dshbd.service;
+
+import com.dshbd.config.ApplicationProperties;
+import com.dshbd.service.dto.BoardEventDTO;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes committed board and task changes to the clients watching a board, as server-sent events.
+ * <p>
+ * Connections are held by async requests, so an idle connection does not occupy a servlet thread.
+ * Events are queued per connection and written from the dedicated {@code boardEventExecutor}, so
+ * slow clients never hold up the general {@code taskExecutor}. A client that falls more than
+ * {@code application.board-events.buffer-size} events behind, or whose writes cannot be scheduled
+ * because the executor is saturated, is disconnected and has to reload the board when it reconnects.
+ */
+@Service
+public class BoardEventService {
+
+    private final Logger log = LoggerFactory.getLogger(BoardEventService.class);
+
+    private final Executor eventExecutor;
+    private final int bufferSize;
+    private final long timeoutMillis;
+
+    private final Map<Long, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+
+    public BoardEventService(@Qualifier("boardEventExecutor") Executor eventExecutor, ApplicationProperties applicationProperties) {
+        this.eventExecutor = eventExecutor;
+        this.bufferSize = applicationProperties.getBoardEvents().getBufferSize();
+        this.timeoutMillis = Duration.ofMinutes(applicationProperties.getBoardEvents().getTimeoutMinutes()).toMillis();
+    }
+
+    /**
+     * Open an event stream for a board. The caller must have checked that the board belongs to the current user.
+     *
+     * @param boardId the id of the board.
+     * @return the emitter to return from the controller.
+     */
+    public SseEmitter subscribe(Long boardId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscription subscription = new Subscription(boardId, emitter);
+        subscriptions.computeIfAbsent(boardId, key -> ConcurrentHashMap.newKeySet()).add(subscription);
+        emitter.onCompletion(() -> unsubscribe(subscription));
+        emitter.onTimeout(() -> unsubscribe(subscription));
+        emitter.onError(e -> unsubscribe(subscription));
+        log.debug("Opened event stream for Board {}", boardId);
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBoardEvent(BoardEventDTO event) {
+        Set<Subscription> boardSubscriptions = subscriptions.get(event.getBoardId());
+        if (boardSubscriptions == null) {
+            return;
+        }
+        for (Subscription subscription : boardSubscriptions) {
+            subscription.offer(SseEmitter.event().name(event.getType().name()).data(event));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.board-events.heartbeat-seconds:20}", timeUnit = TimeUnit.SECONDS)
+    public void sendHeartbeats() {
+        for (Set<Subscription> boardSubscriptions : subscriptions.values()) {
+            for (Subscription subscription : boardSubscriptions) {
+                subscription.offerHeartbeat();
+            }
+        }
+    }
+
+    int getSubscriptionCount(Long boardId) {
+        Set<Subscription> boardSubscriptions = subscriptions.get(boardId);
+        return boardSubscriptions == null ? 0 : boardSubscriptions.size();
+    }
+
+    private void unsubscribe(Subscription subscription) {
+        subscriptions.computeIfPresent(subscription.boardId, (key, boardSubscriptions) -> {
+            boardSubscriptions.remove(subscription);
+            return boardSubscriptions.isEmpty() ? null : boardSubscriptions;
+        });
+    }
+
+    private final class Subscription {
+
+        private final Long boardId;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+
+        Subscription(Long boardId, SseEmitter emitter) {
+            this.boardId = boardId;
+            this.emitter = emitter;
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (pending.size() >= bufferSize) {
+                    log.debug("Event stream for Board {} fell behind, closing it", boardId);
+                    close();
+                    return;
+                }
+                pending.add(event);
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            try {
+                eventExecutor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                log.debug("Event stream for Board {} could not be scheduled, closing it", boardId);
+                synchronized (this) {
+                    draining = false;
+                    close();
+                }
+            }
+        }
+
+        void offerHeartbeat() {
+            synchronized (this) {
+                if (!pending.isEmpty()) {
+                    return;
+                }
+            }
+            offer(SseEmitter.event().comment("heartbeat"));
+        }
+
+        private void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder event;
+                synchronized (this) {
+                    event = pending.poll();
+                    if (event == null || closed) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Event stream for Board {} is gone: {}", boardId, e.getMessage());
+                    synchronized (this) {
+                        draining = false;
+                        close();
+                    }
+                    return;
+                }
+            }
+        }
+
+        private void close() {
+            closed = true;
+            pending.clear();
+            unsubscribe(this);
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.dshbd.service;
+
+import com.dshbd.domain.Board;
+import com.dshbd.domain.BoardDailyMetric;
+import com.dshbd.domain.Task;
+import com.dshbd.domain.TaskStatusChange;
+import com.dshbd.repository.BoardDailyMetricRepository;
+import com.dshbd.repository.BoardRepository;
+import com.dshbd.repository.TaskRepository;
+import com.dshbd.repository.TaskStatusChangeRepository;
+import com.dshbd.service.dto.BoardMetricsDTO;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records task status transitions and serves kanban flow metrics from them.
+ * <p>
+ * Every transition is appended to the status log and folded into the board's row for the day, so reading
+ * metrics only touches one row per day of the requested range plus the completions within it.
+ */
+@Service
+@Transactional
+public class BoardMetricsService extends BaseService {
+
+    public static final int MAX_DAYS = 365;
+
+    private final Logger log = LoggerFactory.getLogger(BoardMetricsService.class);
+
+    private final TaskStatusChangeRepository taskStatusChangeRepository;
+    private final BoardDailyMetricRepository boardDailyMetricRepository;
+    private final BoardRepository boardRepository;
+    private final TaskRepository taskRepository;
+
+    public BoardMetricsService(
+        TaskStatusChangeRepository taskStatusChangeRepository,
+        BoardDailyMetricRepository boardDailyMetricRepository,
+        BoardRepository boardRepository,
+        TaskRepository taskRepository,
+        UserService userService
+    ) {
+        super(userService);
+        this.taskStatusChangeRepository = taskStatusChangeRepository;
+        this.boardDailyMetricRepository = boardDailyMetricRepository;
+        this.boardRepository = boardRepository;
+        this.taskRepository = taskRepository;
+    }
+
+    /**
+     * Record that a task changed status, in the transaction that changes it.
+     * <p>
+     * The caller locks the board, which serializes the read-modify-write of the day's row and its creation.
+     *
+     * @param board the board of the task, owned by the current user and locked by the caller.
+     * @param task the task, already saved.
+     * @param fromStatus the previous status, or {@code null} when the task was created.
+     * @param toStatus the new status, or {@code null} when the task was deleted.
+     */
+    public void recordTransition(Board board, Task task, String fromStatus, String toStatus) {
+        if (Objects.equals(fromStatus, toStatus)) {
+            return;
+        }
+        Instant now = Instant.now();
+        TaskStatusChange change = new TaskStatusChange();
+        change.setTaskId(task.getId());
+        change.setBoardId(board.getId());
+        change.setFromStatus(fromStatus);
+        change.setToStatus(toStatus);
+        change.setChangedAt(now);
+        if (Task.STATUS_DONE.equals(toStatus)) {
+            if (task.getCreatedDate() != null) {
+                change.setLeadTime(Duration.between(task.getCreatedDate(), now).toSeconds());
+            }
+            taskStatusChangeRepository
+                .findFirstByTaskIdAndToStatusOrderByChangedAtAsc(task.getId(), Task.STATUS_IN_PROGRESS)
+                .ifPresent(started -> change.setCycleTime(Duration.between(started.getChangedAt(), now).toSeconds()));
+        }
+        taskStatusChangeRepository.save(change);
+
+        LocalDate day = LocalDate.ofInstant(now, ZoneOffset.UTC);
+        BoardDailyMetric metric = boardDailyMetricRepository.findByBoardIdAndDay(board.getId(), day).orElse(null);
+        if (metric == null) {
+            metric = startDay(board.getId(), day, fromStatus, toStatus);
+        } else {
+            metric.addToColumn(fromStatus, -1);
+            metric.addToColumn(toStatus, 1);
+        }
+        if (Task.STATUS_DONE.equals(toStatus)) {
+            metric.setCompleted(metric.getCompleted() + 1);
+        }
+        boardDailyMetricRepository.save(metric);
+    }
+
+    /**
+     * Start the row of a day from the column counts at the end of the previous recorded day. A board without any
+     * recorded day is counted once; that count already includes the current transition.
+     */
+    private BoardDailyMetric startDay(Long boardId, LocalDate day, String fromStatus, String toStatus) {
+        BoardDailyMetric metric = new BoardDailyMetric();
+        metric.setBoardId(boardId);
+        metric.setDay(day);
+        Optional<BoardDailyMetric> previous = boardDailyMetricRepository.findFirstByBoardIdAndDayLessThanOrderByDayDesc(boardId, day);
+        if (previous.isPresent()) {
+            metric.setBacklogCount(previous.get().getBacklogCount());
+            metric.setToDoCount(previous.get().getToDoCount());
+            metric.setInProgressCount(previous.get().getInProgressCount());
+            metric.setDoneCount(previous.get().getDoneCount());
+            metric.addToColumn(fromStatus, -1);
+            metric.addToColumn(toStatus, 1);
+        } else {
+            log.debug("Counting the columns of Board {} to start its flow metrics", boardId);
+            metric.setBacklogCount((int) taskRepository.countByBoardIdAndStatus(boardId, Task.STATUS_BACKLOG));
+            metric.setToDoCount((int) taskRepository.countByBoardIdAndStatus(boardId, Task.STATUS_TO_DO));
+            metric.setInProgressCount((int) taskRepository.countByBoardIdAndStatus(boardId, Task.STATUS_IN_PROGRESS));
+            metric.setDoneCount((int) taskRepository.countByBoardIdAndStatus(boardId, Task.STATUS_DONE));
+        }
+        return metric;
+    }
+
+    /**
+     * Get the flow metrics of a board of the current user for the last days, including today.
+     *
+     * @param boardId the id of the board.
+     * @param days the number of days, at most {@value #MAX_DAYS}.
+     * @return the metrics, or empty if the board does not belong to the current user.
+     */
+    @Transactional(readOnly = true)
+    public Optional<BoardMetricsDTO> getMetrics(Long boardId, int days) {
+        return boardRepository
+            .findByIdAndOwnerId(boardId, getUserId())
+            .map(board -> {
+                LocalDate to = LocalDate.now(ZoneOffset.UTC);
+                LocalDate from = to.minusDays(days - 1L);
+                BoardMetricsDTO metrics = new BoardMetricsDTO(from, to);
+
+                Map<LocalDate, BoardDailyMetric> byDay = boardDailyMetricRepository
+                    .findByBoardIdAndDayBetweenOrderByDayAsc(boardId, from, to)
+                    .stream()
+                    .collect(Collectors.toMap(BoardDailyMetric::getDay, Function.identity()));
+                BoardDailyMetric last = boardDailyMetricRepository.findFirstByBoardIdAndDayLessThanOrderByDayDesc(boardId, from).orElse(null);
+                for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+                    BoardDailyMetric metric = byDay.get(day);
+                    int completed = metric == null ? 0 : metric.getCompleted();
+                    last = metric == null ? last : metric;
+                    metrics
+                        .getDays()
+                        .add(
+                            last == null
+                                ? new BoardMetricsDTO.DayDTO(day, 0, 0, 0, 0, completed)
+                                : new BoardMetricsDTO.DayDTO(
+                                    day,
+                                    last.getBacklogCount(),
+                                    last.getToDoCount(),
+                                    last.getInProgressCount(),
+                                    last.getDoneCount(),
+                                    completed
+                                )
+                        );
+                }
+
+                List<TaskStatusChange> completions = taskStatusChangeRepository.findByBoardIdAndToStatusAndChangedAtGreaterThanEqual(
+                    boardId,
+                    Task.STATUS_DONE,
+                    from.atStartOfDay(ZoneOffset.UTC).toInstant()
+                );
+                metrics.setCycleTime(percentiles(completions.stream().map(TaskStatusChange::getCycleTime).filter(Objects::nonNull).toList()));
+                metrics.setLeadTime(percentiles(completions.stream().map(TaskStatusChange::getLeadTime).filter(Objects::nonNull).toList()));
+                return metrics;
+            });
+    }
+
+    static BoardMetricsDTO.PercentilesDTO percentiles(List<Long> values) {
+        if (values.isEmpty()) {
+            return new BoardMetricsDTO.PercentilesDTO(0, null, null, null);
+        }
+        List<Long> sorted = values.stream().sorted().toList();
+        return new BoardMetricsDTO.PercentilesDTO(sorted.size(), rank(sorted, 50), rank(sorted, 85), rank(sorted, 95));
+    }
+
+    /**
+     * Nearest-rank percentile of a sorted list.
+     */
+    private static Long rank(List<Long> sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index));
+    }
+}
@@ -1,12 +1,19 @@
 package com.dshbd.service;
 
 import com.dshbd.domain.Board;
+import com.dshbd.domain.Task;
+import com.dshbd.domain.vm.TaskCard;
 import com.dshbd.repository.BoardRepository;
+import com.dshbd.repository.TaskRepository;
 import com.dshbd.service.dto.BoardDTO;
+import com.dshbd.service.dto.BoardEventDTO;
+import com.dshbd.service.dto.BoardSnapshotDTO;
 import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,11 +23,22 @@ public class BoardService extends BaseService {
 
     private final Logger log = LoggerFactory.getLogger(BoardService.class);
 
+    private static final List<String> COLUMNS = List.of(Task.STATUS_BACKLOG, Task.STATUS_TO_DO, Task.STATUS_IN_PROGRESS, Task.STATUS_DONE);
+
     private final BoardRepository boardRepository;
+    private final TaskRepository taskRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public BoardService(BoardRepository boardRepository, UserService userService) {
+    public BoardService(
+        BoardRepository boardRepository,
+        TaskRepository taskRepository,
+        UserService userService,
+        ApplicationEventPublisher eventPublisher
+    ) {
         super(userService);
         this.boardRepository = boardRepository;
+        this.taskRepository = taskRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public Board createBoard(BoardDTO boardDTO) {
@@ -54,10 +72,39 @@ public class BoardService extends BaseService {
         return boardRepository.findByIdAndOwnerId(id, getUserId());
     }
 
+    /**
+     * Get a board of the current user with all its tasks grouped by status and ordered by position.
+     *
+     * @param id the id of the board.
+     * @param includeDescription whether to load the task descriptions.
+     * @return the snapshot, or empty if the board does not belong to the current user.
+     */
+    @Transactional(readOnly = true)
+    public Optional<BoardSnapshotDTO> getBoardSnapshot(Long id, boolean includeDescription) {
+        return getBoard(id).map(board -> {
+            BoardSnapshotDTO snapshot = new BoardSnapshotDTO(board);
+            for (String status : COLUMNS) {
+                snapshot.getColumns().put(status, new BoardSnapshotDTO.ColumnDTO(board.getWipLimit(status)));
+            }
+            List<TaskCard> tasks = includeDescription
+                ? taskRepository.findCardsWithDescriptionByBoardId(board.getId())
+                : taskRepository.findCardsByBoardId(board.getId());
+            for (TaskCard task : tasks) {
+                snapshot
+                    .getColumns()
+                    .computeIfAbsent(task.getStatus(), status -> new BoardSnapshotDTO.ColumnDTO(null))
+                    .getTasks()
+                    .add(task);
+            }
+            return snapshot;
+        });
+    }
+
     public void deleteBoard(Long id) {
         getBoard(id).ifPresent(board -> {
             board.setArchived(true);
             boardRepository.save(board);
+            eventPublisher.publishEvent(new BoardEventDTO(BoardEventDTO.Type.BOARD_ARCHIVED, board.getId(), null, board));
         });
     }
 
@@ -65,6 +112,9 @@ public class BoardService extends BaseService {
         Optional<Board> board = getBoard(id);
         if (board.isPresent()) {
             Board boardToUpdate = board.get();
+            if (boardDTO.getVersion() != null && !boardDTO.getVersion().equals(boardToUpdate.getVersion())) {
+                throw new OptimisticLockingFailureException("Board has been modified");
+            }
             boardToUpdate.setTitle(boardDTO.getTitle());
             boardToUpdate.setDescription(boardDTO.getDescription());
             boardToUpdate.setToDoLimit(boardDTO.getToDoLimit());
@@ -72,7 +122,9 @@ public class BoardService extends BaseService {
             boardToUpdate.setAutoPull(boardDTO.isAutoPull());
             boardToUpdate.setStarted(boardDTO.isStarted());
             boardToUpdate.setArchived(boardDTO.isArchived());
-            return boardRepository.save(boardToUpdate);
+            Board result = boardRepository.save(boardToUpdate);
+            eventPublisher.publishEvent(new BoardEventDTO(BoardEventDTO.Type.BOARD_UPDATED, result.getId(), null, result));
+            return result;
         }
         throw new IllegalStateException("Board could not be found");
     }
@@ -0,0 +1,127 @@
+package com.dshbd.service;
+
+import com.dshbd.repository.DiaryEntryRepository;
+import com.dshbd.repository.DiaryMoodDailyRepository;
+import com.dshbd.repository.DiaryTagRepository;
+import java.util.List;
+import java.util.function.IntConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Deletes the diary of a user with set-based statements instead of loading the entries.
+ * <p>
+ * On its own, entries are deleted in chunks of {@value #CHUNK_SIZE} consecutive ids, tag links first, and each chunk is
+ * committed in its own transaction, so the purge neither holds locks on the whole diary nor fills the persistence
+ * context. An interrupted purge leaves whole chunks behind and can simply be run again. The deletion of an account
+ * purges the diary in its own transaction instead. Either way a {@link DiaryPurgedEvent} is published, as the bulk
+ * statements bypass the entity listeners.
+ */
+@Service
+public class DiaryPurgeService {
+
+    private final Logger log = LoggerFactory.getLogger(DiaryPurgeService.class);
+
+    public static final int CHUNK_SIZE = 1000;
+
+    private final DiaryEntryRepository diaryEntryRepository;
+    private final DiaryTagRepository diaryTagRepository;
+    private final DiaryMoodDailyRepository diaryMoodDailyRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public DiaryPurgeService(
+        DiaryEntryRepository diaryEntryRepository,
+        DiaryTagRepository diaryTagRepository,
+        DiaryMoodDailyRepository diaryMoodDailyRepository,
+        ApplicationEventPublisher eventPublisher,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.diaryEntryRepository = diaryEntryRepository;
+        this.diaryTagRepository = diaryTagRepository;
+        this.diaryMoodDailyRepository = diaryMoodDailyRepository;
+        this.eventPublisher = eventPublisher;
+        // Chunks commit even when the caller has a transaction open
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Delete all diary entries of a user, and their mood counts. Tags are kept.
+     *
+     * @param userId the owner of the entries.
+     * @return the number of entries deleted.
+     */
+    public int purgeEntries(Long userId) {
+        return purgeEntries(userId, deleted -> {});
+    }
+
+    /**
+     * Delete all diary entries of a user, and their mood counts. Tags are kept. The mood counts are only deleted
+     * after the last chunk; callers rebuild them when the purge fails.
+     *
+     * @param userId the owner of the entries.
+     * @param progress called after each chunk with the number of entries deleted so far.
+     * @return the number of entries deleted.
+     */
+    public int purgeEntries(Long userId, IntConsumer progress) {
+        log.debug("Purging the diary entries of User {}", userId);
+        try {
+            return purgeEntryChunks(userId, progress);
+        } finally {
+            eventPublisher.publishEvent(new DiaryPurgedEvent(userId));
+        }
+    }
+
+    private int purgeEntryChunks(Long userId, IntConsumer progress) {
+        int deleted = 0;
+        long afterId = Long.MIN_VALUE;
+        while (true) {
+            List<Long> ids = diaryEntryRepository.findIdsByUserIdAfter(userId, afterId, Limit.of(CHUNK_SIZE));
+            if (ids.isEmpty()) {
+                break;
+            }
+            long fromId = afterId;
+            long toId = ids.get(ids.size() - 1);
+            Integer chunk = transactionTemplate.execute(status -> {
+                diaryEntryRepository.deleteTagLinksByUserIdAndIdRange(userId, fromId, toId);
+                return diaryEntryRepository.deleteByUserIdAndIdRange(userId, fromId, toId);
+            });
+            deleted += chunk == null ? 0 : chunk;
+            afterId = toId;
+            log.debug("Purged {} diary entries of User {}", deleted, userId);
+            progress.accept(deleted);
+            if (ids.size() < CHUNK_SIZE) {
+                break;
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> diaryMoodDailyRepository.deleteAllByUserId(userId));
+        log.info("Purged {} diary entries of User {}", deleted, userId);
+        return deleted;
+    }
+
+    /**
+     * Delete the whole diary of a user, entries and tags, for the deletion of the account. Runs in the caller's
+     * transaction, so the diary is only gone once the account is.
+     *
+     * @param userId the owner of the diary.
+     * @return the number of entries deleted.
+     */
+    @Transactional
+    public int purgeAll(Long userId) {
+        diaryEntryRepository.deleteTagLinksByUserIdAndIdRange(userId, Long.MIN_VALUE, Long.MAX_VALUE);
+        int deleted = diaryEntryRepository.deleteByUserIdAndIdRange(userId, Long.MIN_VALUE, Long.MAX_VALUE);
+        diaryMoodDailyRepository.deleteAllByUserId(userId);
+        diaryTagRepository.deleteAllByUserId(userId);
+        eventPublisher.publishEvent(new DiaryPurgedEvent(userId));
+        log.info("Purged the diary of User {} with {} entries", userId, deleted);
+        return deleted;
+    }
+}
@@ -0,0 +1,9 @@
+package com.dshbd.service;
+
+/**
+ * Published when the diary entries of a user have been deleted with bulk statements, which bypass the entity
+ * listeners that keep derived data like the search indexes current.
+ *
+ * @param userId the owner of the deleted entries.
+ */
+public record DiaryPurgedEvent(Long userId) {}
@@ -2,18 +2,29 @@ package com.dshbd.service;
 
 import com.dshbd.domain.DiaryEntry;
 import com.dshbd.domain.DiaryTag;
+import com.dshbd.domain.vm.DiaryMoodSample;
 import com.dshbd.repository.DiaryEntryRepository;
 import com.dshbd.repository.DiaryTagRepository;
 import com.dshbd.service.dto.DiaryEntryDTO;
 import com.dshbd.service.mapper.DiaryEntryMapper;
+import com.dshbd.service.vm.CursorPageVM;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
@@ -25,43 +36,99 @@ public class DiaryService extends BaseService {
     private final DiaryEntryRepository diaryEntryRepository;
     private final DiaryTagRepository diaryTagRepository;
     private final DiaryEntryMapper diaryEntryMapper;
+    private final DiaryTagService diaryTagService;
+    private final DiaryStatsService diaryStatsService;
+    private final DiaryPurgeService diaryPurgeService;
 
     public DiaryService(
         UserService userService,
         DiaryEntryRepository diaryEntryRepository,
         DiaryTagRepository diaryTagRepository,
-        DiaryEntryMapper diaryEntryMapper
+        DiaryEntryMapper diaryEntryMapper,
+        DiaryTagService diaryTagService,
+        DiaryStatsService diaryStatsService,
+        DiaryPurgeService diaryPurgeService
     ) {
         super(userService);
         this.diaryEntryRepository = diaryEntryRepository;
         this.diaryTagRepository = diaryTagRepository;
         this.diaryEntryMapper = diaryEntryMapper;
+        this.diaryTagService = diaryTagService;
+        this.diaryStatsService = diaryStatsService;
+        this.diaryPurgeService = diaryPurgeService;
     }
 
     public DiaryEntryDTO save(DiaryEntryDTO diaryEntryDTO) {
         log.debug("Request to save DiaryEntry : {}", diaryEntryDTO);
+        Long userId = getUserId();
+        // Taken before the merge below overwrites the loaded entry
+        List<DiaryMoodSample> before = diaryEntryDTO.getId() == null
+            ? List.of()
+            : diaryEntryRepository
+                .findById(diaryEntryDTO.getId())
+                .map(existing -> {
+                    if (!existing.getUserId().equals(userId)) {
+                        throw new IllegalStateException("You are not authorized to access this diary entry");
+                    }
+                    return List.of(DiaryMoodSample.of(existing));
+                })
+                .orElse(List.of());
         DiaryEntry diaryEntry = diaryEntryMapper.toEntity(diaryEntryDTO);
-        diaryEntry.setUserId(getUserId());
+        diaryEntry.setUserId(userId);
 
-        // Find or create tags
+        Set<DiaryTag> tags = resolveTags(userId, diaryEntry.getTags());
+        diaryEntry.setTags(tags);
+        diaryEntry.setTagMask(DiaryTag.maskOf(tags));
+
+        diaryEntry = diaryEntryRepository.save(diaryEntry);
+        diaryStatsService.recordChange(userId, before, List.of(DiaryMoodSample.of(diaryEntry)));
+        return diaryEntryMapper.toDto(diaryEntry);
+    }
+
+    /**
+     * Find the user's tags by the names of the given ones, creating the missing tags in one batch. Active tags come from
+     * the per-user cache, so saving an entry with known tags costs no tag query. Archived tags are dropped.
+     */
+    private Set<DiaryTag> resolveTags(Long userId, Set<DiaryTag> requested) {
         Set<DiaryTag> tags = new HashSet<>();
-        for (DiaryTag tag : diaryEntry.getTags()) {
-            DiaryTag existingTag = diaryTagRepository
-                .findByUserIdAndName(getUserId(), tag.getName())
-                .orElseGet(() -> {
-                    DiaryTag newTag = new DiaryTag();
-                    newTag.setUserId(getUserId());
-                    newTag.setName(tag.getName());
-                    return diaryTagRepository.save(newTag);
-                });
+        if (requested.isEmpty()) {
+            return tags;
+        }
+        Map<String, DiaryTag> activeTags = diaryTagRepository
+            .findByUserIdAndArchivedFalseOrderByCreatedDateAsc(userId)
+            .stream()
+            .collect(Collectors.toMap(DiaryTag::getName, Function.identity(), (first, second) -> first));
+        Set<String> missing = new LinkedHashSet<>();
+        for (DiaryTag tag : requested) {
+            DiaryTag activeTag = activeTags.get(tag.getName());
+            if (activeTag != null) {
+                tags.add(activeTag);
+            } else if (tag.getName() != null) {
+                missing.add(tag.getName());
+            }
+        }
+        if (missing.isEmpty()) {
+            return tags;
+        }
+
+        // Archived tags, or tags created since the cache was filled
+        for (DiaryTag existingTag : diaryTagRepository.findByUserIdAndNameIn(userId, missing)) {
+            missing.remove(existingTag.getName());
             if (!existingTag.isArchived()) {
                 tags.add(existingTag);
             }
         }
-        diaryEntry.setTags(tags);
-
-        diaryEntry = diaryEntryRepository.save(diaryEntry);
-        return diaryEntryMapper.toDto(diaryEntry);
+        List<DiaryTag> newTags = new ArrayList<>();
+        for (String name : missing) {
+            DiaryTag newTag = new DiaryTag();
+            newTag.setUserId(userId);
+            newTag.setName(name);
+            newTags.add(newTag);
+        }
+        if (!newTags.isEmpty()) {
+            tags.addAll(diaryTagService.saveNewTags(userId, newTags));
+        }
+        return tags;
     }
 
     @Transactional(readOnly = true)
@@ -81,17 +148,91 @@ public class DiaryService extends BaseService {
     @Transactional(readOnly = true)
     public Page<DiaryEntryDTO> findByTags(Set<String> tagNames, Pageable pageable) {
         log.debug("Request to get DiaryEntries by tags: {}", tagNames);
-        return diaryEntryRepository
-            .findByUserIdAndTagsNameInOrderByCreatedDateDesc(getUserId(), tagNames, pageable)
-            .map(diaryEntryMapper::toDto);
+        Long userId = getUserId();
+        Page<DiaryEntry> entries = findTagMask(userId, tagNames)
+            .map(tagMask ->
+                tagMask == 0
+                    ? Page.<DiaryEntry>empty(pageable)
+                    : diaryEntryRepository.findByUserIdAndTagMaskOrderByCreatedDateDesc(userId, tagMask, pageable)
+            )
+            .orElseGet(() -> diaryEntryRepository.findByUserIdAndTagsNameInOrderByCreatedDateDesc(userId, tagNames, pageable));
+        return entries.map(diaryEntryMapper::toDto);
     }
 
     @Transactional(readOnly = true)
     public Page<DiaryEntryDTO> findByEmoticonAndTags(String emoticon, Set<String> tagNames, Pageable pageable) {
         log.debug("Request to get DiaryEntries by emoticon: {} and tags: {}", emoticon, tagNames);
-        return diaryEntryRepository
-            .findByUserIdAndEmoticonAndTagsNameInOrderByCreatedDateDesc(getUserId(), emoticon, tagNames, pageable)
-            .map(diaryEntryMapper::toDto);
+        Long userId = getUserId();
+        Page<DiaryEntry> entries = findTagMask(userId, tagNames)
+            .map(tagMask ->
+                tagMask == 0
+                    ? Page.<DiaryEntry>empty(pageable)
+                    : diaryEntryRepository.findByUserIdAndEmoticonAndTagMaskOrderByCreatedDateDesc(userId, emoticon, tagMask, pageable)
+            )
+            .orElseGet(() ->
+                diaryEntryRepository.findByUserIdAndEmoticonAndTagsNameInOrderByCreatedDateDesc(userId, emoticon, tagNames, pageable)
+            );
+        return entries.map(diaryEntryMapper::toDto);
+    }
+
+    /**
+     * The mask matching entries with any of the named tags, or empty if one of the tags has no slot and the join
+     * table has to be used. Names the user has no tag for match nothing.
+     */
+    private Optional<Long> findTagMask(Long userId, Set<String> tagNames) {
+        List<DiaryTag> tags = diaryTagRepository.findByUserIdAndNameIn(userId, tagNames);
+        if (tags.stream().anyMatch(tag -> tag.getSlot() == null)) {
+            return Optional.empty();
+        }
+        return Optional.of(DiaryTag.maskOf(tags));
+    }
+
+    /**
+     * Get a slice of the current user's diary entries, newest first, without counting them. Deep slices cost the
+     * same as the first one.
+     *
+     * @param emoticon the emoticon to filter by, or {@code null}.
+     * @param tagNames the tags of which entries must have at least one, or {@code null} or empty for no filter.
+     * @param cursor the cursor returned with the previous slice, or {@code null} for the first slice.
+     * @param size the requested slice size, clamped to {@link CursorPageVM#MAX_SIZE}.
+     * @return the slice.
+     * @throws IllegalArgumentException if the cursor cannot be decoded.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageVM<DiaryEntryDTO> findSlice(String emoticon, Set<String> tagNames, String cursor, int size) {
+        log.debug("Request to get a slice of DiaryEntries with filters: emoticon={}, tags={} after {}", emoticon, tagNames, cursor);
+        Long userId = getUserId();
+        KeysetCursor after = cursor == null ? KeysetCursor.START : KeysetCursor.decode(cursor);
+        int sliceSize = CursorPageVM.clampSize(size);
+        Limit limit = Limit.of(sliceSize + 1);
+        Instant date = after.date();
+        Long id = after.id();
+
+        List<DiaryEntry> entries;
+        if (tagNames == null || tagNames.isEmpty()) {
+            entries = emoticon == null
+                ? diaryEntryRepository.findSliceByUserId(userId, date, id, limit)
+                : diaryEntryRepository.findSliceByUserIdAndEmoticon(userId, emoticon, date, id, limit);
+        } else {
+            Optional<Long> tagMask = findTagMask(userId, tagNames);
+            if (tagMask.isEmpty()) {
+                entries = emoticon == null
+                    ? diaryEntryRepository.findSliceByUserIdAndTagsNameIn(userId, tagNames, date, id, limit)
+                    : diaryEntryRepository.findSliceByUserIdAndEmoticonAndTagsNameIn(userId, emoticon, tagNames, date, id, limit);
+            } else if (tagMask.get() == 0) {
+                entries = List.of();
+            } else {
+                entries = emoticon == null
+                    ? diaryEntryRepository.findSliceByUserIdAndTagMask(userId, tagMask.get(), date, id, limit)
+                    : diaryEntryRepository.findSliceByUserIdAndEmoticonAndTagMask(userId, emoticon, tagMask.get(), date, id, limit);
+            }
+        }
+        return CursorPageVM.of(
+            entries,
+            sliceSize,
+            entry -> new KeysetCursor(entry.getCreatedDate(), entry.getId()),
+            diaryEntryMapper::toDto
+        );
     }
 
     @Transactional(readOnly = true)
@@ -111,16 +252,31 @@ public class DiaryService extends BaseService {
     @Transactional
     public void delete(Long id) {
         log.debug("Request to delete DiaryEntry : {}", id);
-        diaryEntryRepository.deleteByUserIdAndId(getUserId(), id);
+        Long userId = getUserId();
+        diaryEntryRepository
+            .findById(id)
+            .filter(diaryEntry -> diaryEntry.getUserId().equals(userId))
+            .ifPresent(diaryEntry -> {
+                diaryStatsService.recordChange(userId, List.of(DiaryMoodSample.of(diaryEntry)), List.of());
+                diaryEntryRepository.delete(diaryEntry);
+            });
     }
 
     /**
-     * Delete all diary entries.
-     * This is an administrative operation that removes all diary entries from the database.
+     * Delete all diary entries of the current user, chunk by chunk, see {@link DiaryPurgeService}. When the purge
+     * fails, the mood counts are rebuilt from the entries left.
+     *
+     * @return the number of entries deleted.
      */
-    @Transactional
-    public void deleteAllEntries() {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int deleteAllEntries() {
         log.debug("Request to delete all DiaryEntries");
-        diaryEntryRepository.deleteAllByUserId(getUserId());
+        Long userId = getUserId();
+        try {
+            return diaryPurgeService.purgeEntries(userId);
+        } catch (RuntimeException e) {
+            diaryStatsService.rebuild(userId);
+            throw e;
+        }
     }
 }
@@ -0,0 +1,292 @@
+package com.dshbd.service;
+
+import com.dshbd.domain.DiaryMoodBackfill;
+import com.dshbd.domain.DiaryMoodDaily;
+import com.dshbd.domain.DiaryTag;
+import com.dshbd.domain.vm.DiaryMoodSample;
+import com.dshbd.repository.DiaryEntryRepository;
+import com.dshbd.repository.DiaryMoodBackfillRepository;
+import com.dshbd.repository.DiaryMoodDailyRepository;
+import com.dshbd.repository.DiaryTagRepository;
+import com.dshbd.service.dto.DiaryStatsDTO;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Mood statistics of the diary, answered from the daily counts in {@link DiaryMoodDaily} instead of the entries.
+ * <p>
+ * The counts are changed in the transaction that saves or deletes the entries. Tags without a slot are not counted.
+ * Users whose entries predate the counts carry a {@link DiaryMoodBackfill} marker; their changes are left to the
+ * backfill until it has counted them.
+ */
+@Service
+@Transactional
+public class DiaryStatsService extends BaseService {
+
+    private final Logger log = LoggerFactory.getLogger(DiaryStatsService.class);
+
+    public static final int MAX_DAYS = 731;
+
+    private final DiaryMoodDailyRepository diaryMoodDailyRepository;
+    private final DiaryEntryRepository diaryEntryRepository;
+    private final DiaryTagRepository diaryTagRepository;
+    private final DiaryMoodBackfillRepository diaryMoodBackfillRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate newTransactionTemplate;
+
+    public DiaryStatsService(
+        UserService userService,
+        DiaryMoodDailyRepository diaryMoodDailyRepository,
+        DiaryEntryRepository diaryEntryRepository,
+        DiaryTagRepository diaryTagRepository,
+        DiaryMoodBackfillRepository diaryMoodBackfillRepository,
+        PlatformTransactionManager transactionManager
+    ) {
+        super(userService);
+        this.diaryMoodDailyRepository = diaryMoodDailyRepository;
+        this.diaryEntryRepository = diaryEntryRepository;
+        this.diaryTagRepository = diaryTagRepository;
+        this.diaryMoodBackfillRepository = diaryMoodBackfillRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Update the counts of a user for entries that were removed or changed away from, and entries that were added or
+     * changed to. Changes that cancel out, like an edit of the content only, write nothing.
+     *
+     * @param userId the owner of the entries.
+     * @param removed the entries as they were before, or empty.
+     * @param added the entries as they are now, or empty.
+     */
+    public void recordChange(Long userId, Collection<DiaryMoodSample> removed, Collection<DiaryMoodSample> added) {
+        Map<Key, Integer> deltas = new HashMap<>();
+        removed.forEach(sample -> count(sample, -1, deltas));
+        added.forEach(sample -> count(sample, 1, deltas));
+        if (deltas.values().stream().allMatch(value -> value == 0)) {
+            return;
+        }
+        if (diaryMoodBackfillRepository.findWithLockByUserId(userId).isPresent()) {
+            // Counted by the backfill, which waits for this transaction
+            return;
+        }
+
+        List<Key> decremented = new ArrayList<>();
+        for (Map.Entry<Key, Integer> delta : deltas.entrySet()) {
+            Key key = delta.getKey();
+            int value = delta.getValue();
+            if (value == 0) {
+                continue;
+            }
+            int updated = diaryMoodDailyRepository.addToCount(userId, key.day(), key.emoticon(), key.tagSlot(), value);
+            if (updated == 0 && value > 0 && !createCount(userId, key, value)) {
+                diaryMoodDailyRepository.addToCount(userId, key.day(), key.emoticon(), key.tagSlot(), value);
+            }
+            if (value < 0) {
+                decremented.add(key);
+            }
+        }
+        // Only the counts this change emptied, a count another change has just created is never touched
+        for (Key key : decremented) {
+            diaryMoodDailyRepository.deleteEmptyCount(userId, key.day(), key.emoticon(), key.tagSlot());
+        }
+    }
+
+    /**
+     * Create a count holding the first entries in its own transaction, so that a concurrent first entry of the same
+     * day and emoticon creating it too does not fail the caller. The count is taken back if the caller rolls back.
+     *
+     * @return whether the count was created, {@code false} if it was created concurrently.
+     */
+    private boolean createCount(Long userId, Key key, int entryCount) {
+        try {
+            newTransactionTemplate.executeWithoutResult(status -> diaryMoodDailyRepository.saveAndFlush(newCount(userId, key, entryCount)));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Diary mood count {} of User {} was created concurrently", key, userId);
+            return false;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (status == STATUS_ROLLED_BACK) {
+                            removeCount(userId, key, entryCount);
+                        }
+                    }
+                }
+            );
+        }
+        return true;
+    }
+
+    private void removeCount(Long userId, Key key, int entryCount) {
+        try {
+            newTransactionTemplate.executeWithoutResult(status -> {
+                diaryMoodDailyRepository.addToCount(userId, key.day(), key.emoticon(), key.tagSlot(), -entryCount);
+                diaryMoodDailyRepository.deleteEmptyCount(userId, key.day(), key.emoticon(), key.tagSlot());
+            });
+        } catch (RuntimeException e) {
+            log.error("Failed to take back diary mood count {} of User {}, rebuild the counts to repair them", key, userId, e);
+        }
+    }
+
+    /**
+     * Recount the entries of a user from scratch.
+     */
+    public void rebuild(Long userId) {
+        log.debug("Rebuilding the diary mood counts of User {}", userId);
+        diaryMoodDailyRepository.deleteAllByUserId(userId);
+        Map<Key, Integer> counts = new HashMap<>();
+        try (Stream<DiaryMoodSample> samples = diaryEntryRepository.streamMoodSamplesByUserId(userId)) {
+            samples.forEach(sample -> count(sample, 1, counts));
+        }
+        List<DiaryMoodDaily> rows = new ArrayList<>();
+        counts.forEach((key, entryCount) -> rows.add(newCount(userId, key, entryCount)));
+        diaryMoodDailyRepository.saveAll(rows);
+    }
+
+    /**
+     * One-off backfill of the users whose entries predate the counts, one transaction per user. Runs in the
+     * background after startup and finds nothing to do once every marker has been removed.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuildMissing() {
+        List<Long> userIds = diaryMoodBackfillRepository.findAllUserIds();
+        if (userIds.isEmpty()) {
+            return;
+        }
+        log.info("Building the diary mood counts of {} users", userIds.size());
+        for (Long userId : userIds) {
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                    diaryMoodBackfillRepository
+                        .findWithLockByUserId(userId)
+                        .ifPresent(marker -> {
+                            rebuild(userId);
+                            diaryMoodBackfillRepository.delete(marker);
+                        })
+                );
+            } catch (RuntimeException e) {
+                log.error("Failed to build the diary mood counts of User {}", userId, e);
+            }
+        }
+    }
+
+    /**
+     * Get the mood statistics of the current user.
+     *
+     * @param from the first day, inclusive.
+     * @param to the last day, inclusive, at most {@value #MAX_DAYS} days after {@code from}.
+     * @return the statistics.
+     */
+    @Transactional(readOnly = true)
+    public DiaryStatsDTO getStats(LocalDate from, LocalDate to) {
+        Long userId = getUserId();
+        DiaryStatsDTO stats = new DiaryStatsDTO(from, to);
+        List<DiaryMoodDaily> counts = diaryMoodDailyRepository.findByUserIdAndDayBetween(userId, from, to);
+
+        Map<String, Integer> emoticons = new HashMap<>();
+        Map<LocalDate, Map<String, Integer>> weeks = new TreeMap<>();
+        Map<LocalDate, Map<String, Integer>> months = new TreeMap<>();
+        Map<String, Map<Integer, Integer>> slotsByEmoticon = new HashMap<>();
+        for (DiaryMoodDaily count : counts) {
+            String emoticon = count.getEmoticon();
+            int entries = count.getEntryCount();
+            if (entries <= 0) {
+                continue;
+            }
+            if (count.getTagSlot() == DiaryMoodDaily.ALL_TAGS) {
+                emoticons.merge(emoticon, entries, Integer::sum);
+                LocalDate week = count.getDay().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                weeks.computeIfAbsent(week, key -> new TreeMap<>()).merge(emoticon, entries, Integer::sum);
+                months.computeIfAbsent(count.getDay().withDayOfMonth(1), key -> new TreeMap<>()).merge(emoticon, entries, Integer::sum);
+            } else {
+                slotsByEmoticon.computeIfAbsent(emoticon, key -> new HashMap<>()).merge(count.getTagSlot(), entries, Integer::sum);
+            }
+        }
+
+        emoticons
+            .entrySet()
+            .stream()
+            .sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+            .forEach(count -> stats.getEmoticons().put(count.getKey(), count.getValue()));
+        weeks.forEach((start, byEmoticon) -> stats.getWeeks().add(new DiaryStatsDTO.PeriodDTO(start, byEmoticon)));
+        months.forEach((start, byEmoticon) -> stats.getMonths().add(new DiaryStatsDTO.PeriodDTO(start, byEmoticon)));
+
+        if (!slotsByEmoticon.isEmpty()) {
+            Map<Integer, String> tagNames = new HashMap<>();
+            for (DiaryTag tag : diaryTagRepository.findByUserIdOrderByCreatedDateDesc(userId)) {
+                if (tag.getSlot() != null) {
+                    tagNames.put(tag.getSlot(), tag.getName());
+                }
+            }
+            for (String emoticon : stats.getEmoticons().keySet()) {
+                List<DiaryStatsDTO.TagCountDTO> tags = new ArrayList<>();
+                slotsByEmoticon
+                    .getOrDefault(emoticon, Map.of())
+                    .forEach((slot, entries) -> {
+                        String name = tagNames.get(slot);
+                        if (name != null) {
+                            tags.add(new DiaryStatsDTO.TagCountDTO(name, entries));
+                        }
+                    });
+                tags.sort(
+                    Comparator.comparingInt(DiaryStatsDTO.TagCountDTO::getCount).reversed().thenComparing(DiaryStatsDTO.TagCountDTO::getTag)
+                );
+                stats.getTagsByEmoticon().put(emoticon, tags);
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Add {@code delta} to the counts an entry contributes to: the total of its day and emoticon, and one per tag slot.
+     */
+    static void count(DiaryMoodSample sample, int delta, Map<Key, Integer> counts) {
+        LocalDate day = LocalDate.ofInstant(sample.getCreatedDate(), ZoneOffset.UTC);
+        counts.merge(new Key(day, sample.getEmoticon(), DiaryMoodDaily.ALL_TAGS), delta, Integer::sum);
+        for (long mask = sample.getTagMask(); mask != 0; mask &= mask - 1) {
+            counts.merge(new Key(day, sample.getEmoticon(), Long.numberOfTrailingZeros(mask)), delta, Integer::sum);
+        }
+    }
+
+    private static DiaryMoodDaily newCount(Long userId, Key key, int entryCount) {
+        DiaryMoodDaily count = new DiaryMoodDaily();
+        count.setUserId(userId);
+        count.setDay(key.day());
+        count.setEmoticon(key.emoticon());
+        count.setTagSlot(key.tagSlot());
+        count.setEntryCount(entryCount);
+        return count;
+    }
+
+    record Key(LocalDate day, String emoticon, int tagSlot) {}
+}
@@ -5,9 +5,16 @@ import com.dshbd.repository.DiaryEntryRepository;
 import com.dshbd.repository.DiaryTagRepository;
 import com.dshbd.service.dto.DiaryTagDTO;
 import com.dshbd.service.mapper.DiaryTagMapper;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,17 +28,20 @@ public class DiaryTagService extends BaseService {
     private final DiaryTagRepository diaryTagRepository;
     private final DiaryEntryRepository diaryEntryRepository;
     private final DiaryTagMapper diaryTagMapper;
+    private final CacheManager cacheManager;
 
     public DiaryTagService(
         UserService userService,
         DiaryTagRepository diaryTagRepository,
         DiaryEntryRepository diaryEntryRepository,
-        DiaryTagMapper diaryTagMapper
+        DiaryTagMapper diaryTagMapper,
+        CacheManager cacheManager
     ) {
         super(userService);
         this.diaryTagRepository = diaryTagRepository;
         this.diaryEntryRepository = diaryEntryRepository;
         this.diaryTagMapper = diaryTagMapper;
+        this.cacheManager = cacheManager;
     }
 
     public DiaryTagDTO createTag(DiaryTagDTO tagDTO) {
@@ -50,15 +60,50 @@ public class DiaryTagService extends BaseService {
 
         DiaryTag tag = diaryTagMapper.toEntity(tagDTO);
         tag.setUserId(getUserId());
-        tag = diaryTagRepository.save(tag);
+        tag = saveNewTag(tag);
         return diaryTagMapper.toDto(tag);
     }
 
+    /**
+     * Save a new tag with the lowest bit slot its user has free. Slots are never reassigned while the tag exists,
+     * so the masks stored on diary entries stay valid.
+     *
+     * @param tag the new tag, with its user set.
+     * @return the saved tag.
+     */
+    public DiaryTag saveNewTag(DiaryTag tag) {
+        return saveNewTags(tag.getUserId(), List.of(tag)).get(0);
+    }
+
+    /**
+     * Save new tags of one user in a batch, giving them the lowest free bit slots in order, see {@link #saveNewTag(DiaryTag)}.
+     *
+     * @param userId the user of the tags.
+     * @param tags the new tags, with their user set.
+     * @return the saved tags.
+     */
+    public List<DiaryTag> saveNewTags(Long userId, List<DiaryTag> tags) {
+        Set<Integer> usedSlots = new HashSet<>(diaryTagRepository.findSlotsByUserId(userId));
+        int slot = 0;
+        for (DiaryTag tag : tags) {
+            while (slot < DiaryTag.SLOT_COUNT && usedSlots.contains(slot)) {
+                slot++;
+            }
+            if (slot < DiaryTag.SLOT_COUNT) {
+                tag.setSlot(slot++);
+            }
+        }
+        List<DiaryTag> saved = diaryTagRepository.saveAll(tags);
+        clearTagCache(userId);
+        return saved;
+    }
+
     public DiaryTagDTO updateTag(DiaryTagDTO tagDTO) {
         log.debug("Request to update DiaryTag : {}", tagDTO);
         DiaryTag tag = diaryTagMapper.toEntity(tagDTO);
         tag.setUserId(getUserId());
         tag = diaryTagRepository.save(tag);
+        clearTagCache(tag.getUserId());
         return diaryTagMapper.toDto(tag);
     }
 
@@ -103,6 +148,7 @@ public class DiaryTagService extends BaseService {
             throw new IllegalStateException(String.format("Cannot delete tag that is used in entries: %s", tag.getName()));
         }
         diaryTagRepository.deleteById(id);
+        clearTagCache(tag.getUserId());
     }
 
     public DiaryTagDTO archiveTag(Long id) {
@@ -114,8 +160,26 @@ public class DiaryTagService extends BaseService {
             .map(tag -> {
                 tag.setArchived(true);
                 DiaryTag savedTag = diaryTagRepository.save(tag);
+                clearTagCache(savedTag.getUserId());
                 return diaryTagMapper.toDto(savedTag);
             })
             .orElseThrow(() -> new IllegalStateException("Tag not found or you are not authorized to access it"));
     }
+
+    /**
+     * Evict the active tags of a user whose diary was purged with bulk statements, which may have deleted the tags.
+     */
+    @EventListener
+    public void onDiaryPurged(DiaryPurgedEvent event) {
+        clearTagCache(event.userId());
+    }
+
+    /**
+     * Evict the active tags of a user once the transaction commits, so that a concurrent read cannot cache the
+     * tags as they were before the change.
+     */
+    private void clearTagCache(Long userId) {
+        Cache cache = Objects.requireNonNull(cacheManager.getCache(DiaryTagRepository.ACTIVE_TAGS_BY_USER_CACHE));
+        new TransactionAwareCacheDecorator(cache).evict(userId);
+    }
 }
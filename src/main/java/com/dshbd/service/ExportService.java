@@ -0,0 +1,414 @@
+package com.dshbd.service;
+
+import com.dshbd.domain.Board;
+import com.dshbd.domain.DiaryEntry;
+import com.dshbd.domain.DiaryTag;
+import com.dshbd.domain.Habit;
+import com.dshbd.domain.HabitDaySchedule;
+import com.dshbd.domain.HabitSpecificTime;
+import com.dshbd.domain.Idea;
+import com.dshbd.domain.Note;
+import com.dshbd.domain.Task;
+import com.dshbd.domain.vm.DiaryEntryTagLink;
+import com.dshbd.repository.BoardRepository;
+import com.dshbd.repository.DiaryEntryRepository;
+import com.dshbd.repository.DiaryTagRepository;
+import com.dshbd.repository.HabitRepository;
+import com.dshbd.repository.IdeaRepository;
+import com.dshbd.repository.NoteRepository;
+import com.dshbd.repository.TaskRepository;
+import com.dshbd.service.dto.ImportDataDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Writes all data of a user in the format accepted by {@link ImportService}.
+ * <p>
+ * Rows are read through database cursors and detached from the persistence context once written,
+ * so memory use does not depend on the size of the account.
+ */
+@Service
+public class ExportService extends BaseService {
+
+    public static final String EXPORT_VERSION = "1.0";
+
+    public enum Format {
+        /** A single {@link ImportDataDTO} document. */
+        JSON,
+        /** One {@code {"type": <section>, "data": <element>}} object per line, after an {@code "export"} header line. */
+        NDJSON,
+    }
+
+    private final Logger log = LoggerFactory.getLogger(ExportService.class);
+
+    private final DiaryEntryRepository diaryEntryRepository;
+    private final DiaryTagRepository diaryTagRepository;
+    private final IdeaRepository ideaRepository;
+    private final NoteRepository noteRepository;
+    private final BoardRepository boardRepository;
+    private final TaskRepository taskRepository;
+    private final HabitRepository habitRepository;
+    private final ObjectWriter objectWriter;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    public ExportService(
+        DiaryEntryRepository diaryEntryRepository,
+        DiaryTagRepository diaryTagRepository,
+        IdeaRepository ideaRepository,
+        NoteRepository noteRepository,
+        BoardRepository boardRepository,
+        TaskRepository taskRepository,
+        HabitRepository habitRepository,
+        UserService userService,
+        ObjectMapper objectMapper,
+        EntityManager entityManager,
+        PlatformTransactionManager transactionManager
+    ) {
+        super(userService);
+        this.diaryEntryRepository = diaryEntryRepository;
+        this.diaryTagRepository = diaryTagRepository;
+        this.ideaRepository = ideaRepository;
+        this.noteRepository = noteRepository;
+        this.boardRepository = boardRepository;
+        this.taskRepository = taskRepository;
+        this.habitRepository = habitRepository;
+        this.objectMapper = objectMapper;
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Write all data of a user to the given stream.
+     * <p>
+     * The stream is flushed but not closed, so callers can wrap it in a compressing stream and finish that afterwards.
+     *
+     * @param userId the owner of the exported data; resolved by the caller as this may run outside the request thread.
+     * @param format the output format.
+     * @param outputStream the target stream.
+     * @throws IOException if writing to the stream fails, typically because the client went away.
+     */
+    public void export(Long userId, Format format, OutputStream outputStream) throws IOException {
+        log.debug("Exporting data of user {} as {}", userId, format);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        ExportWriter writer = new ExportWriter(generator, format);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try {
+                    writer.start();
+                    exportDiaryEntries(userId, writer);
+                    exportIdeas(userId, writer);
+                    exportNotes(userId, writer);
+                    exportBoards(userId, writer);
+                    exportHabits(userId, writer);
+                    writer.end();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            generator.close();
+        }
+    }
+
+    private void exportDiaryEntries(Long userId, ExportWriter writer) throws IOException {
+        Map<Long, ImportDataDTO.ImportDiaryTagDTO> tags = diaryTagRepository
+            .findByUserIdOrderByCreatedDateDesc(userId)
+            .stream()
+            .collect(Collectors.toMap(DiaryTag::getId, this::toDiaryTagDTO));
+
+        writer.startSection("diaryEntries");
+        // Both cursors are ordered by entry id, so the tags of each entry are picked up in a single pass
+        try (
+            Stream<DiaryEntry> entries = diaryEntryRepository.streamByUserIdOrderById(userId);
+            Stream<DiaryEntryTagLink> links = diaryEntryRepository.streamTagLinksByUserId(userId)
+        ) {
+            PeekingIterator<DiaryEntryTagLink> linkIterator = new PeekingIterator<>(links.iterator());
+            for (Iterator<DiaryEntry> it = entries.iterator(); it.hasNext();) {
+                DiaryEntry entry = it.next();
+                List<ImportDataDTO.ImportDiaryTagDTO> entryTags = new ArrayList<>();
+                for (DiaryEntryTagLink link : linkIterator.takeWhile(link -> link.getEntryId().equals(entry.getId()))) {
+                    entryTags.add(tags.get(link.getTagId()));
+                }
+                writer.write(toDiaryEntryDTO(entry, entryTags));
+                entityManager.detach(entry);
+            }
+        }
+        writer.endSection();
+    }
+
+    private void exportIdeas(Long userId, ExportWriter writer) throws IOException {
+        writer.startSection("ideas");
+        try (Stream<Idea> ideas = ideaRepository.streamByOwnerIdOrderById(userId)) {
+            writeAll(ideas, this::toIdeaDTO, writer);
+        }
+        writer.endSection();
+    }
+
+    private void exportNotes(Long userId, ExportWriter writer) throws IOException {
+        writer.startSection("notes");
+        try (Stream<Note> notes = noteRepository.streamByUserIdOrderById(userId)) {
+            writeAll(notes, this::toNoteDTO, writer);
+        }
+        writer.endSection();
+    }
+
+    private void exportBoards(Long userId, ExportWriter writer) throws IOException {
+        writer.startSection("boards");
+        // Tasks are ordered by board id, matching the order of the boards cursor
+        try (
+            Stream<Board> boards = boardRepository.streamByOwnerIdOrderById(userId);
+            Stream<Task> tasks = taskRepository.streamByBoardOwnerId(userId)
+        ) {
+            PeekingIterator<Task> taskIterator = new PeekingIterator<>(tasks.iterator());
+            for (Iterator<Board> it = boards.iterator(); it.hasNext();) {
+                Board board = it.next();
+                List<ImportDataDTO.ImportTaskDTO> boardTasks = new ArrayList<>();
+                for (Task task : taskIterator.takeWhile(task -> task.getBoardId().equals(board.getId()))) {
+                    boardTasks.add(toTaskDTO(task));
+                    entityManager.detach(task);
+                }
+                writer.write(toBoardDTO(board, boardTasks));
+                entityManager.detach(board);
+            }
+        }
+        writer.endSection();
+    }
+
+    private void exportHabits(Long userId, ExportWriter writer) throws IOException {
+        // Habits are user-defined configuration rather than accumulated data, so they are loaded in one query
+        writer.startSection("habits");
+        for (Habit habit : habitRepository.findWithSchedulesByUserIdOrderById(userId)) {
+            writer.write(toHabitDTO(habit));
+        }
+        writer.endSection();
+        entityManager.clear();
+    }
+
+    private <E, D> void writeAll(Stream<E> entities, Function<E, D> mapper, ExportWriter writer) throws IOException {
+        for (Iterator<E> it = entities.iterator(); it.hasNext();) {
+            E entity = it.next();
+            writer.write(mapper.apply(entity));
+            entityManager.detach(entity);
+        }
+    }
+
+    private ImportDataDTO.ImportDiaryTagDTO toDiaryTagDTO(DiaryTag tag) {
+        ImportDataDTO.ImportDiaryTagDTO tagDTO = new ImportDataDTO.ImportDiaryTagDTO();
+        tagDTO.setName(tag.getName());
+        tagDTO.setArchived(tag.isArchived());
+        tagDTO.setCreatedDate(tag.getCreatedDate());
+        tagDTO.setLastModifiedDate(tag.getLastModifiedDate());
+        return tagDTO;
+    }
+
+    private ImportDataDTO.ImportDiaryEntryDTO toDiaryEntryDTO(DiaryEntry entry, List<ImportDataDTO.ImportDiaryTagDTO> tags) {
+        ImportDataDTO.ImportDiaryEntryDTO entryDTO = new ImportDataDTO.ImportDiaryEntryDTO();
+        entryDTO.setContent(entry.getContent());
+        entryDTO.setEmoticon(entry.getEmoticon());
+        entryDTO.setTags(tags);
+        entryDTO.setCreatedDate(entry.getCreatedDate());
+        entryDTO.setLastModifiedDate(entry.getLastModifiedDate());
+        return entryDTO;
+    }
+
+    private ImportDataDTO.ImportIdeaDTO toIdeaDTO(Idea idea) {
+        ImportDataDTO.ImportIdeaDTO ideaDTO = new ImportDataDTO.ImportIdeaDTO();
+        ideaDTO.setContent(idea.getContent());
+        ideaDTO.setCreatedDate(idea.getCreatedDate());
+        ideaDTO.setLastUpdatedDate(idea.getLastUpdatedDate());
+        return ideaDTO;
+    }
+
+    private ImportDataDTO.ImportNoteDTO toNoteDTO(Note note) {
+        ImportDataDTO.ImportNoteDTO noteDTO = new ImportDataDTO.ImportNoteDTO();
+        noteDTO.setTitle(note.getTitle());
+        noteDTO.setContent(note.getContent());
+        noteDTO.setCreatedDate(note.getCreatedDate());
+        noteDTO.setLastModifiedDate(note.getLastModifiedDate());
+        return noteDTO;
+    }
+
+    private ImportDataDTO.ImportBoardDTO toBoardDTO(Board board, List<ImportDataDTO.ImportTaskDTO> tasks) {
+        ImportDataDTO.ImportBoardDTO boardDTO = new ImportDataDTO.ImportBoardDTO();
+        boardDTO.setTitle(board.getTitle());
+        boardDTO.setDescription(board.getDescription());
+        boardDTO.setStarted(board.isStarted());
+        boardDTO.setToDoLimit(board.getToDoLimit());
+        boardDTO.setProgressLimit(board.getProgressLimit());
+        boardDTO.setCreatedDate(board.getCreatedDate());
+        boardDTO.setArchived(board.isArchived());
+        boardDTO.setAutoPull(board.isAutoPull());
+        boardDTO.setTasks(tasks);
+        return boardDTO;
+    }
+
+    private ImportDataDTO.ImportTaskDTO toTaskDTO(Task task) {
+        ImportDataDTO.ImportTaskDTO taskDTO = new ImportDataDTO.ImportTaskDTO();
+        taskDTO.setTitle(task.getTitle());
+        taskDTO.setDescription(task.getDescription());
+        taskDTO.setDueDate(task.getDueDate());
+        taskDTO.setPriority(task.getPriority());
+        taskDTO.setStatus(task.getStatus());
+        taskDTO.setAssignee(task.getAssignee());
+        taskDTO.setCreatedDate(task.getCreatedDate());
+        taskDTO.setLastModifiedDate(task.getLastModifiedDate());
+        taskDTO.setPosition(task.getPosition() != null ? task.getPosition() : 0);
+        return taskDTO;
+    }
+
+    private ImportDataDTO.ImportHabitDTO toHabitDTO(Habit habit) {
+        ImportDataDTO.ImportHabitDTO habitDTO = new ImportDataDTO.ImportHabitDTO();
+        habitDTO.setName(habit.getName());
+        habitDTO.setDescription(habit.getDescription());
+        habitDTO.setActive(habit.isActive());
+        habitDTO.setScheduleType(habit.getScheduleType().name());
+        habitDTO.setCreatedDate(habit.getCreatedDate());
+        habitDTO.setLastModifiedDate(habit.getLastModifiedDate());
+        List<ImportDataDTO.ImportHabitDayScheduleDTO> daySchedules = new ArrayList<>();
+        for (HabitDaySchedule daySchedule : habit.getDaySchedules()) {
+            daySchedules.add(toDayScheduleDTO(daySchedule));
+        }
+        habitDTO.setDaySchedules(daySchedules);
+        return habitDTO;
+    }
+
+    private ImportDataDTO.ImportHabitDayScheduleDTO toDayScheduleDTO(HabitDaySchedule daySchedule) {
+        ImportDataDTO.ImportHabitDayScheduleDTO scheduleDTO = new ImportDataDTO.ImportHabitDayScheduleDTO();
+        scheduleDTO.setDayOfWeek(daySchedule.getDayOfWeek().name());
+        scheduleDTO.setScheduleType(daySchedule.getScheduleType().name());
+        scheduleDTO.setRepetitions(daySchedule.getRepetitions());
+        List<ImportDataDTO.ImportHabitSpecificTimeDTO> specificTimes = new ArrayList<>();
+        for (HabitSpecificTime specificTime : daySchedule.getSpecificTimes()) {
+            ImportDataDTO.ImportHabitSpecificTimeDTO timeDTO = new ImportDataDTO.ImportHabitSpecificTimeDTO();
+            timeDTO.setHour(specificTime.getHour());
+            timeDTO.setMinute(specificTime.getMinute());
+            specificTimes.add(timeDTO);
+        }
+        scheduleDTO.setSpecificTimes(specificTimes);
+        return scheduleDTO;
+    }
+
+    /**
+     * Emits sections either nested in one {@link ImportDataDTO} document or as one JSON object per line.
+     */
+    private final class ExportWriter {
+
+        private final JsonGenerator generator;
+        private final boolean ndjson;
+        private String section;
+
+        ExportWriter(JsonGenerator generator, Format format) {
+            this.generator = generator;
+            this.ndjson = format == Format.NDJSON;
+            if (ndjson) {
+                generator.setRootValueSeparator(null);
+            }
+        }
+
+        void start() throws IOException {
+            if (ndjson) {
+                generator.writeStartObject();
+                generator.writeStringField("type", "export");
+                generator.writeObjectFieldStart("data");
+            } else {
+                generator.writeStartObject();
+            }
+            generator.writeStringField("version", EXPORT_VERSION);
+            generator.writeStringField("exportDate", Instant.now().toString());
+            if (ndjson) {
+                generator.writeEndObject();
+                endLine();
+            } else {
+                generator.writeObjectFieldStart("data");
+            }
+        }
+
+        void startSection(String name) throws IOException {
+            section = name;
+            if (!ndjson) {
+                generator.writeArrayFieldStart(name);
+            }
+        }
+
+        void write(Object element) throws IOException {
+            if (ndjson) {
+                generator.writeStartObject();
+                generator.writeStringField("type", section);
+                generator.writeFieldName("data");
+                objectWriter.writeValue(generator, element);
+                endLine();
+            } else {
+                objectWriter.writeValue(generator, element);
+            }
+        }
+
+        void endSection() throws IOException {
+            if (!ndjson) {
+                generator.writeEndArray();
+            }
+        }
+
+        void end() throws IOException {
+            if (!ndjson) {
+                generator.writeEndObject();
+                generator.writeEndObject();
+            }
+            generator.flush();
+        }
+
+        private void endLine() throws IOException {
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+    }
+
+    /**
+     * Iterator over a cursor that allows consuming the leading run of elements matching a condition.
+     */
+    private static final class PeekingIterator<T> {
+
+        private final Iterator<T> delegate;
+        private T next;
+
+        PeekingIterator(Iterator<T> delegate) {
+            this.delegate = delegate;
+            this.next = delegate.hasNext() ? delegate.next() : null;
+        }
+
+        List<T> takeWhile(Predicate<T> condition) {
+            List<T> taken = new ArrayList<>();
+            while (next != null && condition.test(next)) {
+                taken.add(next);
+                next = delegate.hasNext() ? delegate.next() : null;
+            }
+            return taken;
+        }
+    }
+}
@@ -1,43 +1,106 @@
 package com.dshbd.service;
 
+import com.dshbd.domain.Habit;
+import com.dshbd.domain.HabitCompletionBackfill;
+import com.dshbd.domain.HabitMonthCompletion;
 import com.dshbd.domain.HabitRecord;
+import com.dshbd.domain.User;
+import com.dshbd.domain.vm.HabitDayCount;
+import com.dshbd.repository.HabitCompletionBackfillRepository;
+import com.dshbd.repository.HabitMonthCompletionRepository;
 import com.dshbd.repository.HabitRecordRepository;
 import com.dshbd.repository.HabitRepository;
 import com.dshbd.repository.UserRepository;
 import com.dshbd.security.SecurityUtils;
+import com.dshbd.service.dto.HabitCheckInDTO;
+import com.dshbd.service.dto.HabitCheckInResultDTO;
+import com.dshbd.service.dto.HabitHeatmapDTO;
 import com.dshbd.service.dto.HabitRecordDTO;
 import com.dshbd.service.mapper.HabitRecordMapper;
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+/**
+ * Service class for managing habit records.
+ * <p>
+ * Every saved record also sets the bit of its day in the {@link HabitMonthCompletion} of its habit, which the heatmap
+ * is answered from, and evaluates the streak of the habit. Records are numbered per habit and day by their slot, which
+ * is unique, so check-ins are applied as upserts. Users whose records predate the completions carry a
+ * {@link HabitCompletionBackfill} marker; their completions are left to the backfill until it has counted them.
+ */
 @Service
 @Transactional
 public class HabitRecordService {
 
     private final Logger log = LoggerFactory.getLogger(HabitRecordService.class);
 
+    public static final String CHECK_INS_BY_IDEMPOTENCY_KEY_CACHE = "habitCheckInsByIdempotencyKey";
+
+    private static final int MAX_REPEAT_COUNT = 255;
+
     private final HabitRecordRepository habitRecordRepository;
+    private final HabitMonthCompletionRepository habitMonthCompletionRepository;
+    private final HabitCompletionBackfillRepository habitCompletionBackfillRepository;
+    private final HabitRepository habitRepository;
+    private final HabitStreakService habitStreakService;
     private final UserRepository userRepository;
     private final HabitRecordMapper habitRecordMapper;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate newTransactionTemplate;
 
     public HabitRecordService(
         HabitRecordRepository habitRecordRepository,
+        HabitMonthCompletionRepository habitMonthCompletionRepository,
+        HabitCompletionBackfillRepository habitCompletionBackfillRepository,
         HabitRepository habitRepository,
+        HabitStreakService habitStreakService,
         UserRepository userRepository,
-        HabitRecordMapper habitRecordMapper
+        HabitRecordMapper habitRecordMapper,
+        CacheManager cacheManager,
+        PlatformTransactionManager transactionManager
     ) {
         this.habitRecordRepository = habitRecordRepository;
+        this.habitMonthCompletionRepository = habitMonthCompletionRepository;
+        this.habitCompletionBackfillRepository = habitCompletionBackfillRepository;
+        this.habitRepository = habitRepository;
+        this.habitStreakService = habitStreakService;
         this.userRepository = userRepository;
         this.habitRecordMapper = habitRecordMapper;
+        this.cacheManager = cacheManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
     }
 
     /**
-     * Create a new habit record.
+     * Create a new habit record, in the next free slot of its habit and day. The habit is locked first, so a double
+     * tap cannot take the same slot twice.
      *
      * @param habitRecordDTO the habit record to create
      * @return the created habit record
@@ -51,11 +114,115 @@ public class HabitRecordService {
                 HabitRecord habitRecord = habitRecordMapper.toEntity(habitRecordDTO);
                 habitRecord.setUserId(user.getId());
                 habitRecord.setRecordDate(LocalDate.now());
-                return habitRecordMapper.toDto(habitRecordRepository.save(habitRecord));
+                habitRepository
+                    .findWithLockByIdAndUserId(habitRecord.getHabitId(), user.getId())
+                    .orElseThrow(() -> new IllegalStateException("Habit could not be found"));
+                habitRecord.setSlot(
+                    habitRecordRepository
+                        .findMaxSlot(user.getId(), habitRecord.getHabitId(), habitRecord.getRecordDate())
+                        .map(slot -> slot + 1)
+                        .orElse(0)
+                );
+                habitRecord = habitRecordRepository.save(habitRecord);
+                recordCompletions(user.getId(), List.of(habitRecord));
+                LocalDate recordDate = habitRecord.getRecordDate();
+                habitRepository
+                    .findWithSchedulesByIdAndUserId(habitRecord.getHabitId(), user.getId())
+                    .ifPresent(habit -> habitStreakService.evaluate(habit, recordDate));
+                return habitRecordMapper.toDto(habitRecord);
             })
             .orElseThrow(() -> new IllegalStateException("User could not be found"));
     }
 
+    /**
+     * Check in many habits at once. Each check-in makes sure its day has at least the given number of completions, so
+     * sending the same check-ins again records nothing twice. A batch that is replayed with the same idempotency key
+     * within the lifetime of the cache gets the results of the first call without touching the database.
+     *
+     * @param idempotencyKey the key the client chose for the batch.
+     * @param checkIns the check-ins.
+     * @return one result per check-in.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<HabitCheckInResultDTO> checkIn(String idempotencyKey, List<HabitCheckInDTO> checkIns) {
+        Long userId = getCurrentUserId();
+        Cache cache = Objects.requireNonNull(cacheManager.getCache(CHECK_INS_BY_IDEMPOTENCY_KEY_CACHE));
+        String cacheKey = userId + ":" + idempotencyKey;
+        @SuppressWarnings("unchecked")
+        List<HabitCheckInResultDTO> results = cache.get(cacheKey, List.class);
+        if (results != null) {
+            log.debug("Replaying the check-in {} of User {}", idempotencyKey, userId);
+            return results;
+        }
+        try {
+            results = transactionTemplate.execute(status -> applyCheckIns(userId, checkIns));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent check-in took some of the same slots, the retry finds them stored
+            log.debug("Retrying the check-in {} of User {}", idempotencyKey, userId);
+            results = transactionTemplate.execute(status -> applyCheckIns(userId, checkIns));
+        }
+        cache.put(cacheKey, results);
+        return results;
+    }
+
+    private List<HabitCheckInResultDTO> applyCheckIns(Long userId, List<HabitCheckInDTO> checkIns) {
+        LocalDate today = LocalDate.now();
+        Set<Long> habitIds = checkIns.stream().map(HabitCheckInDTO::getHabitId).collect(Collectors.toSet());
+        // Serializes the numbering of the records with concurrent check-ins and creates of the same habits
+        habitRepository.findWithLockByUserIdAndIdInOrderById(userId, habitIds);
+        Map<Long, Habit> habits = habitRepository
+            .findWithSchedulesByUserIdAndIdIn(userId, habitIds)
+            .stream()
+            .collect(Collectors.toMap(Habit::getId, Function.identity()));
+        Map<DayKey, HabitDayCount> counts = new HashMap<>();
+        if (!habits.isEmpty()) {
+            LocalDate from = checkIns.stream().map(HabitCheckInDTO::getDate).min(Comparator.naturalOrder()).orElse(today);
+            LocalDate to = checkIns.stream().map(HabitCheckInDTO::getDate).max(Comparator.naturalOrder()).orElse(today);
+            habitRecordRepository
+                .countByDay(userId, habits.keySet(), from, to)
+                .forEach(count -> counts.put(new DayKey(count.getHabitId(), count.getRecordDate()), count));
+        }
+
+        List<HabitCheckInResultDTO> results = new ArrayList<>(checkIns.size());
+        List<HabitRecord> created = new ArrayList<>();
+        Map<Long, LocalDate> firstChangedDay = new HashMap<>();
+        Set<DayKey> seen = new HashSet<>();
+        for (HabitCheckInDTO checkIn : checkIns) {
+            Long habitId = checkIn.getHabitId();
+            LocalDate date = checkIn.getDate();
+            DayKey key = new DayKey(habitId, date);
+            if (!habits.containsKey(habitId)) {
+                String message = "Habit could not be found";
+                results.add(new HabitCheckInResultDTO(habitId, date, HabitCheckInResultDTO.Result.NOT_FOUND, message, null));
+            } else if (date.isAfter(today)) {
+                results.add(new HabitCheckInResultDTO(habitId, date, HabitCheckInResultDTO.Result.REJECTED, "Date is in the future", null));
+            } else if (!seen.add(key)) {
+                String message = "Habit is checked in twice for the day";
+                results.add(new HabitCheckInResultDTO(habitId, date, HabitCheckInResultDTO.Result.REJECTED, message, null));
+            } else {
+                HabitDayCount stored = counts.get(key);
+                int storedCount = stored == null ? 0 : (int) stored.getCount();
+                if (checkIn.getCount() <= storedCount) {
+                    results.add(new HabitCheckInResultDTO(habitId, date, HabitCheckInResultDTO.Result.UNCHANGED, null, storedCount));
+                    continue;
+                }
+                int nextSlot = stored == null ? 0 : stored.getMaxSlot() + 1;
+                for (int i = 0; i < checkIn.getCount() - storedCount; i++) {
+                    created.add(newRecord(userId, habitId, date, nextSlot + i));
+                }
+                firstChangedDay.merge(habitId, date, (a, b) -> a.isBefore(b) ? a : b);
+                results.add(new HabitCheckInResultDTO(habitId, date, HabitCheckInResultDTO.Result.RECORDED, null, checkIn.getCount()));
+            }
+        }
+
+        habitRecordRepository.saveAll(created);
+        habitRecordRepository.flush();
+        recordCompletions(userId, created);
+        firstChangedDay.forEach((habitId, day) -> habitStreakService.evaluateFrom(habits.get(habitId), day, today));
+        log.debug("Recorded {} completions for {} check-ins of User {}", created.size(), checkIns.size(), userId);
+        return List.copyOf(results);
+    }
+
     /**
      * Get all habit records for the current user for a specific date.
      *
@@ -92,4 +259,192 @@ public class HabitRecordService {
             .map(habitRecordMapper::toDto)
             .orElseThrow(() -> new IllegalStateException("User could not be found"));
     }
+
+    /**
+     * Get the completions of the habits of the current user in a year.
+     *
+     * @param year the year.
+     * @return the heatmap of the year.
+     */
+    @Transactional(readOnly = true)
+    public HabitHeatmapDTO getHeatmap(int year) {
+        log.debug("Request to get the HabitRecord heatmap for year : {}", year);
+        Long userId = getCurrentUserId();
+        HabitHeatmapDTO heatmap = new HabitHeatmapDTO(year);
+        habitMonthCompletionRepository
+            .findByUserIdAndMonthStartBetweenOrderByHabitIdAscMonthStartAsc(userId, LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 1))
+            .stream()
+            .filter(completion -> completion.getDays() != 0)
+            .forEach(completion ->
+                heatmap
+                    .getMonths()
+                    .add(
+                        new HabitHeatmapDTO.MonthDTO(
+                            completion.getHabitId(),
+                            completion.getMonthStart().getMonthValue(),
+                            completion.getDays(),
+                            completion.getRepeatCounts()
+                        )
+                    )
+            );
+        return heatmap;
+    }
+
+    /**
+     * Recount the completions of a user from the records.
+     */
+    public void rebuildCompletions(Long userId) {
+        log.debug("Rebuilding the habit completions of User {}", userId);
+        habitMonthCompletionRepository.deleteAllByUserId(userId);
+        Map<Long, Map<LocalDate, HabitMonthCompletion>> completions = new HashMap<>();
+        try (Stream<HabitRecord> records = habitRecordRepository.streamAllByUserId(userId)) {
+            records.forEach(record -> {
+                LocalDate monthStart = record.getRecordDate().withDayOfMonth(1);
+                HabitMonthCompletion completion = completions
+                    .computeIfAbsent(record.getHabitId(), key -> new HashMap<>())
+                    .computeIfAbsent(monthStart, key -> newCompletion(userId, record.getHabitId(), monthStart));
+                addCompletion(completion, record.getRecordDate().getDayOfMonth());
+            });
+        }
+        completions.values().forEach(byMonth -> habitMonthCompletionRepository.saveAll(byMonth.values()));
+    }
+
+    /**
+     * One-off backfill of the users whose records predate the completions, one transaction per user, which also
+     * evaluates the streaks of those users again. Runs in the background after startup and finds nothing to do once
+     * every marker has been removed. The streaks of the days missed while the application was down are caught up
+     * afterwards, so that they are evaluated against complete completions.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuildMissingCompletions() {
+        List<Long> userIds = habitCompletionBackfillRepository.findAllUserIds();
+        if (!userIds.isEmpty()) {
+            log.info("Building the habit completions of {} users", userIds.size());
+        }
+        for (Long userId : userIds) {
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                    habitCompletionBackfillRepository
+                        .findWithLockByUserId(userId)
+                        .ifPresent(marker -> {
+                            rebuildCompletions(userId);
+                            habitStreakService.reevaluate(userId, LocalDate.now());
+                            habitCompletionBackfillRepository.delete(marker);
+                        })
+                );
+            } catch (RuntimeException e) {
+                log.error("Failed to build the habit completions of User {}", userId, e);
+            }
+        }
+        habitStreakService.evaluateMissedDays();
+    }
+
+    /**
+     * Set the bits of new records of a user in the completions of their months, locking all the months involved in one
+     * query. Months without completions are created empty first.
+     */
+    private void recordCompletions(Long userId, List<HabitRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        if (habitCompletionBackfillRepository.findWithLockByUserId(userId).isPresent()) {
+            // Counted by the backfill, which waits for this transaction
+            return;
+        }
+        Set<Long> habitIds = records.stream().map(HabitRecord::getHabitId).collect(Collectors.toSet());
+        LocalDate from = records.stream().map(HabitRecord::getRecordDate).min(Comparator.naturalOrder()).orElseThrow().withDayOfMonth(1);
+        LocalDate to = records.stream().map(HabitRecord::getRecordDate).max(Comparator.naturalOrder()).orElseThrow().withDayOfMonth(1);
+        Map<MonthKey, HabitMonthCompletion> completions = lockCompletions(habitIds, from, to);
+        Set<MonthKey> missing = records.stream().map(MonthKey::of).filter(key -> !completions.containsKey(key)).collect(Collectors.toSet());
+        if (!missing.isEmpty()) {
+            missing.forEach(key -> createCompletion(userId, key));
+            completions.putAll(lockCompletions(habitIds, from, to));
+        }
+        for (HabitRecord habitRecord : records) {
+            HabitMonthCompletion completion = completions.computeIfAbsent(MonthKey.of(habitRecord), key ->
+                newCompletion(userId, key.habitId(), key.monthStart())
+            );
+            addCompletion(completion, habitRecord.getRecordDate().getDayOfMonth());
+        }
+        habitMonthCompletionRepository.saveAll(completions.values());
+    }
+
+    private Map<MonthKey, HabitMonthCompletion> lockCompletions(Set<Long> habitIds, LocalDate from, LocalDate to) {
+        return habitMonthCompletionRepository
+            .findWithLockByHabitIdInAndMonthStartBetween(habitIds, from, to)
+            .stream()
+            .collect(Collectors.toMap(completion -> new MonthKey(completion.getHabitId(), completion.getMonthStart()), Function.identity()));
+    }
+
+    /**
+     * Create an empty month in its own transaction, so that a concurrent first completion of the month creating it too
+     * does not fail the caller. Empty months are not reported.
+     */
+    private void createCompletion(Long userId, MonthKey key) {
+        try {
+            newTransactionTemplate.executeWithoutResult(status ->
+                habitMonthCompletionRepository.saveAndFlush(newCompletion(userId, key.habitId(), key.monthStart()))
+            );
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Habit completions {} of User {} were created concurrently", key, userId);
+        }
+    }
+
+    /**
+     * Set the bit of a day. The counts per day are only allocated once a day is completed a second time.
+     */
+    static void addCompletion(HabitMonthCompletion completion, int dayOfMonth) {
+        int index = dayOfMonth - 1;
+        boolean completed = (completion.getDays() & (1 << index)) != 0;
+        completion.setDays(completion.getDays() | (1 << index));
+
+        byte[] counts = completion.getRepeatCounts();
+        if (counts == null && !completed) {
+            return;
+        }
+        if (counts == null) {
+            counts = new byte[31];
+            for (int day = 0; day < counts.length; day++) {
+                counts[day] = (byte) ((completion.getDays() >>> day) & 1);
+            }
+        } else {
+            counts = counts.clone();
+        }
+        counts[index] = (byte) Math.min(Byte.toUnsignedInt(counts[index]) + 1, MAX_REPEAT_COUNT);
+        completion.setRepeatCounts(counts);
+    }
+
+    private static HabitMonthCompletion newCompletion(Long userId, Long habitId, LocalDate monthStart) {
+        HabitMonthCompletion completion = new HabitMonthCompletion();
+        completion.setUserId(userId);
+        completion.setHabitId(habitId);
+        completion.setMonthStart(monthStart);
+        return completion;
+    }
+
+    private Long getCurrentUserId() {
+        return SecurityUtils.getCurrentUserLogin()
+            .flatMap(userRepository::findOneByLogin)
+            .map(User::getId)
+            .orElseThrow(() -> new IllegalStateException("User could not be found"));
+    }
+
+    private static HabitRecord newRecord(Long userId, Long habitId, LocalDate date, int slot) {
+        HabitRecord habitRecord = new HabitRecord();
+        habitRecord.setUserId(userId);
+        habitRecord.setHabitId(habitId);
+        habitRecord.setRecordDate(date);
+        habitRecord.setSlot(slot);
+        return habitRecord;
+    }
+
+    private record DayKey(Long habitId, LocalDate date) {}
+
+    private record MonthKey(Long habitId, LocalDate monthStart) {
+        static MonthKey of(HabitRecord habitRecord) {
+            return new MonthKey(habitRecord.getHabitId(), habitRecord.getRecordDate().withDayOfMonth(1));
+        }
+    }
 }
@@ -6,17 +6,27 @@ import com.dshbd.domain.User;
 import com.dshbd.repository.HabitRepository;
 import com.dshbd.service.dto.HabitDTO;
 import com.dshbd.service.mapper.HabitMapper;
-import java.util.Calendar;
+import java.io.Serializable;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service class for managing habits.
+ * <p>
+ * The active habits of a user are cached per day in {@value #ACTIVE_HABITS_CACHE}. Evictions are applied once the
+ * transaction that changed the habits has committed, so a concurrent read cannot put the old list back.
  */
 @Service
 @Transactional
@@ -24,14 +34,18 @@ public class HabitService {
 
     private final Logger log = LoggerFactory.getLogger(HabitService.class);
 
+    public static final String ACTIVE_HABITS_CACHE = "activeHabitsByUserAndDay";
+
     private final HabitRepository habitRepository;
     private final UserService userService;
     private final HabitMapper habitMapper;
+    private final CacheManager cacheManager;
 
-    public HabitService(HabitRepository habitRepository, UserService userService, HabitMapper habitMapper) {
+    public HabitService(HabitRepository habitRepository, UserService userService, HabitMapper habitMapper, CacheManager cacheManager) {
         this.habitRepository = habitRepository;
         this.userService = userService;
         this.habitMapper = habitMapper;
+        this.cacheManager = cacheManager;
     }
 
     /**
@@ -46,6 +60,7 @@ public class HabitService {
         if (user.isPresent()) {
             Habit habit = habitMapper.toEntity(habitDTO, user.get());
             habit = habitRepository.save(habit);
+            clearActiveHabitsCache(user.get().getId());
             return habitMapper.toDto(habit);
         }
         throw new IllegalStateException("User not found");
@@ -63,6 +78,7 @@ public class HabitService {
         if (user.isPresent()) {
             Habit habit = habitMapper.toEntity(habitDTO, user.get());
             habit = habitRepository.save(habit);
+            clearActiveHabitsCache(user.get().getId());
             return habitMapper.toDto(habit);
         }
         throw new IllegalStateException("User not found");
@@ -89,48 +105,45 @@ public class HabitService {
     }
 
     /**
-     * Get all active habits for current user.
+     * Get all active habits scheduled for today for current user, from the cache when they have not changed today.
      *
      * @return the list of entities.
      */
     @Transactional(readOnly = true)
     public List<HabitDTO> findAllActive() {
         log.debug("Request to get all active Habits scheduled for today");
-        DayOfWeek today = getDayOfWeek();
-        return userService
-            .getUserWithAuthorities()
-            .map(user ->
-                habitRepository
-                    .findByUserIdAndActiveIsTrueOrderByCreatedDateDesc(user.getId())
-                    .stream()
-                    .filter(habit -> habit.getDaySchedules().stream().anyMatch(schedule -> schedule.getDayOfWeek().equals(today)))
-                    .map(habitMapper::toDto)
-                    .collect(Collectors.toList())
-            )
-            .orElseThrow(() -> new IllegalStateException("User not found"));
+        LocalDate today = LocalDate.now();
+        Long userId = userService.getUserWithAuthorities().map(User::getId).orElseThrow(() -> new IllegalStateException("User not found"));
+        return getActiveHabitsCache().get(new ActiveHabitsKey(userId, today), () -> loadActive(userId, today));
     }
 
-    private DayOfWeek getDayOfWeek() {
-        Calendar calendar = Calendar.getInstance();
-        int dayOfWeek = calendar.get(Calendar.DAY_OF_WEEK);
-        switch (dayOfWeek) {
-            case Calendar.MONDAY:
-                return DayOfWeek.MONDAY;
-            case Calendar.TUESDAY:
-                return DayOfWeek.TUESDAY;
-            case Calendar.WEDNESDAY:
-                return DayOfWeek.WEDNESDAY;
-            case Calendar.THURSDAY:
-                return DayOfWeek.THURSDAY;
-            case Calendar.FRIDAY:
-                return DayOfWeek.FRIDAY;
-            case Calendar.SATURDAY:
-                return DayOfWeek.SATURDAY;
-            case Calendar.SUNDAY:
-                return DayOfWeek.SUNDAY;
-            default:
-                return DayOfWeek.MONDAY;
-        }
+    private List<HabitDTO> loadActive(Long userId, LocalDate day) {
+        DayOfWeek dayOfWeek = DayOfWeek.valueOf(day.getDayOfWeek().name());
+        return habitRepository.findActiveScheduledOn(userId, dayOfWeek).stream().map(habitMapper::toDto).toList();
+    }
+
+    /**
+     * Drop the cached active habits of a user, after the current transaction has committed.
+     *
+     * @param userId the owner of the habits.
+     */
+    public void clearActiveHabitsCache(Long userId) {
+        getActiveHabitsCache().evict(new ActiveHabitsKey(userId, LocalDate.now()));
+    }
+
+    /**
+     * The lists of the previous day are never read again once the date has changed, drop them at midnight instead of
+     * waiting for them to expire.
+     */
+    @Scheduled(cron = "0 0 0 * * ?")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void clearActiveHabitsOfPreviousDays() {
+        log.debug("Clearing the cached active habits of the previous day");
+        getActiveHabitsCache().clear();
+    }
+
+    private Cache getActiveHabitsCache() {
+        return new TransactionAwareCacheDecorator(Objects.requireNonNull(cacheManager.getCache(ACTIVE_HABITS_CACHE)));
     }
 
     /**
@@ -154,6 +167,13 @@ public class HabitService {
      */
     public void delete(Long id) {
         log.debug("Request to delete Habit : {}", id);
-        userService.getUserWithAuthorities().ifPresent(user -> habitRepository.setActiveForHabit(false, id, user.getId()));
+        userService
+            .getUserWithAuthorities()
+            .ifPresent(user -> {
+                habitRepository.setActiveForHabit(false, id, user.getId());
+                clearActiveHabitsCache(user.getId());
+            });
     }
+
+    record ActiveHabitsKey(Long userId, LocalDate day) implements Serializable {}
 }
@@ -0,0 +1,311 @@
+package com.dshbd.service;
+
+import com.dshbd.domain.Habit;
+import com.dshbd.domain.HabitDaySchedule;
+import com.dshbd.domain.HabitMonthCompletion;
+import com.dshbd.domain.HabitStreak;
+import com.dshbd.repository.HabitMonthCompletionRepository;
+import com.dshbd.repository.HabitRepository;
+import com.dshbd.repository.HabitStreakRepository;
+import com.dshbd.service.dto.HabitStreakDTO;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Streaks and completion rates of habits, stored in {@link HabitStreak} and evaluated one day at a time.
+ * <p>
+ * A day counts as completed when the habit has as many records as its schedule of that day asks for, read from the
+ * {@link HabitMonthCompletion} of the month. Days are evaluated when a record completes today and by a nightly
+ * catch-up for the days before, always against the current schedule of the habit. At startup the catch-up runs once
+ * the completions have been backfilled, see {@link HabitRecordService#rebuildMissingCompletions()}.
+ */
+@Service
+@Transactional
+public class HabitStreakService extends BaseService {
+
+    private final Logger log = LoggerFactory.getLogger(HabitStreakService.class);
+
+    public static final int WINDOW_DAYS = 365;
+
+    private static final int WINDOW_BYTES = (WINDOW_DAYS + 7) / 8;
+
+    private final HabitStreakRepository habitStreakRepository;
+    private final HabitMonthCompletionRepository habitMonthCompletionRepository;
+    private final HabitRepository habitRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate newTransactionTemplate;
+
+    public HabitStreakService(
+        UserService userService,
+        HabitStreakRepository habitStreakRepository,
+        HabitMonthCompletionRepository habitMonthCompletionRepository,
+        HabitRepository habitRepository,
+        PlatformTransactionManager transactionManager
+    ) {
+        super(userService);
+        this.habitStreakRepository = habitStreakRepository;
+        this.habitMonthCompletionRepository = habitMonthCompletionRepository;
+        this.habitRepository = habitRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Evaluate the days of a habit that have not been evaluated yet: every day before {@code today}, and today once
+     * it is completed.
+     *
+     * @param habit the habit, with its schedules.
+     * @param today the current day.
+     */
+    public void evaluate(Habit habit, LocalDate today) {
+        HabitStreak streak = lockStreak(habit, today);
+        LocalDate from = streak.getEvaluatedThrough().plusDays(1);
+        if (from.isAfter(today)) {
+            return;
+        }
+
+        Map<LocalDate, HabitMonthCompletion> months = habitMonthCompletionRepository
+            .findByHabitIdAndMonthStartBetween(habit.getId(), from.withDayOfMonth(1), today.withDayOfMonth(1))
+            .stream()
+            .collect(Collectors.toMap(HabitMonthCompletion::getMonthStart, Function.identity()));
+        Map<HabitDaySchedule.DayOfWeek, HabitDaySchedule> schedules = new EnumMap<>(HabitDaySchedule.DayOfWeek.class);
+        habit.getDaySchedules().forEach(schedule -> schedules.put(schedule.getDayOfWeek(), schedule));
+
+        for (LocalDate day = from; !day.isAfter(today); day = day.plusDays(1)) {
+            HabitDaySchedule schedule = schedules.get(HabitDaySchedule.DayOfWeek.valueOf(day.getDayOfWeek().name()));
+            boolean completed = schedule != null && completions(months.get(day.withDayOfMonth(1)), day) >= requiredCompletions(schedule);
+            if (day.equals(today) && !completed) {
+                break;
+            }
+            addDay(streak, schedule != null, completed);
+            streak.setEvaluatedThrough(day);
+        }
+        habitStreakRepository.save(streak);
+    }
+
+    /**
+     * Lock the streak of a habit, creating it first if the habit has none yet.
+     */
+    private HabitStreak lockStreak(Habit habit, LocalDate today) {
+        return habitStreakRepository
+            .findWithLockByHabitId(habit.getId())
+            .orElseGet(() -> {
+                createStreak(habit, today);
+                return habitStreakRepository.findWithLockByHabitId(habit.getId()).orElseThrow();
+            });
+    }
+
+    /**
+     * Create an unevaluated streak in its own transaction, so that the nightly catch-up and a record of the same habit
+     * creating it at the same time do not fail each other.
+     */
+    private void createStreak(Habit habit, LocalDate today) {
+        try {
+            newTransactionTemplate.executeWithoutResult(status -> habitStreakRepository.saveAndFlush(newStreak(habit, today)));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Streak of Habit {} was created concurrently", habit.getId());
+        }
+    }
+
+    /**
+     * Evaluate a habit after records were added for a day that may already have been evaluated. The last year is then
+     * evaluated again from its start; the longest streak is kept, and so is the part of the current streak that lies
+     * before the year.
+     *
+     * @param habit the habit, with its schedules.
+     * @param changedDay the first day with new records.
+     * @param today the current day.
+     */
+    public void evaluateFrom(Habit habit, LocalDate changedDay, LocalDate today) {
+        habitStreakRepository
+            .findWithLockByHabitId(habit.getId())
+            .filter(streak -> !changedDay.isAfter(streak.getEvaluatedThrough()))
+            .ifPresent(streak -> {
+                LocalDate start = startOf(habit, today);
+                streak.setCurrentStreak(start.isAfter(createdDay(habit)) ? streakBefore(streak, start) : 0);
+                streak.setEvaluatedThrough(start.minusDays(1));
+                streak.setScheduledDays(null);
+                streak.setCompletedDays(null);
+            });
+        evaluate(habit, today);
+    }
+
+    /**
+     * Catch up on the day that has just ended for every active habit, one transaction per habit.
+     */
+    @Scheduled(cron = "0 5 0 * * ?")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void evaluateMissedDays() {
+        LocalDate today = LocalDate.now();
+        List<Long> habitIds = habitStreakRepository.findActiveHabitIdsNotEvaluatedThrough(today.minusDays(1));
+        if (habitIds.isEmpty()) {
+            return;
+        }
+        log.info("Evaluating the streaks of {} habits", habitIds.size());
+        for (Long habitId : habitIds) {
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                    habitRepository.findWithSchedulesById(habitId).ifPresent(habit -> evaluate(habit, today))
+                );
+            } catch (RuntimeException e) {
+                log.error("Failed to evaluate the streak of Habit {}", habitId, e);
+            }
+        }
+    }
+
+    /**
+     * Evaluate the streaks of a user again from the start of their windows, after the completions they were evaluated
+     * against have been rebuilt.
+     *
+     * @param userId the owner of the habits.
+     * @param today the current day.
+     */
+    public void reevaluate(Long userId, LocalDate today) {
+        List<Long> habitIds = habitStreakRepository.findByUserId(userId).stream().map(HabitStreak::getHabitId).toList();
+        if (habitIds.isEmpty()) {
+            return;
+        }
+        habitRepository.findWithSchedulesByUserIdAndIdIn(userId, habitIds).forEach(habit -> evaluateFrom(habit, LocalDate.MIN, today));
+    }
+
+    /**
+     * Get the streaks of the habits of the current user.
+     *
+     * @return the streaks of the habits that have been evaluated.
+     */
+    @Transactional(readOnly = true)
+    public List<HabitStreakDTO> findAll() {
+        log.debug("Request to get all HabitStreaks for current user");
+        return habitStreakRepository.findByUserId(getUserId()).stream().map(HabitStreakService::toDto).toList();
+    }
+
+    static HabitStreakDTO toDto(HabitStreak streak) {
+        BitSet scheduled = BitSet.valueOf(orEmpty(streak.getScheduledDays()));
+        BitSet completed = BitSet.valueOf(orEmpty(streak.getCompletedDays()));
+        HabitStreakDTO dto = new HabitStreakDTO();
+        dto.setHabitId(streak.getHabitId());
+        dto.setCurrentStreak(streak.getCurrentStreak());
+        dto.setLongestStreak(streak.getLongestStreak());
+        dto.setEvaluatedThrough(streak.getEvaluatedThrough());
+        dto.setCompletionRate7(completionRate(scheduled, completed, 7));
+        dto.setCompletionRate30(completionRate(scheduled, completed, 30));
+        dto.setCompletionRate365(completionRate(scheduled, completed, WINDOW_DAYS));
+        return dto;
+    }
+
+    /**
+     * Append the next day to the streak and the windows, dropping the day that falls out of the last year.
+     */
+    static void addDay(HabitStreak streak, boolean scheduled, boolean completed) {
+        streak.setScheduledDays(shift(streak.getScheduledDays(), scheduled));
+        streak.setCompletedDays(shift(streak.getCompletedDays(), completed));
+        if (!scheduled) {
+            return;
+        }
+        if (completed) {
+            streak.setCurrentStreak(streak.getCurrentStreak() + 1);
+            streak.setLongestStreak(Math.max(streak.getLongestStreak(), streak.getCurrentStreak()));
+        } else {
+            streak.setCurrentStreak(0);
+        }
+    }
+
+    /**
+     * The part of the current streak before {@code start}, which evaluating again from {@code start} cannot see: the
+     * streak less the scheduled days it spans from {@code start} on. A streak that starts on or after {@code start}
+     * gives 0.
+     */
+    static int streakBefore(HabitStreak streak, LocalDate start) {
+        long days = ChronoUnit.DAYS.between(start, streak.getEvaluatedThrough()) + 1;
+        if (days < 0) {
+            // The days in between were never evaluated
+            return 0;
+        }
+        BitSet scheduled = BitSet.valueOf(orEmpty(streak.getScheduledDays()));
+        int scheduledSinceStart = scheduled.get(0, (int) Math.min(days, WINDOW_DAYS)).cardinality();
+        return Math.max(0, streak.getCurrentStreak() - scheduledSinceStart);
+    }
+
+    static int requiredCompletions(HabitDaySchedule schedule) {
+        if (schedule.getScheduleType() == HabitDaySchedule.ScheduleType.SPECIFIC) {
+            return Math.max(1, schedule.getSpecificTimes().size());
+        }
+        return schedule.getRepetitions() == null ? 1 : Math.max(1, schedule.getRepetitions());
+    }
+
+    static int completions(HabitMonthCompletion month, LocalDate day) {
+        if (month == null) {
+            return 0;
+        }
+        int index = day.getDayOfMonth() - 1;
+        if (month.getRepeatCounts() != null) {
+            return Byte.toUnsignedInt(month.getRepeatCounts()[index]);
+        }
+        return (month.getDays() >>> index) & 1;
+    }
+
+    private static Double completionRate(BitSet scheduled, BitSet completed, int days) {
+        int scheduledDays = scheduled.get(0, days).cardinality();
+        if (scheduledDays == 0) {
+            return null;
+        }
+        return (double) completed.get(0, days).cardinality() / scheduledDays;
+    }
+
+    private static byte[] shift(byte[] window, boolean day) {
+        BitSet previous = BitSet.valueOf(orEmpty(window));
+        BitSet next = new BitSet(WINDOW_DAYS);
+        next.set(0, day);
+        for (int i = previous.nextSetBit(0); i >= 0 && i < WINDOW_DAYS - 1; i = previous.nextSetBit(i + 1)) {
+            next.set(i + 1);
+        }
+        return Arrays.copyOf(next.toByteArray(), WINDOW_BYTES);
+    }
+
+    private static byte[] orEmpty(byte[] window) {
+        return window == null ? new byte[0] : window;
+    }
+
+    private static HabitStreak newStreak(Habit habit, LocalDate today) {
+        HabitStreak streak = new HabitStreak();
+        streak.setUserId(habit.getUserId());
+        streak.setHabitId(habit.getId());
+        streak.setEvaluatedThrough(startOf(habit, today).minusDays(1));
+        return streak;
+    }
+
+    /**
+     * Streaks start the day the habit was created, at most a year back.
+     */
+    private static LocalDate startOf(Habit habit, LocalDate today) {
+        LocalDate start = today.minusDays(WINDOW_DAYS - 1);
+        LocalDate created = createdDay(habit);
+        if (created.isAfter(start)) {
+            start = created.isAfter(today) ? today : created;
+        }
+        return start;
+    }
+
+    private static LocalDate createdDay(Habit habit) {
+        return habit.getCreatedDate() == null ? LocalDate.MIN : LocalDate.ofInstant(habit.getCreatedDate(), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,17 @@
+package com.dshbd.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when an import job cannot be accepted because the global or per-user concurrency limit is reached.
+ */
+@ResponseStatus(value = HttpStatus.TOO_MANY_REQUESTS, reason = "Too many imports in progress")
+public class ImportJobLimitExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ImportJobLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,193 @@
+package com.dshbd.service;
+
+import com.dshbd.config.ApplicationProperties;
+import com.dshbd.service.dto.ImportJobDTO;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runs streaming imports as background jobs on the dedicated {@code importExecutor}.
+ * <p>
+ * The upload is spooled to a temporary file so that the request thread is released immediately.
+ * The number of jobs is capped per user here and globally by the executor's pool and queue size.
+ * Job state is kept in memory and discarded {@code application.data-import.job-retention-minutes} after completion.
+ */
+@Service
+public class ImportJobService extends BaseService {
+
+    private final Logger log = LoggerFactory.getLogger(ImportJobService.class);
+
+    private final ImportService importService;
+    private final Executor importExecutor;
+    private final int maxJobsPerUser;
+    private final int jobRetentionMinutes;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> activeJobsPerUser = new HashMap<>();
+
+    public ImportJobService(
+        ImportService importService,
+        @Qualifier("importExecutor") Executor importExecutor,
+        ApplicationProperties applicationProperties,
+        UserService userService
+    ) {
+        super(userService);
+        this.importService = importService;
+        this.importExecutor = importExecutor;
+        this.maxJobsPerUser = applicationProperties.getDataImport().getMaxConcurrentJobsPerUser();
+        this.jobRetentionMinutes = applicationProperties.getDataImport().getJobRetentionMinutes();
+    }
+
+    /**
+     * Accept an upload and schedule it for import.
+     *
+     * @param inputStream the JSON document, in the same format as the synchronous import.
+     * @return the queued job.
+     * @throws IOException if the upload could not be stored.
+     * @throws ImportJobLimitExceededException if the user or the server already runs the maximum number of imports.
+     */
+    public ImportJobDTO submit(InputStream inputStream) throws IOException {
+        Long userId = getUserId();
+        if (!tryAcquire(userId)) {
+            throw new ImportJobLimitExceededException("An import is already running for this user");
+        }
+
+        Path upload;
+        try {
+            upload = Files.createTempFile("import-", ".json");
+            Files.copy(inputStream, upload, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            release(userId);
+            throw e;
+        }
+
+        ImportJob job = new ImportJob(new ImportJobDTO(UUID.randomUUID().toString()), userId);
+        job.dto().setTotalBytes(Files.size(upload));
+        jobs.put(job.dto().getId(), job);
+        try {
+            importExecutor.execute(new DelegatingSecurityContextRunnable(() -> run(job, upload)));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.dto().getId());
+            release(userId);
+            deleteUpload(upload);
+            throw new ImportJobLimitExceededException("Too many imports in progress, please retry later");
+        }
+        log.debug("Queued import job {} for user {}", job.dto().getId(), userId);
+        return job.dto();
+    }
+
+    /**
+     * Get an import job of the current user.
+     *
+     * @param jobId the id of the job.
+     * @return the job, if it exists and belongs to the current user.
+     */
+    public Optional<ImportJobDTO> getJob(String jobId) {
+        Long userId = getUserId();
+        return Optional.ofNullable(jobs.get(jobId))
+            .filter(job -> job.userId().equals(userId))
+            .map(ImportJob::dto);
+    }
+
+    @Scheduled(fixedDelay = 10, timeUnit = TimeUnit.MINUTES)
+    public void removeFinishedJobs() {
+        Instant threshold = Instant.now().minus(jobRetentionMinutes, ChronoUnit.MINUTES);
+        jobs
+            .values()
+            .removeIf(job -> job.dto().isFinished() && job.dto().getFinishedDate().isBefore(threshold));
+    }
+
+    private void run(ImportJob job, Path upload) {
+        ImportJobDTO dto = job.dto();
+        dto.setStatus(ImportJobDTO.Status.RUNNING);
+        dto.setStartedDate(Instant.now());
+        try (InputStream inputStream = new ProgressInputStream(Files.newInputStream(upload), dto)) {
+            importService.importDataStreaming(inputStream, job.userId(), dto.getReport());
+            dto.setStatus(ImportJobDTO.Status.COMPLETED);
+        } catch (IOException | RuntimeException e) {
+            log.error("Import job {} failed", dto.getId(), e);
+            dto.getReport().addError(e.getMessage());
+            dto.setStatus(ImportJobDTO.Status.FAILED);
+        } finally {
+            dto.setFinishedDate(Instant.now());
+            release(job.userId());
+            deleteUpload(upload);
+        }
+    }
+
+    private synchronized boolean tryAcquire(Long userId) {
+        int active = activeJobsPerUser.getOrDefault(userId, 0);
+        if (active >= maxJobsPerUser) {
+            return false;
+        }
+        activeJobsPerUser.put(userId, active + 1);
+        return true;
+    }
+
+    private synchronized void release(Long userId) {
+        activeJobsPerUser.computeIfPresent(userId, (key, active) -> active > 1 ? active - 1 : null);
+    }
+
+    private void deleteUpload(Path upload) {
+        try {
+            Files.deleteIfExists(upload);
+        } catch (IOException e) {
+            log.warn("Could not delete import upload {}", upload, e);
+        }
+    }
+
+    private record ImportJob(ImportJobDTO dto, Long userId) {}
+
+    /**
+     * Publishes the number of bytes consumed by the parser as job progress.
+     */
+    private static class ProgressInputStream extends FilterInputStream {
+
+        private final ImportJobDTO job;
+        private long processed;
+
+        ProgressInputStream(InputStream in, ImportJobDTO job) {
+            super(in);
+            this.job = job;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                job.setProcessedBytes(++processed);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int count = super.read(buffer, offset, length);
+            if (count > 0) {
+                processed += count;
+                job.setProcessedBytes(processed);
+            }
+            return count;
+        }
+    }
+}
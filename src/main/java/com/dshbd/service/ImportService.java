@@ -1,5 +1,6 @@
 package com.dshbd.service;
 
+import com.dshbd.config.ApplicationProperties;
 import com.dshbd.domain.Board;
 import com.dshbd.domain.DiaryEntry;
 import com.dshbd.domain.DiaryTag;
@@ -9,6 +10,7 @@ import com.dshbd.domain.HabitSpecificTime;
 import com.dshbd.domain.Idea;
 import com.dshbd.domain.Note;
 import com.dshbd.domain.Task;
+import com.dshbd.domain.vm.DiaryMoodSample;
 import com.dshbd.repository.BoardRepository;
 import com.dshbd.repository.DiaryEntryRepository;
 import com.dshbd.repository.DiaryTagRepository;
@@ -19,18 +21,32 @@ import com.dshbd.repository.IdeaRepository;
 import com.dshbd.repository.NoteSummaryRepository;
 import com.dshbd.repository.TaskRepository;
 import com.dshbd.service.dto.ImportDataDTO;
+import com.dshbd.service.dto.ImportReportDTO;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class ImportService extends BaseService {
@@ -46,6 +62,14 @@ public class ImportService extends BaseService {
     private final HabitSpecificTimeRepository habitSpecificTimeRepository;
     private final DiaryEntryRepository diaryEntryRepository;
     private final DiaryTagRepository diaryTagRepository;
+    private final DiaryTagService diaryTagService;
+    private final DiaryStatsService diaryStatsService;
+    private final HabitService habitService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
 
     public ImportService(
         IdeaRepository ideaRepository,
@@ -57,7 +81,15 @@ public class ImportService extends BaseService {
         HabitSpecificTimeRepository habitSpecificTimeRepository,
         DiaryEntryRepository diaryEntryRepository,
         DiaryTagRepository diaryTagRepository,
-        UserService userService
+        DiaryTagService diaryTagService,
+        DiaryStatsService diaryStatsService,
+        HabitService habitService,
+        UserService userService,
+        ObjectMapper objectMapper,
+        Validator validator,
+        EntityManager entityManager,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
     ) {
         super(userService);
         this.ideaRepository = ideaRepository;
@@ -69,6 +101,14 @@ public class ImportService extends BaseService {
         this.habitSpecificTimeRepository = habitSpecificTimeRepository;
         this.diaryEntryRepository = diaryEntryRepository;
         this.diaryTagRepository = diaryTagRepository;
+        this.diaryTagService = diaryTagService;
+        this.diaryStatsService = diaryStatsService;
+        this.habitService = habitService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, applicationProperties.getDataImport().getChunkSize());
     }
 
     @Transactional
@@ -88,18 +128,7 @@ public class ImportService extends BaseService {
                             if (!tagCache.containsKey(tagDTO.getName())) {
                                 DiaryTag tag = diaryTagRepository
                                     .findByUserIdAndName(userId, tagDTO.getName())
-                                    .orElseGet(() -> {
-                                        DiaryTag newTag = new DiaryTag();
-                                        newTag.setId(null);
-                                        newTag.setName(tagDTO.getName());
-                                        newTag.setArchived(tagDTO.isArchived());
-                                        newTag.setCreatedDate(tagDTO.getCreatedDate() != null ? tagDTO.getCreatedDate() : Instant.now());
-                                        newTag.setLastModifiedDate(
-                                            tagDTO.getLastModifiedDate() != null ? tagDTO.getLastModifiedDate() : Instant.now()
-                                        );
-                                        newTag.setUserId(userId);
-                                        return diaryTagRepository.save(newTag);
-                                    });
+                                    .orElseGet(() -> diaryTagService.saveNewTag(toDiaryTag(tagDTO, userId)));
                                 tagCache.put(tag.getName(), tag);
                             }
                         } catch (Exception e) {
@@ -110,15 +139,10 @@ public class ImportService extends BaseService {
             }
 
             // Then import diary entries
+            List<DiaryMoodSample> imported = new ArrayList<>();
             for (ImportDataDTO.ImportDiaryEntryDTO entryDTO : importData.getData().getDiaryEntries()) {
                 try {
-                    DiaryEntry entry = new DiaryEntry();
-                    entry.setId(null);
-                    entry.setContent(entryDTO.getContent());
-                    entry.setEmoticon(entryDTO.getEmoticon());
-                    entry.setCreatedDate(entryDTO.getCreatedDate() != null ? entryDTO.getCreatedDate() : Instant.now());
-                    entry.setLastModifiedDate(entryDTO.getLastModifiedDate() != null ? entryDTO.getLastModifiedDate() : Instant.now());
-                    entry.setUserId(userId);
+                    DiaryEntry entry = toDiaryEntry(entryDTO, userId);
 
                     // Set tags
                     if (entryDTO.getTags() != null) {
@@ -129,14 +153,17 @@ public class ImportService extends BaseService {
                             .filter(Objects::nonNull)
                             .collect(Collectors.toSet());
                         entry.setTags(tags);
+                        entry.setTagMask(DiaryTag.maskOf(tags));
                     }
 
                     diaryEntryRepository.save(entry);
+                    imported.add(DiaryMoodSample.of(entry));
                     log.debug("Imported diary entry with content: {}", entry.getContent());
                 } catch (Exception e) {
                     log.error("Error importing diary entry: {}", entryDTO.getContent(), e);
                 }
             }
+            diaryStatsService.recordChange(userId, List.of(), imported);
             diaryEntryRepository.flush();
             diaryTagRepository.flush();
         }
@@ -145,12 +172,7 @@ public class ImportService extends BaseService {
         if (importData.getData().getIdeas() != null) {
             for (ImportDataDTO.ImportIdeaDTO ideaDTO : importData.getData().getIdeas()) {
                 try {
-                    Idea idea = new Idea();
-                    idea.setId(null); // Explicitly set ID to null
-                    idea.setContent(ideaDTO.getContent());
-                    idea.setCreatedDate(ideaDTO.getCreatedDate());
-                    idea.setLastUpdatedDate(ideaDTO.getLastUpdatedDate());
-                    idea.setOwnerId(userId);
+                    Idea idea = toIdea(ideaDTO, userId);
                     ideaRepository.save(idea);
                     log.debug("Imported idea: {}", idea.getContent());
                 } catch (Exception e) {
@@ -164,13 +186,7 @@ public class ImportService extends BaseService {
         if (importData.getData().getNotes() != null) {
             for (ImportDataDTO.ImportNoteDTO noteDTO : importData.getData().getNotes()) {
                 try {
-                    Note note = new Note();
-                    note.setId(null); // Explicitly set ID to null
-                    note.setTitle(noteDTO.getTitle());
-                    note.setContent(noteDTO.getContent());
-                    note.setCreatedDate(noteDTO.getCreatedDate());
-                    note.setLastModifiedDate(noteDTO.getLastModifiedDate());
-                    note.setUserId(userId);
+                    Note note = toNote(noteDTO, userId);
                     noteRepository.save(note);
                     log.debug("Imported note: {}", note.getTitle());
                 } catch (Exception e) {
@@ -184,17 +200,7 @@ public class ImportService extends BaseService {
         if (importData.getData().getBoards() != null) {
             for (ImportDataDTO.ImportBoardDTO boardDTO : importData.getData().getBoards()) {
                 try {
-                    Board board = new Board();
-                    board.setId(null); // Explicitly set ID to null
-                    board.setTitle(boardDTO.getTitle());
-                    board.setDescription(boardDTO.getDescription());
-                    board.setStarted(boardDTO.isStarted());
-                    board.setToDoLimit(boardDTO.getToDoLimit());
-                    board.setProgressLimit(boardDTO.getProgressLimit());
-                    board.setCreatedDate(boardDTO.getCreatedDate());
-                    board.setArchived(boardDTO.isArchived());
-                    board.setAutoPull(boardDTO.isAutoPull());
-                    board.setOwnerId(userId);
+                    Board board = toBoard(boardDTO, userId);
                     Board savedBoard = boardRepository.save(board);
                     log.debug("Imported board: {}", board.getTitle());
 
@@ -202,18 +208,7 @@ public class ImportService extends BaseService {
                     if (boardDTO.getTasks() != null) {
                         for (ImportDataDTO.ImportTaskDTO taskDTO : boardDTO.getTasks()) {
                             try {
-                                Task task = new Task();
-                                task.setId(null); // Explicitly set ID to null to ensure a new ID is generated
-                                task.setTitle(taskDTO.getTitle());
-                                task.setDescription(taskDTO.getDescription());
-                                task.setDueDate(taskDTO.getDueDate());
-                                task.setPriority(taskDTO.getPriority());
-                                task.setStatus(taskDTO.getStatus());
-                                task.setAssignee(taskDTO.getAssignee());
-                                task.setCreatedDate(taskDTO.getCreatedDate());
-                                task.setLastModifiedDate(taskDTO.getLastModifiedDate());
-                                task.setPosition(taskDTO.getPosition());
-                                task.setBoardId(savedBoard.getId());
+                                Task task = toTask(taskDTO, savedBoard.getId());
 
                                 // Save each task individually to better identify which one causes the error
                                 taskRepository.save(task);
@@ -237,15 +232,7 @@ public class ImportService extends BaseService {
         if (importData.getData().getHabits() != null) {
             for (ImportDataDTO.ImportHabitDTO habitDTO : importData.getData().getHabits()) {
                 try {
-                    Habit habit = new Habit();
-                    habit.setId(null); // Explicitly set ID to null
-                    habit.setName(habitDTO.getName());
-                    habit.setDescription(habitDTO.getDescription());
-                    habit.setActive(habitDTO.isActive());
-                    habit.setScheduleType(Habit.ScheduleType.valueOf(habitDTO.getScheduleType()));
-                    habit.setUserId(userId);
-                    habit.setCreatedDate(habitDTO.getCreatedDate());
-                    habit.setLastModifiedDate(habitDTO.getLastModifiedDate());
+                    Habit habit = toHabit(habitDTO, userId);
                     Habit savedHabit = habitRepository.save(habit);
                     log.debug("Imported habit: {}", habit.getName());
 
@@ -253,12 +240,7 @@ public class ImportService extends BaseService {
                     if (habitDTO.getDaySchedules() != null) {
                         for (ImportDataDTO.ImportHabitDayScheduleDTO scheduleDTO : habitDTO.getDaySchedules()) {
                             try {
-                                HabitDaySchedule daySchedule = new HabitDaySchedule();
-                                daySchedule.setId(null); // Explicitly set ID to null
-                                daySchedule.setDayOfWeek(HabitDaySchedule.DayOfWeek.valueOf(scheduleDTO.getDayOfWeek()));
-                                daySchedule.setScheduleType(HabitDaySchedule.ScheduleType.valueOf(scheduleDTO.getScheduleType()));
-                                daySchedule.setRepetitions(scheduleDTO.getRepetitions());
-                                daySchedule.setHabit(savedHabit);
+                                HabitDaySchedule daySchedule = toDaySchedule(scheduleDTO, savedHabit);
                                 HabitDaySchedule savedSchedule = habitDayScheduleRepository.save(daySchedule);
                                 log.debug("Imported day schedule for habit: {}", habit.getName());
 
@@ -266,11 +248,7 @@ public class ImportService extends BaseService {
                                 if (scheduleDTO.getSpecificTimes() != null) {
                                     for (ImportDataDTO.ImportHabitSpecificTimeDTO timeDTO : scheduleDTO.getSpecificTimes()) {
                                         try {
-                                            HabitSpecificTime specificTime = new HabitSpecificTime();
-                                            specificTime.setId(null); // Explicitly set ID to null
-                                            specificTime.setHour(timeDTO.getHour());
-                                            specificTime.setMinute(timeDTO.getMinute());
-                                            specificTime.setDaySchedule(savedSchedule);
+                                            HabitSpecificTime specificTime = toSpecificTime(timeDTO, savedSchedule);
                                             habitSpecificTimeRepository.save(specificTime);
                                             log.debug("Imported specific time for habit day schedule");
                                         } catch (Exception e) {
@@ -291,6 +269,572 @@ public class ImportService extends BaseService {
             habitRepository.flush();
             habitDayScheduleRepository.flush();
             habitSpecificTimeRepository.flush();
+            habitService.clearActiveHabitsCache(userId);
+        }
+    }
+
+    /**
+     * Import data by parsing the upload incrementally instead of binding the whole document.
+     * Rows are written in chunks of {@code application.data-import.chunk-size}, each chunk in its own
+     * transaction, so memory use and lock duration stay flat regardless of the file size.
+     *
+     * @param inputStream the JSON document, in the same format as {@link ImportDataDTO}.
+     * @return the per-entity import report.
+     * @throws IOException if the document could not be read or is not valid JSON.
+     */
+    public ImportReportDTO importDataStreaming(InputStream inputStream) throws IOException {
+        return importDataStreaming(inputStream, getUserId());
+    }
+
+    public ImportReportDTO importDataStreaming(InputStream inputStream, Long userId) throws IOException {
+        return importDataStreaming(inputStream, userId, new ImportReportDTO());
+    }
+
+    /**
+     * Streaming import into a caller-supplied report, so that progress can be observed while the import is running.
+     */
+    public ImportReportDTO importDataStreaming(InputStream inputStream, Long userId, ImportReportDTO report) throws IOException {
+        report.setChunkSize(chunkSize);
+        long start = System.nanoTime();
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Import data must be a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if ("data".equals(field) && token == JsonToken.START_OBJECT) {
+                    importSections(parser, userId, report);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+
+        report.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+        log.info("Streaming import for user {} finished: {}", userId, report);
+        return report;
+    }
+
+    private void importSections(JsonParser parser, Long userId, ImportReportDTO report) throws IOException {
+        Map<String, DiaryTag> tags = new HashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String section = parser.currentName();
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                continue;
+            }
+            switch (section) {
+                case "diaryEntries" -> importSection(
+                    parser,
+                    ImportDataDTO.ImportDiaryEntryDTO.class,
+                    "diaryEntries",
+                    entry -> 1,
+                    chunk -> writeDiaryEntries(chunk, userId, tags),
+                    chunk -> Map.of("diaryEntries", chunk.size()),
+                    tags::clear,
+                    report
+                );
+                case "ideas" -> importSection(
+                    parser,
+                    ImportDataDTO.ImportIdeaDTO.class,
+                    "ideas",
+                    idea -> 1,
+                    chunk -> writeIdeas(chunk, userId),
+                    chunk -> Map.of("ideas", chunk.size()),
+                    () -> {},
+                    report
+                );
+                case "notes" -> importSection(
+                    parser,
+                    ImportDataDTO.ImportNoteDTO.class,
+                    "notes",
+                    note -> 1,
+                    chunk -> writeNotes(chunk, userId),
+                    chunk -> Map.of("notes", chunk.size()),
+                    () -> {},
+                    report
+                );
+                case "boards" -> importBoards(parser, userId, report);
+                case "habits" -> importSection(
+                    parser,
+                    ImportDataDTO.ImportHabitDTO.class,
+                    "habits",
+                    this::habitRowCount,
+                    chunk -> writeHabits(chunk, userId),
+                    this::habitCounts,
+                    () -> {},
+                    report
+                );
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * Bind the elements of the array the parser is positioned on one at a time and hand them to the
+     * writer whenever a chunk is full.
+     */
+    private <T> void importSection(
+        JsonParser parser,
+        Class<T> type,
+        String entityName,
+        ToIntFunction<T> rowCount,
+        Function<List<T>, Map<String, Integer>> writer,
+        Function<List<T>, Map<String, Integer>> chunkCounts,
+        Runnable onRollback,
+        ImportReportDTO report
+    ) throws IOException {
+        List<T> chunk = new ArrayList<>();
+        int rows = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            T element = objectMapper.readValue(parser, type);
+            if (!validator.validate(element).isEmpty()) {
+                log.warn("Skipping invalid {} element during import", entityName);
+                chunkCounts.apply(List.of(element)).forEach((name, count) -> report.entity(name).record(0, count, 0));
+                report.addError("Skipped invalid element in " + entityName);
+                continue;
+            }
+            chunk.add(element);
+            rows += rowCount.applyAsInt(element);
+            if (rows >= chunkSize) {
+                writeChunk(chunk, entityName, writer, chunkCounts, onRollback, report);
+                chunk.clear();
+                rows = 0;
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, entityName, writer, chunkCounts, onRollback, report);
+        }
+    }
+
+    private <T> void writeChunk(
+        List<T> chunk,
+        String entityName,
+        Function<List<T>, Map<String, Integer>> writer,
+        Function<List<T>, Map<String, Integer>> chunkCounts,
+        Runnable onRollback,
+        ImportReportDTO report
+    ) {
+        long start = System.nanoTime();
+        try {
+            Map<String, Integer> counts = transactionTemplate.execute(status -> {
+                Map<String, Integer> written = writer.apply(chunk);
+                entityManager.flush();
+                entityManager.clear();
+                return written;
+            });
+            long elapsed = System.nanoTime() - start;
+            if (counts != null) {
+                counts.forEach((name, count) -> report.entity(name).record(count, 0, elapsed));
+            }
+        } catch (RuntimeException e) {
+            log.error("Error importing chunk of {} {}", chunk.size(), entityName, e);
+            // Everything the chunk would have written was rolled back, children included
+            long elapsed = System.nanoTime() - start;
+            chunkCounts.apply(chunk).forEach((name, count) -> report.entity(name).record(0, count, elapsed));
+            report.addError("Failed to import " + chunk.size() + " " + entityName + ": " + e.getMessage());
+            onRollback.run();
+        }
+    }
+
+    private Map<String, Integer> writeDiaryEntries(List<ImportDataDTO.ImportDiaryEntryDTO> chunk, Long userId, Map<String, DiaryTag> tags) {
+        int createdTags = 0;
+        List<DiaryMoodSample> imported = new ArrayList<>();
+        for (ImportDataDTO.ImportDiaryEntryDTO entryDTO : chunk) {
+            DiaryEntry entry = toDiaryEntry(entryDTO, userId);
+            if (entryDTO.getTags() != null) {
+                for (ImportDataDTO.ImportDiaryTagDTO tagDTO : entryDTO.getTags()) {
+                    if (tagDTO.getName() == null) {
+                        continue;
+                    }
+                    DiaryTag tag = tags.get(tagDTO.getName());
+                    if (tag == null) {
+                        Optional<DiaryTag> existingTag = diaryTagRepository.findByUserIdAndName(userId, tagDTO.getName());
+                        if (existingTag.isPresent()) {
+                            tag = existingTag.get();
+                        } else {
+                            tag = diaryTagService.saveNewTag(toDiaryTag(tagDTO, userId));
+                            createdTags++;
+                        }
+                        tags.put(tagDTO.getName(), tag);
+                    }
+                    entry.getTags().add(diaryTagRepository.getReferenceById(tag.getId()));
+                    entry.setTagMask(entry.getTagMask() | DiaryTag.maskOf(List.of(tag)));
+                }
+            }
+            diaryEntryRepository.save(entry);
+            imported.add(DiaryMoodSample.of(entry));
+        }
+        diaryStatsService.recordChange(userId, List.of(), imported);
+        return Map.of("diaryEntries", chunk.size(), "diaryTags", createdTags);
+    }
+
+    private Map<String, Integer> writeIdeas(List<ImportDataDTO.ImportIdeaDTO> chunk, Long userId) {
+        for (ImportDataDTO.ImportIdeaDTO ideaDTO : chunk) {
+            ideaRepository.save(toIdea(ideaDTO, userId));
+        }
+        return Map.of("ideas", chunk.size());
+    }
+
+    private Map<String, Integer> writeNotes(List<ImportDataDTO.ImportNoteDTO> chunk, Long userId) {
+        for (ImportDataDTO.ImportNoteDTO noteDTO : chunk) {
+            noteRepository.save(toNote(noteDTO, userId));
+        }
+        return Map.of("notes", chunk.size());
+    }
+
+    /**
+     * Import the boards section. A board is not bound as a whole: its {@code tasks} array is streamed and chunked like
+     * the other sections, so the tasks of a large board are spread over several chunks. The chunk holding the start of
+     * a board writes the board row and the following chunks add the remaining tasks to it.
+     * <p>
+     * The board row is built from the fields preceding its {@code tasks} array, which is where the export writes them;
+     * fields following the array are applied to the board afterwards. Once a board has failed, its remaining tasks are
+     * counted as failed without being written.
+     */
+    private void importBoards(JsonParser parser, Long userId, ImportReportDTO report) throws IOException {
+        BoardChunk chunk = new BoardChunk();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Boards must be JSON objects");
+            }
+            importBoard(parser, userId, chunk, report);
+        }
+        if (!chunk.parts.isEmpty()) {
+            writeBoardChunk(chunk, userId, report);
+        }
+    }
+
+    private void importBoard(JsonParser parser, Long userId, BoardChunk chunk, ImportReportDTO report) throws IOException {
+        ObjectNode fields = objectMapper.createObjectNode();
+        ImportedBoard board = null;
+        boolean trailingFields = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            if (parser.nextToken() == JsonToken.START_ARRAY && "tasks".equals(name) && board == null) {
+                board = addBoard(objectMapper.treeToValue(fields, ImportDataDTO.ImportBoardDTO.class), userId, chunk, report);
+                importTasks(parser, board, userId, chunk, report);
+            } else {
+                fields.set(name, objectMapper.readTree(parser));
+                trailingFields = board != null;
+            }
+        }
+        ImportDataDTO.ImportBoardDTO boardDTO = objectMapper.treeToValue(fields, ImportDataDTO.ImportBoardDTO.class);
+        if (board == null) {
+            addBoard(boardDTO, userId, chunk, report);
+        } else if (trailingFields && !board.failed) {
+            if (!validator.validate(boardDTO).isEmpty()) {
+                log.warn("Ignoring invalid board fields following the tasks during import");
+                report.addError("Ignored invalid fields following the tasks of a board");
+                return;
+            }
+            BoardPart part = pendingPart(board, chunk);
+            part.fields = boardDTO;
+            if (!part.insertsBoard) {
+                addRows(1, chunk, userId, report);
+            }
+        }
+    }
+
+    private ImportedBoard addBoard(ImportDataDTO.ImportBoardDTO boardDTO, Long userId, BoardChunk chunk, ImportReportDTO report) {
+        ImportedBoard board = new ImportedBoard();
+        if (!validator.validate(boardDTO).isEmpty()) {
+            log.warn("Skipping invalid boards element during import");
+            report.entity("boards").record(0, 1, 0);
+            report.addError("Skipped invalid element in boards");
+            board.failed = true;
+            return board;
+        }
+        board.pending = new BoardPart(board, boardDTO, true);
+        chunk.parts.add(board.pending);
+        addRows(1, chunk, userId, report);
+        return board;
+    }
+
+    private void importTasks(JsonParser parser, ImportedBoard board, Long userId, BoardChunk chunk, ImportReportDTO report)
+        throws IOException {
+        int skipped = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (board.failed) {
+                parser.skipChildren();
+                skipped++;
+                continue;
+            }
+            ImportDataDTO.ImportTaskDTO taskDTO = objectMapper.readValue(parser, ImportDataDTO.ImportTaskDTO.class);
+            if (!validator.validate(taskDTO).isEmpty()) {
+                log.warn("Skipping invalid tasks element during import");
+                report.entity("tasks").record(0, 1, 0);
+                report.addError("Skipped invalid element in tasks");
+                continue;
+            }
+            pendingPart(board, chunk).tasks.add(taskDTO);
+            addRows(1, chunk, userId, report);
+        }
+        if (skipped > 0) {
+            report.entity("tasks").record(0, skipped, 0);
+            report.addError("Skipped " + skipped + " tasks of a board that failed to import");
+        }
+    }
+
+    private BoardPart pendingPart(ImportedBoard board, BoardChunk chunk) {
+        if (board.pending == null) {
+            board.pending = new BoardPart(board, null, false);
+            chunk.parts.add(board.pending);
+        }
+        return board.pending;
+    }
+
+    private void addRows(int rows, BoardChunk chunk, Long userId, ImportReportDTO report) {
+        chunk.rows += rows;
+        if (chunk.rows >= chunkSize) {
+            writeBoardChunk(chunk, userId, report);
+        }
+    }
+
+    private void writeBoardChunk(BoardChunk chunk, Long userId, ImportReportDTO report) {
+        writeChunk(
+            chunk.parts,
+            "boards",
+            parts -> writeBoardParts(parts, userId),
+            this::boardCounts,
+            () -> failBoards(chunk.parts),
+            report
+        );
+        chunk.parts.forEach(part -> part.board.pending = null);
+        chunk.parts.clear();
+        chunk.rows = 0;
+    }
+
+    private Map<String, Integer> writeBoardParts(List<BoardPart> parts, Long userId) {
+        int boards = 0;
+        int tasks = 0;
+        for (BoardPart part : parts) {
+            if (part.insertsBoard) {
+                part.board.id = boardRepository.save(toBoard(part.fields, userId)).getId();
+                boards++;
+            } else if (part.fields != null) {
+                copyBoardFields(part.fields, boardRepository.findById(part.board.id).orElseThrow());
+            }
+            for (ImportDataDTO.ImportTaskDTO taskDTO : part.tasks) {
+                taskRepository.save(toTask(taskDTO, part.board.id));
+                tasks++;
+            }
+        }
+        return Map.of("boards", boards, "tasks", tasks);
+    }
+
+    private void failBoards(List<BoardPart> parts) {
+        // Boards first written by the rolled back chunk do not exist, so their remaining tasks have nowhere to go
+        for (BoardPart part : parts) {
+            if (part.insertsBoard) {
+                part.board.id = null;
+                part.board.failed = true;
+            }
+        }
+    }
+
+    private Map<String, Integer> boardCounts(List<BoardPart> parts) {
+        int boards = 0;
+        int tasks = 0;
+        for (BoardPart part : parts) {
+            boards += part.insertsBoard ? 1 : 0;
+            tasks += part.tasks.size();
+        }
+        return Map.of("boards", boards, "tasks", tasks);
+    }
+
+    private Map<String, Integer> writeHabits(List<ImportDataDTO.ImportHabitDTO> chunk, Long userId) {
+        int schedules = 0;
+        int specificTimes = 0;
+        for (ImportDataDTO.ImportHabitDTO habitDTO : chunk) {
+            Habit savedHabit = habitRepository.save(toHabit(habitDTO, userId));
+            if (habitDTO.getDaySchedules() != null) {
+                for (ImportDataDTO.ImportHabitDayScheduleDTO scheduleDTO : habitDTO.getDaySchedules()) {
+                    HabitDaySchedule savedSchedule = habitDayScheduleRepository.save(toDaySchedule(scheduleDTO, savedHabit));
+                    schedules++;
+                    if (scheduleDTO.getSpecificTimes() != null) {
+                        for (ImportDataDTO.ImportHabitSpecificTimeDTO timeDTO : scheduleDTO.getSpecificTimes()) {
+                            habitSpecificTimeRepository.save(toSpecificTime(timeDTO, savedSchedule));
+                            specificTimes++;
+                        }
+                    }
+                }
+            }
+        }
+        habitService.clearActiveHabitsCache(userId);
+        return Map.of("habits", chunk.size(), "habitDaySchedules", schedules, "habitSpecificTimes", specificTimes);
+    }
+
+    private Map<String, Integer> habitCounts(List<ImportDataDTO.ImportHabitDTO> chunk) {
+        int schedules = 0;
+        int specificTimes = 0;
+        for (ImportDataDTO.ImportHabitDTO habitDTO : chunk) {
+            if (habitDTO.getDaySchedules() != null) {
+                for (ImportDataDTO.ImportHabitDayScheduleDTO scheduleDTO : habitDTO.getDaySchedules()) {
+                    schedules++;
+                    specificTimes += scheduleDTO.getSpecificTimes() != null ? scheduleDTO.getSpecificTimes().size() : 0;
+                }
+            }
+        }
+        return Map.of("habits", chunk.size(), "habitDaySchedules", schedules, "habitSpecificTimes", specificTimes);
+    }
+
+    private int habitRowCount(ImportDataDTO.ImportHabitDTO habitDTO) {
+        int rows = 1;
+        if (habitDTO.getDaySchedules() != null) {
+            for (ImportDataDTO.ImportHabitDayScheduleDTO scheduleDTO : habitDTO.getDaySchedules()) {
+                rows += 1 + (scheduleDTO.getSpecificTimes() != null ? scheduleDTO.getSpecificTimes().size() : 0);
+            }
+        }
+        return rows;
+    }
+
+    private DiaryTag toDiaryTag(ImportDataDTO.ImportDiaryTagDTO tagDTO, Long userId) {
+        DiaryTag tag = new DiaryTag();
+        tag.setId(null);
+        tag.setName(tagDTO.getName());
+        tag.setArchived(tagDTO.isArchived());
+        tag.setCreatedDate(tagDTO.getCreatedDate() != null ? tagDTO.getCreatedDate() : Instant.now());
+        tag.setLastModifiedDate(tagDTO.getLastModifiedDate() != null ? tagDTO.getLastModifiedDate() : Instant.now());
+        tag.setUserId(userId);
+        return tag;
+    }
+
+    private DiaryEntry toDiaryEntry(ImportDataDTO.ImportDiaryEntryDTO entryDTO, Long userId) {
+        DiaryEntry entry = new DiaryEntry();
+        entry.setId(null);
+        entry.setContent(entryDTO.getContent());
+        entry.setEmoticon(entryDTO.getEmoticon());
+        entry.setCreatedDate(entryDTO.getCreatedDate() != null ? entryDTO.getCreatedDate() : Instant.now());
+        entry.setLastModifiedDate(entryDTO.getLastModifiedDate() != null ? entryDTO.getLastModifiedDate() : Instant.now());
+        entry.setUserId(userId);
+        return entry;
+    }
+
+    private Idea toIdea(ImportDataDTO.ImportIdeaDTO ideaDTO, Long userId) {
+        Idea idea = new Idea();
+        idea.setId(null); // Explicitly set ID to null
+        idea.setContent(ideaDTO.getContent());
+        idea.setCreatedDate(ideaDTO.getCreatedDate());
+        idea.setLastUpdatedDate(ideaDTO.getLastUpdatedDate());
+        idea.setOwnerId(userId);
+        return idea;
+    }
+
+    private Note toNote(ImportDataDTO.ImportNoteDTO noteDTO, Long userId) {
+        Note note = new Note();
+        note.setId(null); // Explicitly set ID to null
+        note.setTitle(noteDTO.getTitle());
+        note.setContent(noteDTO.getContent());
+        note.setCreatedDate(noteDTO.getCreatedDate());
+        note.setLastModifiedDate(noteDTO.getLastModifiedDate());
+        note.setUserId(userId);
+        return note;
+    }
+
+    private Board toBoard(ImportDataDTO.ImportBoardDTO boardDTO, Long userId) {
+        Board board = new Board();
+        board.setId(null); // Explicitly set ID to null
+        copyBoardFields(boardDTO, board);
+        board.setOwnerId(userId);
+        return board;
+    }
+
+    private void copyBoardFields(ImportDataDTO.ImportBoardDTO boardDTO, Board board) {
+        board.setTitle(boardDTO.getTitle());
+        board.setDescription(boardDTO.getDescription());
+        board.setStarted(boardDTO.isStarted());
+        board.setToDoLimit(boardDTO.getToDoLimit());
+        board.setProgressLimit(boardDTO.getProgressLimit());
+        board.setCreatedDate(boardDTO.getCreatedDate());
+        board.setArchived(boardDTO.isArchived());
+        board.setAutoPull(boardDTO.isAutoPull());
+    }
+
+    private Task toTask(ImportDataDTO.ImportTaskDTO taskDTO, Long boardId) {
+        Task task = new Task();
+        task.setId(null); // Explicitly set ID to null to ensure a new ID is generated
+        task.setTitle(taskDTO.getTitle());
+        task.setDescription(taskDTO.getDescription());
+        task.setDueDate(taskDTO.getDueDate());
+        task.setPriority(taskDTO.getPriority());
+        task.setStatus(taskDTO.getStatus());
+        task.setAssignee(taskDTO.getAssignee());
+        task.setCreatedDate(taskDTO.getCreatedDate());
+        task.setLastModifiedDate(taskDTO.getLastModifiedDate());
+        task.setPosition(taskDTO.getPosition());
+        task.setBoardId(boardId);
+        return task;
+    }
+
+    private Habit toHabit(ImportDataDTO.ImportHabitDTO habitDTO, Long userId) {
+        Habit habit = new Habit();
+        habit.setId(null); // Explicitly set ID to null
+        habit.setName(habitDTO.getName());
+        habit.setDescription(habitDTO.getDescription());
+        habit.setActive(habitDTO.isActive());
+        habit.setScheduleType(Habit.ScheduleType.valueOf(habitDTO.getScheduleType()));
+        habit.setUserId(userId);
+        habit.setCreatedDate(habitDTO.getCreatedDate());
+        habit.setLastModifiedDate(habitDTO.getLastModifiedDate());
+        return habit;
+    }
+
+    private HabitDaySchedule toDaySchedule(ImportDataDTO.ImportHabitDayScheduleDTO scheduleDTO, Habit habit) {
+        HabitDaySchedule daySchedule = new HabitDaySchedule();
+        daySchedule.setId(null); // Explicitly set ID to null
+        daySchedule.setDayOfWeek(HabitDaySchedule.DayOfWeek.valueOf(scheduleDTO.getDayOfWeek()));
+        daySchedule.setScheduleType(HabitDaySchedule.ScheduleType.valueOf(scheduleDTO.getScheduleType()));
+        daySchedule.setRepetitions(scheduleDTO.getRepetitions());
+        daySchedule.setHabit(habit);
+        return daySchedule;
+    }
+
+    private HabitSpecificTime toSpecificTime(ImportDataDTO.ImportHabitSpecificTimeDTO timeDTO, HabitDaySchedule daySchedule) {
+        HabitSpecificTime specificTime = new HabitSpecificTime();
+        specificTime.setId(null); // Explicitly set ID to null
+        specificTime.setHour(timeDTO.getHour());
+        specificTime.setMinute(timeDTO.getMinute());
+        specificTime.setDaySchedule(daySchedule);
+        return specificTime;
+    }
+
+    /**
+     * Boards section chunk: the pending parts and the number of rows they will write.
+     */
+    private static final class BoardChunk {
+
+        private final List<BoardPart> parts = new ArrayList<>();
+        private int rows;
+    }
+
+    /**
+     * A board being imported, across the chunks its tasks are spread over.
+     */
+    private static final class ImportedBoard {
+
+        private Long id;
+        private boolean failed;
+        private BoardPart pending;
+    }
+
+    /**
+     * What one chunk writes for a board: the board row when {@code insertsBoard}, updated board fields when
+     * {@code fields} is set otherwise, and a run of its tasks.
+     */
+    private static final class BoardPart {
+
+        private final ImportedBoard board;
+        private final boolean insertsBoard;
+        private final List<ImportDataDTO.ImportTaskDTO> tasks = new ArrayList<>();
+        private ImportDataDTO.ImportBoardDTO fields;
+
+        private BoardPart(ImportedBoard board, ImportDataDTO.ImportBoardDTO fields, boolean insertsBoard) {
+            this.board = board;
+            this.fields = fields;
+            this.insertsBoard = insertsBoard;
         }
     }
 }
@@ -0,0 +1,43 @@
+package com.dshbd.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position after the last row of a page sorted by {@code (date DESC, id DESC)}, passed to clients as an opaque string.
+ * <p>
+ * The next page is read with {@code date < :date OR (date = :date AND id < :id)}, so it costs the same at any depth and
+ * rows written in the meantime do not shift it.
+ */
+public record KeysetCursor(Instant date, Long id) {
+    /**
+     * Comes before every row, so the first page can be read with the same query as the following ones.
+     */
+    public static final KeysetCursor START = new KeysetCursor(Instant.parse("9999-12-31T23:59:59Z"), Long.MAX_VALUE);
+
+    private static final char SEPARATOR = '_';
+
+    public static KeysetCursor decode(String cursor) {
+        String value;
+        try {
+            value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        int separator = value.lastIndexOf(SEPARATOR);
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        try {
+            return new KeysetCursor(Instant.parse(value.substring(0, separator)), Long.valueOf(value.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((date.toString() + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
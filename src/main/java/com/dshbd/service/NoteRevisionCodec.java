@@ -0,0 +1,182 @@
+package com.dshbd.service;
+
+import com.dshbd.service.dto.TextEditDTO;
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Text edits and their storage format for note revisions.
+ * <p>
+ * A delta is a varint edit count followed by, per edit, the varint start offset, the varint number of characters
+ * removed and the varint length plus UTF-8 bytes of the inserted text. A snapshot is the content as UTF-8.
+ */
+final class NoteRevisionCodec {
+
+    /**
+     * Data smaller than this is stored as is, deflating it would not pay off.
+     */
+    static final int COMPRESSION_THRESHOLD = 256;
+
+    private NoteRevisionCodec() {}
+
+    /**
+     * Apply edits to a text. The edits refer to offsets in {@code text}, in ascending order and without overlapping.
+     *
+     * @throws IllegalArgumentException if an edit is out of range, inverted or overlaps the previous one.
+     */
+    static String apply(String text, List<TextEditDTO> edits) {
+        StringBuilder result = new StringBuilder(text.length());
+        int copied = 0;
+        for (TextEditDTO edit : edits) {
+            int start = edit.getStart();
+            int end = edit.getEnd();
+            if (start < copied || end < start || end > text.length()) {
+                throw new IllegalArgumentException("Edit [" + start + ", " + end + ") does not apply to a text of " + text.length());
+            }
+            result.append(text, copied, start);
+            if (edit.getText() != null) {
+                result.append(edit.getText());
+            }
+            copied = end;
+        }
+        return result.append(text, copied, text.length()).toString();
+    }
+
+    /**
+     * The single edit replacing everything between the common prefix and the common suffix of two texts, or no
+     * edit when they are equal.
+     */
+    static List<TextEditDTO> diff(String before, String after) {
+        int max = Math.min(before.length(), after.length());
+        int prefix = 0;
+        while (prefix < max && before.charAt(prefix) == after.charAt(prefix)) {
+            prefix++;
+        }
+        if (prefix == before.length() && prefix == after.length()) {
+            return List.of();
+        }
+        // Do not split a surrogate pair between the common part and the edit
+        if (prefix > 0 && Character.isHighSurrogate(before.charAt(prefix - 1))) {
+            prefix--;
+        }
+        int suffix = 0;
+        while (
+            suffix < max - prefix && before.charAt(before.length() - 1 - suffix) == after.charAt(after.length() - 1 - suffix)
+        ) {
+            suffix++;
+        }
+        if (suffix > 0 && Character.isLowSurrogate(before.charAt(before.length() - suffix))) {
+            suffix--;
+        }
+        return List.of(new TextEditDTO(prefix, before.length() - suffix, after.substring(prefix, after.length() - suffix)));
+    }
+
+    static byte[] encodeDelta(List<TextEditDTO> edits) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeVarint(out, edits.size());
+        for (TextEditDTO edit : edits) {
+            byte[] text = edit.getText() == null ? new byte[0] : edit.getText().getBytes(StandardCharsets.UTF_8);
+            writeVarint(out, edit.getStart());
+            writeVarint(out, edit.getEnd() - edit.getStart());
+            writeVarint(out, text.length);
+            out.writeBytes(text);
+        }
+        return out.toByteArray();
+    }
+
+    static List<TextEditDTO> decodeDelta(byte[] data) {
+        ByteBuffer in = ByteBuffer.wrap(data);
+        try {
+            int count = readVarint(in);
+            List<TextEditDTO> edits = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int start = readVarint(in);
+                int end = start + readVarint(in);
+                byte[] text = new byte[readVarint(in)];
+                in.get(text);
+                edits.add(new TextEditDTO(start, end, new String(text, StandardCharsets.UTF_8)));
+            }
+            return edits;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalStateException("Truncated note revision delta", e);
+        }
+    }
+
+    static byte[] encodeSnapshot(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static String decodeSnapshot(byte[] data) {
+        return new String(data, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Deflate data if it is large enough and actually shrinks.
+     *
+     * @return the deflated data, or {@code null} to store it as is.
+     */
+    static byte[] compress(byte[] data) {
+        if (data.length < COMPRESSION_THRESHOLD) {
+            return null;
+        }
+        Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            byte[] buffer = new byte[data.length];
+            int length = deflater.deflate(buffer);
+            return deflater.finished() && length < data.length ? Arrays.copyOf(buffer, length) : null;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    static byte[] decompress(byte[] data) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated note revision data");
+                }
+                out.write(buffer, 0, length);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt note revision data", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarint(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varint in note revision delta");
+    }
+}
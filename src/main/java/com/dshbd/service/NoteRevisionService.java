@@ -0,0 +1,116 @@
+package com.dshbd.service;
+
+import com.dshbd.domain.Note;
+import com.dshbd.domain.NoteRevision;
+import com.dshbd.domain.vm.NoteRevisionSummary;
+import com.dshbd.repository.NoteRevisionRepository;
+import com.dshbd.service.dto.NoteRevisionDTO;
+import com.dshbd.service.dto.TextEditDTO;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keeps the content history of notes. Every {@link #SNAPSHOT_INTERVAL}th revision is a full snapshot, the others
+ * store only the edits from the previous revision, so reading a revision replays at most that many deltas.
+ * Callers check that the note belongs to the current user.
+ */
+@Service
+@Transactional
+public class NoteRevisionService {
+
+    /**
+     * Revisions from one snapshot to the next.
+     */
+    public static final int SNAPSHOT_INTERVAL = 20;
+
+    private final Logger log = LoggerFactory.getLogger(NoteRevisionService.class);
+
+    private final NoteRevisionRepository noteRevisionRepository;
+
+    public NoteRevisionService(NoteRevisionRepository noteRevisionRepository) {
+        this.noteRevisionRepository = noteRevisionRepository;
+    }
+
+    /**
+     * Record a change of a note's content.
+     *
+     * @param note the note, holding its new content.
+     * @param edits the edits that turned the previous content into the new one.
+     */
+    public void recordRevision(Note note, List<TextEditDTO> edits) {
+        String content = note.getContent() == null ? "" : note.getContent();
+        Optional<Integer> latest = noteRevisionRepository.findLatestRevision(note.getId());
+        int revision = latest.orElse(0) + 1;
+
+        // Notes created before revisions existed, or imported, start their history with a snapshot
+        byte[] snapshot = NoteRevisionCodec.encodeSnapshot(content);
+        byte[] data = snapshot;
+        boolean isSnapshot = true;
+        if (latest.isPresent() && (revision - 1) % SNAPSHOT_INTERVAL != 0) {
+            byte[] delta = NoteRevisionCodec.encodeDelta(edits);
+            if (delta.length < snapshot.length) {
+                data = delta;
+                isSnapshot = false;
+            }
+        }
+        byte[] compressed = NoteRevisionCodec.compress(data);
+
+        NoteRevision noteRevision = new NoteRevision();
+        noteRevision.setNoteId(note.getId());
+        noteRevision.setRevision(revision);
+        noteRevision.setSnapshot(isSnapshot);
+        noteRevision.setCompressed(compressed != null);
+        noteRevision.setData(compressed != null ? compressed : data);
+        noteRevision.setContentLength(content.length());
+        noteRevision.setCreatedDate(Instant.now());
+        noteRevisionRepository.save(noteRevision);
+        log.debug("Recorded {}", noteRevision);
+    }
+
+    @Transactional(readOnly = true)
+    public List<NoteRevisionSummary> findAll(Long noteId) {
+        return noteRevisionRepository.findSummariesByNoteId(noteId);
+    }
+
+    /**
+     * Rebuild a note's content at a revision.
+     *
+     * @param noteId the id of the note.
+     * @param revision the revision number.
+     * @return the content at that revision, or empty if the note has no such revision.
+     */
+    @Transactional(readOnly = true)
+    public Optional<NoteRevisionDTO> findOne(Long noteId, Integer revision) {
+        return noteRevisionRepository
+            .findFirstByNoteIdAndSnapshotTrueAndRevisionLessThanEqualOrderByRevisionDesc(noteId, revision)
+            .flatMap(snapshot -> {
+                List<NoteRevision> revisions = noteRevisionRepository.findByNoteIdAndRevisionBetweenOrderByRevisionAsc(
+                    noteId,
+                    snapshot.getRevision(),
+                    revision
+                );
+                NoteRevision last = revisions.get(revisions.size() - 1);
+                if (!last.getRevision().equals(revision)) {
+                    return Optional.empty();
+                }
+                String content = NoteRevisionCodec.decodeSnapshot(data(snapshot));
+                for (NoteRevision delta : revisions.subList(1, revisions.size())) {
+                    content = NoteRevisionCodec.apply(content, NoteRevisionCodec.decodeDelta(data(delta)));
+                }
+                return Optional.of(new NoteRevisionDTO(revision, last.getCreatedDate(), content));
+            });
+    }
+
+    public void deleteAll(Long noteId) {
+        noteRevisionRepository.deleteByNoteId(noteId);
+    }
+
+    private static byte[] data(NoteRevision noteRevision) {
+        return noteRevision.getCompressed() ? NoteRevisionCodec.decompress(noteRevision.getData()) : noteRevision.getData();
+    }
+}
@@ -1,16 +1,24 @@
 package com.dshbd.service;
 
 import com.dshbd.domain.Note;
+import com.dshbd.domain.vm.NoteRevisionSummary;
 import com.dshbd.domain.vm.NoteSummary;
 import com.dshbd.repository.NoteRepository;
 import com.dshbd.repository.NoteSummaryRepository;
 import com.dshbd.repository.UserRepository;
+import com.dshbd.service.dto.NoteContentPatchDTO;
 import com.dshbd.service.dto.NoteDTO;
+import com.dshbd.service.dto.NoteRevisionDTO;
+import com.dshbd.service.dto.TextEditDTO;
 import com.dshbd.service.mapper.NoteMapper;
+import com.dshbd.service.vm.CursorPageVM;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,18 +31,21 @@ public class NoteService extends BaseService {
     private final NoteRepository noteRepository;
     private final NoteSummaryRepository noteSummaryRepository;
     private final NoteMapper noteMapper;
+    private final NoteRevisionService noteRevisionService;
 
     public NoteService(
         NoteRepository noteRepository,
         NoteSummaryRepository noteSummaryRepository,
         UserRepository userRepository,
         NoteMapper noteMapper,
-        UserService userService
+        UserService userService,
+        NoteRevisionService noteRevisionService
     ) {
         super(userService);
         this.noteRepository = noteRepository;
         this.noteSummaryRepository = noteSummaryRepository;
         this.noteMapper = noteMapper;
+        this.noteRevisionService = noteRevisionService;
     }
 
     public NoteDTO createNote(String title, String content) {
@@ -44,6 +55,7 @@ public class NoteService extends BaseService {
         note.setUserId(getUserId());
         Note savedNote = noteRepository.saveAndFlush(note);
         log.debug("Saved Note: {}", savedNote);
+        noteRevisionService.recordRevision(savedNote, NoteRevisionCodec.diff("", contentOf(savedNote)));
         return noteMapper.toDto(savedNote);
     }
 
@@ -51,30 +63,87 @@ public class NoteService extends BaseService {
         log.debug("Request to save Note : {}", noteDTO);
 
         Note note;
+        List<TextEditDTO> edits;
         if (noteDTO.getId() != null) {
             // Update existing note
-            Optional<Note> existingNote = noteRepository.findById(noteDTO.getId());
-            if (existingNote.isEmpty() || !existingNote.get().getUserId().equals(getUserId())) {
-                throw new IllegalStateException("Note not found or not owned by current user");
+            note = findOwnedNote(noteDTO.getId());
+            if (noteDTO.getVersion() != null && !noteDTO.getVersion().equals(note.getVersion())) {
+                throw new OptimisticLockingFailureException("Note has been modified");
             }
-            note = existingNote.get();
+            edits = NoteRevisionCodec.diff(contentOf(note), noteDTO.getContent() == null ? "" : noteDTO.getContent());
             note.setTitle(noteDTO.getTitle());
             note.setContent(noteDTO.getContent());
         } else {
             // Create new note
             note = noteMapper.toEntity(noteDTO);
             note.setUserId(getUserId());
+            edits = NoteRevisionCodec.diff("", contentOf(note));
         }
 
-        note = noteRepository.save(note);
+        // Flush so the returned version is the one the client has to send next
+        note = noteRepository.saveAndFlush(note);
+        if (!edits.isEmpty()) {
+            noteRevisionService.recordRevision(note, edits);
+        }
+        return noteMapper.toDto(note);
+    }
+
+    /**
+     * Change a note's content by applying edits to the version the client last saw, so that only the changed
+     * ranges are sent.
+     *
+     * @param id the id of the note.
+     * @param patch the base version and the edits.
+     * @return the saved note.
+     * @throws IllegalArgumentException if the edits do not apply to the note's content.
+     * @throws OptimisticLockingFailureException if the note has changed since the base version.
+     */
+    public NoteDTO patchContent(Long id, NoteContentPatchDTO patch) {
+        log.debug("Request to patch content of Note {} : {}", id, patch);
+        Note note = findOwnedNote(id);
+        if (!patch.getVersion().equals(note.getVersion())) {
+            throw new OptimisticLockingFailureException("Note has been modified");
+        }
+        if (patch.getEdits().isEmpty()) {
+            return noteMapper.toDto(note);
+        }
+        note.setContent(NoteRevisionCodec.apply(contentOf(note), patch.getEdits()));
+        note = noteRepository.saveAndFlush(note);
+        noteRevisionService.recordRevision(note, patch.getEdits());
         return noteMapper.toDto(note);
     }
 
     @Transactional(readOnly = true)
-    public List<NoteDTO> findAllByCurrentUser() {
-        log.debug("Request to get all Notes for current user");
+    public List<NoteRevisionSummary> findRevisions(Long id) {
+        return noteRevisionService.findAll(findOwnedNote(id).getId());
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<NoteRevisionDTO> findRevision(Long id, Integer revision) {
+        return noteRevisionService.findOne(findOwnedNote(id).getId(), revision);
+    }
 
-        return noteRepository.findByUserIdOrderByLastModifiedDateDesc(getUserId()).stream().map(noteMapper::toDto).toList();
+    /**
+     * Get a page of the current user's notes, most recently modified first.
+     *
+     * @param cursor the cursor returned with the previous page, or {@code null} for the first page.
+     * @param size the requested page size, clamped to {@link CursorPageVM#MAX_SIZE}.
+     * @return the page.
+     * @throws IllegalArgumentException if the cursor cannot be decoded.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageVM<NoteDTO> findPageByCurrentUser(String cursor, int size) {
+        log.debug("Request to get a page of Notes for current user after {}", cursor);
+        int pageSize = CursorPageVM.clampSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        List<Note> notes;
+        if (cursor == null) {
+            notes = noteRepository.findPageByUserId(getUserId(), limit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            notes = noteRepository.findPageByUserIdAfter(getUserId(), after.date(), after.id(), limit);
+        }
+        return CursorPageVM.of(notes, pageSize, note -> new KeysetCursor(note.getLastModifiedDate(), note.getId()), noteMapper::toDto);
     }
 
     @Transactional(readOnly = true)
@@ -89,14 +158,49 @@ public class NoteService extends BaseService {
 
         Optional<Note> note = noteRepository.findById(id);
         if (note.isPresent() && note.get().getUserId().equals(getUserId())) {
+            noteRevisionService.deleteAll(id);
             noteRepository.deleteById(id);
         } else {
             throw new IllegalStateException("Note not found or not owned by current user");
         }
     }
 
-    public List<NoteSummary> findAllSummariesByCurrentUser() {
-        // call a repository method that returns a list of NoteSummary
-        return noteSummaryRepository.findByUserIdOrderByLastModifiedDateDesc(getUserId());
+    /**
+     * Get a page of the current user's note summaries, most recently modified first. Note contents are not loaded.
+     *
+     * @param cursor the cursor returned with the previous page, or {@code null} for the first page.
+     * @param size the requested page size, clamped to {@link CursorPageVM#MAX_SIZE}.
+     * @return the page.
+     * @throws IllegalArgumentException if the cursor cannot be decoded.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageVM<NoteSummary> findSummaryPageByCurrentUser(String cursor, int size) {
+        log.debug("Request to get a page of Note summaries for current user after {}", cursor);
+        int pageSize = CursorPageVM.clampSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        List<NoteSummary> summaries;
+        if (cursor == null) {
+            summaries = noteSummaryRepository.findPageByUserId(getUserId(), limit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            summaries = noteSummaryRepository.findPageByUserIdAfter(getUserId(), after.date(), after.id(), limit);
+        }
+        return CursorPageVM.of(
+            summaries,
+            pageSize,
+            summary -> new KeysetCursor(summary.getLastModifiedDate(), summary.getId()),
+            Function.identity()
+        );
+    }
+
+    private Note findOwnedNote(Long id) {
+        return noteRepository
+            .findById(id)
+            .filter(note -> note.getUserId().equals(getUserId()))
+            .orElseThrow(() -> new IllegalStateException("Note not found or not owned by current user"));
+    }
+
+    private static String contentOf(Note note) {
+        return note.getContent() == null ? "" : note.getContent();
     }
 }
@@ -0,0 +1,162 @@
+package com.dshbd.service;
+
+import com.dshbd.service.dto.SearchHitDTO;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over the searchable texts of one user: every term maps to the documents containing it,
+ * with the number of occurrences. Hits are ranked with BM25.
+ * <p>
+ * Not thread-safe; {@link SearchService} guards each index with its own lock.
+ */
+final class SearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final int TITLE_LENGTH = 100;
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private final NavigableMap<String, Map<DocKey, Integer>> postings = new TreeMap<>();
+    private final Map<DocKey, Doc> docs = new HashMap<>();
+    private long totalLength;
+    private int postingCount;
+
+    private record DocKey(SearchHitDTO.Type type, Long id) {}
+
+    private record Doc(String title, Long boardId, Map<String, Integer> terms, int length) {}
+
+    /**
+     * Add a document, replacing an earlier version of it.
+     *
+     * @param title the title shown in hits, shortened if needed.
+     * @param boardId the board of a task, {@code null} for other types.
+     * @param texts the texts to index; {@code null} texts are skipped.
+     */
+    void put(SearchHitDTO.Type type, Long id, String title, Long boardId, String... texts) {
+        remove(type, id);
+        Map<String, Integer> terms = new HashMap<>();
+        int length = 0;
+        for (String text : texts) {
+            for (String term : tokenize(text)) {
+                terms.merge(term, 1, Integer::sum);
+                length++;
+            }
+        }
+        if (terms.isEmpty()) {
+            return;
+        }
+        DocKey key = new DocKey(type, id);
+        for (Map.Entry<String, Integer> term : terms.entrySet()) {
+            postings.computeIfAbsent(term.getKey(), t -> new HashMap<>()).put(key, term.getValue());
+        }
+        docs.put(key, new Doc(shorten(title), boardId, terms, length));
+        totalLength += length;
+        postingCount += terms.size();
+    }
+
+    void remove(SearchHitDTO.Type type, Long id) {
+        Doc doc = docs.remove(new DocKey(type, id));
+        if (doc == null) {
+            return;
+        }
+        DocKey key = new DocKey(type, id);
+        for (String term : doc.terms().keySet()) {
+            Map<DocKey, Integer> list = postings.get(term);
+            list.remove(key);
+            if (list.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= doc.length();
+        postingCount -= doc.terms().size();
+    }
+
+    /**
+     * Find the documents containing all terms of the query, best first. The last term also matches as a prefix,
+     * unless the query ends with a separator, so results can be shown while typing.
+     */
+    List<SearchHitDTO> search(String query) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty() || docs.isEmpty()) {
+            return List.of();
+        }
+        boolean prefixLast = !SEPARATORS.matcher(query.substring(query.length() - 1)).matches();
+        double averageLength = (double) totalLength / docs.size();
+
+        Map<DocKey, Double> scores = null;
+        for (int i = 0; i < terms.size(); i++) {
+            String term = terms.get(i);
+            Map<String, Map<DocKey, Integer>> matches = prefixLast && i == terms.size() - 1
+                ? postings.subMap(term, true, term + Character.MAX_VALUE, false)
+                : (postings.containsKey(term) ? Map.of(term, postings.get(term)) : Map.of());
+            Map<DocKey, Double> termScores = new HashMap<>();
+            for (Map<DocKey, Integer> list : matches.values()) {
+                double idf = Math.log(1 + (docs.size() - list.size() + 0.5) / (list.size() + 0.5));
+                for (Map.Entry<DocKey, Integer> posting : list.entrySet()) {
+                    if (scores == null || scores.containsKey(posting.getKey())) {
+                        int frequency = posting.getValue();
+                        double norm = K1 * (1 - B + B * docs.get(posting.getKey()).length() / averageLength);
+                        termScores.merge(posting.getKey(), idf * frequency * (K1 + 1) / (frequency + norm), Double::sum);
+                    }
+                }
+            }
+            if (scores != null) {
+                for (Map.Entry<DocKey, Double> score : termScores.entrySet()) {
+                    score.setValue(score.getValue() + scores.get(score.getKey()));
+                }
+            }
+            scores = termScores;
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        List<SearchHitDTO> hits = new ArrayList<>(scores.size());
+        for (Map.Entry<DocKey, Double> score : scores.entrySet()) {
+            Doc doc = docs.get(score.getKey());
+            hits.add(new SearchHitDTO(score.getKey().type(), score.getKey().id(), doc.title(), doc.boardId(), score.getValue()));
+        }
+        hits.sort(Comparator.comparingDouble(SearchHitDTO::getScore).reversed().thenComparing(SearchHitDTO::getId, Comparator.reverseOrder()));
+        return hits;
+    }
+
+    /**
+     * @return the number of term-document pairs, as a measure of the memory used.
+     */
+    int getPostingCount() {
+        return postingCount;
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+        List<String> terms = new ArrayList<>();
+        for (String term : SEPARATORS.split(normalized)) {
+            if (term.length() >= MIN_TERM_LENGTH) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    private static String shorten(String title) {
+        if (title == null || title.length() <= TITLE_LENGTH) {
+            return title;
+        }
+        return title.substring(0, TITLE_LENGTH);
+    }
+}
@@ -0,0 +1,388 @@
+package com.dshbd.service;
+
+import com.dshbd.config.ApplicationProperties;
+import com.dshbd.domain.Board;
+import com.dshbd.domain.DiaryEntry;
+import com.dshbd.domain.Idea;
+import com.dshbd.domain.Note;
+import com.dshbd.domain.Task;
+import com.dshbd.repository.BoardRepository;
+import com.dshbd.repository.DiaryEntryRepository;
+import com.dshbd.repository.IdeaRepository;
+import com.dshbd.repository.NoteRepository;
+import com.dshbd.repository.TaskRepository;
+import com.dshbd.service.dto.SearchHitDTO;
+import jakarta.persistence.EntityManager;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Full-text search over the notes, ideas, diary entries and tasks of the current user.
+ * <p>
+ * Each user's texts are held in an in-memory {@link SearchIndex}, built from the database on the user's first
+ * query and kept current by {@link SearchIndexListener} after every commit. When all indexes together exceed
+ * {@code application.search.max-postings}, the indexes of the least recently active users are dropped and
+ * rebuilt when those users search again.
+ * <p>
+ * An index is built without holding the lock that committed changes are applied under, so saves never wait for a
+ * build. It is only published when none of the user's texts changed while it was loaded; otherwise it is loaded
+ * again, and after {@value #MAX_BUILD_ATTEMPTS} attempts the last load only answers the current query and the index
+ * is built again on the next one.
+ * <p>
+ * Tasks on archived boards are not indexed. Archiving or restoring a board drops the index of its owner, to be
+ * built again on the next query.
+ */
+@Service
+public class SearchService extends BaseService {
+
+    static final int MAX_BUILD_ATTEMPTS = 3;
+
+    private static final Set<Class<?>> INDEXED_TYPES = Set.of(Note.class, Idea.class, DiaryEntry.class, Task.class, Board.class);
+
+    private final Logger log = LoggerFactory.getLogger(SearchService.class);
+
+    private final NoteRepository noteRepository;
+    private final IdeaRepository ideaRepository;
+    private final DiaryEntryRepository diaryEntryRepository;
+    private final BoardRepository boardRepository;
+    private final TaskRepository taskRepository;
+    private final EntityManager entityManager;
+    private final long maxPostings;
+
+    /**
+     * Indexes by user id, in access order so the first entries belong to the least recently active users.
+     */
+    private final LinkedHashMap<Long, UserIndex> indexes = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Owners of the boards of the indexed users, to find the index a task belongs to.
+     */
+    private final Map<Long, Long> boardOwners = new ConcurrentHashMap<>();
+
+    public SearchService(
+        NoteRepository noteRepository,
+        IdeaRepository ideaRepository,
+        DiaryEntryRepository diaryEntryRepository,
+        BoardRepository boardRepository,
+        TaskRepository taskRepository,
+        UserService userService,
+        EntityManager entityManager,
+        ApplicationProperties applicationProperties
+    ) {
+        super(userService);
+        this.noteRepository = noteRepository;
+        this.ideaRepository = ideaRepository;
+        this.diaryEntryRepository = diaryEntryRepository;
+        this.boardRepository = boardRepository;
+        this.taskRepository = taskRepository;
+        this.entityManager = entityManager;
+        this.maxPostings = applicationProperties.getSearch().getMaxPostings();
+    }
+
+    /**
+     * Search the current user's texts. All terms of the query must match; the last one also matches as a prefix.
+     *
+     * @param query the search terms.
+     * @param pageable the page of hits to return.
+     * @return the hits, best first.
+     */
+    @Transactional(readOnly = true)
+    public Page<SearchHitDTO> search(String query, Pageable pageable) {
+        Long userId = getUserId();
+        UserIndex userIndex = getUserIndex(userId, true);
+        SearchIndex index = userIndex.ready ? userIndex.index : build(userId, userIndex);
+        List<SearchHitDTO> hits;
+        synchronized (userIndex) {
+            hits = index.search(query);
+        }
+        evictColdIndexes(userId);
+        int from = (int) Math.min(pageable.getOffset(), hits.size());
+        int to = Math.min(from + pageable.getPageSize(), hits.size());
+        return new PageImpl<>(hits.subList(from, to), pageable, hits.size());
+    }
+
+    /**
+     * Drop the index of a user whose diary was purged, once the purge has committed. The index is built again on the
+     * user's next query.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDiaryPurged(DiaryPurgedEvent event) {
+        evict(event.userId());
+    }
+
+    private synchronized void evict(Long userId) {
+        UserIndex userIndex = indexes.remove(userId);
+        if (userIndex != null) {
+            userIndex.boardIds.forEach(boardOwners::remove);
+            log.debug("Dropped search index of user {}", userId);
+        }
+    }
+
+    /**
+     * @return whether changes to entities of this type are relevant to the search indexes.
+     */
+    boolean isIndexed(Class<?> type) {
+        return INDEXED_TYPES.contains(type);
+    }
+
+    /**
+     * Apply a committed insert or update to the index of the entity's owner, if that index is in memory.
+     */
+    void onSaved(Object entity) {
+        if (entity instanceof Board board) {
+            updateBoard(board);
+            return;
+        }
+        update(entity, false);
+    }
+
+    /**
+     * Apply a committed delete to the index of the entity's owner, if that index is in memory.
+     */
+    void onDeleted(Object entity) {
+        if (!(entity instanceof Board)) {
+            update(entity, true);
+        }
+    }
+
+    private void update(Object entity, boolean deleted) {
+        Long userId = getOwnerId(entity);
+        if (userId == null) {
+            if (entity instanceof Task task) {
+                // A task on a board of a user whose index is not in memory, or has not loaded its boards yet
+                recordBoardChangedInBuild(task.getBoardId());
+            }
+            return;
+        }
+        UserIndex userIndex = getUserIndex(userId, false);
+        if (userIndex == null) {
+            return;
+        }
+        userIndex.changes.incrementAndGet();
+        synchronized (userIndex) {
+            if (userIndex.ready) {
+                if (deleted) {
+                    remove(userIndex.index, entity);
+                } else {
+                    add(userIndex.index, entity);
+                }
+            }
+        }
+        evictColdIndexes(userId);
+    }
+
+    private void updateBoard(Board board) {
+        UserIndex userIndex = getUserIndex(board.getOwnerId(), false);
+        if (userIndex == null) {
+            return;
+        }
+        // Counted before checking whether the index is ready, so that an index being built is loaded again
+        userIndex.changes.incrementAndGet();
+        boolean archivedOrRestored;
+        synchronized (userIndex) {
+            if (!userIndex.ready) {
+                return;
+            }
+            archivedOrRestored = board.isArchived()
+                ? userIndex.boardIds.contains(board.getId())
+                : userIndex.archivedBoardIds.contains(board.getId());
+            if (!archivedOrRestored) {
+                if (board.isArchived()) {
+                    userIndex.archivedBoardIds.add(board.getId());
+                } else {
+                    userIndex.boardIds.add(board.getId());
+                    boardOwners.put(board.getId(), board.getOwnerId());
+                }
+            }
+        }
+        if (archivedOrRestored) {
+            // The board's tasks have to be dropped from or loaded into the index
+            evict(board.getOwnerId());
+        }
+    }
+
+    /**
+     * Load all texts of a user. Commits of the user's entities that arrive while loading may or may not be seen by
+     * the queries, so the index is loaded again until none arrived in the meantime, at most
+     * {@value #MAX_BUILD_ATTEMPTS} times. Only one query per user builds at a time; the lock committed changes are
+     * applied under is only taken to publish the index.
+     *
+     * @return the loaded index, which is only kept for later queries when no commit arrived while loading it.
+     */
+    private SearchIndex build(Long userId, UserIndex userIndex) {
+        synchronized (userIndex.buildLock) {
+            if (userIndex.ready) {
+                // Built by a concurrent query in the meantime
+                return userIndex.index;
+            }
+            for (int attempt = 1; ; attempt++) {
+                long changes = userIndex.changes.get();
+                userIndex.changedBoardIds.clear();
+                SearchIndex index = new SearchIndex();
+                Set<Long> boardIds = ConcurrentHashMap.newKeySet();
+                Set<Long> archivedBoardIds = ConcurrentHashMap.newKeySet();
+                try (Stream<Note> notes = noteRepository.streamByUserIdOrderById(userId)) {
+                    notes.forEach(note -> addDetached(index, note));
+                }
+                try (Stream<Idea> ideas = ideaRepository.streamByOwnerIdOrderById(userId)) {
+                    ideas.forEach(idea -> addDetached(index, idea));
+                }
+                try (Stream<DiaryEntry> entries = diaryEntryRepository.streamByUserIdOrderById(userId)) {
+                    entries.forEach(entry -> addDetached(index, entry));
+                }
+                try (Stream<Board> boards = boardRepository.streamByOwnerIdOrderById(userId)) {
+                    boards.forEach(board -> {
+                        if (board.isArchived()) {
+                            archivedBoardIds.add(board.getId());
+                        } else {
+                            boardIds.add(board.getId());
+                        }
+                        entityManager.detach(board);
+                    });
+                }
+                boardIds.forEach(boardId -> boardOwners.put(boardId, userId));
+                try (Stream<Task> tasks = taskRepository.streamByUnarchivedBoardOwnerId(userId)) {
+                    tasks.forEach(task -> addDetached(index, task));
+                }
+                if (publish(userIndex, changes, index, boardIds, archivedBoardIds)) {
+                    log.debug("Built search index of user {} with {} postings", userId, index.getPostingCount());
+                    return index;
+                }
+                if (attempt == MAX_BUILD_ATTEMPTS) {
+                    log.debug("Search index of user {} kept changing while it was built, using it for this query only", userId);
+                    return index;
+                }
+            }
+        }
+    }
+
+    /**
+     * Publish a loaded index unless a commit arrived since {@code changes} was read. Committed changes are counted
+     * before they take the index lock, so a change either fails this check or is applied to the published index.
+     */
+    private boolean publish(UserIndex userIndex, long changes, SearchIndex index, Set<Long> boardIds, Set<Long> archivedBoardIds) {
+        synchronized (userIndex) {
+            if (userIndex.changes.get() != changes || userIndex.changedBoardIds.stream().anyMatch(boardIds::contains)) {
+                return false;
+            }
+            userIndex.index = index;
+            userIndex.boardIds = boardIds;
+            userIndex.archivedBoardIds = archivedBoardIds;
+            userIndex.ready = true;
+            return true;
+        }
+    }
+
+    private void addDetached(SearchIndex index, Object entity) {
+        add(index, entity);
+        entityManager.detach(entity);
+    }
+
+    private void add(SearchIndex index, Object entity) {
+        if (entity instanceof Note note) {
+            index.put(SearchHitDTO.Type.NOTE, note.getId(), note.getTitle(), null, note.getTitle(), note.getContent());
+        } else if (entity instanceof Idea idea) {
+            index.put(SearchHitDTO.Type.IDEA, idea.getId(), idea.getContent(), null, idea.getContent());
+        } else if (entity instanceof DiaryEntry entry) {
+            index.put(SearchHitDTO.Type.DIARY_ENTRY, entry.getId(), entry.getContent(), null, entry.getContent());
+        } else if (entity instanceof Task task) {
+            index.put(SearchHitDTO.Type.TASK, task.getId(), task.getTitle(), task.getBoardId(), task.getTitle(), task.getDescription());
+        }
+    }
+
+    private void remove(SearchIndex index, Object entity) {
+        if (entity instanceof Note note) {
+            index.remove(SearchHitDTO.Type.NOTE, note.getId());
+        } else if (entity instanceof Idea idea) {
+            index.remove(SearchHitDTO.Type.IDEA, idea.getId());
+        } else if (entity instanceof DiaryEntry entry) {
+            index.remove(SearchHitDTO.Type.DIARY_ENTRY, entry.getId());
+        } else if (entity instanceof Task task) {
+            index.remove(SearchHitDTO.Type.TASK, task.getId());
+        }
+    }
+
+    private Long getOwnerId(Object entity) {
+        if (entity instanceof Note note) {
+            return note.getUserId();
+        } else if (entity instanceof Idea idea) {
+            return idea.getOwnerId();
+        } else if (entity instanceof DiaryEntry entry) {
+            return entry.getUserId();
+        } else if (entity instanceof Task task) {
+            return boardOwners.get(task.getBoardId());
+        }
+        return null;
+    }
+
+    private synchronized UserIndex getUserIndex(Long userId, boolean create) {
+        UserIndex userIndex = indexes.get(userId);
+        if (userIndex == null && create) {
+            userIndex = new UserIndex();
+            indexes.put(userId, userIndex);
+        }
+        return userIndex;
+    }
+
+    private synchronized void recordBoardChangedInBuild(Long boardId) {
+        for (UserIndex userIndex : indexes.values()) {
+            if (!userIndex.ready) {
+                userIndex.changedBoardIds.add(boardId);
+            }
+        }
+    }
+
+    /**
+     * Drop the indexes of the least recently active users until all indexes fit into the posting limit again.
+     * The index of the user who is currently active is always kept.
+     */
+    private synchronized void evictColdIndexes(Long activeUserId) {
+        long total = indexes.values().stream().filter(userIndex -> userIndex.ready).mapToLong(userIndex -> userIndex.index.getPostingCount()).sum();
+        Iterator<Map.Entry<Long, UserIndex>> iterator = indexes.entrySet().iterator();
+        while (total > maxPostings && iterator.hasNext()) {
+            Map.Entry<Long, UserIndex> entry = iterator.next();
+            UserIndex userIndex = entry.getValue();
+            if (entry.getKey().equals(activeUserId) || !userIndex.ready) {
+                continue;
+            }
+            iterator.remove();
+            userIndex.boardIds.forEach(boardOwners::remove);
+            total -= userIndex.index.getPostingCount();
+            log.debug("Evicted search index of user {}", entry.getKey());
+        }
+    }
+
+    synchronized int getIndexedUserCount() {
+        return indexes.size();
+    }
+
+    private static final class UserIndex {
+
+        private final Object buildLock = new Object();
+        private final AtomicLong changes = new AtomicLong();
+        private volatile boolean ready;
+        private volatile SearchIndex index;
+        private volatile Set<Long> boardIds = ConcurrentHashMap.newKeySet();
+        private volatile Set<Long> archivedBoardIds = ConcurrentHashMap.newKeySet();
+
+        /**
+         * Boards with task changes whose owner was unknown while this index was built.
+         */
+        private final Set<Long> changedBoardIds = ConcurrentHashMap.newKeySet();
+    }
+}
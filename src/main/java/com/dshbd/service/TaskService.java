@@ -4,13 +4,26 @@ import com.dshbd.domain.Board;
 import com.dshbd.domain.Task;
 import com.dshbd.repository.BoardRepository;
 import com.dshbd.repository.TaskRepository;
+import com.dshbd.service.dto.BoardEventDTO;
+import com.dshbd.service.dto.MoveTaskDTO;
 import com.dshbd.service.dto.TaskDTO;
-import com.dshbd.service.vm.TaskVM;
+import com.dshbd.service.dto.TaskPatchDTO;
+import com.dshbd.service.dto.TaskPatchResultDTO;
+import com.dshbd.service.vm.TaskListVM;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,15 +31,31 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 public class TaskService extends BaseService {
 
+    /**
+     * Distance between the positions of neighbouring tasks after a column has been renumbered,
+     * leaving room to move tasks between them without touching other rows.
+     */
+    static final int POSITION_GAP = 1024;
+
     private final Logger log = LoggerFactory.getLogger(TaskService.class);
 
     private final TaskRepository taskRepository;
     private final BoardRepository boardRepository;
+    private final BoardMetricsService boardMetricsService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public TaskService(TaskRepository taskRepository, BoardRepository boardRepository, UserService userService) {
+    public TaskService(
+        TaskRepository taskRepository,
+        BoardRepository boardRepository,
+        UserService userService,
+        BoardMetricsService boardMetricsService,
+        ApplicationEventPublisher eventPublisher
+    ) {
         super(userService);
         this.taskRepository = taskRepository;
         this.boardRepository = boardRepository;
+        this.boardMetricsService = boardMetricsService;
+        this.eventPublisher = eventPublisher;
     }
 
     public Task createTask(TaskDTO taskDTO) {
@@ -38,14 +67,14 @@ public class TaskService extends BaseService {
         task.setPriority(taskDTO.getPriority());
         task.setAssignee(taskDTO.getAssignee());
         task.setBoardId(taskDTO.getBoardId());
-        return boardRepository
-            .findById(taskDTO.getBoardId())
-            .map(board -> {
-                task.setBoardId(board.getId());
-                log.debug("Created Information for Task: {}", task);
-                return taskRepository.save(task);
-            })
-            .orElseThrow(() -> new IllegalStateException("Board could not be found"));
+        Board board = lockBoard(taskDTO.getBoardId());
+        task.setBoardId(board.getId());
+        task.setPosition(taskRepository.findMaxPosition(board.getId(), task.getStatus()).orElse(0) + POSITION_GAP);
+        log.debug("Created Information for Task: {}", task);
+        Task result = taskRepository.save(task);
+        boardMetricsService.recordTransition(board, result, null, result.getStatus());
+        publish(BoardEventDTO.Type.TASK_CREATED, result);
+        return result;
     }
 
     @Transactional(readOnly = true)
@@ -58,16 +87,15 @@ public class TaskService extends BaseService {
         return taskRepository.findByBoardIdAndStatus(boardId, status);
     }
 
+    /**
+     * Get a task on one of the current user's active boards, checking ownership in the same query.
+     */
     @Transactional(readOnly = true)
     public Optional<Task> getTask(Long id) {
-        Optional<Task> task = taskRepository.findById(id);
-        if (task.isPresent()) {
-            List<Long> boardIds = getBoardsIdsForCurrentUser();
-            if (boardIds.contains(task.get().getBoardId())) {
-                return task;
-            }
-        }
-        throw new IllegalStateException("Task could not be found");
+        Task task = taskRepository
+            .findByIdAndBoardOwnerId(id, getUserId())
+            .orElseThrow(() -> new IllegalStateException("Task could not be found"));
+        return Optional.of(task);
     }
 
     public void deleteTask(Long id) {
@@ -75,7 +103,10 @@ public class TaskService extends BaseService {
         log.info("Task: {}", task);
         if (task.isPresent()) {
             if (task.get().getStatus().equals("backlog")) {
+                Board board = lockBoard(task.get().getBoardId());
                 taskRepository.deleteById(id);
+                boardMetricsService.recordTransition(board, task.get(), task.get().getStatus(), null);
+                eventPublisher.publishEvent(new BoardEventDTO(BoardEventDTO.Type.TASK_DELETED, task.get().getBoardId(), id, null));
             } else {
                 throw new IllegalStateException("Task has already been started");
             }
@@ -89,6 +120,11 @@ public class TaskService extends BaseService {
         if (task.isPresent()) {
             if (!task.get().getStatus().equals("done")) {
                 Task taskToUpdate = task.get();
+                if (taskDTO.getVersion() != null && !taskDTO.getVersion().equals(taskToUpdate.getVersion())) {
+                    throw new OptimisticLockingFailureException("Task has been modified");
+                }
+                String previousStatus = taskToUpdate.getStatus();
+                Board board = previousStatus.equals(taskDTO.getStatus()) ? null : lockBoardForTransition(taskToUpdate, taskDTO.getStatus());
                 taskToUpdate.setTitle(taskDTO.getTitle());
                 taskToUpdate.setDescription(taskDTO.getDescription());
                 taskToUpdate.setDueDate(taskDTO.getDueDate());
@@ -96,7 +132,13 @@ public class TaskService extends BaseService {
                 taskToUpdate.setPriority(taskDTO.getPriority());
                 taskToUpdate.setAssignee(taskDTO.getAssignee());
                 taskToUpdate.setPosition(taskDTO.getPosition());
-                return taskRepository.save(taskToUpdate);
+                Task result = taskRepository.save(taskToUpdate);
+                publish(BoardEventDTO.Type.TASK_UPDATED, result);
+                if (board != null) {
+                    boardMetricsService.recordTransition(board, result, previousStatus, result.getStatus());
+                    autoPull(board, previousStatus, result);
+                }
+                return result;
             } else {
                 throw new IllegalStateException("Task has already been completed");
             }
@@ -105,35 +147,260 @@ public class TaskService extends BaseService {
         }
     }
 
-    @Transactional(readOnly = true)
-    public List<TaskVM> findByStatus(String status) {
-        List<Board> boards = getBoardsForCurrentUser();
-        if (boards.isEmpty()) {
-            return new ArrayList<>();
+    /**
+     * Apply field-level changes to many tasks of a board in one transaction.
+     * <p>
+     * Each change is checked against the version it was based on. Changes to tasks that were modified in the
+     * meantime are reported as conflicts with the stored task, instead of failing the whole batch.
+     *
+     * @param boardId the board of the tasks.
+     * @param patches the changes to apply.
+     * @return one result per change, in request order.
+     */
+    public List<TaskPatchResultDTO> patchTasks(Long boardId, List<TaskPatchDTO> patches) {
+        Board board = lockBoard(boardId);
+        if (board.isArchived()) {
+            throw new IllegalStateException("Board could not be found");
         }
-        List<Long> boardIds = boards.stream().map(Board::getId).toList();
-        log.info("Board IDs: {}", boardIds);
-        List<Task> tasks = taskRepository.findByBoardIdInAndStatus(boardIds, status);
-        log.info("Tasks: {}", tasks);
-        //map the tasks to a taskvm
-        List<TaskVM> list = tasks.stream().map(task -> new TaskVM(task, getBoardForTask(boards, task))).toList();
-        return list;
+        Map<Long, Task> tasksById = taskRepository
+            .findByBoardIdAndIdIn(boardId, patches.stream().map(TaskPatchDTO::getId).toList())
+            .stream()
+            .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        List<TaskPatchResultDTO> results = new ArrayList<>(patches.size());
+        List<Task> changed = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (TaskPatchDTO patch : patches) {
+            Task task = tasksById.get(patch.getId());
+            if (task == null) {
+                results.add(new TaskPatchResultDTO(patch.getId(), TaskPatchResultDTO.Result.NOT_FOUND, "Task could not be found", null));
+            } else if (!seen.add(task.getId())) {
+                results.add(new TaskPatchResultDTO(task.getId(), TaskPatchResultDTO.Result.REJECTED, "Task is changed twice", null));
+            } else if (!patch.getVersion().equals(task.getVersion())) {
+                results.add(new TaskPatchResultDTO(task.getId(), TaskPatchResultDTO.Result.CONFLICT, "Task has been modified", task));
+            } else if (Task.STATUS_DONE.equals(task.getStatus())) {
+                results.add(new TaskPatchResultDTO(task.getId(), TaskPatchResultDTO.Result.REJECTED, "Task has already been completed", task));
+            } else if (patch.getStatus() != null && !patch.getStatus().equals(task.getStatus()) && isColumnFull(board, patch.getStatus())) {
+                String message = "Board limit of " + board.getWipLimit(patch.getStatus()) + " tasks reached";
+                results.add(new TaskPatchResultDTO(task.getId(), TaskPatchResultDTO.Result.REJECTED, message, task));
+            } else {
+                String previousStatus = task.getStatus();
+                applyPatch(task, patch);
+                boardMetricsService.recordTransition(board, task, previousStatus, task.getStatus());
+                changed.add(task);
+                results.add(new TaskPatchResultDTO(task.getId(), TaskPatchResultDTO.Result.UPDATED, null, task));
+            }
+        }
+        log.debug("Patched {} of {} tasks on Board {}", changed.size(), patches.size(), boardId);
+        taskRepository.saveAll(changed);
+        taskRepository.flush();
+        changed.forEach(task -> publish(BoardEventDTO.Type.TASK_UPDATED, task));
+        return results;
     }
 
-    private List<Long> getBoardsIdsForCurrentUser() {
-        return getBoardsForCurrentUser().stream().map(Board::getId).toList();
+    private void applyPatch(Task task, TaskPatchDTO patch) {
+        if (patch.getTitle() != null) {
+            task.setTitle(patch.getTitle());
+        }
+        if (patch.getDescription() != null) {
+            task.setDescription(patch.getDescription());
+        }
+        if (patch.getDueDate() != null) {
+            task.setDueDate(patch.getDueDate());
+        }
+        if (patch.getPriority() != null) {
+            task.setPriority(patch.getPriority());
+        }
+        if (patch.getStatus() != null) {
+            task.setStatus(patch.getStatus());
+        }
+        if (patch.getAssignee() != null) {
+            task.setAssignee(patch.getAssignee());
+        }
+        if (patch.getPosition() != null) {
+            task.setPosition(patch.getPosition());
+        }
     }
 
-    private List<Board> getBoardsForCurrentUser() {
-        List<Board> boards = boardRepository.findByOwnerIdAndArchived(getUserId(), false);
-        return boards;
+    /**
+     * Move a task into a column of its board, directly below another task or to the top.
+     * <p>
+     * The task gets a position between its new neighbours, so usually only the moved task is written.
+     * When there is no gap left between the neighbours, the column is renumbered.
+     *
+     * @param boardId the board of the task.
+     * @param taskId the task to move.
+     * @param moveTaskDTO the target column and neighbour.
+     * @return the moved task.
+     */
+    public Task moveTask(Long boardId, Long taskId, MoveTaskDTO moveTaskDTO) {
+        Task task = getTask(taskId)
+            .filter(t -> t.getBoardId().equals(boardId))
+            .orElseThrow(() -> new IllegalStateException("Task could not be found"));
+        String status = moveTaskDTO.getStatus();
+        if (Task.STATUS_DONE.equals(task.getStatus()) && !Task.STATUS_DONE.equals(status)) {
+            throw new IllegalStateException("Task has already been completed");
+        }
+
+        Task after = null;
+        Optional<Task> before;
+        if (moveTaskDTO.getAfterTaskId() != null) {
+            after = taskRepository
+                .findById(moveTaskDTO.getAfterTaskId())
+                .filter(t -> t.getBoardId().equals(boardId) && t.getStatus().equals(status) && !t.getId().equals(taskId))
+                .orElseThrow(() -> new IllegalStateException("Task could not be found"));
+            before = after.getPosition() == null
+                ? Optional.empty()
+                : taskRepository.findFirstByBoardIdAndStatusAndPositionGreaterThanOrderByPositionAscIdAsc(boardId, status, after.getPosition());
+        } else {
+            before = taskRepository.findFirstByBoardIdAndStatusAndPositionNotNullOrderByPositionAscIdAsc(boardId, status);
+        }
+        if (before.isPresent() && before.get().getId().equals(taskId) && status.equals(task.getStatus())) {
+            return task;
+        }
+        String previousStatus = task.getStatus();
+        Board board = previousStatus.equals(status) ? null : lockBoardForTransition(task, status);
+        task.setStatus(status);
+
+        Integer position = positionBetween(after, before.orElse(null));
+        if (position == null) {
+            renumberColumn(task, after);
+        } else {
+            task.setPosition(position);
+        }
+        log.debug("Moved Task {} to {} at position {}", taskId, status, task.getPosition());
+        Task result = taskRepository.save(task);
+        publish(BoardEventDTO.Type.TASK_MOVED, result);
+        if (board != null) {
+            boardMetricsService.recordTransition(board, result, previousStatus, status);
+            autoPull(board, previousStatus, result);
+        }
+        return result;
+    }
+
+    /**
+     * Lock the board of a task that is about to change column and check the WIP limit of the target column.
+     * <p>
+     * The row lock serializes all status transitions of the board, so two concurrent moves cannot both take
+     * the last free place of a column.
+     *
+     * @return the locked board.
+     */
+    private Board lockBoardForTransition(Task task, String status) {
+        Board board = lockBoard(task.getBoardId());
+        if (isColumnFull(board, status)) {
+            throw new WipLimitExceededException("Board limit of " + board.getWipLimit(status) + " tasks reached");
+        }
+        return board;
+    }
+
+    /**
+     * Lock a board of the current user. Every status transition of a board is recorded under this lock.
+     */
+    private Board lockBoard(Long boardId) {
+        return boardRepository
+            .findWithLockByIdAndOwnerId(boardId, getUserId())
+            .orElseThrow(() -> new IllegalStateException("Board could not be found"));
+    }
+
+    private boolean isColumnFull(Board board, String status) {
+        Integer limit = board.getWipLimit(status);
+        return limit != null && taskRepository.countByBoardIdAndStatus(board.getId(), status) >= limit;
+    }
+
+    /**
+     * Refill a column a task has just left with the highest-priority task of the column before it, if the board
+     * auto-pulls and the column is below its limit. A pull leaves a gap in turn, so the columns before are refilled too.
+     *
+     * @param board the board, locked by {@link #lockBoardForTransition}.
+     * @param column the column the task has left.
+     * @param moved the task that left, which is never pulled back.
+     */
+    private void autoPull(Board board, String column, Task moved) {
+        String source = switch (column) {
+            case Task.STATUS_IN_PROGRESS -> Task.STATUS_TO_DO;
+            case Task.STATUS_TO_DO -> Task.STATUS_BACKLOG;
+            default -> null;
+        };
+        if (!board.isAutoPull() || source == null || isColumnFull(board, column)) {
+            return;
+        }
+        taskRepository
+            .findFirstByBoardIdAndStatusAndIdNotOrderByPriorityDescPositionAscIdAsc(board.getId(), source, moved.getId())
+            .ifPresent(pulled -> {
+                pulled.setPosition(taskRepository.findMaxPosition(board.getId(), column).orElse(0) + POSITION_GAP);
+                pulled.setStatus(column);
+                log.debug("Auto-pulled Task {} from {} to {} on Board {}", pulled.getId(), source, column, board.getId());
+                boardMetricsService.recordTransition(board, taskRepository.save(pulled), source, column);
+                publish(BoardEventDTO.Type.TASK_MOVED, pulled);
+                autoPull(board, source, moved);
+            });
+    }
+
+    /**
+     * Announce a committed change of a task to the clients watching its board.
+     */
+    private void publish(BoardEventDTO.Type type, Task task) {
+        eventPublisher.publishEvent(new BoardEventDTO(type, task.getBoardId(), task.getId(), task));
+    }
+
+    /**
+     * @return a free position between the two tasks, or {@code null} if the column needs to be renumbered first.
+     */
+    private Integer positionBetween(Task after, Task before) {
+        if (after != null && after.getPosition() == null) {
+            return null;
+        }
+        if (after == null) {
+            return before == null ? POSITION_GAP : before.getPosition() - POSITION_GAP;
+        }
+        if (before == null) {
+            return after.getPosition() + POSITION_GAP;
+        }
+        int gap = before.getPosition() - after.getPosition();
+        return gap > 1 ? after.getPosition() + gap / 2 : null;
     }
 
-    private Board getBoardForTask(List<Board> boards, Task task) {
-        return boards
+    private void renumberColumn(Task task, Task after) {
+        List<Task> column = new ArrayList<>(
+            taskRepository
+                .findByBoardIdAndStatusOrderByPositionAscIdAsc(task.getBoardId(), task.getStatus())
+                .stream()
+                .filter(t -> !t.getId().equals(task.getId()))
+                .sorted(Comparator.comparing(Task::getPosition, Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList()
+        );
+        column.add(after == null ? 0 : column.indexOf(after) + 1, task);
+        for (int i = 0; i < column.size(); i++) {
+            column.get(i).setPosition((i + 1) * POSITION_GAP);
+        }
+        log.debug("Renumbered {} tasks in column {} of Board {}", column.size(), task.getStatus(), task.getBoardId());
+        taskRepository.saveAll(column);
+        column.stream().filter(t -> t != task).forEach(t -> publish(BoardEventDTO.Type.TASK_MOVED, t));
+    }
+
+    /**
+     * Get the tasks with the given status on all active boards of the current user.
+     */
+    @Transactional(readOnly = true)
+    public TaskListVM findByStatus(String status) {
+        Map<Long, Board> boardsById = getBoardsForCurrentUser()
             .stream()
-            .filter(e -> e.getId().equals(task.getBoardId()))
-            .findFirst()
-            .orElseThrow(() -> new IllegalStateException("Task could not be found"));
+            .collect(Collectors.toMap(Board::getId, Function.identity()));
+        if (boardsById.isEmpty()) {
+            return new TaskListVM(Map.of(), List.of());
+        }
+        List<Task> tasks = taskRepository.findByBoardIdInAndStatus(List.copyOf(boardsById.keySet()), status);
+        log.debug("Found {} tasks with status {} on {} boards", tasks.size(), status, boardsById.size());
+        Map<Long, Board> referencedBoards = new HashMap<>();
+        for (Task task : tasks) {
+            referencedBoards.computeIfAbsent(task.getBoardId(), boardsById::get);
+        }
+        return new TaskListVM(referencedBoards, tasks);
+    }
+
+    private List<Board> getBoardsForCurrentUser() {
+        List<Board> boards = boardRepository.findByOwnerIdAndArchived(getUserId(), false);
+        return boards;
     }
 }
@@ -41,16 +41,20 @@ public class UserService {
 
     private final CacheManager cacheManager;
 
+    private final DiaryPurgeService diaryPurgeService;
+
     public UserService(
         UserRepository userRepository,
         PasswordEncoder passwordEncoder,
         AuthorityRepository authorityRepository,
-        CacheManager cacheManager
+        CacheManager cacheManager,
+        DiaryPurgeService diaryPurgeService
     ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
         this.cacheManager = cacheManager;
+        this.diaryPurgeService = diaryPurgeService;
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -222,6 +226,7 @@ public class UserService {
         userRepository
             .findOneByLogin(login)
             .ifPresent(user -> {
+                diaryPurgeService.purgeAll(user.getId());
                 userRepository.delete(user);
                 this.clearUserCaches(user);
                 LOG.debug("Deleted User: {}", user);
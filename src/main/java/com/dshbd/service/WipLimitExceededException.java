@@ -0,0 +1,17 @@
+package com.dshbd.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a task cannot enter a board column because the column is at its work-in-progress limit.
+ */
+@ResponseStatus(value = HttpStatus.CONFLICT, reason = "Board limit reached")
+public class WipLimitExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public WipLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -29,6 +29,11 @@ public class BoardDTO implements Serializable {
 
     private Instant lastModifiedDate;
 
+    /**
+     * The version the client last saw; when set, the update is refused if the board has changed since.
+     */
+    private Long version;
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -118,6 +123,14 @@ public class BoardDTO implements Serializable {
         this.lastModifiedDate = lastModifiedDate;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -168,6 +181,8 @@ public class BoardDTO implements Serializable {
             ", lastModifiedDate='" +
             getLastModifiedDate() +
             "'" +
+            ", version=" +
+            getVersion() +
             "}"
         );
     }
@@ -0,0 +1,58 @@
+package com.dshbd.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A change on a board, published by the board and task services and pushed to the clients watching the board
+ * once the change has been committed.
+ */
+public class BoardEventDTO implements Serializable {
+
+    public enum Type {
+        TASK_CREATED,
+        TASK_UPDATED,
+        TASK_MOVED,
+        TASK_DELETED,
+        BOARD_UPDATED,
+        BOARD_ARCHIVED,
+    }
+
+    private final Type type;
+
+    private final Long boardId;
+
+    private final Long taskId;
+
+    private final Object data;
+
+    public BoardEventDTO(Type type, Long boardId, Long taskId, Object data) {
+        this.type = type;
+        this.boardId = boardId;
+        this.taskId = taskId;
+        this.data = data;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getBoardId() {
+        return boardId;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    /**
+     * @return the task or board after the change, or {@code null} for deletions.
+     */
+    public Object getData() {
+        return data;
+    }
+
+    @Override
+    public String toString() {
+        return "BoardEventDTO{" + "type=" + type + ", boardId=" + boardId + ", taskId=" + taskId + "}";
+    }
+}
@@ -0,0 +1,156 @@
+package com.dshbd.service.dto;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Kanban flow metrics of a board over a range of days (UTC). Durations are in seconds.
+ */
+public class BoardMetricsDTO implements Serializable {
+
+    private final LocalDate from;
+
+    private final LocalDate to;
+
+    private PercentilesDTO cycleTime;
+
+    private PercentilesDTO leadTime;
+
+    private final List<DayDTO> days = new ArrayList<>();
+
+    public BoardMetricsDTO(LocalDate from, LocalDate to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    /**
+     * @return the number of tasks completed in the range.
+     */
+    public int getThroughput() {
+        return days.stream().mapToInt(DayDTO::getCompleted).sum();
+    }
+
+    /**
+     * @return the time from first entering in-progress to done, of the tasks completed in the range.
+     */
+    public PercentilesDTO getCycleTime() {
+        return cycleTime;
+    }
+
+    public void setCycleTime(PercentilesDTO cycleTime) {
+        this.cycleTime = cycleTime;
+    }
+
+    /**
+     * @return the time from creation to done, of the tasks completed in the range.
+     */
+    public PercentilesDTO getLeadTime() {
+        return leadTime;
+    }
+
+    public void setLeadTime(PercentilesDTO leadTime) {
+        this.leadTime = leadTime;
+    }
+
+    /**
+     * @return one entry per day of the range, for throughput and cumulative flow charts.
+     */
+    public List<DayDTO> getDays() {
+        return days;
+    }
+
+    public static class PercentilesDTO implements Serializable {
+
+        private final int count;
+
+        private final Long p50;
+
+        private final Long p85;
+
+        private final Long p95;
+
+        public PercentilesDTO(int count, Long p50, Long p85, Long p95) {
+            this.count = count;
+            this.p50 = p50;
+            this.p85 = p85;
+            this.p95 = p95;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public Long getP50() {
+            return p50;
+        }
+
+        public Long getP85() {
+            return p85;
+        }
+
+        public Long getP95() {
+            return p95;
+        }
+    }
+
+    public static class DayDTO implements Serializable {
+
+        private final LocalDate date;
+
+        private final int backlog;
+
+        private final int toDo;
+
+        private final int inProgress;
+
+        private final int done;
+
+        private final int completed;
+
+        public DayDTO(LocalDate date, int backlog, int toDo, int inProgress, int done, int completed) {
+            this.date = date;
+            this.backlog = backlog;
+            this.toDo = toDo;
+            this.inProgress = inProgress;
+            this.done = done;
+            this.completed = completed;
+        }
+
+        public LocalDate getDate() {
+            return date;
+        }
+
+        public int getBacklog() {
+            return backlog;
+        }
+
+        public int getToDo() {
+            return toDo;
+        }
+
+        public int getInProgress() {
+            return inProgress;
+        }
+
+        public int getDone() {
+            return done;
+        }
+
+        /**
+         * @return the number of tasks moved to done on this day.
+         */
+        public int getCompleted() {
+            return completed;
+        }
+    }
+}
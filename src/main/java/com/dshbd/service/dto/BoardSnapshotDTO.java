@@ -0,0 +1,68 @@
+package com.dshbd.service.dto;
+
+import com.dshbd.domain.Board;
+import com.dshbd.domain.vm.TaskCard;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A board with its tasks grouped into status columns, as needed to render the kanban view in one request.
+ */
+public class BoardSnapshotDTO implements Serializable {
+
+    private final Board board;
+
+    private final Map<String, ColumnDTO> columns = new LinkedHashMap<>();
+
+    public BoardSnapshotDTO(Board board) {
+        this.board = board;
+    }
+
+    public Board getBoard() {
+        return board;
+    }
+
+    public Map<String, ColumnDTO> getColumns() {
+        return columns;
+    }
+
+    public int getTotal() {
+        return columns.values().stream().mapToInt(ColumnDTO::getCount).sum();
+    }
+
+    public static class ColumnDTO implements Serializable {
+
+        private final Integer limit;
+
+        private final List<TaskCard> tasks = new ArrayList<>();
+
+        public ColumnDTO(Integer limit) {
+            this.limit = limit;
+        }
+
+        /**
+         * @return the WIP limit of the column, or {@code null} if the column is unlimited.
+         */
+        public Integer getLimit() {
+            return limit;
+        }
+
+        public int getCount() {
+            return tasks.size();
+        }
+
+        /**
+         * @return how many more tasks fit into the column before its WIP limit is reached, or {@code null} if unlimited.
+         */
+        public Integer getHeadroom() {
+            return limit == null ? null : Math.max(0, limit - tasks.size());
+        }
+
+        public List<TaskCard> getTasks() {
+            return tasks;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.dshbd.service.dto;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mood statistics of the diary over a range of days (UTC): how often each emoticon was used and which tags go with it.
+ */
+public class DiaryStatsDTO implements Serializable {
+
+    private final LocalDate from;
+
+    private final LocalDate to;
+
+    private final Map<String, Integer> emoticons = new LinkedHashMap<>();
+
+    private final List<PeriodDTO> weeks = new ArrayList<>();
+
+    private final List<PeriodDTO> months = new ArrayList<>();
+
+    private final Map<String, List<TagCountDTO>> tagsByEmoticon = new LinkedHashMap<>();
+
+    public DiaryStatsDTO(LocalDate from, LocalDate to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    /**
+     * @return the number of entries in the range.
+     */
+    public int getEntries() {
+        return emoticons.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /**
+     * @return the number of entries per emoticon, most used first.
+     */
+    public Map<String, Integer> getEmoticons() {
+        return emoticons;
+    }
+
+    /**
+     * @return the emoticon counts per ISO week with entries, oldest first.
+     */
+    public List<PeriodDTO> getWeeks() {
+        return weeks;
+    }
+
+    /**
+     * @return the emoticon counts per month with entries, oldest first.
+     */
+    public List<PeriodDTO> getMonths() {
+        return months;
+    }
+
+    /**
+     * @return per emoticon, the number of its entries carrying each tag, most common tag first.
+     */
+    public Map<String, List<TagCountDTO>> getTagsByEmoticon() {
+        return tagsByEmoticon;
+    }
+
+    public static class PeriodDTO implements Serializable {
+
+        private final LocalDate start;
+
+        private final Map<String, Integer> emoticons;
+
+        public PeriodDTO(LocalDate start, Map<String, Integer> emoticons) {
+            this.start = start;
+            this.emoticons = emoticons;
+        }
+
+        /**
+         * @return the first day of the period, a Monday for weeks; it may lie before the range.
+         */
+        public LocalDate getStart() {
+            return start;
+        }
+
+        public Map<String, Integer> getEmoticons() {
+            return emoticons;
+        }
+    }
+
+    public static class TagCountDTO implements Serializable {
+
+        private final String tag;
+
+        private final int count;
+
+        public TagCountDTO(String tag, int count) {
+            this.tag = tag;
+            this.count = count;
+        }
+
+        public String getTag() {
+            return tag;
+        }
+
+        public int getCount() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.dshbd.service.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * DTO for the check-in of one habit on one day in a batch: the number of completions the day has at least.
+ */
+public class HabitCheckInDTO implements Serializable {
+
+    @NotNull
+    private Long habitId;
+
+    @NotNull
+    private LocalDate date;
+
+    @NotNull
+    @Min(1)
+    @Max(255)
+    private Integer count;
+
+    public Long getHabitId() {
+        return habitId;
+    }
+
+    public void setHabitId(Long habitId) {
+        this.habitId = habitId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public Integer getCount() {
+        return count;
+    }
+
+    public void setCount(Integer count) {
+        this.count = count;
+    }
+
+    @Override
+    public String toString() {
+        return "HabitCheckInDTO{" + "habitId=" + habitId + ", date='" + date + "'" + ", count=" + count + "}";
+    }
+}
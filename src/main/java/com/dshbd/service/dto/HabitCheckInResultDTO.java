@@ -0,0 +1,57 @@
+package com.dshbd.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * The outcome of one check-in in a batch, with the number of completions now stored for the day.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class HabitCheckInResultDTO implements Serializable {
+
+    public enum Result {
+        RECORDED,
+        UNCHANGED,
+        REJECTED,
+        NOT_FOUND,
+    }
+
+    private final Long habitId;
+
+    private final LocalDate date;
+
+    private final Result result;
+
+    private final String message;
+
+    private final Integer count;
+
+    public HabitCheckInResultDTO(Long habitId, LocalDate date, Result result, String message, Integer count) {
+        this.habitId = habitId;
+        this.date = date;
+        this.result = result;
+        this.message = message;
+        this.count = count;
+    }
+
+    public Long getHabitId() {
+        return habitId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public Result getResult() {
+        return result;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public Integer getCount() {
+        return count;
+    }
+}
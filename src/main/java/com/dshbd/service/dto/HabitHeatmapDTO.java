@@ -0,0 +1,77 @@
+package com.dshbd.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The completions of the habits of a user over one year, as one bitmap per habit and month with completions.
+ */
+public class HabitHeatmapDTO implements Serializable {
+
+    private final int year;
+
+    private final List<MonthDTO> months = new ArrayList<>();
+
+    public HabitHeatmapDTO(int year) {
+        this.year = year;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    /**
+     * @return the months with completions, by habit and then month.
+     */
+    public List<MonthDTO> getMonths() {
+        return months;
+    }
+
+    /**
+     * The completions of one habit in one month.
+     */
+    public static class MonthDTO implements Serializable {
+
+        private final Long habitId;
+
+        private final int month;
+
+        private final int days;
+
+        private final byte[] repeatCounts;
+
+        public MonthDTO(Long habitId, int month, int days, byte[] repeatCounts) {
+            this.habitId = habitId;
+            this.month = month;
+            this.days = days;
+            this.repeatCounts = repeatCounts;
+        }
+
+        public Long getHabitId() {
+            return habitId;
+        }
+
+        /**
+         * @return the month of the year, 1 to 12.
+         */
+        public int getMonth() {
+            return month;
+        }
+
+        /**
+         * @return the days with completions, bit {@code day - 1} for each day of the month.
+         */
+        public int getDays() {
+            return days;
+        }
+
+        /**
+         * @return the number of completions per day of the month, unsigned, or {@code null} when no day has more than
+         * one. Sent as base64.
+         */
+        public byte[] getRepeatCounts() {
+            return repeatCounts;
+        }
+    }
+}
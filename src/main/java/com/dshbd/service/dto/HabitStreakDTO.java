@@ -0,0 +1,88 @@
+package com.dshbd.service.dto;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * The streaks and completion rates of a habit, up to the last evaluated day.
+ */
+public class HabitStreakDTO implements Serializable {
+
+    private Long habitId;
+
+    private int currentStreak;
+
+    private int longestStreak;
+
+    private LocalDate evaluatedThrough;
+
+    private Double completionRate7;
+
+    private Double completionRate30;
+
+    private Double completionRate365;
+
+    public Long getHabitId() {
+        return habitId;
+    }
+
+    public void setHabitId(Long habitId) {
+        this.habitId = habitId;
+    }
+
+    /**
+     * @return the number of scheduled days in a row that were completed, up to the last evaluated day. Days the
+     * habit is not scheduled on neither extend nor break it.
+     */
+    public int getCurrentStreak() {
+        return currentStreak;
+    }
+
+    public void setCurrentStreak(int currentStreak) {
+        this.currentStreak = currentStreak;
+    }
+
+    public int getLongestStreak() {
+        return longestStreak;
+    }
+
+    public void setLongestStreak(int longestStreak) {
+        this.longestStreak = longestStreak;
+    }
+
+    public LocalDate getEvaluatedThrough() {
+        return evaluatedThrough;
+    }
+
+    public void setEvaluatedThrough(LocalDate evaluatedThrough) {
+        this.evaluatedThrough = evaluatedThrough;
+    }
+
+    /**
+     * @return the share of the scheduled days completed in the last 7 evaluated days, or {@code null} if none was
+     * scheduled.
+     */
+    public Double getCompletionRate7() {
+        return completionRate7;
+    }
+
+    public void setCompletionRate7(Double completionRate7) {
+        this.completionRate7 = completionRate7;
+    }
+
+    public Double getCompletionRate30() {
+        return completionRate30;
+    }
+
+    public void setCompletionRate30(Double completionRate30) {
+        this.completionRate30 = completionRate30;
+    }
+
+    public Double getCompletionRate365() {
+        return completionRate365;
+    }
+
+    public void setCompletionRate365(Double completionRate365) {
+        this.completionRate365 = completionRate365;
+    }
+}
@@ -0,0 +1,106 @@
+package com.dshbd.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * State of an asynchronous import job, as reported to the polling client.
+ */
+public class ImportJobDTO implements Serializable {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED,
+    }
+
+    private final String id;
+
+    private volatile Status status = Status.QUEUED;
+
+    private final Instant createdDate = Instant.now();
+
+    private volatile Instant startedDate;
+
+    private volatile Instant finishedDate;
+
+    private volatile long totalBytes;
+
+    private volatile long processedBytes;
+
+    private final ImportReportDTO report = new ImportReportDTO();
+
+    public ImportJobDTO(String id) {
+        this.id = id;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+
+    public Instant getStartedDate() {
+        return startedDate;
+    }
+
+    public void setStartedDate(Instant startedDate) {
+        this.startedDate = startedDate;
+    }
+
+    public Instant getFinishedDate() {
+        return finishedDate;
+    }
+
+    public void setFinishedDate(Instant finishedDate) {
+        this.finishedDate = finishedDate;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public void setTotalBytes(long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+
+    public long getProcessedBytes() {
+        return processedBytes;
+    }
+
+    public void setProcessedBytes(long processedBytes) {
+        this.processedBytes = processedBytes;
+    }
+
+    public int getPercentComplete() {
+        if (status == Status.COMPLETED) {
+            return 100;
+        }
+        long total = totalBytes;
+        return total == 0 ? 0 : (int) Math.min(99, processedBytes * 100 / total);
+    }
+
+    public ImportReportDTO getReport() {
+        return report;
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportJobDTO{" + "id='" + id + "'" + ", status=" + status + ", report=" + report + "}";
+    }
+}
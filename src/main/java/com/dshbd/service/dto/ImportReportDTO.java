@@ -0,0 +1,115 @@
+package com.dshbd.service.dto;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Summary of a streaming import run, with per-entity row counts and throughput.
+ * <p>
+ * The report is updated by the importing thread and may be read concurrently while an import job is running.
+ */
+public class ImportReportDTO implements Serializable {
+
+    private static final int MAX_ERRORS = 100;
+
+    private int chunkSize;
+
+    private volatile long elapsedMillis;
+
+    private final Map<String, EntityStats> entities = new ConcurrentSkipListMap<>();
+
+    private final List<String> errors = new CopyOnWriteArrayList<>();
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public Map<String, EntityStats> getEntities() {
+        return entities;
+    }
+
+    public EntityStats entity(String name) {
+        return entities.computeIfAbsent(name, key -> new EntityStats());
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void addError(String error) {
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(error);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return (
+            "ImportReportDTO{" +
+            "chunkSize=" +
+            chunkSize +
+            ", elapsedMillis=" +
+            elapsedMillis +
+            ", entities=" +
+            entities +
+            ", errors=" +
+            errors.size() +
+            "}"
+        );
+    }
+
+    public static class EntityStats implements Serializable {
+
+        private volatile long imported;
+
+        private volatile long failed;
+
+        private volatile long elapsedNanos;
+
+        public synchronized void record(long imported, long failed, long elapsedNanos) {
+            this.imported += imported;
+            this.failed += failed;
+            this.elapsedNanos += elapsedNanos;
+        }
+
+        public long getImported() {
+            return imported;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedNanos / 1_000_000;
+        }
+
+        public double getRowsPerSecond() {
+            long nanos = elapsedNanos;
+            if (nanos == 0) {
+                return 0;
+            }
+            return imported * 1_000_000_000d / nanos;
+        }
+
+        @Override
+        public String toString() {
+            return "{imported=" + imported + ", failed=" + failed + ", rowsPerSecond=" + Math.round(getRowsPerSecond()) + "}";
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.dshbd.service.dto;
+
+import jakarta.validation.constraints.NotNull;
+import java.io.Serializable;
+
+/**
+ * DTO for moving a task to a place within a board column
+ */
+public class MoveTaskDTO implements Serializable {
+
+    @NotNull
+    private String status;
+
+    /**
+     * The task the moved task is placed directly below, or {@code null} to move it to the top of the column.
+     */
+    private Long afterTaskId;
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getAfterTaskId() {
+        return afterTaskId;
+    }
+
+    public void setAfterTaskId(Long afterTaskId) {
+        this.afterTaskId = afterTaskId;
+    }
+
+    @Override
+    public String toString() {
+        return "MoveTaskDTO{" + "status='" + status + "'" + ", afterTaskId=" + afterTaskId + "}";
+    }
+}
@@ -0,0 +1,43 @@
+package com.dshbd.service.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * DTO for a change to a note's content, sent as edits against the version the client last saw. Edits are
+ * applied to that version's content, so they must be in ascending order and must not overlap.
+ */
+public class NoteContentPatchDTO implements Serializable {
+
+    /**
+     * The version of the note the edits are based on.
+     */
+    @NotNull
+    private Long version;
+
+    @NotNull
+    private List<@Valid @NotNull TextEditDTO> edits;
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public List<TextEditDTO> getEdits() {
+        return edits;
+    }
+
+    public void setEdits(List<TextEditDTO> edits) {
+        this.edits = edits;
+    }
+
+    @Override
+    public String toString() {
+        return "NoteContentPatchDTO{" + "version=" + version + ", edits=" + edits + '}';
+    }
+}
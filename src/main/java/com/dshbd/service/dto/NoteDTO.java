@@ -19,6 +19,11 @@ public class NoteDTO implements Serializable {
 
     private Instant lastModifiedDate;
 
+    /**
+     * The version the client last saw; when set, the update is refused if the note has changed since.
+     */
+    private Long version;
+
     public Long getId() {
         return id;
     }
@@ -59,6 +64,14 @@ public class NoteDTO implements Serializable {
         this.lastModifiedDate = lastModifiedDate;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
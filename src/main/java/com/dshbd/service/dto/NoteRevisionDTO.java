@@ -0,0 +1,34 @@
+package com.dshbd.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * DTO for a note's content as it was at one revision.
+ */
+public class NoteRevisionDTO implements Serializable {
+
+    private final Integer revision;
+
+    private final Instant createdDate;
+
+    private final String content;
+
+    public NoteRevisionDTO(Integer revision, Instant createdDate, String content) {
+        this.revision = revision;
+        this.createdDate = createdDate;
+        this.content = content;
+    }
+
+    public Integer getRevision() {
+        return revision;
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+
+    public String getContent() {
+        return content;
+    }
+}
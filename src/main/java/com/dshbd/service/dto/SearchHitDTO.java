@@ -0,0 +1,67 @@
+package com.dshbd.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.io.Serializable;
+
+/**
+ * A search result, pointing to the entity that matched.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SearchHitDTO implements Serializable {
+
+    public enum Type {
+        NOTE,
+        IDEA,
+        DIARY_ENTRY,
+        TASK,
+    }
+
+    private final Type type;
+
+    private final Long id;
+
+    private final String title;
+
+    private final Long boardId;
+
+    private final double score;
+
+    public SearchHitDTO(Type type, Long id, String title, Long boardId, double score) {
+        this.type = type;
+        this.id = id;
+        this.title = title;
+        this.boardId = boardId;
+        this.score = score;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * @return the title of a note or task, or the beginning of the text of an idea or diary entry.
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * @return the board of a task, {@code null} for other types.
+     */
+    public Long getBoardId() {
+        return boardId;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchHitDTO{" + "type=" + type + ", id=" + id + ", score=" + score + "}";
+    }
+}
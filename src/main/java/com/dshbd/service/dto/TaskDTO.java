@@ -33,6 +33,11 @@ public class TaskDTO implements Serializable {
 
     private int position = 0;
 
+    /**
+     * The version the client last saw; when set, the update is refused if the task has changed since.
+     */
+    private Long version;
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -121,4 +126,12 @@ public class TaskDTO implements Serializable {
     public void setPosition(int position) {
         this.position = position;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,113 @@
+package com.dshbd.service.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * DTO for a field-level change of one task in a batch update. Fields left {@code null} are not changed.
+ */
+public class TaskPatchDTO implements Serializable {
+
+    @NotNull
+    private Long id;
+
+    /**
+     * The version of the task the change is based on.
+     */
+    @NotNull
+    private Long version;
+
+    private String title;
+
+    @Size(max = 4096)
+    private String description;
+
+    private Instant dueDate;
+
+    private Integer priority;
+
+    private String status;
+
+    private String assignee;
+
+    private Integer position;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Instant getDueDate() {
+        return dueDate;
+    }
+
+    public void setDueDate(Instant dueDate) {
+        this.dueDate = dueDate;
+    }
+
+    public Integer getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Integer priority) {
+        this.priority = priority;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getAssignee() {
+        return assignee;
+    }
+
+    public void setAssignee(String assignee) {
+        this.assignee = assignee;
+    }
+
+    public Integer getPosition() {
+        return position;
+    }
+
+    public void setPosition(Integer position) {
+        this.position = position;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskPatchDTO{" + "id=" + id + ", version=" + version + ", status='" + status + "'" + ", position=" + position + "}";
+    }
+}
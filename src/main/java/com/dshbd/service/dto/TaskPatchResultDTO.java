@@ -0,0 +1,53 @@
+package com.dshbd.service.dto;
+
+import com.dshbd.domain.Task;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.io.Serializable;
+
+/**
+ * The outcome of one change in a batch update, with the task as it is now stored.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskPatchResultDTO implements Serializable {
+
+    public enum Result {
+        UPDATED,
+        CONFLICT,
+        REJECTED,
+        NOT_FOUND,
+    }
+
+    private final Long id;
+
+    private final Result result;
+
+    private final String message;
+
+    private final Task task;
+
+    public TaskPatchResultDTO(Long id, Result result, String message, Task task) {
+        this.id = id;
+        this.result = result;
+        this.message = message;
+        this.task = task;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Result getResult() {
+        return result;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * @return the stored task, so a client can resolve a conflict without fetching the board again.
+     */
+    public Task getTask() {
+        return task;
+    }
+}
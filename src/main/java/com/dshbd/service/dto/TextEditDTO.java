@@ -0,0 +1,59 @@
+package com.dshbd.service.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.io.Serializable;
+
+/**
+ * DTO replacing the characters {@code [start, end)} of a text with {@code text}. Offsets count UTF-16 code units,
+ * as JavaScript string indices do.
+ */
+public class TextEditDTO implements Serializable {
+
+    @NotNull
+    @Min(0)
+    private Integer start;
+
+    @NotNull
+    @Min(0)
+    private Integer end;
+
+    private String text;
+
+    public TextEditDTO() {}
+
+    public TextEditDTO(Integer start, Integer end, String text) {
+        this.start = start;
+        this.end = end;
+        this.text = text;
+    }
+
+    public Integer getStart() {
+        return start;
+    }
+
+    public void setStart(Integer start) {
+        this.start = start;
+    }
+
+    public Integer getEnd() {
+        return end;
+    }
+
+    public void setEnd(Integer end) {
+        this.end = end;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    @Override
+    public String toString() {
+        return "TextEditDTO{" + "start=" + start + ", end=" + end + ", text length=" + (text == null ? 0 : text.length()) + '}';
+    }
+}
@@ -10,5 +10,6 @@ public interface DiaryEntryMapper {
     DiaryEntryDTO toDto(DiaryEntry diaryEntry);
 
     @Mapping(target = "userId", ignore = true)
+    @Mapping(target = "tagMask", ignore = true)
     DiaryEntry toEntity(DiaryEntryDTO diaryEntryDTO);
 }
@@ -3,9 +3,12 @@ package com.dshbd.service.mapper;
 import com.dshbd.domain.DiaryTag;
 import com.dshbd.service.dto.DiaryTagDTO;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring")
 public interface DiaryTagMapper {
     DiaryTagDTO toDto(DiaryTag diaryTag);
+
+    @Mapping(target = "slot", ignore = true)
     DiaryTag toEntity(DiaryTagDTO diaryTagDTO);
 }
@@ -12,11 +12,13 @@ public interface HabitRecordMapper {
     List<HabitRecordDTO> toDto(List<HabitRecord> habitRecords);
 
     @Mapping(target = "userId", ignore = true)
+    @Mapping(target = "slot", ignore = true)
     HabitRecord toEntity(HabitRecordDTO habitRecordDTO);
 
     List<HabitRecord> toEntity(List<HabitRecordDTO> habitRecordDTOs);
 
     @Mapping(target = "userId", ignore = true)
+    @Mapping(target = "slot", ignore = true)
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     void partialUpdate(@MappingTarget HabitRecord entity, HabitRecordDTO dto);
 }
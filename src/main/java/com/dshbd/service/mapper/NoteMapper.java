@@ -9,9 +9,11 @@ public interface NoteMapper {
     NoteDTO toDto(Note note);
 
     @Mapping(target = "userId", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Note toEntity(NoteDTO noteDTO);
 
     @Mapping(target = "userId", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     void partialUpdate(@MappingTarget Note entity, NoteDTO dto);
 }
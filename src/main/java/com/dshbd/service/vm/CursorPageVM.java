@@ -0,0 +1,53 @@
+package com.dshbd.service.vm;
+
+import com.dshbd.service.KeysetCursor;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing, with the cursor for the following page or {@code null} on the last page.
+ */
+public class CursorPageVM<T> {
+
+    public static final int DEFAULT_SIZE = 50;
+
+    public static final int MAX_SIZE = 200;
+
+    private final List<T> content;
+    private final String nextCursor;
+
+    public CursorPageVM(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * The requested page size, limited to {@code [1, MAX_SIZE]}.
+     */
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    /**
+     * Build a page from rows fetched with a limit of {@code size + 1}; the extra row only signals that another page exists.
+     */
+    public static <E, T> CursorPageVM<T> of(List<E> rows, int size, Function<E, KeysetCursor> cursorOf, Function<E, T> mapper) {
+        if (rows.size() <= size) {
+            return new CursorPageVM<>(rows.stream().map(mapper).toList(), null);
+        }
+        List<E> page = rows.subList(0, size);
+        return new CursorPageVM<>(page.stream().map(mapper).toList(), cursorOf.apply(page.get(size - 1)).encode());
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
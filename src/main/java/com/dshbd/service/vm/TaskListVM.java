@@ -0,0 +1,28 @@
+package com.dshbd.service.vm;
+
+import com.dshbd.domain.Board;
+import com.dshbd.domain.Task;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tasks from several boards, with each referenced board sent once and keyed by id.
+ */
+public class TaskListVM {
+
+    private final Map<Long, Board> boards;
+    private final List<Task> tasks;
+
+    public TaskListVM(Map<Long, Board> boards, List<Task> tasks) {
+        this.boards = boards;
+        this.tasks = tasks;
+    }
+
+    public Map<Long, Board> getBoards() {
+        return boards;
+    }
+
+    public List<Task> getTasks() {
+        return tasks;
+    }
+}
@@ -1,8 +1,12 @@
 package com.dshbd.web.rest;
 
 import com.dshbd.domain.Board;
+import com.dshbd.service.BoardEventService;
+import com.dshbd.service.BoardMetricsService;
 import com.dshbd.service.BoardService;
 import com.dshbd.service.dto.BoardDTO;
+import com.dshbd.service.dto.BoardMetricsDTO;
+import com.dshbd.service.dto.BoardSnapshotDTO;
 import com.dshbd.web.rest.errors.BadRequestAlertException;
 import jakarta.validation.Valid;
 import java.net.URI;
@@ -10,8 +14,10 @@ import java.net.URISyntaxException;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import tech.jhipster.web.util.ResponseUtil;
 
 @RestController
@@ -23,9 +29,13 @@ public class BoardResource {
     private static final String ENTITY_NAME = "board";
 
     private final BoardService boardService;
+    private final BoardEventService boardEventService;
+    private final BoardMetricsService boardMetricsService;
 
-    public BoardResource(BoardService boardService) {
+    public BoardResource(BoardService boardService, BoardEventService boardEventService, BoardMetricsService boardMetricsService) {
         this.boardService = boardService;
+        this.boardEventService = boardEventService;
+        this.boardMetricsService = boardMetricsService;
     }
 
     @PostMapping("/boards")
@@ -60,6 +70,51 @@ public class BoardResource {
         return ResponseUtil.wrapOrNotFound(boardService.getBoard(id));
     }
 
+    /**
+     * {@code GET  /boards/:id/snapshot} : Get a board with its tasks grouped by status, with per-column counts and WIP headroom.
+     *
+     * @param id the id of the board.
+     * @param includeDescription whether task descriptions are included.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the snapshot in body, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/boards/{id}/snapshot")
+    public ResponseEntity<BoardSnapshotDTO> getBoardSnapshot(
+        @PathVariable Long id,
+        @RequestParam(defaultValue = "false") boolean includeDescription
+    ) {
+        log.debug("REST request to get snapshot of Board : {}", id);
+        return ResponseUtil.wrapOrNotFound(boardService.getBoardSnapshot(id, includeDescription));
+    }
+
+    /**
+     * {@code GET  /boards/:id/metrics} : Get the flow metrics of a board: cycle and lead time percentiles,
+     * throughput and per-day column counts for a cumulative flow diagram.
+     *
+     * @param id the id of the board.
+     * @param days the number of days up to and including today (UTC).
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the metrics in body, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/boards/{id}/metrics")
+    public ResponseEntity<BoardMetricsDTO> getBoardMetrics(@PathVariable Long id, @RequestParam(defaultValue = "30") int days) {
+        log.debug("REST request to get metrics of Board {} for {} days", id, days);
+        if (days < 1 || days > BoardMetricsService.MAX_DAYS) {
+            throw new BadRequestAlertException("days must be between 1 and " + BoardMetricsService.MAX_DAYS, ENTITY_NAME, "daysinvalid");
+        }
+        return ResponseUtil.wrapOrNotFound(boardMetricsService.getMetrics(id, days));
+    }
+
+    /**
+     * {@code GET  /boards/:id/events} : Stream the changes made to a board as server-sent events.
+     *
+     * @param id the id of the board.
+     * @return the event stream, or status {@code 404 (Not Found)}.
+     */
+    @GetMapping(value = "/boards/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> getBoardEvents(@PathVariable Long id) {
+        log.debug("REST request to stream events of Board : {}", id);
+        return ResponseUtil.wrapOrNotFound(boardService.getBoard(id).map(board -> boardEventService.subscribe(board.getId())));
+    }
+
     @DeleteMapping("/boards/{id}")
     public ResponseEntity<Void> deleteBoard(@PathVariable Long id) {
         log.debug("REST request to delete Board : {}", id);
@@ -1,25 +1,59 @@
 package com.dshbd.web.rest;
 
+import com.dshbd.service.ExportService;
+import com.dshbd.service.ImportJobService;
 import com.dshbd.service.ImportService;
 import com.dshbd.service.dto.ImportDataDTO;
+import com.dshbd.service.dto.ImportJobDTO;
+import com.dshbd.service.dto.ImportReportDTO;
+import com.dshbd.web.rest.errors.BadRequestAlertException;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tech.jhipster.web.util.ResponseUtil;
 
 @RestController
 @RequestMapping("/api")
 public class DataResource {
 
+    private static final String ENTITY_NAME = "import";
+
     private final Logger log = LoggerFactory.getLogger(DataResource.class);
     private final ImportService importService;
+    private final ImportJobService importJobService;
+    private final ExportService exportService;
 
-    public DataResource(ImportService importService) {
+    public DataResource(ImportService importService, ImportJobService importJobService, ExportService exportService) {
         this.importService = importService;
+        this.importJobService = importJobService;
+        this.exportService = exportService;
+    }
+
+    enum Compression {
+        NONE,
+        GZIP,
+        ZIP,
     }
 
     @PostMapping("/data/import")
@@ -28,4 +62,115 @@ public class DataResource {
         importService.importData(importData);
         return ResponseEntity.ok().build();
     }
+
+    /**
+     * {@code POST  /data/import/stream} : Import data without binding the whole upload into memory.
+     *
+     * @param inputStream the raw request body, in the same format as {@link ImportDataDTO}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the import report in body,
+     * or with status {@code 400 (Bad Request)} if the upload is not valid JSON.
+     */
+    @PostMapping(value = "/data/import/stream", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ImportReportDTO> importDataStreaming(InputStream inputStream) {
+        log.debug("REST request to import data in streaming mode");
+        try {
+            return ResponseEntity.ok(importService.importDataStreaming(inputStream));
+        } catch (IOException e) {
+            log.warn("Streaming import aborted: {}", e.getMessage());
+            throw new BadRequestAlertException("Import data could not be read", ENTITY_NAME, "importinvalid");
+        }
+    }
+
+    /**
+     * {@code POST  /data/import?async=true} : Queue an import job and return immediately.
+     *
+     * @param inputStream the raw request body, in the same format as {@link ImportDataDTO}.
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)} and the queued job in body,
+     * or with status {@code 429 (Too Many Requests)} if too many imports are running.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping(value = "/data/import", params = "async=true", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ImportJobDTO> submitImportJob(InputStream inputStream) throws URISyntaxException {
+        log.debug("REST request to queue an import job");
+        try {
+            ImportJobDTO job = importJobService.submit(inputStream);
+            return ResponseEntity.accepted().location(new URI("/api/data/import/" + job.getId())).body(job);
+        } catch (IOException e) {
+            log.warn("Import upload aborted: {}", e.getMessage());
+            throw new BadRequestAlertException("Import data could not be read", ENTITY_NAME, "importinvalid");
+        }
+    }
+
+    /**
+     * {@code GET  /data/import/:jobId} : Get the progress of an import job.
+     *
+     * @param jobId the id of the import job.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the job in body, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/data/import/{jobId}")
+    public ResponseEntity<ImportJobDTO> getImportJob(@PathVariable String jobId) {
+        log.debug("REST request to get import job : {}", jobId);
+        return ResponseUtil.wrapOrNotFound(importJobService.getJob(jobId));
+    }
+
+    /**
+     * {@code GET  /data/export} : Export all data of the current user, in the format accepted by the import.
+     * <p>
+     * The response is streamed while the data is read from the database.
+     *
+     * @param format {@code json} for a single import document or {@code ndjson} for one element per line.
+     * @param compression {@code none}, {@code gzip} or {@code zip}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the export as attachment,
+     * or with status {@code 400 (Bad Request)} if the format or compression is unknown.
+     */
+    @GetMapping("/data/export")
+    public ResponseEntity<StreamingResponseBody> exportData(
+        @RequestParam(defaultValue = "json") String format,
+        @RequestParam(defaultValue = "none") String compression
+    ) {
+        log.debug("REST request to export data as {} with compression {}", format, compression);
+        ExportService.Format exportFormat = parseOption(ExportService.Format.class, format, "exportformatinvalid");
+        Compression exportCompression = parseOption(Compression.class, compression, "exportcompressioninvalid");
+        Long userId = exportService.getUserId();
+
+        String fileName = "dashboard-export-" + LocalDate.now() + (exportFormat == ExportService.Format.NDJSON ? ".ndjson" : ".json");
+        MediaType mediaType = exportFormat == ExportService.Format.NDJSON ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON;
+        StreamingResponseBody body = outputStream -> exportService.export(userId, exportFormat, outputStream);
+        switch (exportCompression) {
+            case GZIP -> {
+                fileName += ".gz";
+                mediaType = new MediaType("application", "gzip");
+                body = outputStream -> {
+                    GZIPOutputStream gzip = new GZIPOutputStream(outputStream, 8192);
+                    exportService.export(userId, exportFormat, gzip);
+                    gzip.finish();
+                };
+            }
+            case ZIP -> {
+                String entryName = fileName;
+                fileName += ".zip";
+                mediaType = new MediaType("application", "zip");
+                body = outputStream -> {
+                    ZipOutputStream zip = new ZipOutputStream(outputStream);
+                    zip.putNextEntry(new ZipEntry(entryName));
+                    exportService.export(userId, exportFormat, zip);
+                    zip.closeEntry();
+                    zip.finish();
+                };
+            }
+            case NONE -> {}
+        }
+        return ResponseEntity.ok()
+            .contentType(mediaType)
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+            .body(body);
+    }
+
+    private <E extends Enum<E>> E parseOption(Class<E> type, String value, String errorKey) {
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Unsupported export option: " + value, "export", errorKey);
+        }
+    }
 }
@@ -1,28 +1,48 @@
 package com.dshbd.web.rest;
 
 import com.dshbd.service.DiaryService;
+import com.dshbd.service.DiaryStatsService;
 import com.dshbd.service.dto.DiaryEntryDTO;
+import com.dshbd.service.dto.DiaryStatsDTO;
+import com.dshbd.service.vm.CursorPageVM;
+import com.dshbd.web.rest.errors.BadRequestAlertException;
 import jakarta.validation.Valid;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import tech.jhipster.web.util.HeaderUtil;
 
 @RestController
 @RequestMapping("/api")
 public class DiaryResource {
 
     private final Logger log = LoggerFactory.getLogger(DiaryResource.class);
+
+    private static final String ENTITY_NAME = "diaryEntry";
+
+    @Value("${jhipster.clientApp.name}")
+    private String applicationName;
+
     private final DiaryService diaryService;
 
-    public DiaryResource(DiaryService diaryService) {
+    private final DiaryStatsService diaryStatsService;
+
+    public DiaryResource(DiaryService diaryService, DiaryStatsService diaryStatsService) {
         this.diaryService = diaryService;
+        this.diaryStatsService = diaryStatsService;
     }
 
     @PostMapping("/diary-entries")
@@ -68,6 +88,54 @@ public class DiaryResource {
         return ResponseEntity.ok().body(page);
     }
 
+    /**
+     * {@code GET  /diary-entries/slice} : get a slice of the current user's diary entries, newest first, without a total count.
+     *
+     * @param emoticon the emoticon to filter by.
+     * @param tags the tags of which entries must have at least one.
+     * @param cursor the cursor from the previous slice's {@code Link} header, absent for the first slice.
+     * @param size the slice size.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)}, the entries in body and a {@code Link} header to the next slice.
+     */
+    @GetMapping("/diary-entries/slice")
+    public ResponseEntity<List<DiaryEntryDTO>> getDiaryEntrySlice(
+        @RequestParam(required = false) String emoticon,
+        @RequestParam(required = false) Set<String> tags,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "" + CursorPageVM.DEFAULT_SIZE) int size
+    ) {
+        log.debug("REST request to get a slice of DiaryEntries with filters: emoticon={}, tags={}", emoticon, tags);
+        CursorPageVM<DiaryEntryDTO> slice;
+        try {
+            slice = diaryService.findSlice(emoticon, tags, cursor, size);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid");
+        }
+        HttpHeaders headers = KeysetPaginationUtil.generateCursorHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
+    }
+
+    /**
+     * {@code GET  /diary-entries/stats} : Get the mood statistics of the current user's diary: emoticon counts per week
+     * and month, and the tags most used with each emoticon.
+     *
+     * @param from the first day (UTC), inclusive.
+     * @param to the last day (UTC), inclusive.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the statistics in body.
+     */
+    @GetMapping("/diary-entries/stats")
+    public ResponseEntity<DiaryStatsDTO> getDiaryStats(@RequestParam LocalDate from, @RequestParam LocalDate to) {
+        log.debug("REST request to get diary stats from {} to {}", from, to);
+        if (from.isAfter(to) || ChronoUnit.DAYS.between(from, to) >= DiaryStatsService.MAX_DAYS) {
+            throw new BadRequestAlertException(
+                "from must not be after to, and the range at most " + DiaryStatsService.MAX_DAYS + " days long",
+                ENTITY_NAME,
+                "rangeinvalid"
+            );
+        }
+        return ResponseEntity.ok().body(diaryStatsService.getStats(from, to));
+    }
+
     @GetMapping("/diary-entries/{id}")
     public ResponseEntity<DiaryEntryDTO> getDiaryEntry(@PathVariable Long id) {
         log.debug("REST request to get DiaryEntry : {}", id);
@@ -86,13 +154,15 @@ public class DiaryResource {
      * {@code DELETE  /diary-entries/all} : Delete all diary entries.
      * Only accessible by administrators.
      *
-     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)} and the number of deleted entries in the alert header.
      */
     @DeleteMapping("/diary-entries/all")
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
     public ResponseEntity<Void> deleteAllEntries() {
         log.debug("REST request to delete all DiaryEntries");
-        diaryService.deleteAllEntries();
-        return ResponseEntity.noContent().build();
+        int deleted = diaryService.deleteAllEntries();
+        return ResponseEntity.noContent()
+            .headers(HeaderUtil.createAlert(applicationName, "diaryEntry.purged", String.valueOf(deleted)))
+            .build();
     }
 }
@@ -1,7 +1,11 @@
 package com.dshbd.web.rest;
 
 import com.dshbd.service.HabitRecordService;
+import com.dshbd.service.dto.HabitCheckInDTO;
+import com.dshbd.service.dto.HabitCheckInResultDTO;
+import com.dshbd.service.dto.HabitHeatmapDTO;
 import com.dshbd.service.dto.HabitRecordDTO;
+import com.dshbd.web.rest.errors.BadRequestAlertException;
 import jakarta.validation.Valid;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -19,6 +23,12 @@ public class HabitRecordResource {
 
     private final Logger log = LoggerFactory.getLogger(HabitRecordResource.class);
 
+    private static final String ENTITY_NAME = "habitRecord";
+
+    private static final int MAX_CHECK_INS = 100;
+
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 64;
+
     private final HabitRecordService habitRecordService;
 
     public HabitRecordResource(HabitRecordService habitRecordService) {
@@ -39,6 +49,29 @@ public class HabitRecordResource {
         return ResponseEntity.created(new URI("/api/habit-records/" + result.getId())).body(result);
     }
 
+    /**
+     * {@code POST  /habit-records/batch} : Check in many habits at once. Each check-in makes sure its day has at least
+     * the given number of completions, so the batch can be sent again safely.
+     *
+     * @param idempotencyKey the key the client chose for the batch, sent again with every retry
+     * @param checkIns the habits, days and numbers of completions
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and one result per check-in in body
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<HabitCheckInResultDTO>> checkIn(
+        @RequestHeader("Idempotency-Key") String idempotencyKey,
+        @RequestBody List<@Valid HabitCheckInDTO> checkIns
+    ) {
+        log.debug("REST request to check in {} HabitRecords with key : {}", checkIns.size(), idempotencyKey);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new BadRequestAlertException("Invalid idempotency key", ENTITY_NAME, "idempotencykeyinvalid");
+        }
+        if (checkIns.size() > MAX_CHECK_INS) {
+            throw new BadRequestAlertException("At most " + MAX_CHECK_INS + " check-ins per batch", ENTITY_NAME, "batchtoolarge");
+        }
+        return ResponseEntity.ok().body(habitRecordService.checkIn(idempotencyKey, checkIns));
+    }
+
     /**
      * {@code GET  /habit-records/date/:date} : get all habit records for the current user for a specific date.
      *
@@ -66,4 +99,20 @@ public class HabitRecordResource {
         List<HabitRecordDTO> result = habitRecordService.getAllForUserAndMonth(yearMonth);
         return ResponseEntity.ok().body(result);
     }
+
+    /**
+     * {@code GET  /habit-records/heatmap} : get the completions of the current user's habits in a year, as one bitmap
+     * per habit and month.
+     *
+     * @param year the year
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the heatmap in body
+     */
+    @GetMapping("/heatmap")
+    public ResponseEntity<HabitHeatmapDTO> getHeatmap(@RequestParam int year) {
+        log.debug("REST request to get the HabitRecord heatmap for year : {}", year);
+        if (year < 1 || year > 9999) {
+            throw new BadRequestAlertException("Invalid year", ENTITY_NAME, "yearinvalid");
+        }
+        return ResponseEntity.ok().body(habitRecordService.getHeatmap(year));
+    }
 }
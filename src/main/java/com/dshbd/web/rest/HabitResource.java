@@ -1,7 +1,9 @@
 package com.dshbd.web.rest;
 
 import com.dshbd.service.HabitService;
+import com.dshbd.service.HabitStreakService;
 import com.dshbd.service.dto.HabitDTO;
+import com.dshbd.service.dto.HabitStreakDTO;
 import com.dshbd.web.rest.errors.BadRequestAlertException;
 import jakarta.validation.Valid;
 import java.net.URI;
@@ -33,8 +35,11 @@ public class HabitResource {
 
     private final HabitService habitService;
 
-    public HabitResource(HabitService habitService) {
+    private final HabitStreakService habitStreakService;
+
+    public HabitResource(HabitService habitService, HabitStreakService habitStreakService) {
         this.habitService = habitService;
+        this.habitStreakService = habitStreakService;
     }
 
     /**
@@ -111,6 +116,17 @@ public class HabitResource {
         return habitService.findAllActive();
     }
 
+    /**
+     * {@code GET  /habits/streaks} : get the streaks and completion rates of all habits.
+     *
+     * @return the list of streaks of the habits that have been evaluated.
+     */
+    @GetMapping("/habits/streaks")
+    public List<HabitStreakDTO> getAllHabitStreaks() {
+        log.debug("REST request to get all HabitStreaks");
+        return habitStreakService.findAll();
+    }
+
     /**
      * {@code GET  /habits/:id} : get the "id" habit.
      *
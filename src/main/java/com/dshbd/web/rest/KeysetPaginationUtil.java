@@ -0,0 +1,25 @@
+package com.dshbd.web.rest;
+
+import com.dshbd.service.vm.CursorPageVM;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for keyset-paginated listings.
+ * <p>
+ * The page content is the response body; when there is another page, a {@code Link} header with {@code rel="next"}
+ * points to it, carrying the cursor as the {@code cursor} query parameter.
+ */
+public final class KeysetPaginationUtil {
+
+    private KeysetPaginationUtil() {}
+
+    public static HttpHeaders generateCursorHttpHeaders(UriComponentsBuilder uriBuilder, CursorPageVM<?> page) {
+        HttpHeaders headers = new HttpHeaders();
+        if (page.hasNext()) {
+            String next = uriBuilder.replaceQueryParam("cursor", page.getNextCursor()).toUriString();
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return headers;
+    }
+}
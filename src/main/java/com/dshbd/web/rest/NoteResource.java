@@ -1,16 +1,24 @@
 package com.dshbd.web.rest;
 
+import com.dshbd.domain.vm.NoteRevisionSummary;
 import com.dshbd.domain.vm.NoteSummary;
 import com.dshbd.service.NoteService;
+import com.dshbd.service.dto.NoteContentPatchDTO;
 import com.dshbd.service.dto.NoteDTO;
+import com.dshbd.service.dto.NoteRevisionDTO;
+import com.dshbd.service.vm.CursorPageVM;
+import com.dshbd.web.rest.errors.BadRequestAlertException;
 import jakarta.validation.Valid;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.ResponseUtil;
 
 @RestController
@@ -27,18 +35,40 @@ public class NoteResource {
         this.noteService = noteService;
     }
 
+    /**
+     * {@code GET  /notes/summary} : get a page of the current user's note summaries, most recently modified first.
+     *
+     * @param cursor the cursor from the previous page's {@code Link} header, absent for the first page.
+     * @param size the page size.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)}, the summaries in body and a {@code Link} header to the next page.
+     */
     @GetMapping("/notes/summary")
-    public ResponseEntity<List<NoteSummary>> getAllNoteSummaries() {
-        log.debug("REST request to get all Notes for current user");
-        List<NoteSummary> notes = noteService.findAllSummariesByCurrentUser();
-        return ResponseEntity.ok(notes);
+    public ResponseEntity<List<NoteSummary>> getAllNoteSummaries(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "" + CursorPageVM.DEFAULT_SIZE) int size
+    ) {
+        log.debug("REST request to get a page of Note summaries for current user");
+        CursorPageVM<NoteSummary> page = readPage(() -> noteService.findSummaryPageByCurrentUser(cursor, size));
+        HttpHeaders headers = KeysetPaginationUtil.generateCursorHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /notes} : get a page of the current user's notes, most recently modified first.
+     *
+     * @param cursor the cursor from the previous page's {@code Link} header, absent for the first page.
+     * @param size the page size.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)}, the notes in body and a {@code Link} header to the next page.
+     */
     @GetMapping("/notes")
-    public ResponseEntity<List<NoteDTO>> getAllNotes() {
-        log.debug("REST request to get all Notes for current user");
-        List<NoteDTO> notes = noteService.findAllByCurrentUser();
-        return ResponseEntity.ok(notes);
+    public ResponseEntity<List<NoteDTO>> getAllNotes(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "" + CursorPageVM.DEFAULT_SIZE) int size
+    ) {
+        log.debug("REST request to get a page of Notes for current user");
+        CursorPageVM<NoteDTO> page = readPage(() -> noteService.findPageByCurrentUser(cursor, size));
+        HttpHeaders headers = KeysetPaginationUtil.generateCursorHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
     @GetMapping("/notes/{id}")
@@ -66,10 +96,61 @@ public class NoteResource {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * {@code PATCH  /notes/:id/content} : change a note's content by sending only the edited ranges.
+     *
+     * @param id the id of the note.
+     * @param patch the version the edits are based on and the edits.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the saved note in body, status
+     * {@code 400 (Bad Request)} if the edits do not apply, or status {@code 409 (Conflict)} if the note has changed since.
+     */
+    @PatchMapping("/notes/{id}/content")
+    public ResponseEntity<NoteDTO> patchNoteContent(@PathVariable Long id, @Valid @RequestBody NoteContentPatchDTO patch) {
+        log.debug("REST request to patch content of Note {} : {}", id, patch);
+        try {
+            return ResponseEntity.ok(noteService.patchContent(id, patch));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "editinvalid");
+        }
+    }
+
+    /**
+     * {@code GET  /notes/:id/revisions} : get the revisions of a note, newest first.
+     *
+     * @param id the id of the note.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the revisions in body.
+     */
+    @GetMapping("/notes/{id}/revisions")
+    public ResponseEntity<List<NoteRevisionSummary>> getNoteRevisions(@PathVariable Long id) {
+        log.debug("REST request to get revisions of Note : {}", id);
+        return ResponseEntity.ok(noteService.findRevisions(id));
+    }
+
+    /**
+     * {@code GET  /notes/:id/revisions/:revision} : get a note's content as it was at a revision.
+     *
+     * @param id the id of the note.
+     * @param revision the revision number.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the revision in body, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/notes/{id}/revisions/{revision}")
+    public ResponseEntity<NoteRevisionDTO> getNoteRevision(@PathVariable Long id, @PathVariable Integer revision) {
+        log.debug("REST request to get revision {} of Note : {}", revision, id);
+        return ResponseUtil.wrapOrNotFound(noteService.findRevision(id, revision));
+    }
+
     @DeleteMapping("/notes/{id}")
     public ResponseEntity<Void> deleteNote(@PathVariable Long id) {
         log.debug("REST request to delete Note : {}", id);
         noteService.delete(id);
         return ResponseEntity.noContent().build();
     }
+
+    private <T> CursorPageVM<T> readPage(Supplier<CursorPageVM<T>> query) {
+        try {
+            return query.get();
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid");
+        }
+    }
 }
@@ -0,0 +1,39 @@
+package com.dshbd.web.rest;
+
+import com.dshbd.service.SearchService;
+import com.dshbd.service.dto.SearchHitDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api")
+public class SearchResource {
+
+    private final Logger log = LoggerFactory.getLogger(SearchResource.class);
+
+    private final SearchService searchService;
+
+    public SearchResource(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    /**
+     * {@code GET  /search?q=} : Search the notes, ideas, diary entries and tasks of the current user.
+     *
+     * @param q the search terms.
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the page of hits, best first, in body.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<Page<SearchHitDTO>> search(@RequestParam String q, Pageable pageable) {
+        log.debug("REST request to search : {}", q);
+        return ResponseEntity.ok().body(searchService.search(q, pageable));
+    }
+}
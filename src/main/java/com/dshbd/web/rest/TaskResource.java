@@ -2,8 +2,11 @@ package com.dshbd.web.rest;
 
 import com.dshbd.domain.Task;
 import com.dshbd.service.TaskService;
+import com.dshbd.service.dto.MoveTaskDTO;
 import com.dshbd.service.dto.TaskDTO;
-import com.dshbd.service.vm.TaskVM;
+import com.dshbd.service.dto.TaskPatchDTO;
+import com.dshbd.service.dto.TaskPatchResultDTO;
+import com.dshbd.service.vm.TaskListVM;
 import com.dshbd.web.rest.errors.BadRequestAlertException;
 import jakarta.validation.Valid;
 import java.net.URI;
@@ -61,6 +64,33 @@ public class TaskResource {
         return taskService.getBoardTasksByStatus(boardId, status);
     }
 
+    /**
+     * {@code POST  /boards/:boardId/tasks/:taskId/move} : Move a task within or between the columns of its board.
+     *
+     * @param boardId the id of the board.
+     * @param taskId the id of the task to move.
+     * @param moveTaskDTO the target status and the task to place it below.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the moved task in body.
+     */
+    @PostMapping("/boards/{boardId}/tasks/{taskId}/move")
+    public ResponseEntity<Task> moveTask(@PathVariable Long boardId, @PathVariable Long taskId, @Valid @RequestBody MoveTaskDTO moveTaskDTO) {
+        log.debug("REST request to move Task {} on Board {} : {}", taskId, boardId, moveTaskDTO);
+        return ResponseEntity.ok().body(taskService.moveTask(boardId, taskId, moveTaskDTO));
+    }
+
+    /**
+     * {@code PATCH  /boards/:boardId/tasks:batch} : Change many tasks of a board in one transaction.
+     *
+     * @param boardId the id of the board.
+     * @param patches the field-level changes, each with the task version it is based on.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and one result per change in body.
+     */
+    @PatchMapping("/boards/{boardId}/tasks:batch")
+    public ResponseEntity<List<TaskPatchResultDTO>> patchTasks(@PathVariable Long boardId, @RequestBody List<@Valid TaskPatchDTO> patches) {
+        log.debug("REST request to patch {} Tasks on Board {}", patches.size(), boardId);
+        return ResponseEntity.ok().body(taskService.patchTasks(boardId, patches));
+    }
+
     @GetMapping("/tasks/{id}")
     public ResponseEntity<Task> getTask(@PathVariable Long id) {
         log.debug("REST request to get Task : {}", id);
@@ -75,7 +105,7 @@ public class TaskResource {
     }
 
     @GetMapping("/tasks/status/{status}")
-    public List<TaskVM> getTasksByStatus(@PathVariable String status) {
+    public TaskListVM getTasksByStatus(@PathVariable String status) {
         log.debug("REST request to get Tasks by status : {}", status);
         return taskService.findByStatus(status);
     }
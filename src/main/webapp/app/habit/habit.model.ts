@@ -25,6 +25,48 @@ export interface HabitRecord {
   createdDate?: string;
 }
 
+export interface HabitHeatmapMonth {
+  habitId: number;
+  // 1 to 12
+  month: number;
+  // Bit (day - 1) is set for each day of the month with a completion
+  days: number;
+  // Base64 of one unsigned byte per day with the number of completions, absent while no day has more than one
+  repeatCounts?: string | null;
+}
+
+export interface HabitCheckIn {
+  habitId: number;
+  // YYYY-MM-DD
+  date: string;
+  // Completions the day has at least
+  count: number;
+}
+
+export interface HabitCheckInResult {
+  habitId: number;
+  date: string;
+  result: 'RECORDED' | 'UNCHANGED' | 'REJECTED' | 'NOT_FOUND';
+  message?: string;
+  count?: number;
+}
+
+export interface HabitStreak {
+  habitId: number;
+  currentStreak: number;
+  longestStreak: number;
+  evaluatedThrough: string;
+  // Share of the scheduled days completed, null if none was scheduled
+  completionRate7?: number | null;
+  completionRate30?: number | null;
+  completionRate365?: number | null;
+}
+
+export interface HabitHeatmap {
+  year: number;
+  months: HabitHeatmapMonth[];
+}
+
 export interface Habit {
   id?: number;
   name: string;
@@ -3,7 +3,16 @@ import { HttpClient } from '@angular/common/http';
 import { Observable } from 'rxjs';
 import { map } from 'rxjs/operators';
 import { ApplicationConfigService } from 'app/core/config/application-config.service';
-import { Habit, HabitDaySchedule, HabitSpecificTime, HabitRecord } from './habit.model';
+import {
+  Habit,
+  HabitDaySchedule,
+  HabitSpecificTime,
+  HabitRecord,
+  HabitHeatmap,
+  HabitStreak,
+  HabitCheckIn,
+  HabitCheckInResult,
+} from './habit.model';
 
 @Injectable({ providedIn: 'root' })
 export class HabitService {
@@ -42,6 +51,10 @@ export class HabitService {
       .pipe(map(response => response.map(item => this.convertDateFromServer(item))));
   }
 
+  queryStreaks(): Observable<HabitStreak[]> {
+    return this.http.get<HabitStreak[]>(`${this.resourceUrl}/streaks`);
+  }
+
   delete(id: number): Observable<unknown> {
     return this.http.delete<unknown>(`${this.resourceUrl}/${id}`);
   }
@@ -55,10 +68,21 @@ export class HabitService {
     return this.http.post<HabitRecord>(this.habitRecordUrl, record);
   }
 
+  // Send the same idempotency key again when retrying a batch
+  checkIn(checkIns: HabitCheckIn[], idempotencyKey: string): Observable<HabitCheckInResult[]> {
+    return this.http.post<HabitCheckInResult[]>(`${this.habitRecordUrl}/batch`, checkIns, {
+      headers: { 'Idempotency-Key': idempotencyKey },
+    });
+  }
+
   getHabitRecords(date: string): Observable<HabitRecord[]> {
     return this.http.get<HabitRecord[]>(`${this.habitRecordUrl}/date/${date}`);
   }
 
+  getHeatmap(year: number): Observable<HabitHeatmap> {
+    return this.http.get<HabitHeatmap>(`${this.habitRecordUrl}/heatmap`, { params: { year } });
+  }
+
   private convertDateFromServer(habit: Habit): Habit {
     return {
       ...habit,
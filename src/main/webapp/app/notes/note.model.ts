@@ -5,9 +5,19 @@ export interface Note {
   lastModifiedDate: string;
   createdDate: string;
   user_id: number;
+  version?: number;
 }
 
-export interface NewNote extends Omit<Note, 'id' | 'lastModifiedDate' | 'createdDate' | 'user_id'> {
+/**
+ * Replaces the characters [start, end) of the text the edit was computed against.
+ */
+export interface TextEdit {
+  start: number;
+  end: number;
+  text: string;
+}
+
+export interface NewNote extends Omit<Note, 'id' | 'lastModifiedDate' | 'createdDate' | 'user_id' | 'version'> {
   title: string;
   content: string;
 }
@@ -1,9 +1,10 @@
 import { Injectable } from '@angular/core';
-import { HttpClient } from '@angular/common/http';
-import { Observable } from 'rxjs';
-import { map } from 'rxjs/operators';
+import { HttpClient, HttpParams } from '@angular/common/http';
+import { EMPTY, Observable } from 'rxjs';
+import { expand, map, reduce } from 'rxjs/operators';
 import { ApplicationConfigService } from 'app/core/config/application-config.service';
-import { NewNote, Note } from './note.model';
+import { ParseLinks } from 'app/core/util/parse-links.service';
+import { NewNote, Note, TextEdit } from './note.model';
 
 @Injectable({ providedIn: 'root' })
 export class NoteService {
@@ -12,6 +13,7 @@ export class NoteService {
   constructor(
     private http: HttpClient,
     private applicationConfigService: ApplicationConfigService,
+    private parseLinks: ParseLinks,
   ) {
     this.resourceUrl = this.applicationConfigService.getEndpointFor('api/notes');
   }
@@ -24,18 +26,75 @@ export class NoteService {
     return this.http.put<Note>(`${this.resourceUrl}/${note.id}`, note).pipe(map(n => this.convertDateFromServer(n)));
   }
 
+  /**
+   * Saves a content change by sending only the changed range, computed against the content saved at `version`.
+   */
+  patchContent(id: number, version: number, savedContent: string, content: string): Observable<Note> {
+    const edit = this.diff(savedContent, content);
+    return this.http
+      .patch<Note>(`${this.resourceUrl}/${id}/content`, { version, edits: edit ? [edit] : [] })
+      .pipe(map(n => this.convertDateFromServer(n)));
+  }
+
   find(id: number): Observable<Note> {
     return this.http.get<Note>(`${this.resourceUrl}/${id}`).pipe(map(n => this.convertDateFromServer(n)));
   }
 
   query(): Observable<Note[]> {
-    return this.http.get<Note[]>(this.resourceUrl).pipe(map(notes => notes.map(n => this.convertDateFromServer(n))));
+    return this.queryPage().pipe(
+      expand(page => (page.nextCursor ? this.queryPage(page.nextCursor) : EMPTY)),
+      reduce((notes: Note[], page) => notes.concat(page.notes), []),
+    );
   }
 
   delete(id: number): Observable<unknown> {
     return this.http.delete(`${this.resourceUrl}/${id}`);
   }
 
+  private diff(before: string, after: string): TextEdit | null {
+    const max = Math.min(before.length, after.length);
+    let prefix = 0;
+    while (prefix < max && before.charCodeAt(prefix) === after.charCodeAt(prefix)) {
+      prefix++;
+    }
+    if (prefix === before.length && prefix === after.length) {
+      return null;
+    }
+    // Do not split a surrogate pair between the common part and the edit
+    if (prefix > 0 && this.isHighSurrogate(before.charCodeAt(prefix - 1))) {
+      prefix--;
+    }
+    let suffix = 0;
+    while (suffix < max - prefix && before.charCodeAt(before.length - 1 - suffix) === after.charCodeAt(after.length - 1 - suffix)) {
+      suffix++;
+    }
+    if (suffix > 0 && this.isLowSurrogate(before.charCodeAt(before.length - suffix))) {
+      suffix--;
+    }
+    return { start: prefix, end: before.length - suffix, text: after.substring(prefix, after.length - suffix) };
+  }
+
+  private isHighSurrogate(code: number): boolean {
+    return code >= 0xd800 && code <= 0xdbff;
+  }
+
+  private isLowSurrogate(code: number): boolean {
+    return code >= 0xdc00 && code <= 0xdfff;
+  }
+
+  private queryPage(cursor?: string): Observable<{ notes: Note[]; nextCursor?: string }> {
+    const params = cursor ? new HttpParams().set('cursor', cursor) : undefined;
+    return this.http.get<Note[]>(this.resourceUrl, { params, observe: 'response' }).pipe(
+      map(res => {
+        const link = res.headers.get('link');
+        return {
+          notes: (res.body ?? []).map(n => this.convertDateFromServer(n)),
+          nextCursor: link ? this.parseLinks.parseAll(link).next?.cursor : undefined,
+        };
+      }),
+    );
+  }
+
   private convertDateFromServer(note: Note): Note {
     return {
       ...note,
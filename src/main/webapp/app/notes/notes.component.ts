@@ -6,7 +6,7 @@ import { NoteListComponent } from './note-list/note-list.component';
 import { NoteEditorComponent } from './note-editor/note-editor.component';
 import { NoteService } from './note.service';
 import { FaIconComponent } from '@fortawesome/angular-fontawesome';
-import { Subject, debounceTime } from 'rxjs';
+import { EMPTY, Observable, Subject, catchError, concatMap, debounceTime, defer, switchMap, tap } from 'rxjs';
 
 @Component({
   selector: 'jhi-notes',
@@ -25,11 +25,12 @@ export class NotesComponent implements OnInit, OnDestroy {
 
   private destroy$ = new Subject<void>();
   private noteUpdateSubject = new Subject<Note>();
+  // Title and content as last saved, the base for sending only the changed range
+  private savedNotes = new Map<number, { title: string; content: string }>();
 
   constructor(private noteService: NoteService) {
-    this.noteUpdateSubject.pipe(debounceTime(300)).subscribe(note => {
-      this.saveNote(note);
-    });
+    // Saves run one after the other, so each is based on the version the previous one returned
+    this.noteUpdateSubject.pipe(debounceTime(300), concatMap(note => this.saveNote(note))).subscribe();
   }
 
   @HostListener('document:keydown', ['$event'])
@@ -64,6 +65,8 @@ export class NotesComponent implements OnInit, OnDestroy {
 
   loadNotes(): void {
     this.noteService.query().subscribe(notes => {
+      this.savedNotes.clear();
+      notes.forEach(note => this.rememberSaved(note));
       this.notes.set(notes);
       if (notes.length > 0) {
         this.selectedNote.set(notes[0]);
@@ -81,6 +84,7 @@ export class NotesComponent implements OnInit, OnDestroy {
     };
 
     this.noteService.create(newNote).subscribe(createdNote => {
+      this.rememberSaved(createdNote);
       this.notes.update(notes => [...notes, createdNote]);
       this.selectedNote.set(createdNote);
       this.updateFilteredNotes();
@@ -159,22 +163,48 @@ export class NotesComponent implements OnInit, OnDestroy {
     this.filteredNotes.set(filteredAndSortedNotes);
   }
 
-  private saveNote(note: Note): void {
-    if (note.id) {
-      this.noteService.update(note).subscribe(savedNote => {
-        // Update the note in the notes array with the server response
-        this.notes.update(notes =>
-          notes.map(n => {
-            if (n.id === savedNote.id) {
-              n.lastModifiedDate = savedNote.lastModifiedDate;
+  private saveNote(note: Note): Observable<Note> {
+    if (!note.id) {
+      return EMPTY;
+    }
+    return defer(() => {
+      // The note object keeps changing while the request is in flight, keep what is actually sent
+      const sent = { title: note.title, content: note.content };
+      const version = this.notes().find(n => n.id === note.id)?.version ?? note.version;
+      const saved = this.savedNotes.get(note.id);
+      const request =
+        saved && version !== undefined && saved.title === sent.title
+          ? this.noteService.patchContent(note.id, version, saved.content, sent.content)
+          : this.noteService.update({ ...note, version });
+      return request.pipe(
+        // On a conflict or a rejected patch, fall back to saving the whole note over the current version
+        catchError(() =>
+          this.noteService
+            .find(note.id)
+            .pipe(switchMap(current => this.noteService.update({ ...note, ...sent, version: current.version }))),
+        ),
+        tap(savedNote => {
+          this.rememberSaved({ ...savedNote, ...sent });
+          // Update the note in the notes array with the server response
+          this.notes.update(notes =>
+            notes.map(n => {
+              if (n.id === savedNote.id) {
+                n.lastModifiedDate = savedNote.lastModifiedDate;
+                n.version = savedNote.version;
+                return n;
+              }
               return n;
-            }
-            return n;
-          }),
-        );
+            }),
+          );
 
-        this.updateFilteredNotes();
-      });
-    }
+          this.updateFilteredNotes();
+        }),
+        catchError(() => EMPTY),
+      );
+    });
+  }
+
+  private rememberSaved(note: Note): void {
+    this.savedNotes.set(note.id, { title: note.title, content: note.content ?? '' });
   }
 }
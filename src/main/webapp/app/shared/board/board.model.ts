@@ -13,6 +13,7 @@ export interface Board {
   progressLimit: number;
   archived: boolean;
   autoPull: boolean;
+  version?: number;
 }
 
 export interface BoardFilter {
@@ -22,3 +22,19 @@ export interface DiaryEntry {
 }
 
 export interface NewDiaryEntry extends Omit<DiaryEntry, 'id' | 'createdAt'> {}
+
+export interface DiaryStatsPeriod {
+  // First day of the week (a Monday) or month
+  start: string;
+  emoticons: Record<string, number>;
+}
+
+export interface DiaryStats {
+  from: string;
+  to: string;
+  entries: number;
+  emoticons: Record<string, number>;
+  weeks: DiaryStatsPeriod[];
+  months: DiaryStatsPeriod[];
+  tagsByEmoticon: Record<string, { tag: string; count: number }[]>;
+}
@@ -1,16 +1,15 @@
 import { Injectable, signal } from '@angular/core';
-import { DiaryEntry, DiaryEmoticon, DiaryTag, NewDiaryEntry } from './diary.model';
+import { DiaryEntry, DiaryEmoticon, DiaryStats, DiaryTag, NewDiaryEntry } from './diary.model';
 import { Observable, firstValueFrom } from 'rxjs';
 import { HttpClient, HttpParams } from '@angular/common/http';
 import { ApplicationConfigService } from 'app/core/config/application-config.service';
+import { ParseLinks } from 'app/core/util/parse-links.service';
 import { map } from 'rxjs/operators';
 
-interface PaginatedResponse<T> {
-  content: T[];
-  totalElements: number;
-  totalPages: number;
-  size: number;
-  number: number;
+export interface DiaryEntrySlice {
+  entries: DiaryEntry[];
+  // Absent on the last slice
+  nextCursor?: string;
 }
 
 @Injectable({
@@ -45,6 +44,7 @@ export class DiaryService {
   constructor(
     private http: HttpClient,
     private applicationConfigService: ApplicationConfigService,
+    private parseLinks: ParseLinks,
   ) {
     this.resourceUrl = this.applicationConfigService.getEndpointFor('api/diary-entries');
     this.tagResourceUrl = this.applicationConfigService.getEndpointFor('api/diary-tags');
@@ -53,7 +53,14 @@ export class DiaryService {
 
   // API methods
   getAllEntries(emoticon?: string, tags?: string[]): Observable<DiaryEntry[]> {
-    let params = new HttpParams();
+    return this.getEntrySlice(emoticon, tags).pipe(map(slice => slice.entries));
+  }
+
+  /**
+   * Loads the newest entries, or those after `cursor`, without counting all of them.
+   */
+  getEntrySlice(emoticon?: string, tags?: string[], cursor?: string, size = 20): Observable<DiaryEntrySlice> {
+    let params = new HttpParams().set('size', size);
     if (emoticon) {
       params = params.set('emoticon', emoticon);
     }
@@ -62,16 +69,28 @@ export class DiaryService {
         params = params.append('tags', tag);
       });
     }
-    return this.http.get<PaginatedResponse<DiaryEntry>>(this.resourceUrl, { params }).pipe(
-      map((response: PaginatedResponse<DiaryEntry>) => {
-        if (response.content) {
-          return response.content.map(entry => this.convertFromServer(entry));
-        }
-        return [];
+    if (cursor) {
+      params = params.set('cursor', cursor);
+    }
+    return this.http.get<any[]>(`${this.resourceUrl}/slice`, { params, observe: 'response' }).pipe(
+      map(response => {
+        const link = response.headers.get('link');
+        return {
+          entries: (response.body ?? []).map(entry => this.convertFromServer(entry)),
+          nextCursor: link ? this.parseLinks.parseAll(link).next?.cursor : undefined,
+        };
       }),
     );
   }
 
+  /**
+   * Loads the mood statistics of the days from `from` to `to` (ISO dates, UTC), both included.
+   */
+  getStats(from: string, to: string): Observable<DiaryStats> {
+    const params = new HttpParams().set('from', from).set('to', to);
+    return this.http.get<DiaryStats>(`${this.resourceUrl}/stats`, { params });
+  }
+
   createEntry(entry: NewDiaryEntry): Observable<DiaryEntry> {
     const payload = {
       content: entry.content,
@@ -14,6 +14,7 @@ export interface Task {
   lastModifiedDate: string;
   boardId: number;
   position?: number;
+  version?: number;
 }
 export interface NewTask {
   title: string;
@@ -30,3 +31,8 @@ export interface TaskVM {
   task: Task;
   board: Board;
 }
+
+export interface TaskList {
+  boards: Record<number, Board>;
+  tasks: Task[];
+}
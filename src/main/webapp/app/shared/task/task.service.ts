@@ -1,8 +1,8 @@
 import { Injectable } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
-import { Observable } from 'rxjs';
+import { Observable, map } from 'rxjs';
 import { ApplicationConfigService } from 'app/core/config/application-config.service';
-import { NewTask, Task, TaskStatus, TaskVM } from './task.model';
+import { NewTask, Task, TaskList, TaskStatus, TaskVM } from './task.model';
 
 @Injectable({ providedIn: 'root' })
 export class TaskService {
@@ -16,7 +16,9 @@ export class TaskService {
   }
 
   findTasksByStatus(status: TaskStatus): Observable<TaskVM[]> {
-    return this.http.get<TaskVM[]>(`${this.resourceUrl}/status/${status}`);
+    return this.http
+      .get<TaskList>(`${this.resourceUrl}/status/${status}`)
+      .pipe(map(({ boards, tasks }) => tasks.map(task => ({ task, board: boards[task.boardId] }))));
   }
 
   getBoardTasksByStatus(boardId: number, status: TaskStatus): Observable<Task[]> {
@@ -0,0 +1,81 @@
+package com.dshbd.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.dshbd.config.ApplicationProperties;
+import com.dshbd.service.dto.BoardEventDTO;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+
+class BoardEventServiceTest {
+
+    private static final Long BOARD_ID = 10L;
+
+    private final List<Runnable> queued = new ArrayList<>();
+
+    private BoardEventService boardEventService;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getBoardEvents().setBufferSize(2);
+        boardEventService = new BoardEventService(queued::add, applicationProperties);
+    }
+
+    @Test
+    void onBoardEvent_OnlyNotifiesSubscribersOfThatBoard() {
+        // Arrange
+        boardEventService.subscribe(BOARD_ID);
+
+        // Act
+        boardEventService.onBoardEvent(event(BOARD_ID + 1));
+        boardEventService.onBoardEvent(event(BOARD_ID));
+
+        // Assert
+        assertThat(queued).hasSize(1);
+        assertThat(boardEventService.getSubscriptionCount(BOARD_ID)).isEqualTo(1);
+    }
+
+    @Test
+    void onBoardEvent_DropsSubscriberThatFallsBehind() {
+        // Arrange
+        boardEventService.subscribe(BOARD_ID);
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            boardEventService.onBoardEvent(event(BOARD_ID));
+        }
+
+        // Assert
+        assertThat(boardEventService.getSubscriptionCount(BOARD_ID)).isZero();
+    }
+
+    @Test
+    void onBoardEvent_ClosesSubscriberWhoseWriteIsRejectedAndNotifiesTheOthers() {
+        // Arrange
+        List<Runnable> attempted = new ArrayList<>();
+        boardEventService = new BoardEventService(
+            task -> {
+                attempted.add(task);
+                throw new TaskRejectedException("queue full");
+            },
+            new ApplicationProperties()
+        );
+        boardEventService.subscribe(BOARD_ID);
+        boardEventService.subscribe(BOARD_ID);
+
+        // Act
+        boardEventService.onBoardEvent(event(BOARD_ID));
+
+        // Assert
+        assertThat(attempted).hasSize(2);
+        assertThat(boardEventService.getSubscriptionCount(BOARD_ID)).isZero();
+    }
+
+    private BoardEventDTO event(Long boardId) {
+        return new BoardEventDTO(BoardEventDTO.Type.TASK_UPDATED, boardId, 1L, null);
+    }
+}
@@ -0,0 +1,173 @@
+package com.dshbd.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.dshbd.domain.Board;
+import com.dshbd.domain.BoardDailyMetric;
+import com.dshbd.domain.Task;
+import com.dshbd.domain.TaskStatusChange;
+import com.dshbd.domain.User;
+import com.dshbd.repository.BoardDailyMetricRepository;
+import com.dshbd.repository.BoardRepository;
+import com.dshbd.repository.TaskRepository;
+import com.dshbd.repository.TaskStatusChangeRepository;
+import com.dshbd.service.dto.BoardMetricsDTO;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class BoardMetricsServiceTest {
+
+    private static final Long BOARD_ID = 10L;
+
+    @Mock
+    private TaskStatusChangeRepository taskStatusChangeRepository;
+
+    @Mock
+    private BoardDailyMetricRepository boardDailyMetricRepository;
+
+    @Mock
+    private BoardRepository boardRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private UserService userService;
+
+    @InjectMocks
+    private BoardMetricsService boardMetricsService;
+
+    private final LocalDate today = LocalDate.now(ZoneOffset.UTC);
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setId(1L);
+        lenient().when(userService.getUserWithAuthorities()).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void recordTransition_MovesCountBetweenColumnsOfToday() {
+        // Arrange
+        BoardDailyMetric metric = metric(today, 3, 2);
+        when(boardDailyMetricRepository.findByBoardIdAndDay(BOARD_ID, today)).thenReturn(Optional.of(metric));
+        Task task = task(Instant.now().minus(3, ChronoUnit.DAYS));
+        when(taskStatusChangeRepository.findFirstByTaskIdAndToStatusOrderByChangedAtAsc(task.getId(), Task.STATUS_IN_PROGRESS)).thenReturn(
+            Optional.of(change(Instant.now().minus(1, ChronoUnit.DAYS)))
+        );
+
+        // Act
+        boardMetricsService.recordTransition(board(), task, Task.STATUS_IN_PROGRESS, Task.STATUS_DONE);
+
+        // Assert
+        assertThat(metric.getInProgressCount()).isEqualTo(2);
+        assertThat(metric.getDoneCount()).isEqualTo(3);
+        assertThat(metric.getCompleted()).isEqualTo(1);
+        ArgumentCaptor<TaskStatusChange> captor = ArgumentCaptor.forClass(TaskStatusChange.class);
+        verify(taskStatusChangeRepository).save(captor.capture());
+        assertThat(captor.getValue().getCycleTime()).isBetween(86_399L, 86_401L);
+        assertThat(captor.getValue().getLeadTime()).isBetween(3 * 86_399L, 3 * 86_401L);
+        verifyNoInteractions(boardRepository);
+    }
+
+    @Test
+    void recordTransition_StartsDayFromPreviousDay() {
+        // Arrange
+        when(boardDailyMetricRepository.findByBoardIdAndDay(BOARD_ID, today)).thenReturn(Optional.empty());
+        when(boardDailyMetricRepository.findFirstByBoardIdAndDayLessThanOrderByDayDesc(BOARD_ID, today)).thenReturn(
+            Optional.of(metric(today.minusDays(4), 3, 2))
+        );
+
+        // Act
+        boardMetricsService.recordTransition(board(), task(Instant.now()), null, Task.STATUS_IN_PROGRESS);
+
+        // Assert
+        ArgumentCaptor<BoardDailyMetric> captor = ArgumentCaptor.forClass(BoardDailyMetric.class);
+        verify(boardDailyMetricRepository).save(captor.capture());
+        assertThat(captor.getValue().getDay()).isEqualTo(today);
+        assertThat(captor.getValue().getInProgressCount()).isEqualTo(4);
+        assertThat(captor.getValue().getDoneCount()).isEqualTo(2);
+        assertThat(captor.getValue().getCompleted()).isZero();
+        verify(taskRepository, never()).countByBoardIdAndStatus(any(), any());
+    }
+
+    @Test
+    void getMetrics_CarriesCountsForwardAndComputesPercentiles() {
+        // Arrange
+        Board board = new Board();
+        board.setId(BOARD_ID);
+        when(boardRepository.findByIdAndOwnerId(BOARD_ID, 1L)).thenReturn(Optional.of(board));
+        BoardDailyMetric yesterday = metric(today.minusDays(1), 1, 4);
+        yesterday.setCompleted(2);
+        when(boardDailyMetricRepository.findByBoardIdAndDayBetweenOrderByDayAsc(BOARD_ID, today.minusDays(2), today)).thenReturn(
+            List.of(yesterday)
+        );
+        when(boardDailyMetricRepository.findFirstByBoardIdAndDayLessThanOrderByDayDesc(BOARD_ID, today.minusDays(2))).thenReturn(
+            Optional.of(metric(today.minusDays(5), 2, 2))
+        );
+        TaskStatusChange fast = change(Instant.now());
+        fast.setCycleTime(100L);
+        TaskStatusChange slow = change(Instant.now());
+        slow.setCycleTime(300L);
+        when(taskStatusChangeRepository.findByBoardIdAndToStatusAndChangedAtGreaterThanEqual(eq(BOARD_ID), eq(Task.STATUS_DONE), any())).thenReturn(
+            List.of(slow, fast)
+        );
+
+        // Act
+        BoardMetricsDTO metrics = boardMetricsService.getMetrics(BOARD_ID, 3).orElseThrow();
+
+        // Assert
+        assertThat(metrics.getDays()).extracting(BoardMetricsDTO.DayDTO::getInProgress).containsExactly(2, 1, 1);
+        assertThat(metrics.getDays()).extracting(BoardMetricsDTO.DayDTO::getCompleted).containsExactly(0, 2, 0);
+        assertThat(metrics.getThroughput()).isEqualTo(2);
+        assertThat(metrics.getCycleTime().getCount()).isEqualTo(2);
+        assertThat(metrics.getCycleTime().getP50()).isEqualTo(100L);
+        assertThat(metrics.getCycleTime().getP95()).isEqualTo(300L);
+        assertThat(metrics.getLeadTime().getCount()).isZero();
+    }
+
+    private Board board() {
+        Board board = new Board();
+        board.setId(BOARD_ID);
+        return board;
+    }
+
+    private Task task(Instant createdDate) {
+        Task task = new Task();
+        task.setId(1L);
+        task.setBoardId(BOARD_ID);
+        task.setCreatedDate(createdDate);
+        return task;
+    }
+
+    private TaskStatusChange change(Instant changedAt) {
+        TaskStatusChange change = new TaskStatusChange();
+        change.setBoardId(BOARD_ID);
+        change.setChangedAt(changedAt);
+        return change;
+    }
+
+    private BoardDailyMetric metric(LocalDate day, int inProgress, int done) {
+        BoardDailyMetric metric = new BoardDailyMetric();
+        metric.setBoardId(BOARD_ID);
+        metric.setDay(day);
+        metric.setInProgressCount(inProgress);
+        metric.setDoneCount(done);
+        return metric;
+    }
+}
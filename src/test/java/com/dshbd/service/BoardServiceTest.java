@@ -6,9 +6,13 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 import com.dshbd.domain.Board;
+import com.dshbd.domain.Task;
 import com.dshbd.domain.User;
+import com.dshbd.domain.vm.TaskCard;
 import com.dshbd.repository.BoardRepository;
+import com.dshbd.repository.TaskRepository;
 import com.dshbd.service.dto.BoardDTO;
+import com.dshbd.service.dto.BoardSnapshotDTO;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -19,6 +23,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 @ExtendWith(MockitoExtension.class)
 class BoardServiceTest {
@@ -26,9 +31,15 @@ class BoardServiceTest {
     @Mock
     private BoardRepository boardRepository;
 
+    @Mock
+    private TaskRepository taskRepository;
+
     @Mock
     private UserService userService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private BoardService boardService;
 
@@ -185,4 +196,32 @@ class BoardServiceTest {
             .hasMessage("Board could not be found");
         verify(boardRepository, never()).save(any(Board.class));
     }
+
+    @Test
+    void getBoardSnapshot_GroupsTasksByStatusWithHeadroom() {
+        // Arrange
+        board.setToDoLimit(2);
+        board.setProgressLimit(1);
+        when(userService.getUserWithAuthorities()).thenReturn(Optional.of(user));
+        when(boardRepository.findByIdAndOwnerId(board.getId(), user.getId())).thenReturn(Optional.of(board));
+        when(taskRepository.findCardsByBoardId(board.getId())).thenReturn(
+            List.of(card(1L, Task.STATUS_IN_PROGRESS, 0), card(2L, Task.STATUS_IN_PROGRESS, 1), card(3L, Task.STATUS_TO_DO, 0))
+        );
+
+        // Act
+        BoardSnapshotDTO snapshot = boardService.getBoardSnapshot(board.getId(), false).orElseThrow();
+
+        // Assert
+        assertThat(snapshot.getColumns()).containsOnlyKeys(Task.STATUS_BACKLOG, Task.STATUS_TO_DO, Task.STATUS_IN_PROGRESS, Task.STATUS_DONE);
+        assertThat(snapshot.getColumns().get(Task.STATUS_TO_DO).getHeadroom()).isEqualTo(1);
+        assertThat(snapshot.getColumns().get(Task.STATUS_IN_PROGRESS).getCount()).isEqualTo(2);
+        assertThat(snapshot.getColumns().get(Task.STATUS_IN_PROGRESS).getHeadroom()).isZero();
+        assertThat(snapshot.getColumns().get(Task.STATUS_BACKLOG).getHeadroom()).isNull();
+        assertThat(snapshot.getTotal()).isEqualTo(3);
+        verify(taskRepository, never()).findCardsWithDescriptionByBoardId(any());
+    }
+
+    private TaskCard card(Long id, String status, int position) {
+        return new TaskCard(id, "Task " + id, null, 1, status, null, null, null, position);
+    }
 }
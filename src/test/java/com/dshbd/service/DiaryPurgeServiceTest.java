@@ -0,0 +1,92 @@
+package com.dshbd.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.dshbd.repository.DiaryEntryRepository;
+import com.dshbd.repository.DiaryMoodDailyRepository;
+import com.dshbd.repository.DiaryTagRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class DiaryPurgeServiceTest {
+
+    private static final Long USER_ID = 1L;
+
+    private static final Limit CHUNK = Limit.of(DiaryPurgeService.CHUNK_SIZE);
+
+    @Mock
+    private DiaryEntryRepository diaryEntryRepository;
+
+    @Mock
+    private DiaryTagRepository diaryTagRepository;
+
+    @Mock
+    private DiaryMoodDailyRepository diaryMoodDailyRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private DiaryPurgeService diaryPurgeService;
+
+    @Test
+    void purgeEntries_DeletesByIdRangeOneChunkPerTransaction() {
+        // Arrange
+        long lastOfFirstChunk = 10L + DiaryPurgeService.CHUNK_SIZE - 1;
+        when(diaryEntryRepository.findIdsByUserIdAfter(USER_ID, Long.MIN_VALUE, CHUNK)).thenReturn(
+            LongStream.rangeClosed(10L, lastOfFirstChunk).boxed().toList()
+        );
+        when(diaryEntryRepository.findIdsByUserIdAfter(USER_ID, lastOfFirstChunk, CHUNK)).thenReturn(List.of(5000L, 5001L));
+        when(diaryEntryRepository.deleteByUserIdAndIdRange(USER_ID, Long.MIN_VALUE, lastOfFirstChunk)).thenReturn(
+            DiaryPurgeService.CHUNK_SIZE
+        );
+        when(diaryEntryRepository.deleteByUserIdAndIdRange(USER_ID, lastOfFirstChunk, 5001L)).thenReturn(2);
+        List<Integer> progress = new ArrayList<>();
+
+        // Act
+        int deleted = diaryPurgeService.purgeEntries(USER_ID, progress::add);
+
+        // Assert
+        assertThat(deleted).isEqualTo(DiaryPurgeService.CHUNK_SIZE + 2);
+        assertThat(progress).containsExactly(DiaryPurgeService.CHUNK_SIZE, DiaryPurgeService.CHUNK_SIZE + 2);
+        verify(diaryEntryRepository).deleteTagLinksByUserIdAndIdRange(USER_ID, Long.MIN_VALUE, lastOfFirstChunk);
+        verify(diaryEntryRepository).deleteTagLinksByUserIdAndIdRange(USER_ID, lastOfFirstChunk, 5001L);
+        verify(diaryEntryRepository, never()).findIdsByUserIdAfter(USER_ID, 5001L, CHUNK);
+        verify(diaryMoodDailyRepository).deleteAllByUserId(USER_ID);
+        // One transaction per chunk and one for the mood counts
+        verify(transactionManager, times(3)).commit(any());
+        verify(eventPublisher).publishEvent(new DiaryPurgedEvent(USER_ID));
+    }
+
+    @Test
+    void purgeAll_DeletesTagsInCallersTransaction() {
+        // Arrange
+        when(diaryEntryRepository.deleteByUserIdAndIdRange(USER_ID, Long.MIN_VALUE, Long.MAX_VALUE)).thenReturn(3);
+
+        // Act
+        int deleted = diaryPurgeService.purgeAll(USER_ID);
+
+        // Assert
+        assertThat(deleted).isEqualTo(3);
+        verify(diaryEntryRepository).deleteTagLinksByUserIdAndIdRange(USER_ID, Long.MIN_VALUE, Long.MAX_VALUE);
+        verify(diaryMoodDailyRepository).deleteAllByUserId(USER_ID);
+        verify(diaryTagRepository).deleteAllByUserId(USER_ID);
+        verify(eventPublisher).publishEvent(new DiaryPurgedEvent(USER_ID));
+        verifyNoInteractions(transactionManager);
+    }
+}
@@ -0,0 +1,302 @@
+package com.dshbd.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.dshbd.domain.DiaryEntry;
+import com.dshbd.domain.DiaryTag;
+import com.dshbd.domain.User;
+import com.dshbd.repository.DiaryEntryRepository;
+import com.dshbd.repository.DiaryTagRepository;
+import com.dshbd.service.dto.DiaryEntryDTO;
+import com.dshbd.service.mapper.DiaryEntryMapper;
+import com.dshbd.service.vm.CursorPageVM;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+@ExtendWith(MockitoExtension.class)
+class DiaryServiceTest {
+
+    private static final Long USER_ID = 1L;
+
+    private final Pageable pageable = PageRequest.of(0, 20);
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private DiaryEntryRepository diaryEntryRepository;
+
+    @Mock
+    private DiaryTagRepository diaryTagRepository;
+
+    @Mock
+    private DiaryEntryMapper diaryEntryMapper;
+
+    @Mock
+    private DiaryTagService diaryTagService;
+
+    @Mock
+    private DiaryStatsService diaryStatsService;
+
+    @Mock
+    private DiaryPurgeService diaryPurgeService;
+
+    @InjectMocks
+    private DiaryService diaryService;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setId(USER_ID);
+        when(userService.getUserWithAuthorities()).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void findByTags_FiltersOnTagMask() {
+        // Arrange
+        when(diaryTagRepository.findByUserIdAndNameIn(USER_ID, Set.of("work", "sport"))).thenReturn(
+            List.of(tag("work", 0), tag("sport", 5))
+        );
+        when(diaryEntryRepository.findByUserIdAndTagMaskOrderByCreatedDateDesc(USER_ID, 0b100001L, pageable)).thenReturn(Page.empty());
+
+        // Act
+        diaryService.findByTags(Set.of("work", "sport"), pageable);
+
+        // Assert
+        verify(diaryEntryRepository, never()).findByUserIdAndTagsNameInOrderByCreatedDateDesc(any(), any(), any());
+    }
+
+    @Test
+    void findByTags_FallsBackToJoinForTagsWithoutSlot() {
+        // Arrange
+        when(diaryTagRepository.findByUserIdAndNameIn(USER_ID, Set.of("work", "old"))).thenReturn(
+            List.of(tag("work", 0), tag("old", null))
+        );
+        when(diaryEntryRepository.findByUserIdAndTagsNameInOrderByCreatedDateDesc(USER_ID, Set.of("work", "old"), pageable)).thenReturn(
+            Page.empty()
+        );
+
+        // Act
+        diaryService.findByTags(Set.of("work", "old"), pageable);
+
+        // Assert
+        verify(diaryEntryRepository, never()).findByUserIdAndTagMaskOrderByCreatedDateDesc(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void findByTags_UnknownTagsMatchNothing() {
+        // Arrange
+        when(diaryTagRepository.findByUserIdAndNameIn(USER_ID, Set.of("unknown"))).thenReturn(List.of());
+
+        // Act
+        Page<?> result = diaryService.findByTags(Set.of("unknown"), pageable);
+
+        // Assert
+        assertThat(result.getContent()).isEmpty();
+        verifyNoInteractions(diaryEntryRepository);
+    }
+
+    @Test
+    void save_SetsTagMaskFromSlots() {
+        // Arrange
+        DiaryEntry entry = new DiaryEntry();
+        entry.setTags(Set.of(tag("work", null), tag("sport", null)));
+        when(diaryEntryMapper.toEntity(any())).thenReturn(entry);
+        when(diaryTagRepository.findByUserIdAndArchivedFalseOrderByCreatedDateAsc(USER_ID)).thenReturn(List.of(tag("work", 2)));
+        when(diaryTagRepository.findByUserIdAndNameIn(USER_ID, Set.of("sport"))).thenReturn(List.of());
+        when(diaryTagService.saveNewTags(eq(USER_ID), any())).thenAnswer(invocation -> {
+            List<DiaryTag> created = invocation.getArgument(1);
+            created.get(0).setSlot(7);
+            return created;
+        });
+        when(diaryEntryRepository.save(eq(entry))).thenReturn(entry);
+
+        // Act
+        diaryService.save(new DiaryEntryDTO());
+
+        // Assert
+        assertThat(entry.getTagMask()).isEqualTo((1L << 2) | (1L << 7));
+    }
+
+    @Test
+    void save_KnownTagsNeedNoTagQuery() {
+        // Arrange
+        DiaryEntry entry = new DiaryEntry();
+        entry.setTags(Set.of(tag("work", null)));
+        DiaryTag work = tag("work", 0);
+        when(diaryEntryMapper.toEntity(any())).thenReturn(entry);
+        when(diaryTagRepository.findByUserIdAndArchivedFalseOrderByCreatedDateAsc(USER_ID)).thenReturn(List.of(work));
+        when(diaryEntryRepository.save(eq(entry))).thenReturn(entry);
+
+        // Act
+        diaryService.save(new DiaryEntryDTO());
+
+        // Assert
+        assertThat(entry.getTags()).containsExactly(work);
+        verify(diaryTagRepository, never()).findByUserIdAndNameIn(any(), any());
+        verify(diaryTagRepository, never()).findByUserIdAndName(any(), any());
+        verifyNoInteractions(diaryTagService);
+        verify(userService, times(1)).getUserWithAuthorities();
+    }
+
+    @Test
+    void save_CreatesMissingTagsInOneBatchAndDropsArchivedOnes() {
+        // Arrange
+        DiaryEntry entry = new DiaryEntry();
+        entry.setTags(Set.of(tag("old", null), tag("new", null), tag("newer", null)));
+        DiaryTag old = tag("old", 1);
+        old.setArchived(true);
+        when(diaryEntryMapper.toEntity(any())).thenReturn(entry);
+        when(diaryTagRepository.findByUserIdAndArchivedFalseOrderByCreatedDateAsc(USER_ID)).thenReturn(List.of());
+        when(diaryTagRepository.findByUserIdAndNameIn(eq(USER_ID), any())).thenReturn(List.of(old));
+        when(diaryTagService.saveNewTags(eq(USER_ID), any())).thenAnswer(invocation -> invocation.getArgument(1));
+        when(diaryEntryRepository.save(eq(entry))).thenReturn(entry);
+
+        // Act
+        diaryService.save(new DiaryEntryDTO());
+
+        // Assert
+        verify(diaryTagService).saveNewTags(
+            eq(USER_ID),
+            argThat(created -> created.stream().map(DiaryTag::getName).sorted().toList().equals(List.of("new", "newer")))
+        );
+        assertThat(entry.getTags()).extracting(DiaryTag::getName).containsExactlyInAnyOrder("new", "newer");
+    }
+
+    @Test
+    void save_MovesMoodCountsFromPreviousState() {
+        // Arrange
+        Instant created = Instant.parse("2026-10-01T08:00:00Z");
+        DiaryEntry existing = entry(5L, created);
+        existing.setEmoticon("sad");
+        existing.setTagMask(1L);
+        DiaryEntry updated = entry(5L, created);
+        updated.setEmoticon("happy");
+        DiaryEntryDTO dto = new DiaryEntryDTO();
+        dto.setId(5L);
+        when(diaryEntryRepository.findById(5L)).thenReturn(Optional.of(existing));
+        when(diaryEntryMapper.toEntity(dto)).thenReturn(updated);
+        when(diaryEntryRepository.save(updated)).thenReturn(updated);
+
+        // Act
+        diaryService.save(dto);
+
+        // Assert
+        verify(diaryStatsService).recordChange(
+            eq(USER_ID),
+            argThat(removed -> removed.size() == 1 && removed.iterator().next().getEmoticon().equals("sad")),
+            argThat(added -> added.size() == 1 && added.iterator().next().getEmoticon().equals("happy"))
+        );
+    }
+
+    @Test
+    void save_RefusesEntryOfAnotherUser() {
+        // Arrange
+        DiaryEntry existing = entry(5L, Instant.now());
+        existing.setUserId(2L);
+        DiaryEntryDTO dto = new DiaryEntryDTO();
+        dto.setId(5L);
+        when(diaryEntryRepository.findById(5L)).thenReturn(Optional.of(existing));
+
+        // Act & Assert
+        assertThatThrownBy(() -> diaryService.save(dto)).isInstanceOf(IllegalStateException.class);
+        verify(diaryEntryRepository, never()).save(any());
+        verifyNoInteractions(diaryStatsService);
+    }
+
+    @Test
+    void delete_RemovesEntryFromMoodCounts() {
+        // Arrange
+        DiaryEntry existing = entry(5L, Instant.now());
+        existing.setEmoticon("sad");
+        when(diaryEntryRepository.findById(5L)).thenReturn(Optional.of(existing));
+
+        // Act
+        diaryService.delete(5L);
+
+        // Assert
+        verify(diaryStatsService).recordChange(eq(USER_ID), argThat(removed -> removed.size() == 1), eq(List.of()));
+        verify(diaryEntryRepository).delete(existing);
+    }
+
+    @Test
+    void findSlice_ResumesAfterCursorWithoutCounting() {
+        // Arrange
+        Instant created = Instant.parse("2026-10-01T08:00:00Z");
+        when(
+            diaryEntryRepository.findSliceByUserIdAndEmoticon(USER_ID, "happy", KeysetCursor.START.date(), Long.MAX_VALUE, Limit.of(3))
+        ).thenReturn(List.of(entry(9L, created), entry(8L, created), entry(4L, created.minusSeconds(60))));
+        when(diaryEntryRepository.findSliceByUserIdAndEmoticon(USER_ID, "happy", created, 8L, Limit.of(3))).thenReturn(
+            List.of(entry(4L, created.minusSeconds(60)))
+        );
+
+        // Act
+        CursorPageVM<DiaryEntryDTO> first = diaryService.findSlice("happy", null, null, 2);
+        CursorPageVM<DiaryEntryDTO> second = diaryService.findSlice("happy", Set.of(), first.getNextCursor(), 2);
+
+        // Assert
+        assertThat(first.getContent()).hasSize(2);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.getContent()).hasSize(1);
+        assertThat(second.hasNext()).isFalse();
+        verify(diaryEntryRepository, never()).count();
+    }
+
+    @Test
+    void findSlice_FiltersOnTagMask() {
+        // Arrange
+        when(diaryTagRepository.findByUserIdAndNameIn(USER_ID, Set.of("work"))).thenReturn(List.of(tag("work", 3)));
+        when(diaryEntryRepository.findSliceByUserIdAndTagMask(eq(USER_ID), eq(8L), any(), any(), any())).thenReturn(List.of());
+
+        // Act
+        CursorPageVM<DiaryEntryDTO> slice = diaryService.findSlice(null, Set.of("work"), null, 20);
+
+        // Assert
+        assertThat(slice.getContent()).isEmpty();
+        verify(diaryEntryRepository, never()).findSliceByUserIdAndTagsNameIn(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void deleteAllEntries_RebuildsMoodCountsWhenPurgeFails() {
+        // Arrange
+        when(diaryPurgeService.purgeEntries(USER_ID)).thenThrow(new IllegalStateException("connection lost"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> diaryService.deleteAllEntries()).isInstanceOf(IllegalStateException.class);
+        verify(diaryStatsService).rebuild(USER_ID);
+    }
+
+    private DiaryEntry entry(Long id, Instant createdDate) {
+        DiaryEntry entry = new DiaryEntry();
+        entry.setId(id);
+        entry.setUserId(USER_ID);
+        entry.setCreatedDate(createdDate);
+        return entry;
+    }
+
+    private DiaryTag tag(String name, Integer slot) {
+        DiaryTag tag = new DiaryTag();
+        tag.setName(name);
+        tag.setUserId(USER_ID);
+        tag.setSlot(slot);
+        return tag;
+    }
+}
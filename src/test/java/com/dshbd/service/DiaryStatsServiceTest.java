@@ -0,0 +1,237 @@
+package com.dshbd.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.dshbd.domain.DiaryMoodBackfill;
+import com.dshbd.domain.DiaryMoodDaily;
+import com.dshbd.domain.DiaryTag;
+import com.dshbd.domain.User;
+import com.dshbd.domain.vm.DiaryMoodSample;
+import com.dshbd.repository.DiaryEntryRepository;
+import com.dshbd.repository.DiaryMoodBackfillRepository;
+import com.dshbd.repository.DiaryMoodDailyRepository;
+import com.dshbd.repository.DiaryTagRepository;
+import com.dshbd.service.dto.DiaryStatsDTO;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class DiaryStatsServiceTest {
+
+    private static final Long USER_ID = 1L;
+
+    private static final Instant CREATED = Instant.parse("2026-10-14T23:30:00Z");
+
+    private static final LocalDate DAY = LocalDate.of(2026, 10, 14);
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private DiaryMoodDailyRepository diaryMoodDailyRepository;
+
+    @Mock
+    private DiaryEntryRepository diaryEntryRepository;
+
+    @Mock
+    private DiaryTagRepository diaryTagRepository;
+
+    @Mock
+    private DiaryMoodBackfillRepository diaryMoodBackfillRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private DiaryStatsService diaryStatsService;
+
+    @Test
+    void recordChange_CountsEntryAndEachTagSlot() {
+        // Arrange
+        when(diaryMoodDailyRepository.addToCount(eq(USER_ID), eq(DAY), eq("happy"), anyInt(), eq(1))).thenReturn(1);
+        when(diaryMoodDailyRepository.addToCount(USER_ID, DAY, "happy", 5, 1)).thenReturn(0);
+
+        // Act
+        diaryStatsService.recordChange(USER_ID, List.of(), List.of(new DiaryMoodSample(CREATED, "happy", (1L << 5) | (1L << 62))));
+
+        // Assert
+        verify(diaryMoodDailyRepository).addToCount(USER_ID, DAY, "happy", DiaryMoodDaily.ALL_TAGS, 1);
+        verify(diaryMoodDailyRepository).addToCount(USER_ID, DAY, "happy", 62, 1);
+        verify(diaryMoodDailyRepository).saveAndFlush(argThat(count -> count.getTagSlot() == 5 && count.getEntryCount() == 1));
+        verify(diaryMoodDailyRepository, times(1)).addToCount(USER_ID, DAY, "happy", 5, 1);
+        verify(diaryMoodDailyRepository, never()).deleteEmptyCount(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void recordChange_TakesBackCreatedCountWhenTheCallerRollsBack() {
+        // Arrange
+        when(diaryMoodDailyRepository.addToCount(USER_ID, DAY, "happy", DiaryMoodDaily.ALL_TAGS, 1)).thenReturn(0);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            diaryStatsService.recordChange(USER_ID, List.of(), List.of(new DiaryMoodSample(CREATED, "happy", 0L)));
+
+            // Act
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK)
+            );
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert
+        verify(diaryMoodDailyRepository).addToCount(USER_ID, DAY, "happy", DiaryMoodDaily.ALL_TAGS, -1);
+        verify(diaryMoodDailyRepository).deleteEmptyCount(USER_ID, DAY, "happy", DiaryMoodDaily.ALL_TAGS);
+    }
+
+    @Test
+    void recordChange_IncrementsCountCreatedConcurrently() {
+        // Arrange
+        when(diaryMoodDailyRepository.addToCount(USER_ID, DAY, "happy", DiaryMoodDaily.ALL_TAGS, 1)).thenReturn(0, 1);
+        when(diaryMoodDailyRepository.saveAndFlush(any(DiaryMoodDaily.class))).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        // Act
+        diaryStatsService.recordChange(USER_ID, List.of(), List.of(new DiaryMoodSample(CREATED, "happy", 0L)));
+
+        // Assert
+        verify(diaryMoodDailyRepository, times(2)).addToCount(USER_ID, DAY, "happy", DiaryMoodDaily.ALL_TAGS, 1);
+    }
+
+    @Test
+    void recordChange_LeavesUserAwaitingBackfillToTheBackfill() {
+        // Arrange
+        when(diaryMoodBackfillRepository.findWithLockByUserId(USER_ID)).thenReturn(Optional.of(new DiaryMoodBackfill()));
+
+        // Act
+        diaryStatsService.recordChange(USER_ID, List.of(), List.of(new DiaryMoodSample(CREATED, "happy", 0L)));
+
+        // Assert
+        verifyNoInteractions(diaryMoodDailyRepository);
+    }
+
+    @Test
+    void rebuildMissing_CountsMarkedUsersAndRemovesTheirMarkers() {
+        // Arrange
+        DiaryMoodBackfill marker = new DiaryMoodBackfill();
+        marker.setUserId(USER_ID);
+        when(diaryMoodBackfillRepository.findAllUserIds()).thenReturn(List.of(USER_ID));
+        when(diaryMoodBackfillRepository.findWithLockByUserId(USER_ID)).thenReturn(Optional.of(marker));
+        when(diaryEntryRepository.streamMoodSamplesByUserId(USER_ID)).thenReturn(
+            Stream.of(new DiaryMoodSample(CREATED, "happy", 0L), new DiaryMoodSample(CREATED, "happy", 0L))
+        );
+
+        // Act
+        diaryStatsService.rebuildMissing();
+
+        // Assert
+        verify(diaryMoodDailyRepository).deleteAllByUserId(USER_ID);
+        verify(diaryMoodDailyRepository).saveAll(argThat(rows -> rows.iterator().next().getEntryCount() == 2));
+        verify(diaryMoodBackfillRepository).delete(marker);
+    }
+
+    @Test
+    void recordChange_ContentOnlyEditWritesNothing() {
+        // Arrange
+        DiaryMoodSample before = new DiaryMoodSample(CREATED, "sad", 0b11L);
+        DiaryMoodSample after = new DiaryMoodSample(CREATED, "sad", 0b11L);
+
+        // Act
+        diaryStatsService.recordChange(USER_ID, List.of(before), List.of(after));
+
+        // Assert
+        verifyNoInteractions(diaryMoodDailyRepository);
+    }
+
+    @Test
+    void recordChange_MovesTagCountAndDropsEmptiedRows() {
+        // Arrange
+        when(diaryMoodDailyRepository.addToCount(eq(USER_ID), eq(DAY), eq("sad"), anyInt(), anyInt())).thenReturn(1);
+
+        // Act
+        diaryStatsService.recordChange(
+            USER_ID,
+            List.of(new DiaryMoodSample(CREATED, "sad", 0b01L)),
+            List.of(new DiaryMoodSample(CREATED, "sad", 0b10L))
+        );
+
+        // Assert
+        verify(diaryMoodDailyRepository).addToCount(USER_ID, DAY, "sad", 0, -1);
+        verify(diaryMoodDailyRepository).addToCount(USER_ID, DAY, "sad", 1, 1);
+        verify(diaryMoodDailyRepository, never()).addToCount(USER_ID, DAY, "sad", DiaryMoodDaily.ALL_TAGS, 0);
+        verify(diaryMoodDailyRepository).deleteEmptyCount(USER_ID, DAY, "sad", 0);
+        verify(diaryMoodDailyRepository, never()).deleteEmptyCount(USER_ID, DAY, "sad", 1);
+    }
+
+    @Test
+    void getStats_GroupsByWeekAndMonthAndRanksTagsPerEmoticon() {
+        // Arrange
+        User user = new User();
+        user.setId(USER_ID);
+        when(userService.getUserWithAuthorities()).thenReturn(Optional.of(user));
+        LocalDate from = LocalDate.of(2026, 9, 1);
+        LocalDate to = LocalDate.of(2026, 10, 31);
+        when(diaryMoodDailyRepository.findByUserIdAndDayBetween(USER_ID, from, to)).thenReturn(
+            List.of(
+                count(LocalDate.of(2026, 9, 30), "happy", DiaryMoodDaily.ALL_TAGS, 2),
+                count(LocalDate.of(2026, 10, 1), "happy", DiaryMoodDaily.ALL_TAGS, 1),
+                count(LocalDate.of(2026, 10, 1), "sad", DiaryMoodDaily.ALL_TAGS, 4),
+                count(LocalDate.of(2026, 9, 30), "happy", 0, 1),
+                count(LocalDate.of(2026, 10, 1), "happy", 0, 1),
+                count(LocalDate.of(2026, 10, 1), "happy", 1, 1),
+                count(LocalDate.of(2026, 10, 1), "happy", 9, 1)
+            )
+        );
+        when(diaryTagRepository.findByUserIdOrderByCreatedDateDesc(USER_ID)).thenReturn(List.of(tag("work", 0), tag("sport", 1)));
+
+        // Act
+        DiaryStatsDTO stats = diaryStatsService.getStats(from, to);
+
+        // Assert
+        assertThat(stats.getEntries()).isEqualTo(7);
+        assertThat(stats.getEmoticons()).containsExactly(entry("sad", 4), entry("happy", 3));
+        assertThat(stats.getWeeks()).hasSize(1);
+        assertThat(stats.getWeeks().get(0).getStart()).isEqualTo(LocalDate.of(2026, 9, 28));
+        assertThat(stats.getMonths()).extracting(DiaryStatsDTO.PeriodDTO::getStart).containsExactly(from, LocalDate.of(2026, 10, 1));
+        assertThat(stats.getMonths().get(1).getEmoticons()).containsEntry("happy", 1).containsEntry("sad", 4);
+        assertThat(stats.getTagsByEmoticon().get("happy"))
+            .extracting(DiaryStatsDTO.TagCountDTO::getTag, DiaryStatsDTO.TagCountDTO::getCount)
+            .containsExactly(tuple("work", 2), tuple("sport", 1));
+        assertThat(stats.getTagsByEmoticon().get("sad")).isEmpty();
+    }
+
+    private DiaryMoodDaily count(LocalDate day, String emoticon, int tagSlot, int entryCount) {
+        DiaryMoodDaily count = new DiaryMoodDaily();
+        count.setUserId(USER_ID);
+        count.setDay(day);
+        count.setEmoticon(emoticon);
+        count.setTagSlot(tagSlot);
+        count.setEntryCount(entryCount);
+        return count;
+    }
+
+    private DiaryTag tag(String name, Integer slot) {
+        DiaryTag tag = new DiaryTag();
+        tag.setName(name);
+        tag.setUserId(USER_ID);
+        tag.setSlot(slot);
+        return tag;
+    }
+}
@@ -0,0 +1,111 @@
+package com.dshbd.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.dshbd.domain.DiaryTag;
+import com.dshbd.repository.DiaryEntryRepository;
+import com.dshbd.repository.DiaryTagRepository;
+import com.dshbd.service.mapper.DiaryTagMapper;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+@ExtendWith(MockitoExtension.class)
+class DiaryTagServiceTest {
+
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private DiaryTagRepository diaryTagRepository;
+
+    @Mock
+    private DiaryEntryRepository diaryEntryRepository;
+
+    @Mock
+    private DiaryTagMapper diaryTagMapper;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cache;
+
+    @InjectMocks
+    private DiaryTagService diaryTagService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(diaryTagRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(cacheManager.getCache(DiaryTagRepository.ACTIVE_TAGS_BY_USER_CACHE)).thenReturn(cache);
+    }
+
+    @Test
+    void saveNewTag_TakesLowestFreeSlot() {
+        // Arrange
+        when(diaryTagRepository.findSlotsByUserId(USER_ID)).thenReturn(List.of(0, 1, 3));
+
+        // Act
+        DiaryTag tag = diaryTagService.saveNewTag(newTag());
+
+        // Assert
+        assertThat(tag.getSlot()).isEqualTo(2);
+    }
+
+    @Test
+    void saveNewTag_LeavesSlotEmptyWhenAllAreUsed() {
+        // Arrange
+        when(diaryTagRepository.findSlotsByUserId(USER_ID)).thenReturn(IntStream.range(0, DiaryTag.SLOT_COUNT).boxed().toList());
+
+        // Act
+        DiaryTag tag = diaryTagService.saveNewTag(newTag());
+
+        // Assert
+        assertThat(tag.getSlot()).isNull();
+    }
+
+    @Test
+    void saveNewTags_GivesEachTagItsOwnSlotAndClearsCache() {
+        // Arrange
+        when(diaryTagRepository.findSlotsByUserId(USER_ID)).thenReturn(List.of(0, 2));
+
+        // Act
+        List<DiaryTag> tags = diaryTagService.saveNewTags(USER_ID, List.of(newTag("work"), newTag("sport"), newTag("home")));
+
+        // Assert
+        assertThat(tags).extracting(DiaryTag::getSlot).containsExactly(1, 3, 4);
+        verify(diaryTagRepository).saveAll(any());
+        verify(cache).evict(USER_ID);
+    }
+
+    @Test
+    void onDiaryPurged_ClearsCacheOfTheUser() {
+        // Act
+        diaryTagService.onDiaryPurged(new DiaryPurgedEvent(USER_ID));
+
+        // Assert
+        verify(cache).evict(USER_ID);
+    }
+
+    private DiaryTag newTag() {
+        return newTag("work");
+    }
+
+    private DiaryTag newTag(String name) {
+        DiaryTag tag = new DiaryTag();
+        tag.setName(name);
+        tag.setUserId(USER_ID);
+        return tag;
+    }
+}
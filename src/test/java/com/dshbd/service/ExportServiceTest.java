@@ -0,0 +1,174 @@
+package com.dshbd.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import com.dshbd.domain.Board;
+import com.dshbd.domain.DiaryEntry;
+import com.dshbd.domain.DiaryTag;
+import com.dshbd.domain.Task;
+import com.dshbd.domain.vm.DiaryEntryTagLink;
+import com.dshbd.repository.BoardRepository;
+import com.dshbd.repository.DiaryEntryRepository;
+import com.dshbd.repository.DiaryTagRepository;
+import com.dshbd.repository.HabitRepository;
+import com.dshbd.repository.IdeaRepository;
+import com.dshbd.repository.NoteRepository;
+import com.dshbd.repository.TaskRepository;
+import com.dshbd.service.dto.ImportDataDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceTest {
+
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private DiaryEntryRepository diaryEntryRepository;
+
+    @Mock
+    private DiaryTagRepository diaryTagRepository;
+
+    @Mock
+    private IdeaRepository ideaRepository;
+
+    @Mock
+    private NoteRepository noteRepository;
+
+    @Mock
+    private BoardRepository boardRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private HabitRepository habitRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private ExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ExportService(
+            diaryEntryRepository,
+            diaryTagRepository,
+            ideaRepository,
+            noteRepository,
+            boardRepository,
+            taskRepository,
+            habitRepository,
+            userService,
+            objectMapper,
+            entityManager,
+            transactionManager
+        );
+
+        DiaryTag work = tag(10L, "work");
+        DiaryTag sport = tag(11L, "sport");
+        when(diaryTagRepository.findByUserIdOrderByCreatedDateDesc(USER_ID)).thenReturn(List.of(work, sport));
+        when(diaryEntryRepository.streamByUserIdOrderById(USER_ID)).thenReturn(Stream.of(entry(1L, "first"), entry(2L, "second")));
+        when(diaryEntryRepository.streamTagLinksByUserId(USER_ID)).thenReturn(
+            Stream.of(new DiaryEntryTagLink(1L, 10L), new DiaryEntryTagLink(1L, 11L))
+        );
+        when(ideaRepository.streamByOwnerIdOrderById(USER_ID)).thenReturn(Stream.empty());
+        when(noteRepository.streamByUserIdOrderById(USER_ID)).thenReturn(Stream.empty());
+        when(boardRepository.streamByOwnerIdOrderById(USER_ID)).thenReturn(Stream.of(board(5L, "Empty"), board(6L, "Work")));
+        when(taskRepository.streamByBoardOwnerId(USER_ID)).thenReturn(Stream.of(task(6L, "one"), task(6L, "two")));
+        when(habitRepository.findWithSchedulesByUserIdOrderById(USER_ID)).thenReturn(List.of());
+    }
+
+    @Test
+    void export_JsonRoundTripsThroughImportDataDTO() throws Exception {
+        // Act
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(USER_ID, ExportService.Format.JSON, out);
+
+        // Assert
+        ImportDataDTO data = objectMapper.readValue(out.toByteArray(), ImportDataDTO.class);
+        assertThat(data.getVersion()).isEqualTo(ExportService.EXPORT_VERSION);
+        assertThat(data.getData().getDiaryEntries()).hasSize(2);
+        assertThat(data.getData().getDiaryEntries().get(0).getTags()).extracting("name").containsExactly("work", "sport");
+        assertThat(data.getData().getDiaryEntries().get(1).getTags()).isEmpty();
+        assertThat(data.getData().getBoards()).extracting("title").containsExactly("Empty", "Work");
+        assertThat(data.getData().getBoards().get(0).getTasks()).isEmpty();
+        assertThat(data.getData().getBoards().get(1).getTasks()).extracting("title").containsExactly("one", "two");
+        assertThat(data.getData().getHabits()).isEmpty();
+    }
+
+    @Test
+    void export_NdjsonWritesOneElementPerLine() throws Exception {
+        // Act
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(USER_ID, ExportService.Format.NDJSON, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(5);
+        JsonNode header = objectMapper.readTree(lines[0]);
+        assertThat(header.get("type").asText()).isEqualTo("export");
+        assertThat(header.get("data").get("version").asText()).isEqualTo(ExportService.EXPORT_VERSION);
+        JsonNode board = objectMapper.readTree(lines[4]);
+        assertThat(board.get("type").asText()).isEqualTo("boards");
+        assertThat(objectMapper.treeToValue(board.get("data"), ImportDataDTO.ImportBoardDTO.class).getTasks()).hasSize(2);
+    }
+
+    private DiaryTag tag(Long id, String name) {
+        DiaryTag tag = new DiaryTag();
+        tag.setId(id);
+        tag.setName(name);
+        tag.setUserId(USER_ID);
+        return tag;
+    }
+
+    private DiaryEntry entry(Long id, String content) {
+        DiaryEntry entry = new DiaryEntry();
+        entry.setId(id);
+        entry.setContent(content);
+        entry.setEmoticon("happy");
+        entry.setUserId(USER_ID);
+        entry.setCreatedDate(Instant.parse("2024-01-01T10:00:00Z"));
+        return entry;
+    }
+
+    private Board board(Long id, String title) {
+        Board board = new Board();
+        board.setId(id);
+        board.setTitle(title);
+        board.setOwnerId(USER_ID);
+        return board;
+    }
+
+    private Task task(Long boardId, String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setBoardId(boardId);
+        return task;
+    }
+}
@@ -0,0 +1,317 @@
+package com.dshbd.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.dshbd.domain.Habit;
+import com.dshbd.domain.HabitCompletionBackfill;
+import com.dshbd.domain.HabitMonthCompletion;
+import com.dshbd.domain.HabitRecord;
+import com.dshbd.domain.User;
+import com.dshbd.domain.vm.HabitDayCount;
+import com.dshbd.repository.HabitCompletionBackfillRepository;
+import com.dshbd.repository.HabitMonthCompletionRepository;
+import com.dshbd.repository.HabitRecordRepository;
+import com.dshbd.repository.HabitRepository;
+import com.dshbd.repository.UserRepository;
+import com.dshbd.service.dto.HabitCheckInDTO;
+import com.dshbd.service.dto.HabitCheckInResultDTO;
+import com.dshbd.service.dto.HabitRecordDTO;
+import com.dshbd.service.mapper.HabitRecordMapper;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class HabitRecordServiceTest {
+
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private HabitRecordRepository habitRecordRepository;
+
+    @Mock
+    private HabitMonthCompletionRepository habitMonthCompletionRepository;
+
+    @Mock
+    private HabitCompletionBackfillRepository habitCompletionBackfillRepository;
+
+    @Mock
+    private HabitRepository habitRepository;
+
+    @Mock
+    private HabitStreakService habitStreakService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private HabitRecordMapper habitRecordMapper;
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager(HabitRecordService.CHECK_INS_BY_IDEMPOTENCY_KEY_CACHE);
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private HabitRecordService habitRecordService;
+
+    private Habit habit;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(new UsernamePasswordAuthenticationToken("user", "user"));
+        SecurityContextHolder.setContext(securityContext);
+        User user = new User();
+        user.setId(USER_ID);
+        lenient().when(userRepository.findOneByLogin("user")).thenReturn(Optional.of(user));
+
+        habit = new Habit();
+        habit.setId(10L);
+        habit.setUserId(USER_ID);
+        lenient().when(habitRepository.findWithSchedulesByUserIdAndIdIn(eq(USER_ID), anyCollection())).thenReturn(List.of(habit));
+        lenient().when(habitRepository.findWithLockByIdAndUserId(habit.getId(), USER_ID)).thenReturn(Optional.of(habit));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void checkIn_RecordsOnlyTheMissingCompletions() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        LocalDate yesterday = today.minusDays(1);
+        when(habitRecordRepository.countByDay(eq(USER_ID), anyCollection(), eq(yesterday), eq(today.plusDays(1)))).thenReturn(
+            List.of(new HabitDayCount(habit.getId(), yesterday, 1, 0), new HabitDayCount(habit.getId(), today, 2, 1))
+        );
+
+        // Act
+        List<HabitCheckInResultDTO> results = habitRecordService.checkIn(
+            "key-1",
+            List.of(
+                checkIn(habit.getId(), yesterday, 3),
+                checkIn(habit.getId(), today, 2),
+                checkIn(habit.getId(), yesterday, 1),
+                checkIn(99L, today, 1),
+                checkIn(habit.getId(), today.plusDays(1), 1)
+            )
+        );
+
+        // Assert
+        assertThat(results)
+            .extracting(HabitCheckInResultDTO::getResult, HabitCheckInResultDTO::getCount)
+            .containsExactly(
+                tuple(HabitCheckInResultDTO.Result.RECORDED, 3),
+                tuple(HabitCheckInResultDTO.Result.UNCHANGED, 2),
+                tuple(HabitCheckInResultDTO.Result.REJECTED, null),
+                tuple(HabitCheckInResultDTO.Result.NOT_FOUND, null),
+                tuple(HabitCheckInResultDTO.Result.REJECTED, null)
+            );
+        verify(habitRecordRepository).saveAll(
+            argThat((List<HabitRecord> records) -> records.stream().map(HabitRecord::getSlot).toList().equals(List.of(1, 2)))
+        );
+        // The months are created empty first and locked again
+        verify(habitMonthCompletionRepository, atLeastOnce()).saveAndFlush(argThat(completion -> completion.getDays() == 0));
+        verify(habitMonthCompletionRepository, times(2)).findWithLockByHabitIdInAndMonthStartBetween(anyCollection(), any(), any());
+        verify(habitStreakService).evaluateFrom(habit, yesterday, today);
+    }
+
+    @Test
+    void checkIn_ReplaysTheResultsOfTheSameKey() {
+        // Arrange
+        List<HabitCheckInDTO> checkIns = List.of(checkIn(habit.getId(), LocalDate.now(), 1));
+        List<HabitCheckInResultDTO> first = habitRecordService.checkIn("key-2", checkIns);
+
+        // Act
+        List<HabitCheckInResultDTO> second = habitRecordService.checkIn("key-2", checkIns);
+
+        // Assert
+        assertThat(second).isSameAs(first);
+        verify(habitRepository, times(1)).findWithSchedulesByUserIdAndIdIn(eq(USER_ID), anyCollection());
+        verify(habitRecordRepository, times(1)).saveAll(any());
+    }
+
+    @Test
+    void create_SetsTheBitInAMonthCreatedConcurrently() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        HabitRecord habitRecord = new HabitRecord();
+        habitRecord.setHabitId(habit.getId());
+        when(habitRecordMapper.toEntity(any(HabitRecordDTO.class))).thenReturn(habitRecord);
+        when(habitRecordRepository.findMaxSlot(USER_ID, habit.getId(), today)).thenReturn(Optional.empty());
+        when(habitRecordRepository.save(habitRecord)).thenReturn(habitRecord);
+        when(habitRecordMapper.toDto(habitRecord)).thenReturn(new HabitRecordDTO());
+        HabitMonthCompletion concurrent = completion(today.withDayOfMonth(1));
+        when(habitMonthCompletionRepository.findWithLockByHabitIdInAndMonthStartBetween(anyCollection(), any(), any())).thenReturn(
+            List.of(),
+            List.of(concurrent)
+        );
+        when(habitMonthCompletionRepository.saveAndFlush(any(HabitMonthCompletion.class))).thenThrow(
+            new DataIntegrityViolationException("duplicate")
+        );
+
+        // Act
+        habitRecordService.create(new HabitRecordDTO());
+
+        // Assert
+        InOrder inOrder = inOrder(habitRepository, habitRecordRepository);
+        inOrder.verify(habitRepository).findWithLockByIdAndUserId(habit.getId(), USER_ID);
+        inOrder.verify(habitRecordRepository).findMaxSlot(USER_ID, habit.getId(), today);
+        assertThat(concurrent.getDays()).isEqualTo(1 << (today.getDayOfMonth() - 1));
+        verify(habitMonthCompletionRepository).saveAll(argThat(completions -> completions.iterator().next() == concurrent));
+    }
+
+    @Test
+    void create_RejectsHabitOfAnotherUser() {
+        // Arrange
+        HabitRecord habitRecord = new HabitRecord();
+        habitRecord.setHabitId(99L);
+        when(habitRecordMapper.toEntity(any(HabitRecordDTO.class))).thenReturn(habitRecord);
+
+        // Act & Assert
+        assertThatThrownBy(() -> habitRecordService.create(new HabitRecordDTO()))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Habit could not be found");
+        verify(habitRecordRepository, never()).save(any());
+    }
+
+    @Test
+    void create_LeavesUserAwaitingBackfillToTheBackfill() {
+        // Arrange
+        HabitRecord habitRecord = new HabitRecord();
+        habitRecord.setHabitId(habit.getId());
+        when(habitRecordMapper.toEntity(any(HabitRecordDTO.class))).thenReturn(habitRecord);
+        when(habitRecordRepository.findMaxSlot(any(), any(), any())).thenReturn(Optional.empty());
+        when(habitRecordRepository.save(habitRecord)).thenReturn(habitRecord);
+        when(habitRecordMapper.toDto(habitRecord)).thenReturn(new HabitRecordDTO());
+        when(habitCompletionBackfillRepository.findWithLockByUserId(USER_ID)).thenReturn(Optional.of(new HabitCompletionBackfill()));
+
+        // Act
+        habitRecordService.create(new HabitRecordDTO());
+
+        // Assert
+        verifyNoInteractions(habitMonthCompletionRepository);
+    }
+
+    @Test
+    void rebuildMissingCompletions_CountsMarkedUsersAndRemovesTheirMarkers() {
+        // Arrange
+        HabitCompletionBackfill marker = new HabitCompletionBackfill();
+        marker.setUserId(USER_ID);
+        when(habitCompletionBackfillRepository.findAllUserIds()).thenReturn(List.of(USER_ID));
+        when(habitCompletionBackfillRepository.findWithLockByUserId(USER_ID)).thenReturn(Optional.of(marker));
+        LocalDate day = LocalDate.of(2026, 10, 2);
+        when(habitRecordRepository.streamAllByUserId(USER_ID)).thenReturn(Stream.of(record(day), record(day.plusDays(1))));
+
+        // Act
+        habitRecordService.rebuildMissingCompletions();
+
+        // Assert
+        verify(habitMonthCompletionRepository).deleteAllByUserId(USER_ID);
+        verify(habitMonthCompletionRepository).saveAll(argThat(completions -> completions.iterator().next().getDays() == 0b110));
+        verify(habitCompletionBackfillRepository).delete(marker);
+        InOrder inOrder = inOrder(habitStreakService);
+        inOrder.verify(habitStreakService).reevaluate(eq(USER_ID), any());
+        inOrder.verify(habitStreakService).evaluateMissedDays();
+    }
+
+    @Test
+    void addCompletion_SetsTheBitOfTheDayWithoutCounts() {
+        // Arrange
+        HabitMonthCompletion completion = new HabitMonthCompletion();
+
+        // Act
+        HabitRecordService.addCompletion(completion, 1);
+        HabitRecordService.addCompletion(completion, 31);
+
+        // Assert
+        assertThat(completion.getDays()).isEqualTo(1 | (1 << 30));
+        assertThat(completion.getRepeatCounts()).isNull();
+    }
+
+    @Test
+    void addCompletion_CountsDaysOnceADayRepeats() {
+        // Arrange
+        HabitMonthCompletion completion = new HabitMonthCompletion();
+        HabitRecordService.addCompletion(completion, 3);
+        HabitRecordService.addCompletion(completion, 5);
+
+        // Act
+        HabitRecordService.addCompletion(completion, 5);
+        HabitRecordService.addCompletion(completion, 7);
+
+        // Assert
+        assertThat(completion.getDays()).isEqualTo((1 << 2) | (1 << 4) | (1 << 6));
+        byte[] counts = completion.getRepeatCounts();
+        assertThat(counts).hasSize(31);
+        assertThat(counts[2]).isEqualTo((byte) 1);
+        assertThat(counts[4]).isEqualTo((byte) 2);
+        assertThat(counts[6]).isEqualTo((byte) 1);
+        assertThat(counts[0]).isZero();
+    }
+
+    @Test
+    void addCompletion_CapsTheCountOfADay() {
+        // Arrange
+        HabitMonthCompletion completion = new HabitMonthCompletion();
+
+        // Act
+        for (int i = 0; i < 300; i++) {
+            HabitRecordService.addCompletion(completion, 10);
+        }
+
+        // Assert
+        assertThat(Byte.toUnsignedInt(completion.getRepeatCounts()[9])).isEqualTo(255);
+    }
+
+    private HabitMonthCompletion completion(LocalDate monthStart) {
+        HabitMonthCompletion completion = new HabitMonthCompletion();
+        completion.setUserId(USER_ID);
+        completion.setHabitId(habit.getId());
+        completion.setMonthStart(monthStart);
+        return completion;
+    }
+
+    private HabitRecord record(LocalDate day) {
+        HabitRecord habitRecord = new HabitRecord();
+        habitRecord.setUserId(USER_ID);
+        habitRecord.setHabitId(habit.getId());
+        habitRecord.setRecordDate(day);
+        return habitRecord;
+    }
+
+    private HabitCheckInDTO checkIn(Long habitId, LocalDate date, int count) {
+        HabitCheckInDTO checkIn = new HabitCheckInDTO();
+        checkIn.setHabitId(habitId);
+        checkIn.setDate(date);
+        checkIn.setCount(count);
+        return checkIn;
+    }
+}
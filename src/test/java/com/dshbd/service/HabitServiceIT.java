@@ -0,0 +1,119 @@
+package com.dshbd.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.dshbd.IntegrationTest;
+import com.dshbd.domain.Habit;
+import com.dshbd.domain.HabitDaySchedule;
+import com.dshbd.domain.HabitDaySchedule.DayOfWeek;
+import com.dshbd.domain.HabitSpecificTime;
+import com.dshbd.repository.UserRepository;
+import com.dshbd.service.dto.HabitDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link HabitService}.
+ */
+@IntegrationTest
+@Transactional
+@WithMockUser("admin")
+class HabitServiceIT {
+
+    private static final int HABITS = 20;
+
+    @Autowired
+    private HabitService habitService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void enableStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void disableStatistics() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void findAllActive_TakesConstantStatementsRegardlessOfHabitCount() {
+        // Arrange
+        Long userId = userRepository.findOneByLogin("admin").orElseThrow().getId();
+        DayOfWeek today = DayOfWeek.valueOf(LocalDate.now().getDayOfWeek().name());
+        DayOfWeek otherDay = DayOfWeek.values()[(today.ordinal() + 1) % DayOfWeek.values().length];
+        for (int i = 0; i < HABITS; i++) {
+            entityManager.persist(habit(userId, "today " + i, true, today, otherDay));
+        }
+        entityManager.persist(habit(userId, "other day", true, otherDay));
+        entityManager.persist(habit(userId, "inactive", false, today));
+        entityManager.flush();
+        // Loads the current user into the user cache
+        habitService.findAllActive();
+        Objects.requireNonNull(cacheManager.getCache(HabitService.ACTIVE_HABITS_CACHE)).clear();
+        entityManager.clear();
+        statistics.clear();
+
+        // Act
+        List<HabitDTO> habits = habitService.findAllActive();
+
+        // Assert
+        assertThat(habits).hasSize(HABITS);
+        assertThat(habits.get(0).getDaySchedules()).hasSize(2);
+        assertThat(habits.get(0).getDaySchedules().iterator().next().getSpecificTimes()).hasSize(2);
+        // Without fetch planning this is 1 + HABITS + 2 * HABITS queries
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+        assertThat(statistics.getEntityFetchCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    private Habit habit(Long userId, String name, boolean active, DayOfWeek... days) {
+        Habit habit = new Habit();
+        habit.setName(name);
+        habit.setActive(active);
+        habit.setScheduleType(Habit.ScheduleType.SELECTED_DAYS);
+        habit.setUserId(userId);
+        for (DayOfWeek day : days) {
+            HabitDaySchedule schedule = new HabitDaySchedule();
+            schedule.setDayOfWeek(day);
+            schedule.setScheduleType(HabitDaySchedule.ScheduleType.SPECIFIC);
+            schedule.setTimePreference(HabitDaySchedule.TimePreference.SPECIFIC_TIMES);
+            schedule.setHabit(habit);
+            for (int hour : new int[] { 8, 20 }) {
+                HabitSpecificTime time = new HabitSpecificTime();
+                time.setHour(hour);
+                time.setMinute(0);
+                time.setDaySchedule(schedule);
+                schedule.getSpecificTimes().add(time);
+            }
+            habit.getDaySchedules().add(schedule);
+        }
+        return habit;
+    }
+}
@@ -0,0 +1,112 @@
+package com.dshbd.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.dshbd.domain.Habit;
+import com.dshbd.domain.HabitDaySchedule.DayOfWeek;
+import com.dshbd.domain.User;
+import com.dshbd.repository.HabitRepository;
+import com.dshbd.service.dto.HabitDTO;
+import com.dshbd.service.mapper.HabitMapper;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+@ExtendWith(MockitoExtension.class)
+class HabitServiceTest {
+
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private HabitRepository habitRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private HabitMapper habitMapper;
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager(HabitService.ACTIVE_HABITS_CACHE);
+
+    @InjectMocks
+    private HabitService habitService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setId(USER_ID);
+        when(userService.getUserWithAuthorities()).thenReturn(Optional.of(user));
+        lenient().when(habitRepository.findActiveScheduledOn(eq(USER_ID), any(DayOfWeek.class))).thenReturn(List.of(new Habit()));
+        lenient().when(habitMapper.toDto(any(Habit.class))).thenReturn(new HabitDTO());
+    }
+
+    @Test
+    void findAllActive_ServesRepeatedCallsOfTheDayFromCache() {
+        // Act
+        List<HabitDTO> first = habitService.findAllActive();
+        List<HabitDTO> second = habitService.findAllActive();
+
+        // Assert
+        assertThat(second).hasSize(1).isSameAs(first);
+        DayOfWeek today = DayOfWeek.valueOf(LocalDate.now().getDayOfWeek().name());
+        verify(habitRepository, times(1)).findActiveScheduledOn(USER_ID, today);
+    }
+
+    @Test
+    void save_EvictsTheActiveHabitsOfTheUser() {
+        // Arrange
+        HabitDTO habitDTO = new HabitDTO();
+        when(habitMapper.toEntity(habitDTO, user)).thenReturn(new Habit());
+        when(habitRepository.save(any(Habit.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        habitService.findAllActive();
+
+        // Act
+        habitService.save(habitDTO);
+        habitService.findAllActive();
+
+        // Assert
+        verify(habitRepository, times(2)).findActiveScheduledOn(eq(USER_ID), any(DayOfWeek.class));
+    }
+
+    @Test
+    void delete_EvictsTheActiveHabitsOfTheUser() {
+        // Arrange
+        habitService.findAllActive();
+
+        // Act
+        habitService.delete(5L);
+        habitService.findAllActive();
+
+        // Assert
+        verify(habitRepository).setActiveForHabit(false, 5L, USER_ID);
+        verify(habitRepository, times(2)).findActiveScheduledOn(eq(USER_ID), any(DayOfWeek.class));
+    }
+
+    @Test
+    void clearActiveHabitsOfPreviousDays_EmptiesTheCache() {
+        // Arrange
+        habitService.findAllActive();
+
+        // Act
+        habitService.clearActiveHabitsOfPreviousDays();
+        habitService.findAllActive();
+
+        // Assert
+        verify(habitRepository, times(2)).findActiveScheduledOn(eq(USER_ID), any(DayOfWeek.class));
+    }
+}
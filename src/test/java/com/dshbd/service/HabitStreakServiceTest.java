@@ -0,0 +1,258 @@
+package com.dshbd.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.dshbd.domain.Habit;
+import com.dshbd.domain.HabitDaySchedule;
+import com.dshbd.domain.HabitDaySchedule.DayOfWeek;
+import com.dshbd.domain.HabitMonthCompletion;
+import com.dshbd.domain.HabitSpecificTime;
+import com.dshbd.domain.HabitStreak;
+import com.dshbd.repository.HabitMonthCompletionRepository;
+import com.dshbd.repository.HabitRepository;
+import com.dshbd.repository.HabitStreakRepository;
+import com.dshbd.service.dto.HabitStreakDTO;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class HabitStreakServiceTest {
+
+    private static final Long HABIT_ID = 7L;
+
+    // A Wednesday
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 14);
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private HabitStreakRepository habitStreakRepository;
+
+    @Mock
+    private HabitMonthCompletionRepository habitMonthCompletionRepository;
+
+    @Mock
+    private HabitRepository habitRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private HabitStreakService habitStreakService;
+
+    private Habit habit;
+
+    private HabitStreak streak;
+
+    private HabitMonthCompletion october;
+
+    @BeforeEach
+    void setUp() {
+        habit = new Habit();
+        habit.setId(HABIT_ID);
+        habit.setUserId(1L);
+        habit.getDaySchedules().add(anytime(DayOfWeek.MONDAY, 2));
+        habit.getDaySchedules().add(specific(DayOfWeek.TUESDAY, 8));
+        habit.getDaySchedules().add(anytime(DayOfWeek.WEDNESDAY, null));
+
+        streak = new HabitStreak();
+        streak.setHabitId(HABIT_ID);
+        streak.setCurrentStreak(3);
+        streak.setLongestStreak(4);
+        streak.setEvaluatedThrough(LocalDate.of(2026, 10, 11));
+        lenient().when(habitStreakRepository.findWithLockByHabitId(HABIT_ID)).thenReturn(Optional.of(streak));
+
+        october = new HabitMonthCompletion();
+        october.setMonthStart(LocalDate.of(2026, 10, 1));
+        lenient().when(habitMonthCompletionRepository.findByHabitIdAndMonthStartBetween(any(), any(), any())).thenReturn(List.of(october));
+    }
+
+    @Test
+    void evaluate_ExtendsStreakThroughCompletedToday() {
+        // Arrange
+        complete(12, 2);
+        complete(13, 1);
+        complete(14, 1);
+
+        // Act
+        habitStreakService.evaluate(habit, TODAY);
+
+        // Assert
+        assertThat(streak.getCurrentStreak()).isEqualTo(6);
+        assertThat(streak.getLongestStreak()).isEqualTo(6);
+        assertThat(streak.getEvaluatedThrough()).isEqualTo(TODAY);
+        verify(habitStreakRepository).save(streak);
+    }
+
+    @Test
+    void evaluate_BreaksOnMissedRepetitionsAndLeavesTodayOpen() {
+        // Arrange
+        complete(12, 1);
+        complete(13, 1);
+
+        // Act
+        habitStreakService.evaluate(habit, TODAY);
+
+        // Assert
+        assertThat(streak.getCurrentStreak()).isEqualTo(1);
+        assertThat(streak.getLongestStreak()).isEqualTo(4);
+        assertThat(streak.getEvaluatedThrough()).isEqualTo(TODAY.minusDays(1));
+    }
+
+    @Test
+    void evaluate_UnscheduledDaysKeepTheStreak() {
+        // Arrange
+        streak.setEvaluatedThrough(LocalDate.of(2026, 10, 7));
+        complete(12, 2);
+        complete(13, 1);
+
+        // Act
+        habitStreakService.evaluate(habit, TODAY);
+
+        // Assert
+        assertThat(streak.getCurrentStreak()).isEqualTo(5);
+    }
+
+    @Test
+    void reevaluate_StartsOverFromTheCreationOfTheHabit() {
+        // Arrange
+        habit.setCreatedDate(LocalDate.of(2026, 10, 12).atTime(12, 0).atZone(ZoneId.systemDefault()).toInstant());
+        streak.setUserId(1L);
+        when(habitStreakRepository.findByUserId(1L)).thenReturn(List.of(streak));
+        when(habitRepository.findWithSchedulesByUserIdAndIdIn(1L, List.of(HABIT_ID))).thenReturn(List.of(habit));
+        complete(12, 2);
+        complete(13, 1);
+
+        // Act
+        habitStreakService.reevaluate(1L, TODAY);
+
+        // Assert
+        assertThat(streak.getCurrentStreak()).isEqualTo(2);
+        assertThat(streak.getLongestStreak()).isEqualTo(4);
+        assertThat(streak.getEvaluatedThrough()).isEqualTo(TODAY.minusDays(1));
+    }
+
+    @Test
+    void evaluate_CreatesMissingStreakInItsOwnTransaction() {
+        // Arrange
+        HabitStreak created = new HabitStreak();
+        created.setHabitId(HABIT_ID);
+        created.setEvaluatedThrough(TODAY.minusDays(1));
+        when(habitStreakRepository.findWithLockByHabitId(HABIT_ID)).thenReturn(Optional.empty(), Optional.of(created));
+        complete(14, 1);
+
+        // Act
+        habitStreakService.evaluate(habit, TODAY);
+
+        // Assert
+        verify(habitStreakRepository).saveAndFlush(argThat(fresh -> fresh.getHabitId().equals(HABIT_ID) && fresh.getUserId() == 1L));
+        verify(habitStreakRepository).save(created);
+        assertThat(created.getCurrentStreak()).isEqualTo(1);
+    }
+
+    @Test
+    void evaluate_UsesStreakCreatedConcurrently() {
+        // Arrange
+        when(habitStreakRepository.findWithLockByHabitId(HABIT_ID)).thenReturn(Optional.empty(), Optional.of(streak));
+        when(habitStreakRepository.saveAndFlush(any(HabitStreak.class))).thenThrow(new DataIntegrityViolationException("duplicate"));
+        complete(12, 2);
+        complete(13, 1);
+        complete(14, 1);
+
+        // Act
+        habitStreakService.evaluate(habit, TODAY);
+
+        // Assert
+        assertThat(streak.getCurrentStreak()).isEqualTo(6);
+        verify(habitStreakRepository).save(streak);
+    }
+
+    @Test
+    void evaluateFrom_KeepsThePartOfTheStreakBeforeTheYear() {
+        // Arrange
+        Habit wednesdays = new Habit();
+        wednesdays.setId(HABIT_ID);
+        wednesdays.getDaySchedules().add(anytime(DayOfWeek.WEDNESDAY, null));
+        streak.setCurrentStreak(48);
+        streak.setEvaluatedThrough(TODAY.minusDays(1));
+        for (LocalDate day = TODAY.minusDays(HabitStreakService.WINDOW_DAYS - 1); day.isBefore(TODAY); day = day.plusDays(1)) {
+            boolean wednesday = day.getDayOfWeek() == java.time.DayOfWeek.WEDNESDAY;
+            HabitStreakService.addDay(streak, wednesday, wednesday);
+        }
+        List<HabitMonthCompletion> months = new ArrayList<>();
+        for (LocalDate month = TODAY.minusYears(1).withDayOfMonth(1); !month.isAfter(TODAY); month = month.plusMonths(1)) {
+            HabitMonthCompletion completion = new HabitMonthCompletion();
+            completion.setMonthStart(month);
+            completion.setDays(Integer.MAX_VALUE);
+            months.add(completion);
+        }
+        when(habitMonthCompletionRepository.findByHabitIdAndMonthStartBetween(any(), any(), any())).thenReturn(months);
+
+        // Act
+        habitStreakService.evaluateFrom(wednesdays, TODAY.minusDays(30), TODAY);
+
+        // Assert
+        assertThat(streak.getCurrentStreak()).isEqualTo(101);
+        assertThat(streak.getLongestStreak()).isEqualTo(101);
+        assertThat(streak.getEvaluatedThrough()).isEqualTo(TODAY);
+    }
+
+    @Test
+    void toDto_ComputesRatesOverScheduledDaysOnly() {
+        // Arrange
+        HabitStreak fresh = new HabitStreak();
+        HabitStreakService.addDay(fresh, true, true);
+        HabitStreakService.addDay(fresh, false, false);
+        HabitStreakService.addDay(fresh, true, false);
+        HabitStreakService.addDay(fresh, true, true);
+
+        // Act
+        HabitStreakDTO dto = HabitStreakService.toDto(fresh);
+
+        // Assert
+        assertThat(dto.getCompletionRate7()).isEqualTo(2.0 / 3);
+        assertThat(dto.getCompletionRate365()).isEqualTo(2.0 / 3);
+        assertThat(dto.getCurrentStreak()).isEqualTo(1);
+        assertThat(dto.getLongestStreak()).isEqualTo(1);
+        assertThat(HabitStreakService.toDto(new HabitStreak()).getCompletionRate30()).isNull();
+    }
+
+    private void complete(int dayOfMonth, int times) {
+        for (int i = 0; i < times; i++) {
+            HabitRecordService.addCompletion(october, dayOfMonth);
+        }
+    }
+
+    private HabitDaySchedule anytime(DayOfWeek day, Integer repetitions) {
+        HabitDaySchedule schedule = new HabitDaySchedule();
+        schedule.setDayOfWeek(day);
+        schedule.setScheduleType(HabitDaySchedule.ScheduleType.ANYTIME);
+        schedule.setRepetitions(repetitions);
+        return schedule;
+    }
+
+    private HabitDaySchedule specific(DayOfWeek day, int hour) {
+        HabitDaySchedule schedule = new HabitDaySchedule();
+        schedule.setDayOfWeek(day);
+        schedule.setScheduleType(HabitDaySchedule.ScheduleType.SPECIFIC);
+        HabitSpecificTime time = new HabitSpecificTime();
+        time.setHour(hour);
+        time.setMinute(0);
+        schedule.getSpecificTimes().add(time);
+        return schedule;
+    }
+}
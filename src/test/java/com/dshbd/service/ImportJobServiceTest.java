@@ -0,0 +1,120 @@
+package com.dshbd.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.dshbd.config.ApplicationProperties;
+import com.dshbd.domain.User;
+import com.dshbd.service.dto.ImportJobDTO;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ImportJobServiceTest {
+
+    private static final String UPLOAD = "{\"version\":\"1\",\"exportDate\":\"2024-01-01\",\"data\":{}}";
+
+    @Mock
+    private ImportService importService;
+
+    @Mock
+    private UserService userService;
+
+    private final List<Runnable> queued = new ArrayList<>();
+
+    private ImportJobService importJobService;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setId(1L);
+        when(userService.getUserWithAuthorities()).thenReturn(Optional.of(user));
+
+        Executor executor = queued::add;
+        importJobService = new ImportJobService(importService, executor, new ApplicationProperties(), userService);
+    }
+
+    @Test
+    void submit_QueuesJobAndRunsIt() throws Exception {
+        // Act
+        ImportJobDTO job = importJobService.submit(upload());
+
+        // Assert
+        assertThat(job.getStatus()).isEqualTo(ImportJobDTO.Status.QUEUED);
+        assertThat(job.getTotalBytes()).isEqualTo(UPLOAD.length());
+        assertThat(queued).hasSize(1);
+
+        queued.get(0).run();
+
+        assertThat(job.getStatus()).isEqualTo(ImportJobDTO.Status.COMPLETED);
+        assertThat(job.getPercentComplete()).isEqualTo(100);
+        verify(importService).importDataStreaming(any(), eq(1L), eq(job.getReport()));
+        assertThat(importJobService.getJob(job.getId())).contains(job);
+    }
+
+    @Test
+    void submit_RejectsSecondJobForSameUser() throws Exception {
+        // Arrange
+        importJobService.submit(upload());
+
+        // Act & Assert
+        assertThatThrownBy(() -> importJobService.submit(upload())).isInstanceOf(ImportJobLimitExceededException.class);
+        assertThat(queued).hasSize(1);
+    }
+
+    @Test
+    void submit_AcceptsNewJobOnceThePreviousOneFinished() throws Exception {
+        // Arrange
+        importJobService.submit(upload());
+        queued.get(0).run();
+
+        // Act
+        importJobService.submit(upload());
+
+        // Assert
+        assertThat(queued).hasSize(2);
+    }
+
+    @Test
+    void submit_ReleasesSlotWhenExecutorIsFull() throws Exception {
+        // Arrange
+        Executor fullExecutor = task -> {
+            throw new RejectedExecutionException("queue full");
+        };
+        importJobService = new ImportJobService(importService, fullExecutor, new ApplicationProperties(), userService);
+
+        // Act & Assert
+        assertThatThrownBy(() -> importJobService.submit(upload())).isInstanceOf(ImportJobLimitExceededException.class);
+        assertThatThrownBy(() -> importJobService.submit(upload())).isInstanceOf(ImportJobLimitExceededException.class);
+        verifyNoInteractions(importService);
+    }
+
+    @Test
+    void getJob_NotVisibleToOtherUsers() throws Exception {
+        // Arrange
+        ImportJobDTO job = importJobService.submit(upload());
+        User otherUser = new User();
+        otherUser.setId(2L);
+        when(userService.getUserWithAuthorities()).thenReturn(Optional.of(otherUser));
+
+        // Act & Assert
+        assertThat(importJobService.getJob(job.getId())).isEmpty();
+    }
+
+    private ByteArrayInputStream upload() {
+        return new ByteArrayInputStream(UPLOAD.getBytes(StandardCharsets.UTF_8));
+    }
+}
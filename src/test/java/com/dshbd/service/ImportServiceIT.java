@@ -0,0 +1,88 @@
+package com.dshbd.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.dshbd.IntegrationTest;
+import com.dshbd.service.dto.ImportDataDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link ImportService}.
+ */
+@IntegrationTest
+@Transactional
+@WithMockUser("admin")
+class ImportServiceIT {
+
+    private static final int ROWS = 200;
+
+    private static final int JDBC_BATCH_SIZE = 25;
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void enableStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void disableStatistics() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void importData_BatchesInsertsAndSequenceCalls() {
+        // Arrange
+        List<ImportDataDTO.ImportIdeaDTO> ideas = new ArrayList<>();
+        List<ImportDataDTO.ImportNoteDTO> notes = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            ImportDataDTO.ImportIdeaDTO idea = new ImportDataDTO.ImportIdeaDTO();
+            idea.setContent("idea " + i);
+            ideas.add(idea);
+            ImportDataDTO.ImportNoteDTO note = new ImportDataDTO.ImportNoteDTO();
+            note.setTitle("note " + i);
+            note.setContent("content " + i);
+            notes.add(note);
+        }
+        ImportDataDTO.ImportDataContentDTO content = new ImportDataDTO.ImportDataContentDTO();
+        content.setIdeas(ideas);
+        content.setNotes(notes);
+        ImportDataDTO importData = new ImportDataDTO();
+        importData.setVersion("1.0");
+        importData.setExportDate("2024-01-01T00:00:00Z");
+        importData.setData(content);
+
+        // Act
+        importService.importData(importData);
+        entityManager.flush();
+
+        // Assert
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(2L * ROWS);
+        // Without pooled ids this takes one sequence call and one insert per row, 4 * ROWS statements in total
+        long insertBatches = 2L * ROWS / JDBC_BATCH_SIZE;
+        long sequenceCalls = 2L * ROWS / 50 + 2;
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(insertBatches + sequenceCalls + 5);
+    }
+}
@@ -0,0 +1,370 @@
+package com.dshbd.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.dshbd.config.ApplicationProperties;
+import com.dshbd.domain.Board;
+import com.dshbd.domain.DiaryEntry;
+import com.dshbd.domain.DiaryTag;
+import com.dshbd.domain.Task;
+import com.dshbd.repository.BoardRepository;
+import com.dshbd.repository.DiaryEntryRepository;
+import com.dshbd.repository.DiaryTagRepository;
+import com.dshbd.repository.HabitDayScheduleRepository;
+import com.dshbd.repository.HabitRepository;
+import com.dshbd.repository.HabitSpecificTimeRepository;
+import com.dshbd.repository.IdeaRepository;
+import com.dshbd.repository.NoteSummaryRepository;
+import com.dshbd.repository.TaskRepository;
+import com.dshbd.service.dto.ImportReportDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class ImportServiceTest {
+
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private IdeaRepository ideaRepository;
+
+    @Mock
+    private NoteSummaryRepository noteRepository;
+
+    @Mock
+    private BoardRepository boardRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private HabitRepository habitRepository;
+
+    @Mock
+    private HabitDayScheduleRepository habitDayScheduleRepository;
+
+    @Mock
+    private HabitSpecificTimeRepository habitSpecificTimeRepository;
+
+    @Mock
+    private DiaryEntryRepository diaryEntryRepository;
+
+    @Mock
+    private DiaryTagRepository diaryTagRepository;
+
+    @Mock
+    private DiaryTagService diaryTagService;
+
+    @Mock
+    private DiaryStatsService diaryStatsService;
+
+    @Mock
+    private HabitService habitService;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicLong ids = new AtomicLong(100);
+
+    /** Rows written by the running chunk, moved to {@link #committed} on commit and dropped on rollback. */
+    private final List<Object> pending = new ArrayList<>();
+
+    private final List<Object> committed = new ArrayList<>();
+
+    /** Rows written by each committed chunk. */
+    private final List<Integer> committedChunks = new ArrayList<>();
+
+    private ImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        lenient()
+            .doAnswer(invocation -> {
+                committedChunks.add(pending.size());
+                committed.addAll(pending);
+                pending.clear();
+                return null;
+            })
+            .when(transactionManager)
+            .commit(any());
+        lenient()
+            .doAnswer(invocation -> {
+                pending.clear();
+                return null;
+            })
+            .when(transactionManager)
+            .rollback(any());
+    }
+
+    @Test
+    void importDataStreaming_KeepsChunksCommittedBeforeAFailedOne() throws Exception {
+        // Arrange
+        createImportService(2);
+        stubDiary();
+        String json = document(
+            "\"diaryEntries\":[" +
+            entry("one", "work") +
+            "," +
+            entry("two", null) +
+            "," +
+            entry("three", "gym") +
+            "," +
+            entry("boom", null) +
+            "," +
+            entry("five", "gym") +
+            "]"
+        );
+
+        // Act
+        ImportReportDTO report = importService.importDataStreaming(stream(json), USER_ID);
+
+        // Assert
+        assertThat(committedEntries()).extracting(DiaryEntry::getContent).containsExactly("one", "two", "five");
+        assertThat(report.getEntities().get("diaryEntries").getImported()).isEqualTo(3);
+        assertThat(report.getEntities().get("diaryEntries").getFailed()).isEqualTo(2);
+        assertThat(report.getEntities().get("diaryTags").getImported()).isEqualTo(2);
+        assertThat(report.getErrors()).hasSize(1);
+        verify(transactionManager, times(2)).commit(any());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void importDataStreaming_CreatesTagAgainWhenTheChunkCreatingItFailed() throws Exception {
+        // Arrange
+        createImportService(2);
+        stubDiary();
+        String json = document("\"diaryEntries\":[" + entry("three", "gym") + "," + entry("boom", null) + "," + entry("five", "gym") + "]");
+
+        // Act
+        importService.importDataStreaming(stream(json), USER_ID);
+
+        // Assert
+        List<DiaryTag> gymTags = committed
+            .stream()
+            .filter(DiaryTag.class::isInstance)
+            .map(DiaryTag.class::cast)
+            .collect(Collectors.toList());
+        assertThat(gymTags).hasSize(1);
+        verify(diaryTagService, times(2)).saveNewTag(any());
+        DiaryEntry five = committedEntries().get(0);
+        assertThat(five.getContent()).isEqualTo("five");
+        assertThat(five.getTags()).extracting(DiaryTag::getId).containsExactly(gymTags.get(0).getId());
+    }
+
+    @Test
+    void importDataStreaming_SpreadsTasksOfALargeBoardOverChunks() throws Exception {
+        // Arrange
+        createImportService(3);
+        stubBoards();
+        String json = document(
+            "\"boards\":[{\"title\":\"A\",\"tasks\":[" +
+            task("a1") +
+            "," +
+            task("a2") +
+            "," +
+            task("a3") +
+            "," +
+            task("a4") +
+            "," +
+            task("a5") +
+            "],\"description\":\"late\"}]"
+        );
+
+        // Act
+        ImportReportDTO report = importService.importDataStreaming(stream(json), USER_ID);
+
+        // Assert
+        assertThat(committedChunks).containsExactly(3, 3, 0);
+        Board board = committedBoards().get(0);
+        assertThat(board.getTitle()).isEqualTo("A");
+        assertThat(board.getDescription()).isEqualTo("late");
+        assertThat(committedTasks()).extracting(Task::getTitle).containsExactly("a1", "a2", "a3", "a4", "a5");
+        assertThat(committedTasks()).allSatisfy(task -> assertThat(task.getBoardId()).isEqualTo(board.getId()));
+        assertThat(report.getEntities().get("boards").getImported()).isEqualTo(1);
+        assertThat(report.getEntities().get("tasks").getImported()).isEqualTo(5);
+    }
+
+    @Test
+    void importDataStreaming_CountsRemainingTasksOfAFailedBoardAsFailed() throws Exception {
+        // Arrange
+        createImportService(3);
+        stubBoards();
+        String json = document(
+            "\"boards\":[" +
+            "{\"title\":\"A\",\"tasks\":[" +
+            task("a1") +
+            "," +
+            task("a2") +
+            "]}," +
+            "{\"title\":\"B\",\"tasks\":[" +
+            task("b1") +
+            "," +
+            task("boom") +
+            "," +
+            task("b3") +
+            "," +
+            task("b4") +
+            "]}," +
+            "{\"title\":\"C\",\"tasks\":[" +
+            task("c1") +
+            "]}]"
+        );
+
+        // Act
+        ImportReportDTO report = importService.importDataStreaming(stream(json), USER_ID);
+
+        // Assert
+        assertThat(committedBoards()).extracting(Board::getTitle).containsExactly("A", "C");
+        assertThat(committedTasks()).extracting(Task::getTitle).containsExactly("a1", "a2", "c1");
+        assertThat(committedTasks()).allSatisfy(task -> assertThat(task.getBoardId()).isNotNull());
+        verify(taskRepository, never()).save(argThat(task -> task.getTitle().equals("b3")));
+        assertThat(report.getEntities().get("boards").getImported()).isEqualTo(2);
+        assertThat(report.getEntities().get("boards").getFailed()).isEqualTo(1);
+        assertThat(report.getEntities().get("tasks").getImported()).isEqualTo(3);
+        assertThat(report.getEntities().get("tasks").getFailed()).isEqualTo(4);
+    }
+
+    private void createImportService(int chunkSize) {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getDataImport().setChunkSize(chunkSize);
+        importService = new ImportService(
+            ideaRepository,
+            noteRepository,
+            boardRepository,
+            taskRepository,
+            habitRepository,
+            habitDayScheduleRepository,
+            habitSpecificTimeRepository,
+            diaryEntryRepository,
+            diaryTagRepository,
+            diaryTagService,
+            diaryStatsService,
+            habitService,
+            userService,
+            new ObjectMapper().registerModule(new JavaTimeModule()),
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            entityManager,
+            transactionManager,
+            applicationProperties
+        );
+    }
+
+    private void stubDiary() {
+        when(diaryEntryRepository.save(any(DiaryEntry.class))).thenAnswer(invocation -> {
+            DiaryEntry entry = invocation.getArgument(0);
+            if (entry.getContent().equals("boom")) {
+                throw new DataIntegrityViolationException("boom");
+            }
+            entry.setId(ids.incrementAndGet());
+            pending.add(entry);
+            return entry;
+        });
+        lenient()
+            .when(diaryTagRepository.findByUserIdAndName(eq(USER_ID), any()))
+            .thenAnswer(invocation -> committedTag(invocation.getArgument(1)));
+        lenient()
+            .when(diaryTagService.saveNewTag(any()))
+            .thenAnswer(invocation -> {
+                DiaryTag tag = invocation.getArgument(0);
+                tag.setId(ids.incrementAndGet());
+                tag.setSlot(0);
+                pending.add(tag);
+                return tag;
+            });
+        lenient()
+            .when(diaryTagRepository.getReferenceById(anyLong()))
+            .thenAnswer(invocation -> {
+                DiaryTag reference = new DiaryTag();
+                reference.setId(invocation.getArgument(0));
+                return reference;
+            });
+    }
+
+    private void stubBoards() {
+        when(boardRepository.save(any(Board.class))).thenAnswer(invocation -> {
+            Board board = invocation.getArgument(0);
+            board.setId(ids.incrementAndGet());
+            pending.add(board);
+            return board;
+        });
+        lenient()
+            .when(boardRepository.findById(anyLong()))
+            .thenAnswer(invocation -> {
+                Long id = invocation.getArgument(0);
+                return committedBoards().stream().filter(board -> board.getId().equals(id)).findFirst();
+            });
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> {
+            Task task = invocation.getArgument(0);
+            if (task.getTitle().equals("boom")) {
+                throw new DataIntegrityViolationException("boom");
+            }
+            task.setId(ids.incrementAndGet());
+            pending.add(task);
+            return task;
+        });
+    }
+
+    private Optional<DiaryTag> committedTag(String name) {
+        return committed
+            .stream()
+            .filter(DiaryTag.class::isInstance)
+            .map(DiaryTag.class::cast)
+            .filter(tag -> tag.getName().equals(name))
+            .findFirst();
+    }
+
+    private List<DiaryEntry> committedEntries() {
+        return committed.stream().filter(DiaryEntry.class::isInstance).map(DiaryEntry.class::cast).collect(Collectors.toList());
+    }
+
+    private List<Board> committedBoards() {
+        return committed.stream().filter(Board.class::isInstance).map(Board.class::cast).collect(Collectors.toList());
+    }
+
+    private List<Task> committedTasks() {
+        return committed.stream().filter(Task.class::isInstance).map(Task.class::cast).collect(Collectors.toList());
+    }
+
+    private static String document(String data) {
+        return "{\"version\":\"1\",\"exportDate\":\"2024-01-01\",\"data\":{" + data + "}}";
+    }
+
+    private static String entry(String content, String tag) {
+        String tags = tag != null ? ",\"tags\":[{\"name\":\"" + tag + "\"}]" : "";
+        return "{\"content\":\"" + content + "\",\"emoticon\":\"HAPPY\"" + tags + "}";
+    }
+
+    private static String task(String title) {
+        return "{\"title\":\"" + title + "\",\"status\":\"TODO\"}";
+    }
+
+    private static ByteArrayInputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,120 @@
+package com.dshbd.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.dshbd.domain.Note;
+import com.dshbd.domain.NoteRevision;
+import com.dshbd.repository.NoteRevisionRepository;
+import com.dshbd.service.dto.NoteRevisionDTO;
+import com.dshbd.service.dto.TextEditDTO;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class NoteRevisionServiceTest {
+
+    private static final Long NOTE_ID = 5L;
+
+    @Mock
+    private NoteRevisionRepository noteRevisionRepository;
+
+    @InjectMocks
+    private NoteRevisionService noteRevisionService;
+
+    private final List<NoteRevision> stored = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        lenient()
+            .when(noteRevisionRepository.save(any(NoteRevision.class)))
+            .thenAnswer(invocation -> {
+                stored.add(invocation.getArgument(0));
+                return invocation.getArgument(0);
+            });
+        lenient()
+            .when(noteRevisionRepository.findLatestRevision(NOTE_ID))
+            .thenAnswer(invocation -> stored.stream().map(NoteRevision::getRevision).max(Comparator.naturalOrder()));
+        lenient()
+            .when(noteRevisionRepository.findFirstByNoteIdAndSnapshotTrueAndRevisionLessThanEqualOrderByRevisionDesc(eq(NOTE_ID), anyInt()))
+            .thenAnswer(invocation -> {
+                int revision = invocation.getArgument(1);
+                return stored
+                    .stream()
+                    .filter(r -> r.getSnapshot() && r.getRevision() <= revision)
+                    .max(Comparator.comparing(NoteRevision::getRevision));
+            });
+        lenient()
+            .when(noteRevisionRepository.findByNoteIdAndRevisionBetweenOrderByRevisionAsc(eq(NOTE_ID), anyInt(), anyInt()))
+            .thenAnswer(invocation -> {
+                int from = invocation.getArgument(1);
+                int to = invocation.getArgument(2);
+                return stored.stream().filter(r -> r.getRevision() >= from && r.getRevision() <= to).toList();
+            });
+    }
+
+    @Test
+    void findOne_RebuildsEveryRevisionFromSnapshotsAndDeltas() {
+        // Arrange
+        Note note = new Note();
+        note.setId(NOTE_ID);
+        String content = "";
+        List<String> contents = new ArrayList<>();
+        for (int i = 0; i < NoteRevisionService.SNAPSHOT_INTERVAL + 5; i++) {
+            String next = i == 3 ? content + "x".repeat(2000) : content.substring(0, content.length() / 2) + "line " + i + "\n";
+            note.setContent(next);
+            noteRevisionService.recordRevision(note, NoteRevisionCodec.diff(content, next));
+            contents.add(next);
+            content = next;
+        }
+
+        // Act & Assert
+        for (int revision = 1; revision <= contents.size(); revision++) {
+            Optional<NoteRevisionDTO> result = noteRevisionService.findOne(NOTE_ID, revision);
+            assertThat(result).map(NoteRevisionDTO::getContent).contains(contents.get(revision - 1));
+        }
+        assertThat(stored).filteredOn(NoteRevision::getSnapshot).extracting(NoteRevision::getRevision).contains(1, 21);
+        assertThat(stored.get(3).getCompressed()).isTrue();
+        assertThat(stored.get(3).getData().length).isLessThan(2000);
+        assertThat(noteRevisionService.findOne(NOTE_ID, contents.size() + 1)).isEmpty();
+    }
+
+    @Test
+    void diff_DoesNotSplitSurrogatePairs() {
+        // Arrange
+        String before = "mood: 😀";
+        String after = "mood: 😁";
+
+        // Act
+        List<TextEditDTO> edits = NoteRevisionCodec.diff(before, after);
+
+        // Assert
+        assertThat(edits).singleElement().satisfies(edit -> {
+            assertThat(edit.getStart()).isEqualTo(6);
+            assertThat(edit.getEnd()).isEqualTo(8);
+            assertThat(edit.getText()).isEqualTo("😁");
+        });
+        assertThat(NoteRevisionCodec.apply(before, edits)).isEqualTo(after);
+    }
+
+    @Test
+    void apply_RejectsOverlappingEdits() {
+        // Arrange
+        List<TextEditDTO> edits = List.of(new TextEditDTO(2, 5, "a"), new TextEditDTO(4, 6, "b"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> NoteRevisionCodec.apply("abcdefgh", edits)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,156 @@
+package com.dshbd.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+import com.dshbd.domain.Note;
+import com.dshbd.domain.User;
+import com.dshbd.domain.vm.NoteSummary;
+import com.dshbd.repository.NoteRepository;
+import com.dshbd.repository.NoteSummaryRepository;
+import com.dshbd.repository.UserRepository;
+import com.dshbd.service.dto.NoteContentPatchDTO;
+import com.dshbd.service.dto.TextEditDTO;
+import com.dshbd.service.mapper.NoteMapper;
+import com.dshbd.service.vm.CursorPageVM;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+
+@ExtendWith(MockitoExtension.class)
+class NoteServiceTest {
+
+    private static final Long USER_ID = 1L;
+
+    private static final Instant MODIFIED = Instant.parse("2026-10-01T08:00:00Z");
+
+    @Mock
+    private NoteRepository noteRepository;
+
+    @Mock
+    private NoteSummaryRepository noteSummaryRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private NoteMapper noteMapper;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private NoteRevisionService noteRevisionService;
+
+    @InjectMocks
+    private NoteService noteService;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setId(USER_ID);
+        lenient().when(userService.getUserWithAuthorities()).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void findSummaryPageByCurrentUser_ReturnsCursorToResumeAfterLastRow() {
+        // Arrange
+        when(noteSummaryRepository.findPageByUserId(USER_ID, Limit.of(3))).thenReturn(
+            List.of(summary(9L, MODIFIED), summary(7L, MODIFIED), summary(8L, MODIFIED.minusSeconds(60)))
+        );
+        when(noteSummaryRepository.findPageByUserIdAfter(USER_ID, MODIFIED, 7L, Limit.of(3))).thenReturn(
+            List.of(summary(8L, MODIFIED.minusSeconds(60)))
+        );
+
+        // Act
+        CursorPageVM<NoteSummary> first = noteService.findSummaryPageByCurrentUser(null, 2);
+        CursorPageVM<NoteSummary> second = noteService.findSummaryPageByCurrentUser(first.getNextCursor(), 2);
+
+        // Assert
+        assertThat(first.getContent()).extracting(NoteSummary::getId).containsExactly(9L, 7L);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.getContent()).extracting(NoteSummary::getId).containsExactly(8L);
+        assertThat(second.hasNext()).isFalse();
+        verifyNoInteractions(noteRepository);
+    }
+
+    @Test
+    void findPageByCurrentUser_ClampsPageSize() {
+        // Arrange
+        when(noteRepository.findPageByUserId(USER_ID, Limit.of(CursorPageVM.MAX_SIZE + 1))).thenReturn(List.of());
+
+        // Act
+        CursorPageVM<?> page = noteService.findPageByCurrentUser(null, 10_000);
+
+        // Assert
+        assertThat(page.getContent()).isEmpty();
+        assertThat(page.hasNext()).isFalse();
+    }
+
+    @Test
+    void findPageByCurrentUser_RejectsMalformedCursor() {
+        // Act & Assert
+        assertThatThrownBy(() -> noteService.findPageByCurrentUser("not a cursor", 10)).isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(noteRepository);
+    }
+
+    @Test
+    void patchContent_AppliesEditsAndRecordsThem() {
+        // Arrange
+        Note note = note("Hello world", 3L);
+        when(noteRepository.findById(note.getId())).thenReturn(Optional.of(note));
+        when(noteRepository.saveAndFlush(note)).thenReturn(note);
+        List<TextEditDTO> edits = List.of(new TextEditDTO(6, 11, "there"));
+
+        // Act
+        noteService.patchContent(note.getId(), patch(3L, edits));
+
+        // Assert
+        assertThat(note.getContent()).isEqualTo("Hello there");
+        verify(noteRevisionService).recordRevision(note, edits);
+    }
+
+    @Test
+    void patchContent_RefusedWhenNoteHasChanged() {
+        // Arrange
+        Note note = note("Hello world", 4L);
+        when(noteRepository.findById(note.getId())).thenReturn(Optional.of(note));
+
+        // Act & Assert
+        assertThatThrownBy(() -> noteService.patchContent(note.getId(), patch(3L, List.of(new TextEditDTO(0, 5, "Bye")))))
+            .isInstanceOf(OptimisticLockingFailureException.class)
+            .hasMessage("Note has been modified");
+        assertThat(note.getContent()).isEqualTo("Hello world");
+        verifyNoInteractions(noteRevisionService);
+    }
+
+    private Note note(String content, Long version) {
+        Note note = new Note();
+        note.setId(2L);
+        note.setTitle("Note");
+        note.setContent(content);
+        note.setUserId(USER_ID);
+        note.setVersion(version);
+        return note;
+    }
+
+    private NoteContentPatchDTO patch(Long version, List<TextEditDTO> edits) {
+        NoteContentPatchDTO patch = new NoteContentPatchDTO();
+        patch.setVersion(version);
+        patch.setEdits(edits);
+        return patch;
+    }
+
+    private NoteSummary summary(Long id, Instant lastModifiedDate) {
+        return new NoteSummary(id, "Note " + id, lastModifiedDate);
+    }
+}
@@ -0,0 +1,58 @@
+package com.dshbd.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.dshbd.service.dto.SearchHitDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SearchIndexTest {
+
+    private SearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SearchIndex();
+        index.put(SearchHitDTO.Type.NOTE, 1L, "Groceries", null, "Groceries", "milk, eggs and bread");
+        index.put(SearchHitDTO.Type.IDEA, 2L, "Bake bread on Sunday", null, "Bake bread on Sunday, bread with seeds");
+        index.put(SearchHitDTO.Type.TASK, 3L, "Über-Release vorbereiten", 7L, "Über-Release vorbereiten", null);
+    }
+
+    @Test
+    void tokenize_LowercasesAndStripsDiacritics() {
+        assertThat(SearchIndex.tokenize("Über-Release, a  B2B déjà")).containsExactly("uber", "release", "b2b", "deja");
+    }
+
+    @Test
+    void search_RanksMoreFrequentTermsFirst() {
+        // Act & Assert
+        assertThat(index.search("bread ")).extracting(SearchHitDTO::getId).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void search_RequiresAllTermsAndMatchesLastAsPrefix() {
+        // Act & Assert
+        assertThat(index.search("bread mil")).extracting(SearchHitDTO::getId).containsExactly(1L);
+        assertThat(index.search("bread mil ")).isEmpty();
+        assertThat(index.search("uber rel")).singleElement().satisfies(hit -> assertThat(hit.getBoardId()).isEqualTo(7L));
+    }
+
+    @Test
+    void put_ReplacesEarlierVersionAndRemoveDropsPostings() {
+        // Arrange
+        int postings = index.getPostingCount();
+
+        // Act
+        index.put(SearchHitDTO.Type.NOTE, 1L, "Groceries", null, "Groceries", "cheese");
+
+        // Assert
+        assertThat(index.search("milk ")).isEmpty();
+        assertThat(index.search("cheese")).extracting(SearchHitDTO::getId).containsExactly(1L);
+
+        index.remove(SearchHitDTO.Type.NOTE, 1L);
+        index.remove(SearchHitDTO.Type.IDEA, 2L);
+        index.remove(SearchHitDTO.Type.TASK, 3L);
+        assertThat(index.getPostingCount()).isZero();
+        assertThat(postings).isGreaterThan(0);
+    }
+}
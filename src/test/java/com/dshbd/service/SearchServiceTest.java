@@ -0,0 +1,254 @@
+package com.dshbd.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.dshbd.config.ApplicationProperties;
+import com.dshbd.domain.Board;
+import com.dshbd.domain.Note;
+import com.dshbd.domain.Task;
+import com.dshbd.domain.User;
+import com.dshbd.repository.BoardRepository;
+import com.dshbd.repository.DiaryEntryRepository;
+import com.dshbd.repository.IdeaRepository;
+import com.dshbd.repository.NoteRepository;
+import com.dshbd.repository.TaskRepository;
+import com.dshbd.service.dto.SearchHitDTO;
+import jakarta.persistence.EntityManager;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+@ExtendWith(MockitoExtension.class)
+class SearchServiceTest {
+
+    @Mock
+    private NoteRepository noteRepository;
+
+    @Mock
+    private IdeaRepository ideaRepository;
+
+    @Mock
+    private DiaryEntryRepository diaryEntryRepository;
+
+    @Mock
+    private BoardRepository boardRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private final ApplicationProperties applicationProperties = new ApplicationProperties();
+
+    private SearchService searchService;
+
+    private final User user = new User();
+
+    @BeforeEach
+    void setUp() {
+        searchService = new SearchService(
+            noteRepository,
+            ideaRepository,
+            diaryEntryRepository,
+            boardRepository,
+            taskRepository,
+            userService,
+            entityManager,
+            applicationProperties
+        );
+        when(userService.getUserWithAuthorities()).thenAnswer(invocation -> Optional.of(user));
+        lenient().when(noteRepository.streamByUserIdOrderById(any())).thenAnswer(invocation -> Stream.empty());
+        lenient().when(ideaRepository.streamByOwnerIdOrderById(any())).thenAnswer(invocation -> Stream.empty());
+        lenient().when(diaryEntryRepository.streamByUserIdOrderById(any())).thenAnswer(invocation -> Stream.empty());
+        lenient().when(boardRepository.streamByOwnerIdOrderById(any())).thenAnswer(invocation -> Stream.empty());
+        lenient().when(taskRepository.streamByUnarchivedBoardOwnerId(any())).thenAnswer(invocation -> Stream.empty());
+    }
+
+    @Test
+    void search_BuildsIndexOnceAndAppliesCommittedChanges() {
+        // Arrange
+        user.setId(1L);
+        when(noteRepository.streamByUserIdOrderById(1L)).thenReturn(Stream.of(note(1L, 1L, "Trip to Lisbon")));
+        when(boardRepository.streamByOwnerIdOrderById(1L)).thenReturn(Stream.of(board(5L, 1L)));
+
+        // Act
+        Page<SearchHitDTO> first = searchService.search("lisbon", PageRequest.of(0, 10));
+        searchService.onSaved(task(9L, 5L, "Book Lisbon hotel"));
+        searchService.onDeleted(note(1L, 1L, "Trip to Lisbon"));
+        Page<SearchHitDTO> second = searchService.search("lisbon", PageRequest.of(0, 10));
+
+        // Assert
+        assertThat(first.getContent()).extracting(SearchHitDTO::getType).containsExactly(SearchHitDTO.Type.NOTE);
+        assertThat(second.getContent()).extracting(SearchHitDTO::getType).containsExactly(SearchHitDTO.Type.TASK);
+        verify(noteRepository, times(1)).streamByUserIdOrderById(1L);
+    }
+
+    @Test
+    void search_EvictsLeastRecentlyActiveUserOverPostingLimit() {
+        // Arrange
+        applicationProperties.getSearch().setMaxPostings(4);
+        searchService = new SearchService(
+            noteRepository,
+            ideaRepository,
+            diaryEntryRepository,
+            boardRepository,
+            taskRepository,
+            userService,
+            entityManager,
+            applicationProperties
+        );
+        when(noteRepository.streamByUserIdOrderById(1L)).thenAnswer(invocation -> Stream.of(note(1L, 1L, "alpha beta gamma")));
+        when(noteRepository.streamByUserIdOrderById(2L)).thenAnswer(invocation -> Stream.of(note(2L, 2L, "delta epsilon")));
+
+        // Act
+        user.setId(1L);
+        searchService.search("alpha", PageRequest.of(0, 10));
+        user.setId(2L);
+        searchService.search("delta", PageRequest.of(0, 10));
+
+        // Assert
+        assertThat(searchService.getIndexedUserCount()).isEqualTo(1);
+        user.setId(1L);
+        assertThat(searchService.search("alpha", PageRequest.of(0, 10)).getTotalElements()).isEqualTo(1);
+        verify(noteRepository, times(2)).streamByUserIdOrderById(1L);
+    }
+
+    @Test
+    void search_StopsRebuildingIndexThatKeepsChanging() {
+        // Arrange
+        user.setId(1L);
+        when(noteRepository.streamByUserIdOrderById(1L)).thenAnswer(invocation -> {
+            searchService.onSaved(note(2L, 1L, "Written while loading"));
+            return Stream.of(note(1L, 1L, "Trip to Lisbon"));
+        });
+
+        // Act
+        Page<SearchHitDTO> first = searchService.search("lisbon", PageRequest.of(0, 10));
+        searchService.search("lisbon", PageRequest.of(0, 10));
+
+        // Assert
+        assertThat(first.getContent()).extracting(SearchHitDTO::getId).containsExactly(1L);
+        verify(noteRepository, times(2 * SearchService.MAX_BUILD_ATTEMPTS)).streamByUserIdOrderById(1L);
+    }
+
+    @Test
+    void search_RebuildsOnlyForTaskChangesOnOwnBoards() {
+        // Arrange
+        user.setId(1L);
+        when(boardRepository.streamByOwnerIdOrderById(1L)).thenAnswer(invocation -> {
+            searchService.onSaved(task(8L, 6L, "Task on a board of another user"));
+            return Stream.of(board(5L, 1L));
+        });
+
+        // Act
+        searchService.search("lisbon", PageRequest.of(0, 10));
+
+        // Assert
+        verify(noteRepository, times(1)).streamByUserIdOrderById(1L);
+    }
+
+    @Test
+    void search_AppliesCommitsFromOtherThreadsWithoutWaitingForTheBuild() throws Exception {
+        // Arrange
+        user.setId(1L);
+        Thread[] committer = new Thread[1];
+        when(noteRepository.streamByUserIdOrderById(1L)).thenAnswer(invocation -> {
+            if (committer[0] == null) {
+                committer[0] = new Thread(() -> searchService.onSaved(note(2L, 1L, "Written while loading")));
+                committer[0].start();
+                committer[0].join(5000);
+            }
+            return Stream.of(note(1L, 1L, "Trip to Lisbon"));
+        });
+
+        // Act
+        Page<SearchHitDTO> hits = searchService.search("lisbon", PageRequest.of(0, 10));
+
+        // Assert
+        assertThat(committer[0].isAlive()).isFalse();
+        assertThat(hits.getContent()).extracting(SearchHitDTO::getId).containsExactly(1L);
+        verify(noteRepository, times(2)).streamByUserIdOrderById(1L);
+    }
+
+    @Test
+    void search_LeavesOutTasksOfArchivedBoards() {
+        // Arrange
+        user.setId(1L);
+        Board archived = board(6L, 1L);
+        archived.setArchived(true);
+        when(boardRepository.streamByOwnerIdOrderById(1L)).thenReturn(Stream.of(board(5L, 1L), archived));
+        searchService.search("lisbon", PageRequest.of(0, 10));
+
+        // Act
+        searchService.onSaved(task(8L, 6L, "Lisbon task on an archived board"));
+        Page<SearchHitDTO> hits = searchService.search("lisbon", PageRequest.of(0, 10));
+
+        // Assert
+        assertThat(hits.getContent()).isEmpty();
+        verify(taskRepository).streamByUnarchivedBoardOwnerId(1L);
+    }
+
+    @Test
+    void onSaved_DropsIndexWhenABoardIsArchived() {
+        // Arrange
+        user.setId(1L);
+        when(boardRepository.streamByOwnerIdOrderById(1L)).thenReturn(Stream.of(board(5L, 1L)));
+        searchService.search("lisbon", PageRequest.of(0, 10));
+        Board archived = board(5L, 1L);
+        archived.setArchived(true);
+
+        // Act
+        searchService.onSaved(archived);
+
+        // Assert
+        assertThat(searchService.getIndexedUserCount()).isZero();
+    }
+
+    @Test
+    void onDiaryPurged_DropsIndexOfTheUser() {
+        // Arrange
+        user.setId(1L);
+        searchService.search("lisbon", PageRequest.of(0, 10));
+
+        // Act
+        searchService.onDiaryPurged(new DiaryPurgedEvent(1L));
+
+        // Assert
+        assertThat(searchService.getIndexedUserCount()).isZero();
+    }
+
+    private Note note(Long id, Long userId, String title) {
+        Note note = new Note();
+        note.setId(id);
+        note.setUserId(userId);
+        note.setTitle(title);
+        return note;
+    }
+
+    private Board board(Long id, Long ownerId) {
+        Board board = new Board();
+        board.setId(id);
+        board.setOwnerId(ownerId);
+        return board;
+    }
+
+    private Task task(Long id, Long boardId, String title) {
+        Task task = new Task();
+        task.setId(id);
+        task.setBoardId(boardId);
+        task.setTitle(title);
+        return task;
+    }
+}
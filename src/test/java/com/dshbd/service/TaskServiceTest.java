@@ -0,0 +1,231 @@
+package com.dshbd.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.dshbd.domain.Board;
+import com.dshbd.domain.Task;
+import com.dshbd.domain.User;
+import com.dshbd.repository.BoardRepository;
+import com.dshbd.repository.TaskRepository;
+import com.dshbd.service.dto.BoardEventDTO;
+import com.dshbd.service.dto.MoveTaskDTO;
+import com.dshbd.service.dto.TaskPatchDTO;
+import com.dshbd.service.dto.TaskPatchResultDTO;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+@ExtendWith(MockitoExtension.class)
+class TaskServiceTest {
+
+    private static final Long BOARD_ID = 10L;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private BoardRepository boardRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private BoardMetricsService boardMetricsService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private TaskService taskService;
+
+    private Task moved;
+
+    private Board board;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setId(1L);
+        when(userService.getUserWithAuthorities()).thenReturn(Optional.of(user));
+
+        moved = task(1L, Task.STATUS_TO_DO, 1024);
+        lenient().when(taskRepository.findByIdAndBoardOwnerId(moved.getId(), user.getId())).thenReturn(Optional.of(moved));
+        lenient().when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        board = new Board();
+        board.setId(BOARD_ID);
+        lenient().when(boardRepository.findWithLockByIdAndOwnerId(BOARD_ID, user.getId())).thenReturn(Optional.of(board));
+    }
+
+    @Test
+    void moveTask_PlacesTaskBetweenNeighboursWithoutTouchingThem() {
+        // Arrange
+        Task after = task(2L, Task.STATUS_IN_PROGRESS, 1024);
+        Task before = task(3L, Task.STATUS_IN_PROGRESS, 2048);
+        when(taskRepository.findById(after.getId())).thenReturn(Optional.of(after));
+        when(
+            taskRepository.findFirstByBoardIdAndStatusAndPositionGreaterThanOrderByPositionAscIdAsc(BOARD_ID, Task.STATUS_IN_PROGRESS, 1024)
+        ).thenReturn(Optional.of(before));
+
+        // Act
+        Task result = taskService.moveTask(BOARD_ID, moved.getId(), move(Task.STATUS_IN_PROGRESS, after.getId()));
+
+        // Assert
+        assertThat(result.getStatus()).isEqualTo(Task.STATUS_IN_PROGRESS);
+        assertThat(result.getPosition()).isEqualTo(1536);
+        verify(taskRepository).save(moved);
+        verify(taskRepository, never()).saveAll(any());
+        verify(eventPublisher).publishEvent(argThat((BoardEventDTO event) -> event.getType() == BoardEventDTO.Type.TASK_MOVED));
+    }
+
+    @Test
+    void moveTask_ToTopOfEmptyColumn() {
+        // Arrange
+        when(taskRepository.findFirstByBoardIdAndStatusAndPositionNotNullOrderByPositionAscIdAsc(BOARD_ID, Task.STATUS_DONE)).thenReturn(
+            Optional.empty()
+        );
+
+        // Act
+        Task result = taskService.moveTask(BOARD_ID, moved.getId(), move(Task.STATUS_DONE, null));
+
+        // Assert
+        assertThat(result.getPosition()).isEqualTo(TaskService.POSITION_GAP);
+    }
+
+    @Test
+    void moveTask_RenumbersColumnWhenNoGapIsLeft() {
+        // Arrange
+        Task first = task(2L, Task.STATUS_TO_DO, 0);
+        Task second = task(3L, Task.STATUS_TO_DO, 1);
+        when(taskRepository.findById(first.getId())).thenReturn(Optional.of(first));
+        when(taskRepository.findFirstByBoardIdAndStatusAndPositionGreaterThanOrderByPositionAscIdAsc(BOARD_ID, Task.STATUS_TO_DO, 0)).thenReturn(
+            Optional.of(second)
+        );
+        when(taskRepository.findByBoardIdAndStatusOrderByPositionAscIdAsc(BOARD_ID, Task.STATUS_TO_DO)).thenReturn(
+            List.of(first, second, moved)
+        );
+
+        // Act
+        taskService.moveTask(BOARD_ID, moved.getId(), move(Task.STATUS_TO_DO, first.getId()));
+
+        // Assert
+        assertThat(first.getPosition()).isEqualTo(1024);
+        assertThat(moved.getPosition()).isEqualTo(2048);
+        assertThat(second.getPosition()).isEqualTo(3072);
+    }
+
+    @Test
+    void moveTask_CompletedTaskCannotLeaveDone() {
+        // Arrange
+        moved.setStatus(Task.STATUS_DONE);
+
+        // Act & Assert
+        assertThatThrownBy(() -> taskService.moveTask(BOARD_ID, moved.getId(), move(Task.STATUS_TO_DO, null)))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Task has already been completed");
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    void moveTask_RefusedWhenTargetColumnIsFull() {
+        // Arrange
+        board.setProgressLimit(2);
+        when(taskRepository.countByBoardIdAndStatus(BOARD_ID, Task.STATUS_IN_PROGRESS)).thenReturn(2L);
+
+        // Act & Assert
+        assertThatThrownBy(() -> taskService.moveTask(BOARD_ID, moved.getId(), move(Task.STATUS_IN_PROGRESS, null)))
+            .isInstanceOf(WipLimitExceededException.class)
+            .hasMessage("Board limit of 2 tasks reached");
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    void moveTask_AutoPullsIntoTheColumnItLeft() {
+        // Arrange
+        board.setAutoPull(true);
+        moved.setStatus(Task.STATUS_IN_PROGRESS);
+        Task next = task(2L, Task.STATUS_TO_DO, 1024);
+        when(taskRepository.findFirstByBoardIdAndStatusAndPositionNotNullOrderByPositionAscIdAsc(BOARD_ID, Task.STATUS_DONE)).thenReturn(
+            Optional.empty()
+        );
+        when(
+            taskRepository.findFirstByBoardIdAndStatusAndIdNotOrderByPriorityDescPositionAscIdAsc(BOARD_ID, Task.STATUS_TO_DO, moved.getId())
+        ).thenReturn(Optional.of(next));
+        when(taskRepository.findMaxPosition(BOARD_ID, Task.STATUS_IN_PROGRESS)).thenReturn(Optional.of(4096));
+
+        // Act
+        taskService.moveTask(BOARD_ID, moved.getId(), move(Task.STATUS_DONE, null));
+
+        // Assert
+        assertThat(next.getStatus()).isEqualTo(Task.STATUS_IN_PROGRESS);
+        assertThat(next.getPosition()).isEqualTo(4096 + TaskService.POSITION_GAP);
+        verify(boardMetricsService).recordTransition(board, moved, Task.STATUS_IN_PROGRESS, Task.STATUS_DONE);
+        verify(boardMetricsService).recordTransition(board, next, Task.STATUS_TO_DO, Task.STATUS_IN_PROGRESS);
+        verify(taskRepository).findFirstByBoardIdAndStatusAndIdNotOrderByPriorityDescPositionAscIdAsc(
+            BOARD_ID,
+            Task.STATUS_BACKLOG,
+            moved.getId()
+        );
+    }
+
+    @Test
+    void patchTasks_ReportsConflictsWithoutFailingTheBatch() {
+        // Arrange
+        Task current = task(2L, Task.STATUS_TO_DO, 1024);
+        current.setVersion(3L);
+        Task stale = task(3L, Task.STATUS_TO_DO, 2048);
+        stale.setVersion(5L);
+        when(taskRepository.findByBoardIdAndIdIn(eq(BOARD_ID), any())).thenReturn(List.of(current, stale));
+
+        // Act
+        List<TaskPatchResultDTO> results = taskService.patchTasks(
+            BOARD_ID,
+            List.of(patch(current.getId(), 3L, Task.STATUS_IN_PROGRESS), patch(stale.getId(), 4L, Task.STATUS_DONE), patch(99L, 1L, null))
+        );
+
+        // Assert
+        assertThat(results)
+            .extracting(TaskPatchResultDTO::getResult)
+            .containsExactly(TaskPatchResultDTO.Result.UPDATED, TaskPatchResultDTO.Result.CONFLICT, TaskPatchResultDTO.Result.NOT_FOUND);
+        assertThat(current.getStatus()).isEqualTo(Task.STATUS_IN_PROGRESS);
+        assertThat(stale.getStatus()).isEqualTo(Task.STATUS_TO_DO);
+        assertThat(results.get(1).getTask()).isSameAs(stale);
+        verify(taskRepository).saveAll(List.of(current));
+    }
+
+    private Task task(Long id, String status, Integer position) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        task.setStatus(status);
+        task.setPosition(position);
+        task.setBoardId(BOARD_ID);
+        return task;
+    }
+
+    private TaskPatchDTO patch(Long id, Long version, String status) {
+        TaskPatchDTO patch = new TaskPatchDTO();
+        patch.setId(id);
+        patch.setVersion(version);
+        patch.setStatus(status);
+        return patch;
+    }
+
+    private MoveTaskDTO move(String status, Long afterTaskId) {
+        MoveTaskDTO moveTaskDTO = new MoveTaskDTO();
+        moveTaskDTO.setStatus(status);
+        moveTaskDTO.setAfterTaskId(afterTaskId);
+        return moveTaskDTO;
+    }
+}